@@ -3,6 +3,7 @@ package com.neokey.zoneautomessage;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
@@ -14,8 +15,14 @@ import com.neokey.zoneautomessage.manager.ZoneManager;
 import com.neokey.zoneautomessage.manager.WorldConfigManager;
 import com.neokey.zoneautomessage.manager.SelectionManager;
 import com.neokey.zoneautomessage.manager.MessageManager;
+import com.neokey.zoneautomessage.manager.ZoneDiff;
+import com.neokey.zoneautomessage.manager.ZoneBenchmark;
+import com.neokey.zoneautomessage.manager.ZoneImporter;
 import com.neokey.zoneautomessage.command.ZoneCommands;
 import com.neokey.zoneautomessage.render.ZoneRenderer;
+import com.neokey.zoneautomessage.zone.Zone;
+
+import java.util.List;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════╗
@@ -54,23 +61,59 @@ public class ZoneAutoMessageMod implements ClientModInitializer {
 	private static ZoneManager zoneManager;
 	private static WorldConfigManager worldConfigManager;
 	private static SelectionManager selectionManager;
+	private static ZoneImporter zoneImporter;
+	private static ZoneBenchmark zoneBenchmark;
 	private static boolean modEnabled = true;
 
+	// true cuando las zonas del mundo actual terminaron de cargarse
+	private static volatile boolean worldReady = false;
+
 	@Override
 	public void onInitializeClient() {
 		printHeader();
 
 		try {
-			// 1. Inicializar WorldConfigManager (detecta mundo actual)
+			// 1. Inicializar WorldConfigManager (el mundo se detecta al conectarse)
 			worldConfigManager = new WorldConfigManager();
-			worldConfigManager.loadConfig();
 			logSuccess("WorldConfigManager inicializado");
 
-			// 2. Inicializar ZoneManager (carga zonas del mundo actual)
+			// 2. Inicializar ZoneManager (vacío hasta entrar en un mundo)
 			zoneManager = new ZoneManager();
-			zoneManager.loadZones(worldConfigManager.getZonesData());
-			logSuccess("ZoneManager inicializado con " + 
-				zoneManager.getZoneCount() + " zona(s)");
+			logSuccess("ZoneManager inicializado");
+
+			// Las regiones de zonas se cargan/descargan según la posición del jugador
+			worldConfigManager.setShardListener(new WorldConfigManager.ShardListener() {
+				@Override
+				public void onShardLoaded(List<Zone> zones) {
+					zoneManager.loadZones(zones);
+				}
+
+				@Override
+				public void onShardUnloaded(List<Zone> zones) {
+					zoneManager.unloadZones(zones);
+				}
+
+				@Override
+				public void onZonesChanged(ZoneDiff diff) {
+					zoneManager.applyDiff(diff);
+				}
+			});
+
+			// Importación masiva de zonas (/zam import)
+			zoneImporter = new ZoneImporter(zoneManager, worldConfigManager);
+
+			// Benchmark de detección de zonas (/zam bench)
+			zoneBenchmark = new ZoneBenchmark();
+
+			// Abrir/cerrar el mundo al conectarse/desconectarse
+			ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> onWorldJoin());
+			ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+				// La posición se toma ya: cuando se ejecute la tarea, client.player suele ser null
+				double lastX = client.player != null ? client.player.getX() : Double.NaN;
+				double lastZ = client.player != null ? client.player.getZ() : Double.NaN;
+				client.execute(() -> onWorldLeave(lastX, lastZ));
+			});
+			logSuccess("Ciclo de vida de mundos registrado");
 
 			// 3. Inicializar SelectionManager (sistema de selección con palo)
 			selectionManager = new SelectionManager();
@@ -107,6 +150,41 @@ public class ZoneAutoMessageMod implements ClientModInitializer {
 		}
 	}
 
+	// ═══════════════════════════════════════════════════════════════════════════
+	// CICLO DE VIDA DEL MUNDO
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * El jugador entró en un mundo/servidor: cargar sus zonas en segundo plano.
+	 * El tick de zonas queda bloqueado hasta que termina la carga.
+	 */
+	private static void onWorldJoin() {
+		worldReady = false;
+		zoneManager.clearAllZones();
+
+		worldConfigManager.openWorld().thenAccept(zones -> {
+			zoneManager.loadZones(zones);
+			worldReady = worldConfigManager.isWorldReady();
+			logSuccess("Mundo listo: " + worldConfigManager.getCurrentWorldId() +
+				" (" + zoneManager.getZoneCount() + " zona(s))");
+		});
+	}
+
+	/**
+	 * El jugador salió del mundo: descargar sus zonas (quedan en caché).
+	 *
+	 * @param lastX Última X del jugador, capturada al desconectarse (NaN si no había jugador)
+	 * @param lastZ Última Z del jugador
+	 */
+	private static void onWorldLeave(double lastX, double lastZ) {
+		worldReady = false;
+
+		worldConfigManager.closeWorld(lastX, lastZ);
+
+		zoneManager.resetAllZoneStates();
+		zoneManager.clearAllZones();
+	}
+
 	/**
 	 * Registra todos los keybindings del mod.
 	 */
@@ -171,6 +249,24 @@ public class ZoneAutoMessageMod implements ClientModInitializer {
 		return selectionManager;
 	}
 
+	public static ZoneImporter getZoneImporter() {
+		if (zoneImporter == null) {
+			throw new IllegalStateException("ZoneImporter no ha sido inicializado");
+		}
+		return zoneImporter;
+	}
+
+	public static ZoneBenchmark getZoneBenchmark() {
+		if (zoneBenchmark == null) {
+			throw new IllegalStateException("ZoneBenchmark no ha sido inicializado");
+		}
+		return zoneBenchmark;
+	}
+
+	public static boolean isWorldReady() {
+		return worldReady;
+	}
+
 	public static boolean isModEnabled() {
 		return modEnabled;
 	}
@@ -197,8 +293,7 @@ public class ZoneAutoMessageMod implements ClientModInitializer {
 	private void printFooter() {
 		System.out.println("═══════════════════════════════════════════════════════════");
 		System.out.println("[" + MOD_NAME + "] ✓ Mod cargado exitosamente");
-		System.out.println("Mundo actual: " + worldConfigManager.getCurrentWorldId());
-		System.out.println("Zonas cargadas: " + zoneManager.getZoneCount());
+		System.out.println("Las zonas se cargan al entrar en cada mundo/servidor");
 		System.out.println("═══════════════════════════════════════════════════════════");
 		System.out.println("NUEVAS CARACTERÍSTICAS v2.0:");
 		System.out.println("  ✨ Renderizado 3D visual de zonas");
@@ -209,7 +304,7 @@ public class ZoneAutoMessageMod implements ClientModInitializer {
 		System.out.println("═══════════════════════════════════════════════════════════");
 	}
 
-	private void logSuccess(String message) {
+	private static void logSuccess(String message) {
 		System.out.println("[INIT] ✓ " + message);
 	}
 }
\ No newline at end of file
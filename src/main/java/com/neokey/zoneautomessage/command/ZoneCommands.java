@@ -1,13 +1,36 @@
 package com.neokey.zoneautomessage.command;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
 import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
 import net.minecraft.text.Text;
 import com.neokey.zoneautomessage.ZoneAutoMessageMod;
+import com.neokey.zoneautomessage.event.ZoneEvaluator;
+import com.neokey.zoneautomessage.manager.ZoneBenchmark;
+import com.neokey.zoneautomessage.manager.ZoneTransaction;
+import com.neokey.zoneautomessage.render.NearestZoneSelector;
+import com.neokey.zoneautomessage.render.ZoneRenderer;
+import com.neokey.zoneautomessage.util.ZoneMetrics;
+import com.neokey.zoneautomessage.util.ZonePattern;
+import com.neokey.zoneautomessage.util.ZoneValidator;
+import com.neokey.zoneautomessage.zone.CompoundShape;
 import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneBuffer;
+import com.neokey.zoneautomessage.zone.ZoneTags;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════╗
@@ -15,11 +38,45 @@ import com.neokey.zoneautomessage.zone.Zone;
  * ║                                                                          ║
  * ║ Comandos disponibles:                                                    ║
  * ║ /zam create <nombre> - Crear zona desde selección                       ║
+ * ║ /zam create sphere <radio> <nombre> - Esfera centrada en el punto 1     ║
+ * ║ /zam create cylinder <radio> <altura> <nombre> - Cilindro vertical      ║
+ * ║ /zam create polygon <altura> <nombre> - Prisma con los vértices         ║
+ * ║ /zam polygon add|undo|clear - Vértices del polígono (posición actual)   ║
+ * ║ /zam compound add|subtract <nombre> - Sumar/restar la selección a una   ║
+ * ║   zona (la convierte en compuesta: unión de cajas menos cajas)          ║
  * ║ /zam delete <nombre> - Eliminar zona                                    ║
- * ║ /zam list - Listar todas las zonas                                      ║
+ * ║ /zam list [página] - Listar zonas (paginado, por nombre)                ║
+ * ║ /zam list sort <name|distance|volume> [página] - Listar ordenado        ║
+ * ║ /zam list prefix <prefijo> [página] - Zonas cuyo nombre empieza así     ║
+ * ║ /zam list near <radio> [página] - Zonas dentro del radio                ║
  * ║ /zam info <nombre> - Ver información de una zona                        ║
+ * ║ /zam here - Zonas que contienen al jugador                              ║
+ * ║ /zam near [radio] [k] - Las k zonas más cercanas, con distancia         ║
+ * ║ /zam at <x> <y> <z> - Zonas que contienen un punto                      ║
  * ║ /zam setenter <nombre> <mensaje> - Cambiar mensaje de entrada          ║
  * ║ /zam setexit <nombre> <mensaje> - Cambiar mensaje de salida            ║
+ * ║ /zam setpriority <nombre> <n> - Prioridad entre zonas solapadas        ║
+ * ║ /zam setdwell <nombre> <seg> <mensaje>|off - Mensaje tras N s dentro    ║
+ * ║ /zam setrepeat <nombre> <seg> <mensaje>|off - Recordatorio cada N s     ║
+ * ║ /zam setbuffer <nombre> auto|<h> [v] - Buffer de salida fijo (H/V)      ║
+ * ║ /zam setbuffer <nombre> formula <mult> <mín> <máx> - Fórmula del buffer ║
+ * ║ /zam nesting [on|off] - Avisar solo del cambio de zona más interna     ║
+ * ║ /zam tag add|remove <nombre> <etiqueta> - Etiquetas de una zona         ║
+ * ║ /zam tag list | zones <etiqueta> - Etiquetas y zonas de una etiqueta    ║
+ * ║ /zam tag enable|disable <etiqueta> - Activar/desactivar un grupo        ║
+ * ║ /zam tag setenter|setexit <etiqueta> <mensaje> - Mensajes por etiqueta  ║
+ * ║ /zam import <archivo> - Importar zonas (CSV/JSON) en bloque             ║
+ * ║ /zam bulk setenter|setexit "<patrón>" <mensaje> - Mensajes en bloque   ║
+ * ║ /zam bulk rename "<patrón>" <reemplazo> - Renombrar en bloque          ║
+ * ║ /zam bulk delete <patrón> - Eliminar en bloque                          ║
+ * ║   (patrón: glob con * y ?, o regex con "re:")                          ║
+ * ║ /zam render [distance <bloques>] - Estadísticas/distancia de render     ║
+ * ║ /zam render budget <n> - Máximo de zonas dibujadas (0 = sin límite)     ║
+ * ║ /zam render timing [reset] - Percentiles de tiempo CPU/GPU por frame    ║
+ * ║ /zam render hud - Mostrar/ocultar línea de tiempos en el HUD            ║
+ * ║ /zam render tag [etiqueta] - Dibujar solo una etiqueta (o todas)        ║
+ * ║ /zam stats [reset] - Percentiles de tick, formato y E/S                 ║
+ * ║ /zam bench <zonas> <segundos> - Benchmark con zonas sintéticas          ║
  * ║ /zam clear - Limpiar selección actual                                   ║
  * ║ /zam toggle - Activar/desactivar mod                                    ║
  * ║                                                                          ║
@@ -28,6 +85,54 @@ import com.neokey.zoneautomessage.zone.Zone;
  */
 public class ZoneCommands {
 
+    // Listados paginados (/zam list)
+    private static final int LIST_PAGE_SIZE = 10;
+    private static final double MAX_LIST_RADIUS = 100000;
+
+    private enum ListMode { NAME, DISTANCE, VOLUME, PREFIX, NEAR }
+
+    // Consultas espaciales (/zam near)
+    private static final double DEFAULT_NEAR_RADIUS = 64;
+    private static final int DEFAULT_NEAR_COUNT = 10;
+    private static final int MAX_NEAR_COUNT = 100;
+
+    // Sugerencias de nombres de zona
+    private static final int MAX_NAME_SUGGESTIONS = 50;
+    private static final int MAX_SIMILAR_NAMES = 3;
+
+    private enum BulkAction { SET_ENTER, SET_EXIT, RENAME, DELETE }
+
+    // Prioridad entre zonas solapadas (/zam setpriority)
+    private static final int MAX_PRIORITY = 1000;
+
+    // Mensajes programados (/zam setdwell, /zam setrepeat): hasta un día
+
+    // Zonas con forma (/zam create sphere|cylinder|polygon)
+    private static final double MAX_SHAPE_RADIUS = 4096;
+    private static final int MAX_SHAPE_HEIGHT = 4064;
+
+    // Argumento greedyString: el nombre tal cual
+    private static final SuggestionProvider<FabricClientCommandSource> ZONE_NAMES =
+        (context, builder) -> suggestZoneNames(builder, false);
+
+    // Argumento string(): entre comillas si hace falta
+    private static final SuggestionProvider<FabricClientCommandSource> QUOTED_ZONE_NAMES =
+        (context, builder) -> suggestZoneNames(builder, true);
+
+    private static final SuggestionProvider<FabricClientCommandSource> TAG_NAMES =
+        (context, builder) -> {
+            String typed = ZoneTags.normalize(builder.getRemaining());
+            for (String tag : ZoneTags.getNames()) {
+                if (tag.startsWith(typed)) {
+                    builder.suggest(tag);
+                }
+            }
+            return builder.buildFuture();
+        };
+
+    // Zonas mostradas en /zam tag zones
+    private static final int MAX_TAG_ZONES_LISTED = 20;
+
     /**
      * Registra todos los comandos del mod.
      *
@@ -36,30 +141,245 @@ public class ZoneCommands {
     public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher) {
         dispatcher.register(ClientCommandManager.literal("zam")
             .then(ClientCommandManager.literal("create")
+                .then(ClientCommandManager.literal("sphere")
+                    .then(ClientCommandManager.argument("radius", DoubleArgumentType.doubleArg(1, MAX_SHAPE_RADIUS))
+                        .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
+                            .executes(ZoneCommands::createSphereZone))))
+                .then(ClientCommandManager.literal("cylinder")
+                    .then(ClientCommandManager.argument("radius", DoubleArgumentType.doubleArg(1, MAX_SHAPE_RADIUS))
+                        .then(ClientCommandManager.argument("height", IntegerArgumentType.integer(1, MAX_SHAPE_HEIGHT))
+                            .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
+                                .executes(ZoneCommands::createCylinderZone)))))
+                .then(ClientCommandManager.literal("polygon")
+                    .then(ClientCommandManager.argument("height", IntegerArgumentType.integer(1, MAX_SHAPE_HEIGHT))
+                        .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
+                            .executes(ZoneCommands::createPolygonZone))))
                 .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
                     .executes(ZoneCommands::createZone)))
             
+            .then(ClientCommandManager.literal("polygon")
+                .then(ClientCommandManager.literal("add")
+                    .executes(ZoneCommands::addPolygonPoint))
+                .then(ClientCommandManager.literal("undo")
+                    .executes(ZoneCommands::undoPolygonPoint))
+                .then(ClientCommandManager.literal("clear")
+                    .executes(ZoneCommands::clearPolygonPoints)))
+            
+            .then(ClientCommandManager.literal("compound")
+                .then(ClientCommandManager.literal("add")
+                    .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
+                        .suggests(ZONE_NAMES)
+                        .executes(context -> editCompoundZone(context, false))))
+                .then(ClientCommandManager.literal("subtract")
+                    .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
+                        .suggests(ZONE_NAMES)
+                        .executes(context -> editCompoundZone(context, true)))))
+            
             .then(ClientCommandManager.literal("delete")
                 .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
+                    .suggests(ZONE_NAMES)
                     .executes(ZoneCommands::deleteZone)))
             
             .then(ClientCommandManager.literal("list")
-                .executes(ZoneCommands::listZones))
+                .executes(context -> listZones(context, ListMode.NAME, 1))
+                .then(ClientCommandManager.argument("page", IntegerArgumentType.integer(1))
+                    .executes(context -> listZones(context, ListMode.NAME, getPage(context))))
+                .then(ClientCommandManager.literal("sort")
+                    .then(listModeNode("name", ListMode.NAME))
+                    .then(listModeNode("distance", ListMode.DISTANCE))
+                    .then(listModeNode("volume", ListMode.VOLUME)))
+                .then(ClientCommandManager.literal("prefix")
+                    .then(ClientCommandManager.argument("prefix", StringArgumentType.string())
+                        .executes(context -> listZones(context, ListMode.PREFIX, 1))
+                        .then(ClientCommandManager.argument("page", IntegerArgumentType.integer(1))
+                            .executes(context -> listZones(context, ListMode.PREFIX, getPage(context))))))
+                .then(ClientCommandManager.literal("near")
+                    .then(ClientCommandManager.argument("radius", DoubleArgumentType.doubleArg(1, MAX_LIST_RADIUS))
+                        .executes(context -> listZones(context, ListMode.NEAR, 1))
+                        .then(ClientCommandManager.argument("page", IntegerArgumentType.integer(1))
+                            .executes(context -> listZones(context, ListMode.NEAR, getPage(context)))))))
             
             .then(ClientCommandManager.literal("info")
                 .then(ClientCommandManager.argument("name", StringArgumentType.greedyString())
+                    .suggests(ZONE_NAMES)
                     .executes(ZoneCommands::showZoneInfo)))
             
+            .then(ClientCommandManager.literal("here")
+                .executes(ZoneCommands::showZonesHere))
+            
+            .then(ClientCommandManager.literal("near")
+                .executes(context -> showNearestZones(context, DEFAULT_NEAR_RADIUS, DEFAULT_NEAR_COUNT))
+                .then(ClientCommandManager.argument("radius", DoubleArgumentType.doubleArg(1, MAX_LIST_RADIUS))
+                    .executes(context -> showNearestZones(context,
+                        DoubleArgumentType.getDouble(context, "radius"), DEFAULT_NEAR_COUNT))
+                    .then(ClientCommandManager.argument("k", IntegerArgumentType.integer(1, MAX_NEAR_COUNT))
+                        .executes(context -> showNearestZones(context,
+                            DoubleArgumentType.getDouble(context, "radius"),
+                            IntegerArgumentType.getInteger(context, "k"))))))
+            
+            .then(ClientCommandManager.literal("at")
+                .then(ClientCommandManager.argument("x", DoubleArgumentType.doubleArg())
+                    .then(ClientCommandManager.argument("y", DoubleArgumentType.doubleArg())
+                        .then(ClientCommandManager.argument("z", DoubleArgumentType.doubleArg())
+                            .executes(ZoneCommands::showZonesAtPoint)))))
+            
             .then(ClientCommandManager.literal("setenter")
                 .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                    .suggests(QUOTED_ZONE_NAMES)
                     .then(ClientCommandManager.argument("message", StringArgumentType.greedyString())
                         .executes(ZoneCommands::setEnterMessage))))
             
             .then(ClientCommandManager.literal("setexit")
                 .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                    .suggests(QUOTED_ZONE_NAMES)
                     .then(ClientCommandManager.argument("message", StringArgumentType.greedyString())
                         .executes(ZoneCommands::setExitMessage))))
             
+            .then(ClientCommandManager.literal("setdwell")
+                .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                    .suggests(QUOTED_ZONE_NAMES)
+                    .then(ClientCommandManager.literal("off")
+                        .executes(context -> setTimedMessage(context, false, 0, null)))
+                    .then(ClientCommandManager.argument("seconds", IntegerArgumentType.integer(1, ZoneValidator.MAX_TIMER_SECONDS))
+                        .then(ClientCommandManager.argument("message", StringArgumentType.greedyString())
+                            .executes(context -> setTimedMessage(context, false,
+                                IntegerArgumentType.getInteger(context, "seconds"),
+                                StringArgumentType.getString(context, "message")))))))
+            
+            .then(ClientCommandManager.literal("setrepeat")
+                .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                    .suggests(QUOTED_ZONE_NAMES)
+                    .then(ClientCommandManager.literal("off")
+                        .executes(context -> setTimedMessage(context, true, 0, null)))
+                    .then(ClientCommandManager.argument("seconds", IntegerArgumentType.integer(1, ZoneValidator.MAX_TIMER_SECONDS))
+                        .then(ClientCommandManager.argument("message", StringArgumentType.greedyString())
+                            .executes(context -> setTimedMessage(context, true,
+                                IntegerArgumentType.getInteger(context, "seconds"),
+                                StringArgumentType.getString(context, "message")))))))
+            
+            .then(ClientCommandManager.literal("import")
+                .then(ClientCommandManager.argument("file", StringArgumentType.greedyString())
+                    .executes(ZoneCommands::importZones)))
+            
+            .then(ClientCommandManager.literal("bulk")
+                .then(ClientCommandManager.literal("setenter")
+                    .then(ClientCommandManager.argument("pattern", StringArgumentType.string())
+                        .then(ClientCommandManager.argument("text", StringArgumentType.greedyString())
+                            .executes(context -> bulkEdit(context, BulkAction.SET_ENTER)))))
+                .then(ClientCommandManager.literal("setexit")
+                    .then(ClientCommandManager.argument("pattern", StringArgumentType.string())
+                        .then(ClientCommandManager.argument("text", StringArgumentType.greedyString())
+                            .executes(context -> bulkEdit(context, BulkAction.SET_EXIT)))))
+                .then(ClientCommandManager.literal("rename")
+                    .then(ClientCommandManager.argument("pattern", StringArgumentType.string())
+                        .then(ClientCommandManager.argument("text", StringArgumentType.greedyString())
+                            .executes(context -> bulkEdit(context, BulkAction.RENAME)))))
+                .then(ClientCommandManager.literal("delete")
+                    .then(ClientCommandManager.argument("pattern", StringArgumentType.greedyString())
+                        .executes(context -> bulkEdit(context, BulkAction.DELETE)))))
+            
+            .then(ClientCommandManager.literal("render")
+                .executes(ZoneCommands::showRenderStats)
+                .then(ClientCommandManager.literal("distance")
+                    .then(ClientCommandManager.argument("blocks", IntegerArgumentType.integer(
+                            ZoneRenderer.MIN_RENDER_DISTANCE, ZoneRenderer.MAX_RENDER_DISTANCE))
+                        .executes(ZoneCommands::setRenderDistance)))
+                .then(ClientCommandManager.literal("budget")
+                    .then(ClientCommandManager.argument("zones", IntegerArgumentType.integer(
+                            0, NearestZoneSelector.MAX_BUDGET))
+                        .executes(ZoneCommands::setRenderBudget)))
+                .then(ClientCommandManager.literal("timing")
+                    .executes(ZoneCommands::showRenderTimings)
+                    .then(ClientCommandManager.literal("reset")
+                        .executes(ZoneCommands::resetRenderTimings)))
+                .then(ClientCommandManager.literal("hud")
+                    .executes(ZoneCommands::toggleRenderHud))
+                .then(ClientCommandManager.literal("tag")
+                    .executes(context -> setRenderTag(context, false))
+                    .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                        .suggests(TAG_NAMES)
+                        .executes(context -> setRenderTag(context, true)))))
+            
+            .then(ClientCommandManager.literal("setpriority")
+                .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                    .suggests(QUOTED_ZONE_NAMES)
+                    .then(ClientCommandManager.argument("priority", IntegerArgumentType.integer(-MAX_PRIORITY, MAX_PRIORITY))
+                        .executes(ZoneCommands::setZonePriority))))
+            
+            .then(ClientCommandManager.literal("setbuffer")
+                .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                    .suggests(QUOTED_ZONE_NAMES)
+                    .then(ClientCommandManager.literal("auto")
+                        .executes(context -> setZoneBuffer(context, -1, -1)))
+                    .then(ClientCommandManager.literal("formula")
+                        .then(ClientCommandManager.argument("multiplier", DoubleArgumentType.doubleArg(0, 1))
+                            .then(ClientCommandManager.argument("min", DoubleArgumentType.doubleArg(0, ZoneBuffer.MAX_BUFFER))
+                                .then(ClientCommandManager.argument("max", DoubleArgumentType.doubleArg(0, ZoneBuffer.MAX_BUFFER))
+                                    .executes(ZoneCommands::setZoneBufferFormula)))))
+                    .then(ClientCommandManager.argument("horizontal", DoubleArgumentType.doubleArg(0, ZoneBuffer.MAX_BUFFER))
+                        .executes(context -> setZoneBuffer(context,
+                            DoubleArgumentType.getDouble(context, "horizontal"),
+                            DoubleArgumentType.getDouble(context, "horizontal")))
+                        .then(ClientCommandManager.argument("vertical", DoubleArgumentType.doubleArg(0, ZoneBuffer.MAX_BUFFER))
+                            .executes(context -> setZoneBuffer(context,
+                                DoubleArgumentType.getDouble(context, "horizontal"),
+                                DoubleArgumentType.getDouble(context, "vertical")))))))
+            
+            .then(ClientCommandManager.literal("tag")
+                .then(ClientCommandManager.literal("add")
+                    .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                        .suggests(QUOTED_ZONE_NAMES)
+                        .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                            .suggests(TAG_NAMES)
+                            .executes(context -> tagZone(context, true)))))
+                .then(ClientCommandManager.literal("remove")
+                    .then(ClientCommandManager.argument("name", StringArgumentType.string())
+                        .suggests(QUOTED_ZONE_NAMES)
+                        .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                            .suggests(TAG_NAMES)
+                            .executes(context -> tagZone(context, false)))))
+                .then(ClientCommandManager.literal("list")
+                    .executes(ZoneCommands::listTags))
+                .then(ClientCommandManager.literal("zones")
+                    .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                        .suggests(TAG_NAMES)
+                        .executes(ZoneCommands::listTagZones)))
+                .then(ClientCommandManager.literal("enable")
+                    .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                        .suggests(TAG_NAMES)
+                        .executes(context -> setTagEnabled(context, true))))
+                .then(ClientCommandManager.literal("disable")
+                    .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                        .suggests(TAG_NAMES)
+                        .executes(context -> setTagEnabled(context, false))))
+                .then(ClientCommandManager.literal("setenter")
+                    .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                        .suggests(TAG_NAMES)
+                        .then(ClientCommandManager.argument("text", StringArgumentType.greedyString())
+                            .executes(context -> bulkEditByTag(context, BulkAction.SET_ENTER)))))
+                .then(ClientCommandManager.literal("setexit")
+                    .then(ClientCommandManager.argument("tag", StringArgumentType.word())
+                        .suggests(TAG_NAMES)
+                        .then(ClientCommandManager.argument("text", StringArgumentType.greedyString())
+                            .executes(context -> bulkEditByTag(context, BulkAction.SET_EXIT))))))
+            
+            .then(ClientCommandManager.literal("nesting")
+                .executes(ZoneCommands::showNesting)
+                .then(ClientCommandManager.literal("on")
+                    .executes(context -> setNesting(context, true)))
+                .then(ClientCommandManager.literal("off")
+                    .executes(context -> setNesting(context, false))))
+            
+            .then(ClientCommandManager.literal("stats")
+                .executes(ZoneCommands::showStats)
+                .then(ClientCommandManager.literal("reset")
+                    .executes(ZoneCommands::resetStats)))
+            
+            .then(ClientCommandManager.literal("bench")
+                .then(ClientCommandManager.argument("zones", IntegerArgumentType.integer(1, ZoneBenchmark.MAX_ZONES))
+                    .then(ClientCommandManager.argument("seconds", IntegerArgumentType.integer(1, ZoneBenchmark.MAX_SECONDS))
+                        .executes(ZoneCommands::runBenchmark))))
+            
             .then(ClientCommandManager.literal("clear")
                 .executes(ZoneCommands::clearSelection))
             
@@ -82,6 +402,9 @@ public class ZoneCommands {
      */
     private static int createZone(CommandContext<FabricClientCommandSource> context) {
         String zoneName = StringArgumentType.getString(context, "name");
+        if (!checkNewZoneName(context, zoneName)) {
+            return 0;
+        }
 
         Zone zone = ZoneAutoMessageMod.getSelectionManager().createZoneFromSelection(zoneName);
         
@@ -99,6 +422,171 @@ public class ZoneCommands {
         return 1;
     }
 
+    /**
+     * /zam create sphere <radio> <nombre>
+     */
+    private static int createSphereZone(CommandContext<FabricClientCommandSource> context) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        if (!checkNewZoneName(context, zoneName)) {
+            return 0;
+        }
+
+        double radius = DoubleArgumentType.getDouble(context, "radius");
+        return registerShapeZone(context,
+            ZoneAutoMessageMod.getSelectionManager().createSphereZone(zoneName, radius));
+    }
+
+    /**
+     * /zam create cylinder <radio> <altura> <nombre>
+     */
+    private static int createCylinderZone(CommandContext<FabricClientCommandSource> context) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        if (!checkNewZoneName(context, zoneName)) {
+            return 0;
+        }
+
+        double radius = DoubleArgumentType.getDouble(context, "radius");
+        int height = IntegerArgumentType.getInteger(context, "height");
+        return registerShapeZone(context,
+            ZoneAutoMessageMod.getSelectionManager().createCylinderZone(zoneName, radius, height));
+    }
+
+    /**
+     * /zam create polygon <altura> <nombre>
+     * Usa los vértices añadidos con /zam polygon add.
+     */
+    private static int createPolygonZone(CommandContext<FabricClientCommandSource> context) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        if (!checkNewZoneName(context, zoneName)) {
+            return 0;
+        }
+
+        int height = IntegerArgumentType.getInteger(context, "height");
+        return registerShapeZone(context,
+            ZoneAutoMessageMod.getSelectionManager().createPolygonZone(zoneName, height));
+    }
+
+    /**
+     * El nombre debe estar libre en todo el mundo, no solo entre las zonas
+     * de las regiones residentes.
+     */
+    private static boolean checkNewZoneName(CommandContext<FabricClientCommandSource> context, String zoneName) {
+        if (ZoneAutoMessageMod.getZoneManager().getZoneByName(zoneName) != null ||
+            ZoneAutoMessageMod.getWorldConfigManager().isZoneNameTaken(zoneName)) {
+            sendError(context, "§c✗ Ya existe una zona con el nombre: §f" + zoneName);
+            return false;
+        }
+        return true;
+    }
+
+    private static int registerShapeZone(CommandContext<FabricClientCommandSource> context, Zone zone) {
+        if (zone == null) {
+            return 0;
+        }
+
+        ZoneAutoMessageMod.getZoneManager().createZoneFromObject(zone);
+        ZoneAutoMessageMod.getWorldConfigManager().addZone(zone);
+
+        sendFeedback(context, String.format(
+            "§7Usa §e/zam setenter %s <mensaje> §7para personalizar el mensaje de entrada",
+            zone.getZoneName()
+        ));
+        return 1;
+    }
+
+    /**
+     * /zam polygon add
+     * Añade la posición del jugador como vértice del polígono.
+     */
+    private static int addPolygonPoint(CommandContext<FabricClientCommandSource> context) {
+        var player = context.getSource().getPlayer();
+        if (player == null) {
+            sendError(context, "§c✗ No hay jugador");
+            return 0;
+        }
+
+        return ZoneAutoMessageMod.getSelectionManager().addPolygonPoint(player.getBlockPos()) ? 1 : 0;
+    }
+
+    /**
+     * /zam polygon undo
+     */
+    private static int undoPolygonPoint(CommandContext<FabricClientCommandSource> context) {
+        var selectionManager = ZoneAutoMessageMod.getSelectionManager();
+        if (!selectionManager.removeLastPolygonPoint()) {
+            sendError(context, "§c✗ El polígono no tiene vértices");
+            return 0;
+        }
+
+        sendFeedback(context, "§7Último vértice quitado (quedan §f" +
+            selectionManager.getPolygonPoints().size() + "§7)");
+        return 1;
+    }
+
+    /**
+     * /zam polygon clear
+     */
+    private static int clearPolygonPoints(CommandContext<FabricClientCommandSource> context) {
+        ZoneAutoMessageMod.getSelectionManager().clearPolygonPoints();
+        sendFeedback(context, "§7Vértices del polígono borrados");
+        return 1;
+    }
+
+    /**
+     * /zam compound add <nombre>
+     * /zam compound subtract <nombre>
+     *
+     * Suma (o resta) la caja seleccionada a la zona. Un cuboide se convierte
+     * antes en zona compuesta con su propia caja; el resto de formas no
+     * admiten cajas.
+     */
+    private static int editCompoundZone(CommandContext<FabricClientCommandSource> context, boolean subtract) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        Zone zone = findZone(context, zoneName);
+        if (zone == null) {
+            return 0;
+        }
+
+        CompoundShape compound;
+        if (zone.getShape() == null) {
+            compound = CompoundShape.ofBox(
+                zone.getMinX(), zone.getMinY(), zone.getMinZ(),
+                zone.getMaxX() + 1, zone.getMaxY() + 1, zone.getMaxZ() + 1);
+        } else if (zone.getShape() instanceof CompoundShape existing) {
+            compound = existing;
+        } else {
+            sendError(context, "§c✗ Solo los cuboides y las zonas compuestas admiten cajas");
+            return 0;
+        }
+
+        var selectionManager = ZoneAutoMessageMod.getSelectionManager();
+        double[] box = selectionManager.getSelectionBox();
+        if (box == null) {
+            return 0;
+        }
+
+        try {
+            compound = subtract ? compound.withExclude(box) : compound.withInclude(box);
+        } catch (IllegalArgumentException e) {
+            sendError(context, "§c✗ " + e.getMessage());
+            return 0;
+        }
+
+        ZoneTransaction tx = beginTransaction().setShape(zone, compound);
+        if (!tx.commit()) {
+            sendError(context, "§c✗ " + tx.getError());
+            return 0;
+        }
+
+        selectionManager.clearSelection();
+        sendFeedback(context, String.format(
+            "§a✓ Caja %s §f%s §7(%d incluida(s), %d excluida(s))",
+            subtract ? "restada de" : "añadida a", zoneName,
+            compound.getIncludeCount(), compound.getExcludeCount()
+        ));
+        return 1;
+    }
+
     /**
      * /zam delete <nombre>
      * Elimina una zona.
@@ -106,10 +594,8 @@ public class ZoneCommands {
     private static int deleteZone(CommandContext<FabricClientCommandSource> context) {
         String zoneName = StringArgumentType.getString(context, "name");
 
-        Zone zone = ZoneAutoMessageMod.getZoneManager().getZoneByName(zoneName);
-        
+        Zone zone = findZone(context, zoneName);
         if (zone == null) {
-            sendError(context, "§c✗ No existe una zona con ese nombre");
             return 0;
         }
 
@@ -121,37 +607,127 @@ public class ZoneCommands {
     }
 
     /**
-     * /zam list
-     * Lista todas las zonas del mundo actual.
+     * /zam list [página]
+     * /zam list sort <name|distance|volume> [página]
+     * /zam list prefix <prefijo> [página]
+     * /zam list near <radio> [página]
+     *
+     * Solo se formatea la página pedida. Las vistas por nombre salen del
+     * índice de nombres de todo el mundo (las zonas de regiones no residentes
+     * se listan sin medidas); la de volumen viene ordenada y en caché de
+     * ZoneManager y las de distancia salen del índice espacial (k más
+     * cercanas, con k = hasta el final de la página). Estas dos solo ven las
+     * regiones residentes y lo indican.
      */
-    private static int listZones(CommandContext<FabricClientCommandSource> context) {
-        var zones = ZoneAutoMessageMod.getZoneManager().getAllZones();
-        
-        if (zones.isEmpty()) {
+    private static int listZones(CommandContext<FabricClientCommandSource> context, ListMode mode, int page) {
+        var zoneManager = ZoneAutoMessageMod.getZoneManager();
+        var worldConfig = ZoneAutoMessageMod.getWorldConfigManager();
+        int worldCount = Math.max(worldConfig.getWorldZoneCount(), zoneManager.getZoneCount());
+
+        if (worldCount == 0) {
             sendFeedback(context, "§7No hay zonas creadas en este mundo");
             return 1;
         }
 
+        int from = (page - 1) * LIST_PAGE_SIZE;
+        var player = context.getSource().getPlayer();
+        boolean byDistance = mode == ListMode.DISTANCE || mode == ListMode.NEAR;
+        boolean byName = mode == ListMode.NAME || mode == ListMode.PREFIX;
+
+        List<Zone> source = null;
+        List<String> names = null;
+        int total;
+        String command;
+
+        if (mode == ListMode.VOLUME) {
+            source = zoneManager.getZonesSortedByVolume();
+            total = source.size();
+            command = "/zam list sort volume";
+        } else if (mode == ListMode.PREFIX) {
+            String prefix = StringArgumentType.getString(context, "prefix");
+            names = worldConfig.getZoneNamesWithPrefix(prefix);
+            total = names.size();
+            command = "/zam list prefix " + StringArgumentType.escapeIfRequired(prefix);
+        } else if (byDistance) {
+            if (player == null) {
+                sendError(context, "§c✗ No hay jugador para medir distancias");
+                return 0;
+            }
+
+            double radius = mode == ListMode.NEAR
+                ? DoubleArgumentType.getDouble(context, "radius")
+                : Double.POSITIVE_INFINITY;
+
+            // Una de más para saber si hay página siguiente
+            source = zoneManager.getNearestZones(
+                player.getX(), player.getY(), player.getZ(), from + LIST_PAGE_SIZE + 1, radius);
+            total = mode == ListMode.DISTANCE ? zoneManager.getZoneCount() : -1;
+            command = mode == ListMode.NEAR
+                ? String.format("/zam list near %.0f", radius)
+                : "/zam list sort distance";
+        } else {
+            names = worldConfig.getZoneNames();
+            total = names.size();
+            command = "/zam list";
+        }
+
+        int size = byName ? names.size() : source.size();
+        int to = Math.min(size, from + LIST_PAGE_SIZE);
+        if (from >= to) {
+            if (page == 1) {
+                sendFeedback(context, "§7Ninguna zona coincide");
+                return 1;
+            }
+            sendError(context, total >= 0
+                ? String.format("§c✗ Página fuera de rango (1-%d)", pageCount(total))
+                : "§c✗ Página fuera de rango");
+            return 0;
+        }
+
         StringBuilder sb = new StringBuilder("§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append(String.format("§6📋 Zonas en: §f%s\n", 
+        sb.append(String.format("§6📋 Zonas en: §f%s\n",
             ZoneAutoMessageMod.getWorldConfigManager().getCurrentWorldId()));
         sb.append("§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
 
-        int index = 1;
-        for (Zone zone : zones) {
+        for (int i = from; i < to; i++) {
+            Zone zone = byName ? zoneManager.getZoneByName(names.get(i)) : source.get(i);
+            if (zone == null) {
+                sb.append(String.format("§7%d. §f%s §8(región no cargada)\n", i + 1, names.get(i)));
+                continue;
+            }
+
             int[] dims = {
                 (int)(zone.getMaxX() - zone.getMinX()),
                 (int)(zone.getMaxY() - zone.getMinY()),
                 (int)(zone.getMaxZ() - zone.getMinZ())
             };
-            
+
             sb.append(String.format(
-                "§7%d. §f%s §7(%dx%dx%d bloques)\n",
-                index++, zone.getZoneName(), dims[0], dims[1], dims[2]
+                "§7%d. §f%s §7(%dx%dx%d bloques)",
+                i + 1, zone.getZoneName(), dims[0], dims[1], dims[2]
             ));
+            if (byDistance) {
+                sb.append(String.format(" §8· §f%.1f §7bloques",
+                    zone.getDistanceToZone(player.getX(), player.getY(), player.getZ())));
+            } else if (mode == ListMode.VOLUME) {
+                sb.append(String.format(" §8· §7vol. §f%.0f", zone.getVolume()));
+            }
+            sb.append('\n');
+        }
+
+        boolean hasNext = size > to;
+        sb.append(total >= 0
+            ? String.format("§7Página §f%d§7/§f%d §8· §f%d §7zonas", page, pageCount(total), total)
+            : String.format("§7Página §f%d", page));
+        if (!byName && zoneManager.getZoneCount() < worldCount) {
+            sb.append(String.format("\n§8Solo regiones cargadas: %d de %d zonas",
+                zoneManager.getZoneCount(), worldCount));
+        }
+        if (hasNext) {
+            sb.append(String.format("\n§7Siguiente: §f%s %d", command, page + 1));
         }
 
-        sb.append("§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        sb.append("\n§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
         sendFeedback(context, sb.toString());
         return 1;
     }
@@ -162,36 +738,406 @@ public class ZoneCommands {
      */
     private static int showZoneInfo(CommandContext<FabricClientCommandSource> context) {
         String zoneName = StringArgumentType.getString(context, "name");
-        Zone zone = ZoneAutoMessageMod.getZoneManager().getZoneByName(zoneName);
-
+        Zone zone = findZone(context, zoneName);
         if (zone == null) {
-            sendError(context, "§c✗ No existe una zona con ese nombre");
             return 0;
         }
 
+        var hierarchy = ZoneAutoMessageMod.getZoneManager().getHierarchy();
+        Zone parent = hierarchy.getParent(zone);
+
         String info = String.format(
             "§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n" +
             "§6📦 Información de Zona\n" +
             "§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n" +
             "§7Nombre: §f%s\n" +
             "§7ID: §8%s\n" +
+            "§7Dimensión: §f%s\n" +
+            "§7Forma: §f%s\n" +
+            "§7Buffer: §f%.1f H / %.1f V §7(%s)\n" +
+            "§7Etiquetas: §f%s\n" +
+            "§7Prioridad: §f%d §7· Dentro de: §f%s §7(nivel %d)\n" +
             "§7Punto 1: §f[%.0f, %.0f, %.0f]\n" +
             "§7Punto 2: §f[%.0f, %.0f, %.0f]\n" +
             "§7Mensaje entrada: §f%s\n" +
             "§7Mensaje salida: §f%s\n" +
+            "§7Permanencia: §f%s\n" +
+            "§7Recordatorio: §f%s\n" +
             "§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━",
             zone.getZoneName(),
             zone.getZoneId(),
+            zone.getDimension(),
+            zone.getShape() != null ? zone.getShape().describe() : "cuboide",
+            zone.getBufferDistance(), zone.getVerticalBuffer(), zone.getBuffer().describe(),
+            zone.getTagNames().isEmpty() ? "-" : String.join(", ", zone.getTagNames()),
+            zone.getPriority(),
+            parent != null ? parent.getZoneName() : "-",
+            hierarchy.getDepth(zone),
             zone.getMinX(), zone.getMinY(), zone.getMinZ(),
             zone.getMaxX(), zone.getMaxY(), zone.getMaxZ(),
             zone.getEnterMessage(),
-            zone.getExitMessage()
+            zone.getExitMessage(),
+            zone.getDwellSeconds() > 0 ? "tras " + zone.getDwellSeconds() + " s: " + zone.getDwellMessage() : "-",
+            zone.getRepeatSeconds() > 0 ? "cada " + zone.getRepeatSeconds() + " s: " + zone.getRepeatMessage() : "-"
         );
 
         sendFeedback(context, info);
         return 1;
     }
 
+    /**
+     * /zam setpriority <nombre> <prioridad>
+     * Entre zonas solapadas avisa la de mayor prioridad; a igual prioridad,
+     * la más profunda del árbol de anidamiento.
+     */
+    private static int setZonePriority(CommandContext<FabricClientCommandSource> context) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        int priority = IntegerArgumentType.getInteger(context, "priority");
+
+        Zone zone = findZone(context, zoneName);
+        if (zone == null) {
+            return 0;
+        }
+
+        ZoneTransaction tx = beginTransaction().setPriority(zone, priority);
+        if (!tx.commit()) {
+            sendError(context, "§c✗ " + tx.getError());
+            return 0;
+        }
+
+        sendFeedback(context, String.format("§a✓ Prioridad de §f%s§a: §f%d", zoneName, priority));
+        return 1;
+    }
+
+    /**
+     * /zam setbuffer <nombre> auto | <horizontal> [vertical]
+     * Fija el buffer de salida horizontal (X/Z) y vertical (Y); negativo
+     * (auto) vuelve a la fórmula.
+     */
+    private static int setZoneBuffer(CommandContext<FabricClientCommandSource> context,
+                                     double horizontal, double vertical) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        Zone zone = findZone(context, zoneName);
+        if (zone == null) {
+            return 0;
+        }
+
+        return commitBuffer(context, zone, zone.getBuffer().withFixed(horizontal, vertical));
+    }
+
+    /**
+     * /zam setbuffer <nombre> formula <multiplicador> <mínimo> <máximo>
+     * buffer = max(mínimo, min(máximo, diagonal * multiplicador))
+     */
+    private static int setZoneBufferFormula(CommandContext<FabricClientCommandSource> context) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        Zone zone = findZone(context, zoneName);
+        if (zone == null) {
+            return 0;
+        }
+
+        ZoneBuffer buffer;
+        try {
+            buffer = zone.getBuffer().withFormula(
+                DoubleArgumentType.getDouble(context, "multiplier"),
+                DoubleArgumentType.getDouble(context, "min"),
+                DoubleArgumentType.getDouble(context, "max"));
+        } catch (IllegalArgumentException e) {
+            sendError(context, "§c✗ " + e.getMessage() + " (el mínimo no puede superar al máximo)");
+            return 0;
+        }
+
+        return commitBuffer(context, zone, buffer);
+    }
+
+    private static int commitBuffer(CommandContext<FabricClientCommandSource> context, Zone zone, ZoneBuffer buffer) {
+        ZoneTransaction tx = beginTransaction().setBuffer(zone, buffer);
+        if (!tx.commit()) {
+            sendError(context, "§c✗ " + tx.getError());
+            return 0;
+        }
+
+        sendFeedback(context, String.format("§a✓ Buffer de §f%s§a: §f%.1f H / %.1f V §7(%s)",
+            zone.getZoneName(), zone.getBufferDistance(), zone.getVerticalBuffer(), buffer.describe()));
+        return 1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    // ETIQUETAS
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * /zam tag add|remove <nombre> <etiqueta>
+     */
+    private static int tagZone(CommandContext<FabricClientCommandSource> context, boolean tagged) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        String tagName = StringArgumentType.getString(context, "tag");
+
+        Zone zone = findZone(context, zoneName);
+        if (zone == null) {
+            return 0;
+        }
+
+        int tag;
+        if (tagged) {
+            try {
+                tag = ZoneTags.idOf(tagName);
+            } catch (IllegalArgumentException e) {
+                sendError(context, "§c✗ " + e.getMessage() + " §7(a-z, 0-9, _ y -, hasta "
+                    + ZoneTags.MAX_TAG_LENGTH + " caracteres)");
+                return 0;
+            }
+        } else {
+            tag = ZoneTags.find(tagName);
+            if (tag < 0 || !zone.hasTag(tag)) {
+                sendError(context, "§c✗ La zona no tiene la etiqueta §f" + ZoneTags.normalize(tagName));
+                return 0;
+            }
+        }
+
+        ZoneTransaction tx = beginTransaction().setTag(zone, tag, tagged);
+        if (!tx.commit()) {
+            sendError(context, "§c✗ " + tx.getError());
+            return 0;
+        }
+
+        sendFeedback(context, String.format("§a✓ §f%s§a: %s etiqueta §f%s",
+            zoneName, tagged ? "añadida la" : "quitada la", ZoneTags.nameOf(tag)));
+        return 1;
+    }
+
+    /**
+     * /zam tag list
+     * Etiquetas conocidas con su número de zonas cargadas y su estado.
+     */
+    private static int listTags(CommandContext<FabricClientCommandSource> context) {
+        List<String> tags = ZoneTags.getNames();
+        if (tags.isEmpty()) {
+            sendFeedback(context, "§7No hay etiquetas. Usa §e/zam tag add <nombre> <etiqueta>");
+            return 1;
+        }
+
+        var zoneManager = ZoneAutoMessageMod.getZoneManager();
+        StringBuilder message = new StringBuilder("§6Etiquetas:");
+        for (int tag = 0; tag < tags.size(); tag++) {
+            message.append(String.format("\n§7- §f%s §7(%d zona(s))%s",
+                tags.get(tag), zoneManager.getZonesWithTag(tag).size(),
+                zoneManager.isTagEnabled(tag) ? "" : " §c[desactivada]"));
+        }
+        sendFeedback(context, message.toString());
+        return 1;
+    }
+
+    /**
+     * /zam tag zones <etiqueta>
+     */
+    private static int listTagZones(CommandContext<FabricClientCommandSource> context) {
+        int tag = findTag(context);
+        if (tag < 0) {
+            return 0;
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Zone zone : ZoneAutoMessageMod.getZoneManager().getZonesWithTag(tag)) {
+            names.add(zone.getZoneName());
+        }
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+
+        int total = names.size();
+        if (total > MAX_TAG_ZONES_LISTED) {
+            names = names.subList(0, MAX_TAG_ZONES_LISTED);
+        }
+        sendFeedback(context, String.format("§6%s §7(%d zona(s)):§f %s%s",
+            ZoneTags.nameOf(tag), total, String.join("§7, §f", names),
+            total > MAX_TAG_ZONES_LISTED ? " §7..." : ""));
+        return 1;
+    }
+
+    /**
+     * /zam tag enable|disable <etiqueta>
+     * Las zonas con una etiqueta desactivada no envían mensajes (solo
+     * durante esta sesión).
+     */
+    private static int setTagEnabled(CommandContext<FabricClientCommandSource> context, boolean enabled) {
+        int tag = findTag(context);
+        if (tag < 0) {
+            return 0;
+        }
+
+        var zoneManager = ZoneAutoMessageMod.getZoneManager();
+        zoneManager.setTagEnabled(tag, enabled);
+        sendFeedback(context, String.format("§a✓ Grupo §f%s §a%s §7(%d zona(s))",
+            ZoneTags.nameOf(tag), enabled ? "activado" : "desactivado",
+            zoneManager.getZonesWithTag(tag).size()));
+        return 1;
+    }
+
+    /**
+     * /zam tag setenter|setexit <etiqueta> <mensaje>
+     * Como /zam bulk, pero las zonas salen del índice por etiqueta.
+     */
+    private static int bulkEditByTag(CommandContext<FabricClientCommandSource> context, BulkAction action) {
+        long start = System.nanoTime();
+        int tag = findTag(context);
+        if (tag < 0) {
+            return 0;
+        }
+
+        String text = StringArgumentType.getString(context, "text");
+        ZoneTransaction tx = beginTransaction();
+        int changed = 0;
+
+        for (Zone zone : ZoneAutoMessageMod.getZoneManager().getZonesWithTag(tag)) {
+            if (action == BulkAction.SET_ENTER) {
+                tx.setEnterMessage(zone, text);
+            } else {
+                tx.setExitMessage(zone, text);
+            }
+            changed++;
+        }
+
+        if (changed == 0) {
+            sendFeedback(context, "§7Ninguna zona cargada tiene la etiqueta §f" + ZoneTags.nameOf(tag));
+            return 1;
+        }
+        if (!tx.commit()) {
+            sendError(context, "§c✗ No se aplicó ningún cambio: " + tx.getError());
+            return 0;
+        }
+
+        sendFeedback(context, String.format("§a✓ %d zona(s) con §f%s §amodificada(s) en §f%.1f ms",
+            changed, ZoneTags.nameOf(tag), (System.nanoTime() - start) / 1_000_000.0));
+        return 1;
+    }
+
+    /**
+     * Etiqueta del argumento "tag", o -1 (con error enviado) si no existe.
+     */
+    private static int findTag(CommandContext<FabricClientCommandSource> context) {
+        String tagName = StringArgumentType.getString(context, "tag");
+        int tag = ZoneTags.find(tagName);
+        if (tag < 0) {
+            sendError(context, "§c✗ No existe la etiqueta §f" + ZoneTags.normalize(tagName));
+        }
+        return tag;
+    }
+
+    /**
+     * /zam nesting
+     * Estado de la resolución por zona más interna y resumen del árbol.
+     */
+    private static int showNesting(CommandContext<FabricClientCommandSource> context) {
+        var hierarchy = ZoneAutoMessageMod.getZoneManager().getHierarchy();
+        sendFeedback(context, String.format(
+            "§6Zonas anidadas: %s\n" +
+            "§7Raíces: §f%d §7· Profundidad máxima: §f%d\n" +
+            "§7Usa §e/zam nesting on|off §7para cambiarlo",
+            ZoneEvaluator.isInnermostOnly() ? "§asolo la más interna" : "§ecada zona por separado",
+            hierarchy.getRootCount(), hierarchy.getMaxDepth()
+        ));
+        return 1;
+    }
+
+    /**
+     * /zam nesting on|off
+     */
+    private static int setNesting(CommandContext<FabricClientCommandSource> context, boolean enabled) {
+        ZoneEvaluator.setInnermostOnly(enabled);
+        sendFeedback(context, enabled
+            ? "§a✓ Solo se avisará del cambio de zona más interna"
+            : "§a✓ Cada zona avisará de sus entradas y salidas");
+        return 1;
+    }
+
+    /**
+     * /zam here
+     * Zonas que contienen la posición del jugador (consulta de punto en el
+     * índice espacial).
+     */
+    private static int showZonesHere(CommandContext<FabricClientCommandSource> context) {
+        var player = context.getSource().getPlayer();
+        if (player == null) {
+            sendError(context, "§c✗ No hay jugador");
+            return 0;
+        }
+
+        return sendZonesAtPoint(context, player.getX(), player.getY(), player.getZ(), "tu posición");
+    }
+
+    /**
+     * /zam at <x> <y> <z>
+     * Zonas que contienen un punto dado.
+     */
+    private static int showZonesAtPoint(CommandContext<FabricClientCommandSource> context) {
+        double x = DoubleArgumentType.getDouble(context, "x");
+        double y = DoubleArgumentType.getDouble(context, "y");
+        double z = DoubleArgumentType.getDouble(context, "z");
+
+        return sendZonesAtPoint(context, x, y, z, String.format("[%.1f, %.1f, %.1f]", x, y, z));
+    }
+
+    private static int sendZonesAtPoint(CommandContext<FabricClientCommandSource> context,
+                                        double x, double y, double z, String where) {
+        List<Zone> zones = new ArrayList<>();
+        ZoneAutoMessageMod.getZoneManager().getZonesAt(x, y, z, zones);
+
+        if (zones.isEmpty()) {
+            sendFeedback(context, "§7Ninguna zona contiene " + where);
+            return 1;
+        }
+
+        zones.sort(Comparator.comparingDouble(Zone::getVolume));
+
+        StringBuilder sb = new StringBuilder(String.format(
+            "§6📍 %d zona(s) en %s:", zones.size(), where));
+        for (Zone zone : zones) {
+            sb.append(String.format("\n§7- §f%s §7(%dx%dx%d bloques)",
+                zone.getZoneName(),
+                (int)(zone.getMaxX() - zone.getMinX()),
+                (int)(zone.getMaxY() - zone.getMinY()),
+                (int)(zone.getMaxZ() - zone.getMinZ())));
+        }
+
+        sendFeedback(context, sb.toString());
+        return 1;
+    }
+
+    /**
+     * /zam near [radio] [k]
+     * Las k zonas más cercanas al jugador dentro del radio (búsqueda
+     * best-first en el índice espacial; 0 bloques = dentro de la zona).
+     */
+    private static int showNearestZones(CommandContext<FabricClientCommandSource> context, double radius, int k) {
+        var player = context.getSource().getPlayer();
+        if (player == null) {
+            sendError(context, "§c✗ No hay jugador");
+            return 0;
+        }
+
+        double x = player.getX();
+        double y = player.getY();
+        double z = player.getZ();
+        List<Zone> zones = ZoneAutoMessageMod.getZoneManager().getNearestZones(x, y, z, k, radius);
+
+        if (zones.isEmpty()) {
+            sendFeedback(context, String.format("§7No hay zonas a menos de §f%.0f §7bloques", radius));
+            return 1;
+        }
+
+        StringBuilder sb = new StringBuilder(String.format(
+            "§6🧭 %d zona(s) más cercana(s) (radio %.0f):", zones.size(), radius));
+        int index = 1;
+        for (Zone zone : zones) {
+            double distance = zone.getDistanceToZone(x, y, z);
+            sb.append(String.format("\n§7%d. §f%s §8· %s",
+                index++, zone.getZoneName(),
+                distance <= 0 ? "§adentro" : String.format("§f%.1f §7bloques", distance)));
+        }
+
+        sendFeedback(context, sb.toString());
+        return 1;
+    }
+
     /**
      * /zam setenter <nombre> <mensaje>
      * Cambia el mensaje de entrada de una zona.
@@ -200,16 +1146,16 @@ public class ZoneCommands {
         String zoneName = StringArgumentType.getString(context, "name");
         String message = StringArgumentType.getString(context, "message");
 
-        Zone zone = ZoneAutoMessageMod.getZoneManager().getZoneByName(zoneName);
-
+        Zone zone = findZone(context, zoneName);
         if (zone == null) {
-            sendError(context, "§c✗ No existe una zona con ese nombre");
             return 0;
         }
 
-        zone.setEnterMessage(message);
-        ZoneAutoMessageMod.getWorldConfigManager().removeZone(zone.getZoneId());
-        ZoneAutoMessageMod.getWorldConfigManager().addZone(zone);
+        ZoneTransaction tx = beginTransaction().setEnterMessage(zone, message);
+        if (!tx.commit()) {
+            sendError(context, "§c✗ " + tx.getError());
+            return 0;
+        }
 
         sendFeedback(context, String.format(
             "§a✓ Mensaje de entrada actualizado:\n§f%s", message
@@ -225,16 +1171,16 @@ public class ZoneCommands {
         String zoneName = StringArgumentType.getString(context, "name");
         String message = StringArgumentType.getString(context, "message");
 
-        Zone zone = ZoneAutoMessageMod.getZoneManager().getZoneByName(zoneName);
-
+        Zone zone = findZone(context, zoneName);
         if (zone == null) {
-            sendError(context, "§c✗ No existe una zona con ese nombre");
             return 0;
         }
 
-        zone.setExitMessage(message);
-        ZoneAutoMessageMod.getWorldConfigManager().removeZone(zone.getZoneId());
-        ZoneAutoMessageMod.getWorldConfigManager().addZone(zone);
+        ZoneTransaction tx = beginTransaction().setExitMessage(zone, message);
+        if (!tx.commit()) {
+            sendError(context, "§c✗ " + tx.getError());
+            return 0;
+        }
 
         sendFeedback(context, String.format(
             "§a✓ Mensaje de salida actualizado:\n§f%s", message
@@ -242,6 +1188,341 @@ public class ZoneCommands {
         return 1;
     }
 
+    /**
+     * /zam setdwell|setrepeat <nombre> <segundos> <mensaje> | off
+     * Mensaje tras llevar N segundos dentro, o recordatorio cada N segundos
+     * mientras se está dentro. Se aplica en la siguiente entrada.
+     */
+    private static int setTimedMessage(CommandContext<FabricClientCommandSource> context,
+                                       boolean repeating, int seconds, String message) {
+        String zoneName = StringArgumentType.getString(context, "name");
+        Zone zone = findZone(context, zoneName);
+        if (zone == null) {
+            return 0;
+        }
+
+        ZoneTransaction tx = repeating
+            ? beginTransaction().setRepeat(zone, seconds, message)
+            : beginTransaction().setDwell(zone, seconds, message);
+        if (!tx.commit()) {
+            sendError(context, "§c✗ " + tx.getError());
+            return 0;
+        }
+
+        String kind = repeating ? "Recordatorio" : "Mensaje de permanencia";
+        if (seconds == 0) {
+            sendFeedback(context, String.format("§a✓ %s de §f%s§a desactivado", kind, zoneName));
+        } else {
+            sendFeedback(context, String.format(
+                "§a✓ %s de §f%s§a %s §f%d s§a:\n§f%s\n§7(se aplica en la próxima entrada)",
+                kind, zoneName, repeating ? "cada" : "tras", seconds, message));
+        }
+        return 1;
+    }
+
+    /**
+     * /zam import <archivo>
+     * Importa zonas desde config/zoneautomessage/import/ sin bloquear el juego.
+     */
+    private static int importZones(CommandContext<FabricClientCommandSource> context) {
+        String fileName = StringArgumentType.getString(context, "file");
+
+        sendFeedback(context, "§e⏳ Importando §f" + fileName + "§e...");
+
+        ZoneAutoMessageMod.getZoneImporter()
+            .importFile(fileName, progress -> sendFeedback(context, progress))
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    sendError(context, "§c✗ Importación fallida: " + cause.getMessage());
+                    return;
+                }
+
+                StringBuilder report = new StringBuilder();
+                report.append("§a✓ Importación completada: §f").append(result.imported)
+                    .append("§a de §f").append(result.total).append("§a zona(s)\n");
+                report.append(String.format(
+                    "§7Inválidas: §f%d §7| Repetidas: §f%d §7| Colisiones: §f%d\n",
+                    result.invalid, result.duplicates, result.collisions
+                ));
+                report.append(String.format("§7Regiones escritas: §f%d §7| Tiempo: §f%d ms",
+                    result.regionsWritten, result.elapsedMs));
+                if (result.regionsFailed > 0) {
+                    report.append(String.format("\n§c✗ %d región(es) no se pudieron escribir (ver el log)",
+                        result.regionsFailed));
+                }
+
+                for (String detail : result.errors) {
+                    report.append("\n§c  • ").append(detail);
+                }
+
+                sendFeedback(context, report.toString());
+            });
+
+        return 1;
+    }
+
+    /**
+     * /zam bulk <setenter|setexit|rename|delete> <patrón> [texto]
+     *
+     * Busca las zonas por patrón en el índice de nombres de todo el mundo,
+     * carga en el hilo de E/S las regiones no residentes que hagan falta y
+     * aplica todos los cambios en una sola ZoneTransaction: se valida todo
+     * antes de tocar nada y se guarda una vez por región afectada.
+     */
+    private static int bulkEdit(CommandContext<FabricClientCommandSource> context, BulkAction action) {
+        long start = System.nanoTime();
+        String patternText = StringArgumentType.getString(context, "pattern");
+
+        ZonePattern pattern;
+        try {
+            pattern = ZonePattern.compile(patternText);
+        } catch (PatternSyntaxException e) {
+            sendError(context, "§c✗ Regex inválida: " + e.getDescription());
+            return 0;
+        }
+
+        // Se busca en todo el mundo; las regiones no residentes con zonas
+        // coincidentes se cargan en el hilo de E/S antes de editar
+        List<String> names = ZoneAutoMessageMod.getWorldConfigManager().getZoneNamesMatching(pattern);
+        if (names.isEmpty()) {
+            sendFeedback(context, "§7Ninguna zona coincide con §f" + patternText);
+            return 1;
+        }
+
+        String text = action == BulkAction.DELETE ? null : StringArgumentType.getString(context, "text");
+        ZoneAutoMessageMod.getWorldConfigManager().loadZonesByName(names).whenComplete((regions, error) -> {
+            if (error != null) {
+                sendError(context, "§c✗ No se pudieron cargar las zonas: " + error.getMessage());
+                return;
+            }
+            applyBulkEdit(context, action, pattern, text, names, regions, start);
+        });
+        return 1;
+    }
+
+    /**
+     * Aplica /zam bulk en una sola transacción, con las regiones de todas
+     * las zonas coincidentes ya cargadas (hilo del cliente).
+     *
+     * @param regions Regiones que hubo que cargar de disco
+     */
+    private static void applyBulkEdit(CommandContext<FabricClientCommandSource> context, BulkAction action,
+                                      ZonePattern pattern, String text, List<String> names,
+                                      int regions, long start) {
+        List<Zone> matches = new ArrayList<>(names.size());
+        for (String name : names) {
+            Zone zone = ZoneAutoMessageMod.getZoneManager().getZoneByName(name);
+            if (zone != null) {
+                matches.add(zone);
+            }
+        }
+
+        ZoneTransaction tx = beginTransaction();
+        int changed = 0;
+
+        for (Zone zone : matches) {
+            switch (action) {
+                case SET_ENTER:
+                    tx.setEnterMessage(zone, text);
+                    break;
+                case SET_EXIT:
+                    tx.setExitMessage(zone, text);
+                    break;
+                case DELETE:
+                    tx.delete(zone);
+                    break;
+                case RENAME: {
+                    String newName;
+                    try {
+                        newName = pattern.rename(zone.getZoneName(), text);
+                    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                        tx.rollback();
+                        sendError(context, "§c✗ Reemplazo inválido: " + e.getMessage());
+                        return;
+                    }
+                    if (newName.equals(zone.getZoneName())) {
+                        continue;
+                    }
+                    tx.rename(zone, newName);
+                    break;
+                }
+            }
+            changed++;
+        }
+
+        if (!tx.commit()) {
+            sendError(context, "§c✗ No se aplicó ningún cambio: " + tx.getError());
+            return;
+        }
+
+        sendFeedback(context, String.format(
+            "§a✓ %d zona(s) coinciden con §f%s§a, %d modificada(s) en §f%.1f ms",
+            matches.size(), pattern, changed, (System.nanoTime() - start) / 1_000_000.0
+        ));
+        if (regions > 0) {
+            sendFeedback(context, "§8" + regions + " región(es) no cargada(s) leída(s) de disco");
+        }
+        if (matches.size() < names.size()) {
+            sendFeedback(context, String.format(
+                "§e⚠ %d zona(s) no disponible(s) (cambiaron mientras se cargaban)",
+                names.size() - matches.size()
+            ));
+        }
+    }
+
+    /**
+     * /zam render
+     * Muestra cuántas zonas se dibujaron en el último frame.
+     */
+    private static int showRenderStats(CommandContext<FabricClientCommandSource> context) {
+        sendFeedback(context, String.format(
+            "§6Renderizado de zonas:\n" +
+            "§7Dibujadas: §f%d §7de §f%d §7cargadas\n" +
+            "§7Distancia máxima: §f%d §7bloques\n" +
+            "§7Presupuesto: §f%s\n" +
+            "§7Líneas de rejilla (LOD cercano): §f%d\n" +
+            "§7Mallas en construcción: §f%d",
+            ZoneRenderer.getLastDrawnZones(),
+            ZoneRenderer.getLastTotalZones(),
+            ZoneRenderer.getMaxRenderDistance(),
+            ZoneRenderer.getZoneBudget() > 0 ? ZoneRenderer.getZoneBudget() + " zonas" : "sin límite",
+            ZoneRenderer.getLastGridLines(),
+            ZoneRenderer.getPendingMeshBuilds()
+        ));
+        return 1;
+    }
+
+    /**
+     * /zam render distance <bloques>
+     * Cambia la distancia máxima a la que se dibujan zonas.
+     */
+    private static int setRenderDistance(CommandContext<FabricClientCommandSource> context) {
+        int blocks = IntegerArgumentType.getInteger(context, "blocks");
+        ZoneRenderer.setMaxRenderDistance(blocks);
+
+        sendFeedback(context, "§a✓ Distancia de renderizado: §f" + ZoneRenderer.getMaxRenderDistance() + " §abloques");
+        return 1;
+    }
+
+    /**
+     * /zam render budget <n>
+     * Limita el renderizado a las N zonas más relevantes (0 = sin límite).
+     */
+    private static int setRenderBudget(CommandContext<FabricClientCommandSource> context) {
+        int zones = IntegerArgumentType.getInteger(context, "zones");
+        ZoneRenderer.setZoneBudget(zones);
+
+        sendFeedback(context, zones > 0
+            ? "§a✓ Se dibujarán como máximo §f" + ZoneRenderer.getZoneBudget() + " §azonas"
+            : "§a✓ Presupuesto de zonas desactivado");
+        return 1;
+    }
+
+    /**
+     * /zam render tag [etiqueta]
+     * Dibuja solo las zonas con la etiqueta; sin argumento, todas.
+     */
+    private static int setRenderTag(CommandContext<FabricClientCommandSource> context, boolean filtered) {
+        if (!filtered) {
+            ZoneRenderer.setRenderTag(-1);
+            sendFeedback(context, "§a✓ Se dibujarán todas las zonas");
+            return 1;
+        }
+
+        int tag = findTag(context);
+        if (tag < 0) {
+            return 0;
+        }
+        ZoneRenderer.setRenderTag(tag);
+        sendFeedback(context, "§a✓ Solo se dibujarán las zonas con §f" + ZoneTags.nameOf(tag));
+        return 1;
+    }
+
+    /**
+     * /zam render timing
+     * Percentiles del coste por frame del renderizado de zonas.
+     */
+    private static int showRenderTimings(CommandContext<FabricClientCommandSource> context) {
+        sendFeedback(context, ZoneRenderer.getTimings().summary());
+        return 1;
+    }
+
+    /**
+     * /zam render timing reset
+     */
+    private static int resetRenderTimings(CommandContext<FabricClientCommandSource> context) {
+        ZoneRenderer.getTimings().reset();
+        sendFeedback(context, "§a✓ Tiempos de render reiniciados");
+        return 1;
+    }
+
+    /**
+     * /zam render hud
+     * Muestra u oculta la línea de tiempos en el HUD.
+     */
+    private static int toggleRenderHud(CommandContext<FabricClientCommandSource> context) {
+        boolean visible = ZoneRenderer.getTimings().toggleHud();
+        sendFeedback(context, visible
+            ? "§a✓ Tiempos de render visibles en el HUD"
+            : "§7Tiempos de render ocultos");
+        return 1;
+    }
+
+    /**
+     * /zam stats
+     * Percentiles de las métricas de rendimiento desde el último reset.
+     */
+    private static int showStats(CommandContext<FabricClientCommandSource> context) {
+        var worldConfig = ZoneAutoMessageMod.getWorldConfigManager();
+        sendFeedback(context, String.format(
+            "§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n" +
+            "§7%s\n" +
+            "§7Regiones: §f%d §7residentes de §f%d\n" +
+            "%s\n" +
+            "§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━",
+            ZoneAutoMessageMod.getZoneManager().getStats(),
+            worldConfig.getResidentRegionCount(),
+            worldConfig.getKnownRegionCount(),
+            ZoneMetrics.summary()
+        ));
+        return 1;
+    }
+
+    /**
+     * /zam stats reset
+     */
+    private static int resetStats(CommandContext<FabricClientCommandSource> context) {
+        ZoneMetrics.reset();
+        sendFeedback(context, "§a✓ Métricas reiniciadas");
+        return 1;
+    }
+
+    /**
+     * /zam bench <zonas> <segundos>
+     * Mide la detección de zonas con zonas y recorrido sintéticos (en otro
+     * hilo; las zonas del mundo no se tocan).
+     */
+    private static int runBenchmark(CommandContext<FabricClientCommandSource> context) {
+        int zones = IntegerArgumentType.getInteger(context, "zones");
+        int seconds = IntegerArgumentType.getInteger(context, "seconds");
+
+        sendFeedback(context, String.format(
+            "§e⏳ Benchmark: §f%d §ezonas durante §f%d §es...", zones, seconds));
+
+        ZoneAutoMessageMod.getZoneBenchmark()
+            .run(zones, seconds)
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    sendError(context, "§c✗ Benchmark fallido: " + cause.getMessage());
+                    return;
+                }
+                sendFeedback(context, result.summary());
+            });
+        return 1;
+    }
+
     /**
      * /zam clear
      * Limpia la selección actual.
@@ -276,10 +1557,24 @@ public class ZoneCommands {
             "§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n" +
             "§7/zam create <nombre> §f- Crear zona\n" +
             "§7/zam delete <nombre> §f- Eliminar zona\n" +
-            "§7/zam list §f- Listar zonas\n" +
+            "§7/zam list [página] §f- Listar zonas\n" +
+            "§7/zam list sort|prefix|near ... §f- Ordenar/filtrar\n" +
             "§7/zam info <nombre> §f- Info de zona\n" +
+            "§7/zam here | near [radio] [k] | at <x y z> §f- Consultas espaciales\n" +
             "§7/zam setenter <nombre> <msg> §f- Mensaje entrada\n" +
             "§7/zam setexit <nombre> <msg> §f- Mensaje salida\n" +
+            "§7/zam setpriority <nombre> <n> §f- Prioridad (zonas solapadas)\n" +
+            "§7/zam setbuffer <nombre> auto|<h> [v]|formula ... §f- Buffer de salida\n" +
+            "§7/zam setdwell|setrepeat <nombre> <seg> <msg>|off §f- Mensajes dentro\n" +
+            "§7/zam nesting [on|off] §f- Solo la zona más interna\n" +
+            "§7/zam tag add|remove|list|zones|enable|disable|setenter|setexit §f- Etiquetas\n" +
+            "§7/zam import <archivo> §f- Importar zonas\n" +
+            "§7/zam bulk setenter|setexit|rename|delete \"<patrón>\" ... §f- Edición en bloque\n" +
+            "§7/zam render [distance|budget <n>] §f- Render de zonas\n" +
+            "§7/zam render timing|hud §f- Tiempos de render\n" +
+            "§7/zam render tag [etiqueta] §f- Dibujar solo una etiqueta\n" +
+            "§7/zam stats [reset] §f- Métricas de rendimiento\n" +
+            "§7/zam bench <zonas> <segundos> §f- Benchmark\n" +
             "§7/zam clear §f- Limpiar selección\n" +
             "§7/zam toggle §f- Activar/desactivar\n" +
             "§e━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n" +
@@ -293,6 +1588,77 @@ public class ZoneCommands {
     // UTILIDADES
     // ═══════════════════════════════════════════════════════════════════════
 
+    private static LiteralArgumentBuilder<FabricClientCommandSource> listModeNode(String literal, ListMode mode) {
+        return ClientCommandManager.literal(literal)
+            .executes(context -> listZones(context, mode, 1))
+            .then(ClientCommandManager.argument("page", IntegerArgumentType.integer(1))
+                .executes(context -> listZones(context, mode, getPage(context))));
+    }
+
+    /**
+     * Sugiere nombres de zona que empiezan por lo ya escrito (índice de
+     * prefijos de ZoneManager, coste independiente del número de zonas).
+     */
+    private static CompletableFuture<Suggestions> suggestZoneNames(SuggestionsBuilder builder, boolean quoted) {
+        String typed = builder.getRemaining();
+        if (quoted && typed.startsWith("\"")) {
+            typed = typed.substring(1);
+        }
+
+        List<String> names = new ArrayList<>();
+        ZoneAutoMessageMod.getWorldConfigManager().completeZoneNames(typed, MAX_NAME_SUGGESTIONS, names);
+        for (String name : names) {
+            builder.suggest(quoted ? StringArgumentType.escapeIfRequired(name) : name);
+        }
+        return builder.buildFuture();
+    }
+
+    /**
+     * Busca la zona en todo el mundo: si su región no está residente se
+     * carga. Si no existe, envía el error con nombres parecidos.
+     *
+     * @return La zona, o null si no existe
+     */
+    private static Zone findZone(CommandContext<FabricClientCommandSource> context, String zoneName) {
+        Zone zone = ZoneAutoMessageMod.getZoneManager().getZoneByName(zoneName);
+        if (zone == null) {
+            zone = ZoneAutoMessageMod.getWorldConfigManager().loadZoneByName(zoneName);
+        }
+        if (zone == null) {
+            sendZoneNotFound(context, zoneName);
+        }
+        return zone;
+    }
+
+    /**
+     * Error de zona inexistente con "¿quisiste decir...?" si hay nombres
+     * parecidos.
+     */
+    private static void sendZoneNotFound(CommandContext<FabricClientCommandSource> context, String zoneName) {
+        List<String> similar = ZoneAutoMessageMod.getWorldConfigManager().findSimilarZoneNames(zoneName, MAX_SIMILAR_NAMES);
+        if (similar.isEmpty()) {
+            sendError(context, "§c✗ No existe una zona con ese nombre");
+        } else {
+            sendError(context, "§c✗ No existe una zona con ese nombre. ¿Quisiste decir: §f"
+                + String.join("§c, §f", similar) + "§c?");
+        }
+    }
+
+    private static int getPage(CommandContext<FabricClientCommandSource> context) {
+        return IntegerArgumentType.getInteger(context, "page");
+    }
+
+    private static int pageCount(int total) {
+        return Math.max(1, (total + LIST_PAGE_SIZE - 1) / LIST_PAGE_SIZE);
+    }
+
+    private static ZoneTransaction beginTransaction() {
+        return new ZoneTransaction(
+            ZoneAutoMessageMod.getZoneManager(),
+            ZoneAutoMessageMod.getWorldConfigManager()
+        );
+    }
+
     private static void sendFeedback(CommandContext<FabricClientCommandSource> context, String msg) {
         context.getSource().sendFeedback(Text.literal(msg));
     }
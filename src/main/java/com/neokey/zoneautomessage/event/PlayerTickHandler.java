@@ -2,9 +2,12 @@ package com.neokey.zoneautomessage.event;
 
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
 import com.neokey.zoneautomessage.ZoneAutoMessageMod;
 import com.neokey.zoneautomessage.zone.Zone;
 import com.neokey.zoneautomessage.manager.MessageManager;
+import com.neokey.zoneautomessage.util.PlayerInfoUtil;
+import com.neokey.zoneautomessage.util.ZoneMetrics;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════╗
@@ -13,6 +16,10 @@ import com.neokey.zoneautomessage.manager.MessageManager;
  * ║ Responsabilidades:                                                       ║
  * ║ - Monitorear la posición del jugador cada tick                          ║
  * ║ - Detectar transiciones de zonas (entrada/salida)                       ║
+ * ║ - Avanzar los mensajes de permanencia y recordatorios (ZoneTimers)      ║
+ * ║ - Evaluar solo zonas candidatas (ZoneEvaluator: índice + ocupadas)      ║
+ * ║ - Activar el índice de zonas de la dimensión actual al cambiar de mundo ║
+ * ║ - Cargar/descargar regiones de zonas según la posición                  ║
  * ║ - Enviar mensajes usando /msg [nickname] (individual)                   ║
  * ║ - Manejar keybindings (toggle, limpiar selección)                       ║
  * ║ - Logging optimizado y no invasivo                                      ║
@@ -20,12 +27,34 @@ import com.neokey.zoneautomessage.manager.MessageManager;
  * ║ Autor: NeoKey                                                           ║
  * ╚══════════════════════════════════════════════════════════════════════════╝
  */
-public class PlayerTickHandler implements ClientTickEvents.EndTick {
+public class PlayerTickHandler implements ClientTickEvents.EndTick, ZoneEvaluator.TransitionListener,
+		ZoneTimers.TimerListener {
 
 	// Contador para limitar logging excesivo
 	private int tickCounter = 0;
 	private static final int LOG_INTERVAL = 600; // Log cada 30 segundos (600 ticks)
 
+	// Comprobación de regiones residentes (cada segundo)
+	private int regionTickCounter = 0;
+	private static final int REGION_CHECK_INTERVAL = 20;
+
+	// Transiciones por minuto (/zam stats)
+	private int minuteTickCounter = 0;
+	private int transitionsThisMinute = 0;
+	private static final int TICKS_PER_MINUTE = 1200;
+
+	// Detección de entradas/salidas (compartida con /zam bench)
+	private final ZoneEvaluator evaluator = new ZoneEvaluator();
+
+	// Mensajes de permanencia y recordatorios de las zonas ocupadas
+	private final ZoneTimers timers = new ZoneTimers();
+
+	// Jugador del tick actual (para los mensajes de onZoneEnter/onZoneExit)
+	private String playerNickname;
+
+	// Mundo del último tick (cambia al cambiar de dimensión)
+	private ClientWorld lastWorld = null;
+
 	@Override
 	public void onEndTick(MinecraftClient client) {
 		try {
@@ -42,26 +71,48 @@ public class PlayerTickHandler implements ClientTickEvents.EndTick {
 				return;
 			}
 
+			// Esperar a que las zonas del mundo terminen de cargarse
+			if (!ZoneAutoMessageMod.isWorldReady()) {
+				evaluator.reset();
+				timers.clear();
+				return;
+			}
+
+			// Cambio de dimensión: el tick solo ve las zonas de la nueva
+			if (client.world != lastWorld) {
+				lastWorld = client.world;
+				ZoneAutoMessageMod.getZoneManager().setActiveDimension(PlayerInfoUtil.getDimensionName());
+			}
+
 			// Obtener posición actual del jugador
 			double playerX = client.player.getX();
 			double playerY = client.player.getY();
 			double playerZ = client.player.getZ();
 
 			// Obtener nickname del jugador (para envío individual)
-			String playerNickname = client.player.getName().getString();
-
-			// Iterar sobre todas las zonas y detectar cambios
-			for (Zone zone : ZoneAutoMessageMod.getZoneManager().getAllZones()) {
-				int stateChange = zone.updatePlayerState(playerX, playerY, playerZ);
-
-				// Enviar mensaje según el cambio detectado
-				if (stateChange == 1) {
-					// ENTRADA: El jugador entró en la zona
-					handleZoneEntry(zone, playerNickname);
-				} else if (stateChange == -1) {
-					// SALIDA: El jugador salió de la zona
-					handleZoneExit(zone, playerNickname);
-				}
+			playerNickname = client.player.getName().getString();
+
+			// Cargar regiones cercanas / descargar lejanas
+			if (regionTickCounter++ >= REGION_CHECK_INTERVAL) {
+				regionTickCounter = 0;
+				ZoneAutoMessageMod.getWorldConfigManager().updateResidentRegions(playerX, playerZ);
+				ZoneMetrics.IO_QUEUE_DEPTH.record(ZoneAutoMessageMod.getWorldConfigManager().getIoQueueDepth());
+			}
+
+			// Evaluar solo las zonas candidatas y detectar cambios
+			long evaluationStart = System.nanoTime();
+			transitionsThisMinute += evaluator.evaluate(
+				ZoneAutoMessageMod.getZoneManager(), playerX, playerY, playerZ, this);
+
+			timers.tick(ZoneAutoMessageMod.getZoneManager(), this);
+
+			ZoneMetrics.TICK_NANOS.record(System.nanoTime() - evaluationStart);
+			ZoneMetrics.ZONES_EXAMINED.record(evaluator.getLastExaminedCount());
+
+			if (++minuteTickCounter >= TICKS_PER_MINUTE) {
+				minuteTickCounter = 0;
+				ZoneMetrics.TRANSITIONS_PER_MINUTE.record(transitionsThisMinute);
+				transitionsThisMinute = 0;
 			}
 
 			// Logging periódico (depuración, menos frecuente)
@@ -80,6 +131,39 @@ public class PlayerTickHandler implements ClientTickEvents.EndTick {
 	// MANEJO DE EVENTOS DE ZONA (CON MENSAJES INDIVIDUALES)
 	// ═══════════════════════════════════════════════════════════════════════════
 
+	@Override
+	public void onZoneEnter(Zone zone) {
+		handleZoneEntry(zone, playerNickname);
+	}
+
+	@Override
+	public void onZoneExit(Zone zone) {
+		handleZoneExit(zone, playerNickname);
+	}
+
+	@Override
+	public void onZoneOccupied(Zone zone) {
+		timers.onZoneOccupied(zone);
+	}
+
+	@Override
+	public void onZoneVacated(Zone zone) {
+		timers.onZoneVacated(zone);
+	}
+
+	@Override
+	public void onZoneDwell(Zone zone) {
+		MessageManager.sendZoneMessage(zone.getDwellMessage(), zone.getZoneName());
+		System.out.println(String.format(
+			"[ZONE] ⏱ %s lleva %d s en: %s", playerNickname, zone.getDwellSeconds(), zone.getZoneName()
+		));
+	}
+
+	@Override
+	public void onZoneRepeat(Zone zone) {
+		MessageManager.sendZoneMessage(zone.getRepeatMessage(), zone.getZoneName());
+	}
+
 	/**
 	 * Maneja cuando el jugador entra en una zona.
 	 * 
@@ -192,13 +276,16 @@ public class PlayerTickHandler implements ClientTickEvents.EndTick {
 		
 		System.out.println(
 			String.format(
-				"[TICK] Pos: [%.1f, %.1f, %.1f] | Zonas: %d | Estado: %s | Mundo: %s",
-				x, y, z, zoneCount, modEnabled ? "ON" : "OFF", worldId
+				"[TICK] Pos: [%.1f, %.1f, %.1f] | Zonas: %d | Temporizadores: %d | Estado: %s | Mundo: %s",
+				x, y, z, zoneCount, timers.getPendingCount(), modEnabled ? "ON" : "OFF", worldId
 			)
 		);
 		
 		// Mostrar info de zonas cercanas (opcional)
 		for (Zone zone : ZoneAutoMessageMod.getZoneManager().getAllZones()) {
+			if (!ZoneAutoMessageMod.getZoneManager().isInActiveDimension(zone)) {
+				continue;
+			}
 			double distance = zone.getDistanceToZone(x, y, z);
 			if (distance < zone.getBufferDistance() * 2) {
 				System.out.println(String.format(
@@ -0,0 +1,188 @@
+package com.neokey.zoneautomessage.event;
+
+import com.neokey.zoneautomessage.manager.ZoneManager;
+import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneHierarchy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║        ZONE EVALUATOR - Detección de Entradas/Salidas por Tick           ║
+ * ║                                                                          ║
+ * ║ Evalúa solo las zonas candidatas de cada tick:                          ║
+ * ║ - Zonas ocupadas (pueden disparar la salida, incluso fuera del cuboide) ║
+ * ║ - Zonas que contienen al jugador, bajando por el árbol de anidamiento   ║
+ * ║   (ZoneHierarchy) desde las raíces                                      ║
+ * ║                                                                          ║
+ * ║ Con zonas anidadas (tienda → pueblo → región) solo se avisa del cambio  ║
+ * ║ de zona más interna: la que se deja (si ya no está ocupada) y la nueva  ║
+ * ║ (si se acaba de entrar). Desactivable con setInnermostOnly(false).      ║
+ * ║                                                                          ║
+ * ║ Solo se evalúan zonas de la dimensión activa y sin etiquetas            ║
+ * ║ desactivadas; al cambiar de dimensión o desactivar un grupo las         ║
+ * ║ ocupadas afectadas se olvidan sin mensaje de salida.                    ║
+ * ║                                                                          ║
+ * ║ No envía mensajes: avisa al TransitionListener. Lo usan                 ║
+ * ║ PlayerTickHandler (juego real) y ZoneBenchmark (/zam bench) con un      ║
+ * ║ ZoneManager de prueba.                                                  ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneEvaluator {
+
+	/**
+	 * Recibe las transiciones detectadas durante evaluate().
+	 */
+	public interface TransitionListener {
+		void onZoneEnter(Zone zone);
+		void onZoneExit(Zone zone);
+
+		/**
+		 * Cambio de ocupación de cualquier zona, aunque no sea la más
+		 * interna (p. ej. para los temporizadores de ZoneTimers).
+		 */
+		default void onZoneOccupied(Zone zone) {}
+		default void onZoneVacated(Zone zone) {}
+	}
+
+	// Solo avisar del cambio de zona más interna (global: juego y benchmark)
+	private static boolean innermostOnly = true;
+
+	// Zonas en las que el jugador está dentro (o aún en su buffer de salida)
+	private final Set<Zone> occupiedZones = new LinkedHashSet<>();
+
+	// Zona más interna de la que se avisó por última vez
+	private Zone innermostZone = null;
+
+	// Listas reutilizadas cada tick para no generar basura
+	private final List<Zone> candidateZones = new ArrayList<>();
+	private final List<Zone> zonesAtPlayer = new ArrayList<>();
+	private final List<Zone> enteredZones = new ArrayList<>();
+
+	/**
+	 * Evalúa las zonas candidatas en la posición dada.
+	 *
+	 * @return Número de transiciones (entradas + salidas)
+	 */
+	public int evaluate(ZoneManager zoneManager, double x, double y, double z, TransitionListener listener) {
+		ZoneHierarchy hierarchy = zoneManager.getHierarchy();
+		collectCandidateZones(zoneManager, hierarchy, x, y, z);
+		enteredZones.clear();
+
+		int transitions = 0;
+		for (Zone zone : candidateZones) {
+			int stateChange = zone.updatePlayerState(x, y, z);
+
+			if (stateChange == 1) {
+				// ENTRADA: El jugador entró en la zona
+				occupiedZones.add(zone);
+				enteredZones.add(zone);
+				listener.onZoneOccupied(zone);
+				if (!innermostOnly) {
+					transitions++;
+					listener.onZoneEnter(zone);
+				}
+			} else if (stateChange == -1) {
+				// SALIDA: El jugador salió de la zona
+				occupiedZones.remove(zone);
+				listener.onZoneVacated(zone);
+				if (!innermostOnly) {
+					transitions++;
+					listener.onZoneExit(zone);
+				}
+			}
+		}
+
+		if (innermostOnly) {
+			transitions = resolveInnermost(zoneManager, hierarchy, listener);
+		}
+		return transitions;
+	}
+
+	/**
+	 * Avisa solo del cambio de zona más interna: salida de la anterior si
+	 * ya no está ocupada y entrada de la nueva si se entró en este tick.
+	 * Entrar o salir de un pueblo desde una tienda no repite el mensaje del
+	 * pueblo ni de la región.
+	 */
+	private int resolveInnermost(ZoneManager zoneManager, ZoneHierarchy hierarchy, TransitionListener listener) {
+		Zone previous = innermostZone;
+		Zone current = hierarchy.innermost(occupiedZones);
+		if (current == previous) {
+			return 0;
+		}
+		innermostZone = current;
+
+		int transitions = 0;
+		if (previous != null && !occupiedZones.contains(previous)
+			&& zoneManager.getZoneById(previous.getZoneId()) == previous
+			&& zoneManager.isInActiveDimension(previous)
+			&& zoneManager.isZoneEnabled(previous)) {
+			transitions++;
+			listener.onZoneExit(previous);
+		}
+		if (current != null && enteredZones.contains(current)) {
+			transitions++;
+			listener.onZoneEnter(current);
+		}
+		return transitions;
+	}
+
+	public static boolean isInnermostOnly() {
+		return innermostOnly;
+	}
+
+	public static void setInnermostOnly(boolean enabled) {
+		innermostOnly = enabled;
+		System.out.println("[ZoneEvaluator] Solo zona más interna: " + (enabled ? "sí" : "no"));
+	}
+
+	/**
+	 * Zonas examinadas en la última evaluación.
+	 */
+	public int getLastExaminedCount() {
+		return candidateZones.size();
+	}
+
+	/**
+	 * Olvida las zonas ocupadas (p. ej. mientras el mundo se carga).
+	 */
+	public void reset() {
+		occupiedZones.clear();
+		innermostZone = null;
+	}
+
+	private void collectCandidateZones(ZoneManager zoneManager, ZoneHierarchy hierarchy,
+									   double x, double y, double z) {
+		candidateZones.clear();
+		zonesAtPlayer.clear();
+
+		// Descartar zonas ocupadas que ya no están cargadas (borradas o
+		// descargadas), que son de otra dimensión (el jugador cambió de mundo)
+		// o cuyo grupo se desactivó
+		Iterator<Zone> iterator = occupiedZones.iterator();
+		while (iterator.hasNext()) {
+			Zone zone = iterator.next();
+			if (zoneManager.getZoneById(zone.getZoneId()) != zone) {
+				iterator.remove();
+			} else if (!zoneManager.isInActiveDimension(zone) || !zoneManager.isZoneEnabled(zone)) {
+				zone.resetState();
+				iterator.remove();
+			} else {
+				candidateZones.add(zone);
+			}
+		}
+
+		hierarchy.collectContaining(x, y, z, zonesAtPlayer);
+		for (Zone zone : zonesAtPlayer) {
+			if (!zone.isPlayerWasInside() && zoneManager.isZoneEnabled(zone)) {
+				candidateZones.add(zone);
+			}
+		}
+	}
+}
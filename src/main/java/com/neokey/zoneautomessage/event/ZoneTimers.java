@@ -0,0 +1,142 @@
+package com.neokey.zoneautomessage.event;
+
+import com.neokey.zoneautomessage.manager.ZoneManager;
+import com.neokey.zoneautomessage.util.TimingWheel;
+import com.neokey.zoneautomessage.zone.Zone;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║      ZONE TIMERS - Mensajes de Permanencia y Recordatorios en Zonas      ║
+ * ║                                                                          ║
+ * ║ Al ocupar una zona con mensajes programados se programan sus            ║
+ * ║ temporizadores en una TimingWheel:                                      ║
+ * ║ - Permanencia: una vez, tras dwellSeconds dentro                        ║
+ * ║ - Recordatorio: cada repeatSeconds mientras se siga dentro              ║
+ * ║ Al salir se cancelan. Cada tick solo se examina una casilla de la       ║
+ * ║ rueda, sin recorrer las zonas ocupadas comparando marcas de tiempo.     ║
+ * ║                                                                          ║
+ * ║ Los cambios de configuración de una zona ocupada se aplican en la      ║
+ * ║ siguiente entrada; si se desactivan, el temporizador pendiente se      ║
+ * ║ descarta al vencer.                                                     ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneTimers {
+
+	private static final int TICKS_PER_SECOND = 20;
+
+	/**
+	 * Recibe los temporizadores vencidos de zonas en las que se sigue dentro.
+	 */
+	public interface TimerListener {
+		void onZoneDwell(Zone zone);
+		void onZoneRepeat(Zone zone);
+	}
+
+	private static final class Scheduled {
+		final Zone zone;
+		final boolean repeating;
+
+		Scheduled(Zone zone, boolean repeating) {
+			this.zone = zone;
+			this.repeating = repeating;
+		}
+	}
+
+	private static final class ZoneEntry {
+		final TimingWheel.Timer<Scheduled> dwell;
+		final TimingWheel.Timer<Scheduled> repeat;
+
+		ZoneEntry(TimingWheel<Scheduled> wheel, Zone zone) {
+			this.dwell = wheel.newTimer(new Scheduled(zone, false));
+			this.repeat = wheel.newTimer(new Scheduled(zone, true));
+		}
+	}
+
+	private final TimingWheel<Scheduled> wheel = new TimingWheel<>();
+	private final Map<Zone, ZoneEntry> entries = new IdentityHashMap<>();
+
+	// Contexto del tick actual (para el consumidor de la rueda)
+	private ZoneManager tickZoneManager;
+	private TimerListener tickListener;
+
+	/**
+	 * El jugador pasa a estar dentro de la zona.
+	 */
+	public void onZoneOccupied(Zone zone) {
+		if (zone.getDwellSeconds() <= 0 && zone.getRepeatSeconds() <= 0) {
+			return;
+		}
+
+		ZoneEntry entry = entries.computeIfAbsent(zone, z -> new ZoneEntry(wheel, z));
+		if (zone.getDwellSeconds() > 0) {
+			wheel.schedule(entry.dwell, (long) zone.getDwellSeconds() * TICKS_PER_SECOND);
+		}
+		if (zone.getRepeatSeconds() > 0) {
+			wheel.schedule(entry.repeat, (long) zone.getRepeatSeconds() * TICKS_PER_SECOND);
+		}
+	}
+
+	/**
+	 * El jugador salió de la zona (fuera del buffer).
+	 */
+	public void onZoneVacated(Zone zone) {
+		ZoneEntry entry = entries.remove(zone);
+		if (entry != null) {
+			wheel.cancel(entry.dwell);
+			wheel.cancel(entry.repeat);
+		}
+	}
+
+	/**
+	 * Avanza un tick y avisa de los temporizadores vencidos.
+	 */
+	public void tick(ZoneManager zoneManager, TimerListener listener) {
+		if (wheel.size() == 0) {
+			return;
+		}
+
+		tickZoneManager = zoneManager;
+		tickListener = listener;
+		wheel.advance(this::fire);
+		tickZoneManager = null;
+		tickListener = null;
+	}
+
+	private void fire(TimingWheel.Timer<Scheduled> timer) {
+		Zone zone = timer.getPayload().zone;
+
+		// Zona borrada, descargada o abandonada sin aviso (cambio de dimensión)
+		if (tickZoneManager.getZoneById(zone.getZoneId()) != zone || !zone.isPlayerWasInside()) {
+			onZoneVacated(zone);
+			return;
+		}
+
+		if (timer.getPayload().repeating) {
+			if (zone.getRepeatSeconds() > 0) {
+				tickListener.onZoneRepeat(zone);
+				wheel.schedule(timer, (long) zone.getRepeatSeconds() * TICKS_PER_SECOND);
+			}
+		} else if (zone.getDwellSeconds() > 0) {
+			tickListener.onZoneDwell(zone);
+		}
+	}
+
+	/**
+	 * Cancela todos los temporizadores (p. ej. mientras el mundo se carga).
+	 */
+	public void clear() {
+		wheel.clear();
+		entries.clear();
+	}
+
+	/**
+	 * Temporizadores programados.
+	 */
+	public int getPendingCount() {
+		return wheel.size();
+	}
+}
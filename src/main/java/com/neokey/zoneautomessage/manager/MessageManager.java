@@ -4,6 +4,7 @@ import eu.pb4.placeholders.api.PlaceholderContext;
 import eu.pb4.placeholders.api.PlaceholderResult;
 import eu.pb4.placeholders.api.Placeholders;
 import eu.pb4.placeholders.api.TextParserUtils;
+import com.neokey.zoneautomessage.util.ZoneMetrics;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
@@ -67,11 +68,14 @@ public class MessageManager {
 		}
 
 		try {
+			long formatStart = System.nanoTime();
+
 			// 1. Procesar placeholders internos
 			String processedMessage = processInternalPlaceholders(rawMessage, zoneName);
 
 			// 2. Procesar formatos avanzados (Hex, MiniMessage)
 			Text finalText = parseAdvancedFormats(processedMessage);
+			ZoneMetrics.FORMAT_NANOS.record(System.nanoTime() - formatStart);
 
 			// 3. Enviar usando /msg <jugador> <mensaje>
 			// ACTUALIZADO PARA MC 1.21.8: Usar sendChatMessage en lugar de sendCommand
@@ -105,8 +109,10 @@ public class MessageManager {
 		}
 
 		try {
+			long formatStart = System.nanoTime();
 			String processedMessage = processInternalPlaceholders(rawMessage, zoneName);
 			Text finalText = parseAdvancedFormats(processedMessage);
+			ZoneMetrics.FORMAT_NANOS.record(System.nanoTime() - formatStart);
 			CLIENT.player.sendMessage(finalText, false);
 			System.out.println("[MessageManager] ✓ Mensaje local enviado");
 
@@ -278,9 +284,10 @@ public class MessageManager {
 		// Ejemplo: %zam:world%
 		Placeholders.register(
 			Identifier.of("zam", "world"),
-			(ctx, arg) -> PlaceholderResult.value(
-				com.neokey.zoneautomessage.ZoneAutoMessageMod.getWorldConfigManager().getCurrentWorldId()
-			)
+			(ctx, arg) -> {
+				String worldId = com.neokey.zoneautomessage.ZoneAutoMessageMod.getWorldConfigManager().getCurrentWorldId();
+				return PlaceholderResult.value(worldId != null ? worldId : "-");
+			}
 		);
 
 		System.out.println("[MessageManager] ✓ Placeholders personalizados registrados");
@@ -3,7 +3,15 @@ package com.neokey.zoneautomessage.manager;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
+import com.neokey.zoneautomessage.zone.CylinderShape;
+import com.neokey.zoneautomessage.zone.PolygonPrismShape;
+import com.neokey.zoneautomessage.zone.SphereShape;
 import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.util.PlayerInfoUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════╗
@@ -20,6 +28,9 @@ import com.neokey.zoneautomessage.zone.Zone;
  * ║ 2. Click derecho con palo → Selecciona punto 2                          ║
  * ║ 3. /zam create <nombre> → Crea zona desde selección                     ║
  * ║                                                                          ║
+ * ║ Formas: esfera y cilindro centrados en el punto 1 (o en el jugador);    ║
+ * ║ polígono con los vértices añadidos con /zam polygon add                 ║
+ * ║                                                                          ║
  * ║ Autor: NeoKey                                                           ║
  * ╚══════════════════════════════════════════════════════════════════════════╝
  */
@@ -33,6 +44,9 @@ public class SelectionManager {
     
     // Estado de selección
     private boolean hasActiveSelection = false;
+
+    // Vértices del polígono en construcción (/zam polygon add)
+    private final List<BlockPos> polygonPoints = new ArrayList<>();
     
     /**
      * Establece el punto 1 de la selección (click izquierdo).
@@ -122,6 +136,7 @@ public class SelectionManager {
         
         // Crear la zona
         Zone zone = new Zone(zoneName, minX, minY, minZ, maxX, maxY, maxZ);
+        zone.setDimension(PlayerInfoUtil.getZoneDimension());
         
         int volume = getSelectionVolume();
         sendFeedback(String.format(
@@ -191,6 +206,178 @@ public class SelectionManager {
         return dims[0] > 0 && dims[1] > 0 && dims[2] > 0;
     }
     
+    // ═══════════════════════════════════════════════════════════════════════
+    // FORMAS (ESFERA, CILINDRO, POLÍGONO)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Crea una zona esférica centrada en el punto 1 (o en el jugador).
+     *
+     * @return La zona creada, o null si no hay centro
+     */
+    public Zone createSphereZone(String zoneName, double radius) {
+        BlockPos center = getShapeCenter();
+        if (center == null) {
+            sendError("§c✗ Marca el centro con el punto 1 o colócate en él.");
+            return null;
+        }
+
+        Zone zone = new Zone(zoneName, new SphereShape(
+            center.getX() + 0.5, center.getY() + 0.5, center.getZ() + 0.5, radius));
+        zone.setDimension(PlayerInfoUtil.getZoneDimension());
+
+        sendFeedback(String.format(
+            "§a✓ Zona esférica creada: §f%s\n" +
+            "§7Centro: §f[%d, %d, %d] §7Radio: §f%.1f",
+            zoneName, center.getX(), center.getY(), center.getZ(), radius
+        ));
+        return zone;
+    }
+
+    /**
+     * Crea una zona cilíndrica vertical con la base centrada en el punto 1
+     * (o en el jugador).
+     *
+     * @return La zona creada, o null si no hay centro
+     */
+    public Zone createCylinderZone(String zoneName, double radius, int height) {
+        BlockPos center = getShapeCenter();
+        if (center == null) {
+            sendError("§c✗ Marca el centro de la base con el punto 1 o colócate en él.");
+            return null;
+        }
+
+        Zone zone = new Zone(zoneName, new CylinderShape(
+            center.getX() + 0.5, center.getZ() + 0.5, radius, center.getY(), center.getY() + height));
+        zone.setDimension(PlayerInfoUtil.getZoneDimension());
+
+        sendFeedback(String.format(
+            "§a✓ Zona cilíndrica creada: §f%s\n" +
+            "§7Base: §f[%d, %d, %d] §7Radio: §f%.1f §7Altura: §f%d",
+            zoneName, center.getX(), center.getY(), center.getZ(), radius, height
+        ));
+        return zone;
+    }
+
+    /**
+     * Crea un prisma poligonal con los vértices añadidos. La base es la Y
+     * más baja de los vértices y la zona tiene la altura indicada.
+     *
+     * @return La zona creada, o null si el polígono no es válido
+     */
+    public Zone createPolygonZone(String zoneName, int height) {
+        if (polygonPoints.size() < PolygonPrismShape.MIN_VERTICES) {
+            sendError(String.format(
+                "§c✗ El polígono necesita al menos %d vértices (tiene %d). Usa §e/zam polygon add",
+                PolygonPrismShape.MIN_VERTICES, polygonPoints.size()
+            ));
+            return null;
+        }
+
+        int n = polygonPoints.size();
+        double[] xs = new double[n];
+        double[] zs = new double[n];
+        int baseY = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            BlockPos point = polygonPoints.get(i);
+            xs[i] = point.getX() + 0.5;
+            zs[i] = point.getZ() + 0.5;
+            baseY = Math.min(baseY, point.getY());
+        }
+
+        PolygonPrismShape shape;
+        try {
+            shape = new PolygonPrismShape(xs, zs, baseY, baseY + height);
+        } catch (IllegalArgumentException e) {
+            sendError("§c✗ Polígono inválido: " + e.getMessage());
+            return null;
+        }
+
+        Zone zone = new Zone(zoneName, shape);
+        zone.setDimension(PlayerInfoUtil.getZoneDimension());
+        sendFeedback(String.format(
+            "§a✓ Zona poligonal creada: §f%s\n" +
+            "§7Vértices: §f%d §7Altura: §f%d §7Volumen: §f%,.0f bloques³",
+            zoneName, n, height, shape.getVolume()
+        ));
+
+        polygonPoints.clear();
+        return zone;
+    }
+
+    /**
+     * Añade un vértice al polígono en construcción.
+     *
+     * @return false si ya tiene el máximo de vértices
+     */
+    public boolean addPolygonPoint(BlockPos pos) {
+        if (polygonPoints.size() >= PolygonPrismShape.MAX_VERTICES) {
+            sendError("§c✗ Máximo de vértices alcanzado: " + PolygonPrismShape.MAX_VERTICES);
+            return false;
+        }
+
+        polygonPoints.add(pos.toImmutable());
+        sendFeedback(String.format(
+            "§a✓ Vértice %d: §7[%d, %d, %d]",
+            polygonPoints.size(), pos.getX(), pos.getY(), pos.getZ()
+        ));
+        return true;
+    }
+
+    /**
+     * Quita el último vértice añadido.
+     *
+     * @return false si no había vértices
+     */
+    public boolean removeLastPolygonPoint() {
+        if (polygonPoints.isEmpty()) {
+            return false;
+        }
+        polygonPoints.remove(polygonPoints.size() - 1);
+        return true;
+    }
+
+    public void clearPolygonPoints() {
+        polygonPoints.clear();
+    }
+
+    public List<BlockPos> getPolygonPoints() {
+        return Collections.unmodifiableList(polygonPoints);
+    }
+
+    /**
+     * Caja de la selección en coordenadas del mundo (bloques completos: de
+     * min a max + 1), para las zonas compuestas.
+     *
+     * @return {minX, minY, minZ, maxX, maxY, maxZ}, o null si no hay selección
+     */
+    public double[] getSelectionBox() {
+        if (!hasActiveSelection || !isValidSelection()) {
+            sendError("§c✗ Selección incompleta. Necesitas seleccionar dos puntos.");
+            return null;
+        }
+
+        return new double[]{
+            Math.min(position1.getX(), position2.getX()),
+            Math.min(position1.getY(), position2.getY()),
+            Math.min(position1.getZ(), position2.getZ()),
+            Math.max(position1.getX(), position2.getX()) + 1,
+            Math.max(position1.getY(), position2.getY()) + 1,
+            Math.max(position1.getZ(), position2.getZ()) + 1
+        };
+    }
+
+    /**
+     * Centro para esferas y cilindros: el punto 1 o, si no hay, el bloque
+     * del jugador.
+     */
+    private BlockPos getShapeCenter() {
+        if (position1 != null) {
+            return position1;
+        }
+        return CLIENT.player != null ? CLIENT.player.getBlockPos() : null;
+    }
+
     // ═══════════════════════════════════════════════════════════════════════
     // GETTERS
     // ═══════════════════════════════════════════════════════════════════════
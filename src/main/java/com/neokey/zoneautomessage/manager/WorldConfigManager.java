@@ -1,11 +1,24 @@
 package com.neokey.zoneautomessage.manager;
 
 import com.google.gson.*;
+import com.neokey.zoneautomessage.util.ZoneMetrics;
+import com.neokey.zoneautomessage.util.ZonePattern;
 import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneBuffer;
+import com.neokey.zoneautomessage.zone.ZoneNameIndex;
+import com.neokey.zoneautomessage.zone.ZoneShape;
+import com.neokey.zoneautomessage.zone.ZoneTags;
 import net.minecraft.client.MinecraftClient;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════╗
@@ -14,8 +27,26 @@ import java.util.*;
  * ║ Responsabilidades:                                                       ║
  * ║ - Guardar configuración separada para cada mundo/servidor               ║
  * ║ - Detectar automáticamente el mundo actual                              ║
- * ║ - Cargar zonas específicas del mundo al entrar                          ║
- * ║ - Estructura: config/zoneautomessage/worlds/<world_id>/zones.json       ║
+ * ║ - Abrir/cerrar el mundo al conectarse/desconectarse (en segundo plano)  ║
+ * ║ - Mantener en caché los últimos mundos visitados                        ║
+ * ║ - Cargar bajo demanda las regiones cercanas al jugador                  ║
+ * ║ - Descargar regiones lejanas (política LRU)                             ║
+ * ║ - Recargar en caliente archivos editados por herramientas externas      ║
+ * ║                                                                          ║
+ * ║ Estructura:                                                              ║
+ * ║ config/zoneautomessage/worlds/<world_id>/regions/index.json             ║
+ * ║ config/zoneautomessage/worlds/<world_id>/regions/r.<rx>.<rz>.json       ║
+ * ║                                                                          ║
+ * ║ Cada región cubre 512x512 bloques (X/Z). Una zona se guarda en la       ║
+ * ║ región de su centro; index.json guarda los límites reales de cada       ║
+ * ║ región para saber cuándo cargarla aunque sus zonas se salgan de ella.   ║
+ * ║ El antiguo zones.json se reparte en regiones y se deja en su sitio. Si  ║
+ * ║ una herramienta externa lo reescribe, su contenido REEMPLAZA todas las  ║
+ * ║ zonas del mundo (las que no aparezcan en él se borran).                 ║
+ * ║ index.json guarda además la última posición del jugador, para precargar ║
+ * ║ sus regiones al volver a entrar, y el nombre e ID de cada zona: los     ║
+ * ║ comandos por nombre y la unicidad de nombres ven todo el mundo, no solo ║
+ * ║ las regiones residentes (la región de la zona se carga al pedirla).     ║
  * ║                                                                          ║
  * ║ Identificación de mundos:                                               ║
  * ║ - Singleplayer: Nombre de la carpeta del mundo                          ║
@@ -27,12 +58,58 @@ import java.util.*;
 public class WorldConfigManager {
 
     private static final String CONFIG_DIR = "config/zoneautomessage/worlds";
+    private static final String LEGACY_FILE = "zones.json";
+    private static final String REGIONS_DIR = "regions";
+    private static final String MANIFEST_FILE = "index.json";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final MinecraftClient CLIENT = MinecraftClient.getInstance();
-    
+
+    // Tamaño de región en bloques (2^9 = 512)
+    public static final int REGION_SHIFT = 9;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+    // Distancias horizontales (jugador → límites de la región)
+    private static final double LOAD_DISTANCE = 256.0;
+    private static final double UNLOAD_DISTANCE = 768.0;
+
+    // Máximo de regiones residentes antes de expulsar por LRU
+    private static final int MAX_RESIDENT_REGIONS = 16;
+
+    // Mundos recientes que se conservan en memoria (reconexión instantánea)
+    private static final int MAX_CACHED_WORLDS = 3;
+
+    // Hilo de E/S: lectura y parseo de regiones fuera del hilo del cliente
+    // (ThreadPoolExecutor de un hilo para poder consultar la cola en /zam stats)
+    private final ThreadPoolExecutor ioExecutor = new ThreadPoolExecutor(
+        1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ZoneAutoMessage-IO");
+            thread.setDaemon(true);
+            return thread;
+        });
+
     private String currentWorldId = null;
-    private JsonObject configRoot;
-    private JsonArray zonesArray;
+
+    // Mundo abierto actualmente (null fuera de partida)
+    private WorldState current = null;
+
+    // Mundos visitados recientemente, en orden de acceso (LRU)
+    private final LinkedHashMap<String, WorldState> worldCache = new LinkedHashMap<>(4, 0.75f, true);
+
+    private ShardListener shardListener = null;
+
+    // Watcher de archivos del mundo abierto (recarga en caliente)
+    private ZoneFileWatcher fileWatcher = null;
+
+    /**
+     * Recibe las zonas que entran o salen de memoria al cargar/descargar regiones,
+     * y los cambios detectados al recargar archivos en caliente.
+     * Se invoca siempre en el hilo del cliente.
+     */
+    public interface ShardListener {
+        void onShardLoaded(List<Zone> zones);
+        void onShardUnloaded(List<Zone> zones);
+        void onZonesChanged(ZoneDiff diff);
+    }
 
     /**
      * Constructor. Inicializa el gestor.
@@ -66,7 +143,7 @@ public class WorldConfigManager {
                 currentWorldId = "server_unknown";
             }
         }
-        
+
         return currentWorldId;
     }
 
@@ -83,213 +160,1810 @@ public class WorldConfigManager {
             .toLowerCase();
     }
 
+    public void setShardListener(ShardListener listener) {
+        this.shardListener = listener;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // CICLO DE VIDA DEL MUNDO
+    // ═══════════════════════════════════════════════════════════════════════
+
     /**
-     * Carga la configuración del mundo actual.
+     * Abre el mundo al que se acaba de conectar el jugador.
+     *
+     * Si el mundo está en caché se reutiliza al instante. Si no, el índice de
+     * regiones (y la migración de zones.json, si hace falta) se lee en el hilo
+     * de E/S, junto con las regiones cercanas a la última posición guardada.
+     *
+     * @return Futuro con las zonas residentes, completado en el hilo del cliente
      */
-    public void loadConfig() {
-        detectCurrentWorld();
-        
-        try {
-            String configPath = getConfigFilePath();
-            File configFile = new File(configPath);
+    public CompletableFuture<List<Zone>> openWorld() {
+        String worldId = detectCurrentWorld();
 
-            if (configFile.exists()) {
-                String content = new String(Files.readAllBytes(configFile.toPath()));
-                configRoot = JsonParser.parseString(content).getAsJsonObject();
-                System.out.println("[WorldConfigManager] ✓ Config cargada: " + configPath);
-            } else {
-                configRoot = new JsonObject();
-                zonesArray = new JsonArray();
-                configRoot.add("zones", zonesArray);
-                configRoot.addProperty("world_id", currentWorldId);
-                configRoot.addProperty("created_at", System.currentTimeMillis());
-                saveConfig();
-                System.out.println("[WorldConfigManager] ✓ Config nueva creada: " + configPath);
-            }
-
-            if (!configRoot.has("zones")) {
-                zonesArray = new JsonArray();
-                configRoot.add("zones", zonesArray);
-            } else {
-                zonesArray = configRoot.getAsJsonArray("zones");
+        WorldState cached = worldCache.get(worldId);
+        if (cached != null) {
+            current = cached;
+            startWatching(cached);
+            checkLegacyFile(cached);
+            System.out.println("[WorldConfigManager] ✓ Mundo recuperado de caché: " + worldId);
+            return CompletableFuture.completedFuture(cached.getResidentZones());
+        }
+
+        WorldState state = new WorldState(worldId);
+        current = state;
+
+        CompletableFuture<List<Zone>> future = new CompletableFuture<>();
+        ioExecutor.execute(() -> {
+            List<RegionShard> preloaded = new ArrayList<>();
+
+            try {
+                loadManifest(state);
+
+                // Precargar las regiones alrededor de la última posición conocida
+                for (RegionInfo info : state.manifest.values()) {
+                    if (state.hasLastPosition &&
+                        info.horizontalDistance(state.lastX, state.lastZ) <= LOAD_DISTANCE) {
+                        preloaded.add(readRegion(state, info.regionX, info.regionZ));
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("[WorldConfigManager] ✗ Error cargando config:");
+                e.printStackTrace();
+                state.clearManifest();
+                preloaded.clear();
             }
 
-        } catch (Exception e) {
-            System.err.println("[WorldConfigManager] ✗ Error cargando config:");
-            e.printStackTrace();
-            initializeEmpty();
+            CLIENT.execute(() -> {
+                for (RegionShard shard : preloaded) {
+                    state.install(shard);
+                }
+                state.ready = true;
+                cacheWorld(state);
+
+                if (current == state) {
+                    startWatching(state);
+                    checkLegacyFile(state);
+                }
+
+                System.out.println(String.format(
+                    "[WorldConfigManager] ✓ Mundo abierto: %s (%d región(es), %d precargada(s))",
+                    worldId, state.manifest.size(), preloaded.size()
+                ));
+
+                // Si el jugador ya cambió de mundo, las zonas no se entregan
+                future.complete(current == state ? state.getResidentZones() : Collections.emptyList());
+            });
+        });
+
+        return future;
+    }
+
+    /**
+     * Cierra el mundo actual al desconectarse. El estado queda en caché para
+     * que una reconexión no tenga que volver a leer disco.
+     *
+     * @param playerX Última X del jugador (o NaN si no se conoce)
+     * @param playerZ Última Z del jugador (o NaN si no se conoce)
+     */
+    public void closeWorld(double playerX, double playerZ) {
+        WorldState state = current;
+        if (state == null) {
+            return;
+        }
+
+        if (state.ready && !Double.isNaN(playerX) && !Double.isNaN(playerZ)) {
+            state.lastX = playerX;
+            state.lastZ = playerZ;
+            state.hasLastPosition = true;
+            saveManifest(state);
         }
+
+        stopWatching();
+        current = null;
+        System.out.println("[WorldConfigManager] Mundo cerrado: " + state.worldId);
     }
 
     /**
-     * Guarda la configuración del mundo actual.
+     * Indica si el mundo actual terminó de cargarse.
      */
-    public void saveConfig() {
-        try {
-            ensureWorldDirectory();
-            String configPath = getConfigFilePath();
-            
-            // Actualizar timestamp
-            configRoot.addProperty("last_modified", System.currentTimeMillis());
-            
-            String jsonString = GSON.toJson(configRoot);
-            Files.write(Paths.get(configPath), jsonString.getBytes());
-            System.out.println("[WorldConfigManager] ✓ Config guardada: " + configPath);
-        } catch (Exception e) {
-            System.err.println("[WorldConfigManager] ✗ Error guardando config:");
-            e.printStackTrace();
+    public boolean isWorldReady() {
+        return current != null && current.ready;
+    }
+
+    private void cacheWorld(WorldState state) {
+        worldCache.put(state.worldId, state);
+
+        Iterator<WorldState> iterator = worldCache.values().iterator();
+        while (worldCache.size() > MAX_CACHED_WORLDS && iterator.hasNext()) {
+            WorldState oldest = iterator.next();
+            if (oldest != current) {
+                iterator.remove();
+                System.out.println("[WorldConfigManager] Mundo expulsado de caché: " + oldest.worldId);
+            }
         }
     }
 
+    // ═══════════════════════════════════════════════════════════════════════
+    // RECARGA EN CALIENTE
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private void startWatching(WorldState state) {
+        stopWatching();
+        fileWatcher = new ZoneFileWatcher(
+            path -> {
+                if (Files.isDirectory(path)) {
+                    CLIENT.execute(() -> rescanDirectory(state, path));
+                } else {
+                    ioExecutor.execute(() -> reloadChangedFile(state, path));
+                }
+            },
+            getWorldDir(state.worldId),
+            getRegionsDir(state.worldId)
+        );
+        fileWatcher.start();
+    }
+
     /**
-     * Añade una zona a la configuración del mundo actual.
-     *
-     * @param zone Zona a guardar
+     * Aplica zones.json si cambió mientras el mundo estaba cerrado (el watcher
+     * no lo vio). Si su contenido es el último aplicado, no hace nada.
      */
-    public void addZone(Zone zone) {
-        try {
-            JsonObject zoneJson = zoneToJson(zone);
-            zonesArray.add(zoneJson);
-            saveConfig();
-            System.out.println("[WorldConfigManager] ✓ Zona guardada en mundo: " + currentWorldId);
-        } catch (Exception e) {
-            System.err.println("[WorldConfigManager] ✗ Error añadiendo zona:");
-            e.printStackTrace();
+    private void checkLegacyFile(WorldState state) {
+        Path legacyPath = getWorldDir(state.worldId).resolve(LEGACY_FILE);
+        ioExecutor.execute(() -> reloadChangedFile(state, legacyPath));
+    }
+
+    /**
+     * Vuelve a examinar una carpeta en la que el watcher perdió eventos. En
+     * regions/ también se revisan las regiones del índice cuyo archivo ya no
+     * existe, para ver los borrados. Se ejecuta en el hilo del cliente (el
+     * índice solo se toca desde él); las lecturas van al hilo de E/S.
+     */
+    private void rescanDirectory(WorldState state, Path directory) {
+        if (state != current) {
+            return;
+        }
+        if (directory.equals(getWorldDir(state.worldId))) {
+            checkLegacyFile(state);
+            return;
+        }
+
+        Set<Path> paths = new LinkedHashSet<>();
+        for (RegionInfo info : state.manifest.values()) {
+            paths.add(getRegionPath(state.worldId, info.regionX, info.regionZ));
+        }
+
+        ioExecutor.execute(() -> {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "r.*.json")) {
+                files.forEach(paths::add);
+            } catch (IOException e) {
+                System.err.println("[WorldConfigManager] ✗ Error examinando " + directory);
+                e.printStackTrace();
+            }
+
+            for (Path path : paths) {
+                reloadChangedFile(state, path);
+            }
+            System.out.println("[WorldConfigManager] ✓ Carpeta de regiones examinada tras perder eventos: " +
+                paths.size() + " archivo(s)");
+        });
+    }
+
+    private void stopWatching() {
+        if (fileWatcher != null) {
+            fileWatcher.stop();
+            fileWatcher = null;
         }
     }
 
     /**
-     * Elimina una zona del mundo actual.
-     *
-     * @param zoneId ID de la zona
+     * Relee un archivo modificado externamente. Se ejecuta en el hilo de E/S;
+     * el diff se aplica después en el hilo del cliente.
      */
-    public void removeZone(String zoneId) {
+    private void reloadChangedFile(WorldState state, Path path) {
+        String fileName = path.getFileName().toString();
+
         try {
-            JsonArray newArray = new JsonArray();
+            // zones.json completo (formato antiguo o herramientas externas): reemplaza
+            // todas las zonas del mundo. El archivo se deja en su sitio.
+            if (fileName.equals(LEGACY_FILE) && path.getParent().equals(getWorldDir(state.worldId))) {
+                if (!Files.exists(path)) {
+                    return;
+                }
+
+                byte[] content = Files.readAllBytes(path);
+                long hash = contentHash(content);
+                if (hash == state.legacyHash) {
+                    return;
+                }
 
-            for (JsonElement element : zonesArray) {
-                JsonObject zoneJson = element.getAsJsonObject();
-                if (!zoneJson.get("id").getAsString().equals(zoneId)) {
-                    newArray.add(zoneJson);
+                Map<Long, List<Zone>> zonesByRegion = new HashMap<>();
+                for (Zone zone : parseZones(content, path)) {
+                    zonesByRegion.computeIfAbsent(regionKeyFor(zone), k -> new ArrayList<>()).add(zone);
                 }
+
+                CLIENT.execute(() -> applyLegacyReload(state, zonesByRegion, hash));
+                return;
             }
 
-            configRoot.add("zones", newArray);
-            zonesArray = newArray;
-            saveConfig();
-            System.out.println("[WorldConfigManager] ✓ Zona eliminada del mundo: " + currentWorldId);
+            // Archivo de región r.<rx>.<rz>.json
+            String[] parts = fileName.split("\\.");
+            if (parts.length != 4 || !parts[0].equals("r") || !parts[3].equals("json")) {
+                return;
+            }
+
+            int regionX = Integer.parseInt(parts[1]);
+            int regionZ = Integer.parseInt(parts[2]);
+            byte[] content = Files.exists(path) ? Files.readAllBytes(path) : new byte[0];
+
+            // Ignorar los archivos que acabamos de escribir nosotros (por contenido:
+            // la fecha de modificación no distingue dos escrituras en el mismo segundo)
+            Long ownWrite = state.selfWrites.get(fileName);
+            if (ownWrite != null && ownWrite == contentHash(content)) {
+                return;
+            }
+
+            List<Zone> zones = content.length > 0 ? parseZones(content, path) : new ArrayList<>();
+            CLIENT.execute(() -> {
+                ZoneDiff diff = applyReload(state, Map.of(regionKey(regionX, regionZ), zones), false);
+                if (diff != null) {
+                    System.out.println(String.format(
+                        "[WorldConfigManager] ✓ Región recargada: r.%d.%d (%s)",
+                        regionX, regionZ, diff.summary()
+                    ));
+                }
+            });
+
         } catch (Exception e) {
-            System.err.println("[WorldConfigManager] ✗ Error eliminando zona:");
+            System.err.println("[WorldConfigManager] ✗ Error recargando archivo: " + path);
             e.printStackTrace();
         }
     }
 
     /**
-     * Obtiene todas las zonas del mundo actual.
+     * Aplica un zones.json externo completo: las regiones que no aparecen en
+     * él se vacían.
+     */
+    private void applyLegacyReload(WorldState state, Map<Long, List<Zone>> zonesByRegion, long hash) {
+        Map<Long, List<Zone>> replaced = new HashMap<>(zonesByRegion);
+        for (long key : state.manifest.keySet()) {
+            replaced.putIfAbsent(key, Collections.emptyList());
+        }
+
+        ZoneDiff diff = applyReload(state, replaced, true);
+        state.legacyHash = hash;
+        saveManifest(state);
+
+        System.out.println(String.format(
+            "[WorldConfigManager] ✓ zones.json aplicado (reemplaza todas las zonas del mundo; " +
+                "el archivo se conserva): %s, %d región(es)",
+            diff != null ? diff.summary() : "sin cambios", replaced.size()
+        ));
+    }
+
+    /**
+     * Aplica el contenido nuevo de un conjunto de regiones con un único diff
+     * por ID para todo el mundo: una zona que cambia de región es un cambio
+     * (conserva su instancia y su estado dentro/fuera), no una baja y un alta
+     * que dependan del orden en que se recorren las regiones. Las zonas sin
+     * cambios no se tocan.
      *
-     * @return Lista de zonas
+     * @param replaced Regiones reescritas → sus zonas nuevas
+     * @param persist true si hay que escribir las regiones (origen: zones.json)
+     * @return Diferencias aplicadas en memoria, o null si no hubo ninguna
      */
-    public List<Zone> getZonesData() {
-        List<Zone> zones = new ArrayList<>();
+    private ZoneDiff applyReload(WorldState state, Map<Long, List<Zone>> replaced, boolean persist) {
+        // 1. Región de destino de cada zona nueva; solo las de regiones residentes
+        //    entran en memoria
+        Map<String, Long> targetRegion = new HashMap<>();
+        List<Zone> incoming = new ArrayList<>();
+        for (Map.Entry<Long, List<Zone>> entry : replaced.entrySet()) {
+            boolean resident = state.residentRegions.containsKey(entry.getKey());
+            for (Zone zone : entry.getValue()) {
+                targetRegion.put(zone.getZoneId(), entry.getKey());
+                if (resident) {
+                    incoming.add(zone);
+                }
+            }
+        }
 
-        try {
-            for (JsonElement element : zonesArray) {
-                Zone zone = jsonToZone(element.getAsJsonObject());
-                if (zone != null) {
-                    zones.add(zone);
+        // 2. Zonas en memoria afectadas: las de las regiones reescritas y las
+        //    que llegan desde otra región residente
+        Map<String, Zone> loaded = new LinkedHashMap<>();
+        for (long key : replaced.keySet()) {
+            RegionShard shard = state.residentRegions.get(key);
+            if (shard != null) {
+                loaded.putAll(shard.zones);
+            }
+        }
+        for (String zoneId : targetRegion.keySet()) {
+            Long key = state.regionByZoneId.get(zoneId);
+            if (key != null && !loaded.containsKey(zoneId)) {
+                loaded.put(zoneId, state.residentRegions.get(key).zones.get(zoneId));
+            }
+        }
+
+        ZoneDiff diff = ZoneDiff.compute(loaded.values(), incoming);
+        Set<Long> touched = new HashSet<>(replaced.keySet());
+
+        // 3. Regiones residentes: bajas, altas y zonas que cambian de región
+        for (Zone zone : diff.removed) {
+            Long key = state.regionByZoneId.remove(zone.getZoneId());
+            if (key != null) {
+                state.residentRegions.get(key).zones.remove(zone.getZoneId());
+                touched.add(key);
+            }
+        }
+        for (Zone zone : diff.added) {
+            long key = targetRegion.get(zone.getZoneId());
+            state.residentRegions.get(key).zones.put(zone.getZoneId(), zone);
+            state.regionByZoneId.put(zone.getZoneId(), key);
+        }
+        for (ZoneDiff.Change change : diff.changed) {
+            String zoneId = change.zone.getZoneId();
+            long key = targetRegion.get(change.updated.getZoneId());
+            Long oldKey = state.regionByZoneId.get(zoneId);
+            if (oldKey != null && oldKey != key) {
+                state.residentRegions.get(oldKey).zones.remove(zoneId);
+                state.residentRegions.get(key).zones.put(zoneId, change.zone);
+                state.regionByZoneId.put(zoneId, key);
+                touched.add(oldKey);
+            }
+        }
+
+        // 4. Memoria: un solo diff para ZoneManager
+        if (!diff.isEmpty()) {
+            if (state == current && shardListener != null) {
+                shardListener.onZonesChanged(diff);
+            } else {
+                // Mundo en caché: sus zonas no están en ZoneManager
+                for (ZoneDiff.Change change : diff.changed) {
+                    change.applyBoundsAndMessages();
+                    change.zone.setZoneName(change.updated.getZoneName());
                 }
             }
-        } catch (Exception e) {
-            System.err.println("[WorldConfigManager] ✗ Error leyendo zonas:");
-            e.printStackTrace();
         }
 
-        return zones;
+        // 5. Índice y archivos. Las regiones reescritas por fuera no se vuelven
+        //    a escribir; las residentes de las que salió una zona, sí
+        for (long key : touched) {
+            RegionShard shard = state.residentRegions.get(key);
+            boolean external = replaced.containsKey(key) && !persist;
+
+            if (shard == null) {
+                shard = new RegionShard((int) (key >> 32), (int) key);
+                for (Zone zone : replaced.get(key)) {
+                    shard.zones.put(zone.getZoneId(), zone);
+                }
+            }
+
+            if (external) {
+                updateManifestEntry(state, shard);
+            } else {
+                saveRegion(state, shard);
+            }
+        }
+        saveManifest(state);
+
+        return diff.isEmpty() ? null : diff;
+    }
+
+    private void updateManifestEntry(WorldState state, RegionShard shard) {
+        if (shard.zones.isEmpty()) {
+            state.removeRegionInfo(shard.key);
+        } else {
+            state.putRegionInfo(RegionInfo.fromZones(shard.regionX, shard.regionZ, shard.zones.values()));
+        }
     }
 
     // ═══════════════════════════════════════════════════════════════════════
-    // CONVERSIÓN JSON ↔ JAVA
+    // CARGA Y GUARDADO
     // ═══════════════════════════════════════════════════════════════════════
 
-    private JsonObject zoneToJson(Zone zone) {
-        JsonObject json = new JsonObject();
+    /**
+     * Guarda todas las regiones residentes y el índice del mundo actual.
+     */
+    public void saveConfig() {
+        if (!isWorldReady()) {
+            return;
+        }
 
-        json.addProperty("id", zone.getZoneId());
-        json.addProperty("name", zone.getZoneName());
+        for (RegionShard shard : current.residentRegions.values()) {
+            saveRegion(current, shard);
+        }
+        saveManifest(current);
+    }
 
-        JsonArray min = new JsonArray();
-        min.add(zone.getMinX());
-        min.add(zone.getMinY());
-        min.add(zone.getMinZ());
-        json.add("min", min);
+    /**
+     * Carga las regiones cercanas al jugador y descarga las lejanas.
+     * Llamado periódicamente desde el tick del jugador.
+     *
+     * @param playerX X del jugador
+     * @param playerZ Z del jugador
+     */
+    public void updateResidentRegions(double playerX, double playerZ) {
+        if (!isWorldReady()) {
+            return;
+        }
 
-        JsonArray max = new JsonArray();
-        max.add(zone.getMaxX());
-        max.add(zone.getMaxY());
-        max.add(zone.getMaxZ());
-        json.add("max", max);
+        WorldState state = current;
 
-        json.addProperty("enterMsg", zone.getEnterMessage());
-        json.addProperty("exitMsg", zone.getExitMessage());
-        json.addProperty("created_at", System.currentTimeMillis());
+        // 1. Pedir las regiones que están dentro del radio de carga
+        for (RegionInfo info : state.manifest.values()) {
+            if (info.horizontalDistance(playerX, playerZ) > LOAD_DISTANCE) {
+                continue;
+            }
 
-        return json;
+            if (state.residentRegions.get(info.key) == null && !state.pendingLoads.contains(info.key)) {
+                requestRegionLoad(state, info);
+            }
+        }
+
+        // 2. Expulsar por LRU las regiones lejanas si se supera el límite
+        if (state.residentRegions.size() <= MAX_RESIDENT_REGIONS) {
+            return;
+        }
+
+        Iterator<Map.Entry<Long, RegionShard>> iterator = state.residentRegions.entrySet().iterator();
+        while (iterator.hasNext() && state.residentRegions.size() > MAX_RESIDENT_REGIONS) {
+            RegionShard shard = iterator.next().getValue();
+            RegionInfo info = state.manifest.get(shard.key);
+
+            if (info != null && info.horizontalDistance(playerX, playerZ) <= UNLOAD_DISTANCE) {
+                continue;
+            }
+
+            iterator.remove();
+            List<Zone> zones = new ArrayList<>(shard.zones.values());
+            for (Zone zone : zones) {
+                state.regionByZoneId.remove(zone.getZoneId());
+            }
+
+            if (shardListener != null) {
+                shardListener.onShardUnloaded(zones);
+            }
+
+            System.out.println(String.format(
+                "[WorldConfigManager] Región descargada: r.%d.%d (%d zona(s))",
+                shard.regionX, shard.regionZ, zones.size()
+            ));
+        }
     }
 
-    private Zone jsonToZone(JsonObject json) {
-        try {
-            String name = json.get("name").getAsString();
-            JsonArray min = json.get("min").getAsJsonArray();
-            JsonArray max = json.get("max").getAsJsonArray();
+    /**
+     * Programa la lectura de una región en el hilo de E/S.
+     */
+    private void requestRegionLoad(WorldState state, RegionInfo info) {
+        state.pendingLoads.add(info.key);
 
-            Zone zone = new Zone(
-                name,
-                min.get(0).getAsDouble(),
-                min.get(1).getAsDouble(),
-                min.get(2).getAsDouble(),
-                max.get(0).getAsDouble(),
-                max.get(1).getAsDouble(),
-                max.get(2).getAsDouble()
-            );
+        ioExecutor.execute(() -> {
+            RegionShard shard = readRegion(state, info.regionX, info.regionZ);
+            CLIENT.execute(() -> installRegion(state, shard));
+        });
+    }
 
-            zone.setEnterMessage(json.get("enterMsg").getAsString());
-            zone.setExitMessage(json.get("exitMsg").getAsString());
+    /**
+     * Registra una región leída. Se ejecuta en el hilo del cliente.
+     */
+    private void installRegion(WorldState state, RegionShard shard) {
+        // Lectura descartada (ya se cargó de forma síncrona)
+        if (!state.pendingLoads.remove(shard.key)) {
+            return;
+        }
 
-            return zone;
-        } catch (Exception e) {
-            System.err.println("[WorldConfigManager] ✗ Error deserializando zona:");
-            e.printStackTrace();
-            return null;
+        state.install(shard);
+
+        // El mundo en caché conserva la región, pero solo se notifica si está abierto
+        if (state == current && shardListener != null) {
+            shardListener.onShardLoaded(new ArrayList<>(shard.zones.values()));
         }
+
+        System.out.println(String.format(
+            "[WorldConfigManager] ✓ Región cargada: r.%d.%d (%d zona(s))",
+            shard.regionX, shard.regionZ, shard.zones.size()
+        ));
     }
 
     // ═══════════════════════════════════════════════════════════════════════
-    // UTILIDADES
+    // OPERACIONES CON ZONAS
     // ═══════════════════════════════════════════════════════════════════════
 
-    private String getConfigFilePath() {
-        return CONFIG_DIR + "/" + currentWorldId + "/zones.json";
-    }
+    /**
+     * Añade una zona a la configuración del mundo actual.
+     *
+     * @param zone Zona a guardar
+     */
+    public void addZone(Zone zone) {
+        if (!isWorldReady()) {
+            System.err.println("[WorldConfigManager] ✗ El mundo aún no está cargado; zona no guardada");
+            return;
+        }
 
-    private void ensureWorldDirectory() {
         try {
-            Path path = Paths.get(CONFIG_DIR + "/" + currentWorldId);
-            Files.createDirectories(path);
+            RegionShard shard = getOrLoadRegion(current, regionKeyFor(zone));
+            shard.zones.put(zone.getZoneId(), zone);
+            current.regionByZoneId.put(zone.getZoneId(), shard.key);
+
+            saveRegion(current, shard);
+            saveManifest(current);
+            System.out.println(String.format(
+                "[WorldConfigManager] ✓ Zona guardada en mundo: %s (r.%d.%d)",
+                currentWorldId, shard.regionX, shard.regionZ
+            ));
         } catch (Exception e) {
-            System.err.println("[WorldConfigManager] ✗ Error creando directorio:");
+            System.err.println("[WorldConfigManager] ✗ Error añadiendo zona:");
             e.printStackTrace();
         }
     }
 
-    private void initializeEmpty() {
-        configRoot = new JsonObject();
-        zonesArray = new JsonArray();
-        configRoot.add("zones", zonesArray);
-        configRoot.addProperty("world_id", currentWorldId);
-        System.out.println("[WorldConfigManager] ⚠ Config inicializada vacía");
+    /**
+     * Elimina una zona del mundo actual.
+     *
+     * @param zoneId ID de la zona
+     */
+    public void removeZone(String zoneId) {
+        if (!isWorldReady()) {
+            System.err.println("[WorldConfigManager] ✗ El mundo aún no está cargado; zona no eliminada");
+            return;
+        }
+
+        try {
+            Long key = current.regionByZoneId.remove(zoneId);
+            RegionShard shard = key != null ? current.residentRegions.get(key) : null;
+
+            if (shard == null || shard.zones.remove(zoneId) == null) {
+                System.err.println("[WorldConfigManager] ✗ Zona no encontrada en regiones residentes: " + zoneId);
+                return;
+            }
+
+            saveRegion(current, shard);
+            saveManifest(current);
+            System.out.println("[WorldConfigManager] ✓ Zona eliminada del mundo: " + currentWorldId);
+        } catch (Exception e) {
+            System.err.println("[WorldConfigManager] ✗ Error eliminando zona:");
+            e.printStackTrace();
+        }
     }
 
-    public String getCurrentWorldId() {
-        return currentWorldId;
+    /**
+     * Guarda un lote de cambios escribiendo cada región afectada una sola
+     * vez y el manifiesto al final (usado por ZoneTransaction).
+     *
+     * @param upserts Zonas creadas o modificadas
+     * @param deletedIds IDs de zonas eliminadas
+     * @return false si alguna región o el índice no se pudo escribir
+     */
+    public boolean saveZones(Collection<Zone> upserts, Collection<String> deletedIds) {
+        if (!isWorldReady()) {
+            System.err.println("[WorldConfigManager] ✗ El mundo aún no está cargado; cambios no guardados");
+            return false;
+        }
+
+        try {
+            Set<RegionShard> touched = new LinkedHashSet<>();
+
+            for (String zoneId : deletedIds) {
+                Long key = current.regionByZoneId.remove(zoneId);
+                RegionShard shard = key != null ? current.residentRegions.get(key) : null;
+                if (shard != null && shard.zones.remove(zoneId) != null) {
+                    touched.add(shard);
+                }
+            }
+
+            for (Zone zone : upserts) {
+                long key = regionKeyFor(zone);
+
+                // Si el centro de la zona cambió de región, sale de la anterior
+                Long oldKey = current.regionByZoneId.get(zone.getZoneId());
+                if (oldKey != null && oldKey != key) {
+                    RegionShard oldShard = current.residentRegions.get(oldKey);
+                    if (oldShard != null && oldShard.zones.remove(zone.getZoneId()) != null) {
+                        touched.add(oldShard);
+                    }
+                }
+
+                RegionShard shard = getOrLoadRegion(current, key);
+                shard.zones.put(zone.getZoneId(), zone);
+                current.regionByZoneId.put(zone.getZoneId(), shard.key);
+                touched.add(shard);
+            }
+
+            // Se intentan escribir todas aunque alguna falle
+            int failed = 0;
+            for (RegionShard shard : touched) {
+                if (!saveRegion(current, shard)) {
+                    failed++;
+                }
+            }
+            if (!saveManifest(current)) {
+                failed++;
+            }
+
+            if (failed > 0) {
+                System.err.println(String.format(
+                    "[WorldConfigManager] ✗ Lote guardado con errores: %d de %d escritura(s) fallida(s)",
+                    failed, touched.size() + 1
+                ));
+                return false;
+            }
+
+            System.out.println(String.format(
+                "[WorldConfigManager] ✓ Lote guardado: %d zona(s), %d eliminada(s), %d región(es) escrita(s)",
+                upserts.size(), deletedIds.size(), touched.size()
+            ));
+            return true;
+        } catch (Exception e) {
+            System.err.println("[WorldConfigManager] ✗ Error guardando lote de zonas:");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Guarda en bloque las zonas de una importación sin bloquear el hilo del
+     * cliente: todas las escrituras se hacen en el hilo de E/S.
+     *
+     * - Regiones residentes: las zonas se añaden en memoria y se entregan a
+     *   ZoneManager de una sola vez; se escribe una copia de la región
+     * - Regiones no residentes: se fusionan con su archivo. Hasta que termina
+     *   la escritura quedan en pendingImports, así que si la región se carga
+     *   mientras tanto (o se edita) las incluye y no se pierden
+     *
+     * @param zones Zonas ya validadas y sin colisiones de nombre
+     * @return Futuro con las regiones escritas y fallidas (hilo del cliente)
+     */
+    public CompletableFuture<ImportWrite> importZones(Collection<Zone> zones) {
+        if (!isWorldReady()) {
+            CompletableFuture<ImportWrite> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("El mundo aún no está cargado"));
+            return failed;
+        }
+
+        WorldState state = current;
+
+        Map<Long, List<Zone>> zonesByRegion = new HashMap<>();
+        for (Zone zone : zones) {
+            zonesByRegion.computeIfAbsent(regionKeyFor(zone), k -> new ArrayList<>()).add(zone);
+        }
+
+        // 1. Regiones residentes: en memoria ahora, escritura en el hilo de E/S
+        List<Zone> residentZones = new ArrayList<>();
+        List<CompletableFuture<Boolean>> residentWrites = new ArrayList<>();
+        Map<Long, List<Zone>> offlineRegions = new HashMap<>();
+
+        for (Map.Entry<Long, List<Zone>> entry : zonesByRegion.entrySet()) {
+            RegionShard shard = state.residentRegions.get(entry.getKey());
+            if (shard == null) {
+                offlineRegions.put(entry.getKey(), entry.getValue());
+                state.pendingImports.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+
+            for (Zone zone : entry.getValue()) {
+                shard.zones.put(zone.getZoneId(), zone);
+                state.regionByZoneId.put(zone.getZoneId(), shard.key);
+            }
+            residentZones.addAll(entry.getValue());
+            residentWrites.add(saveRegionAsync(state, shard));
+        }
+
+        if (!residentZones.isEmpty() && shardListener != null) {
+            shardListener.onShardLoaded(residentZones);
+        }
+
+        // 2. Regiones no residentes: leer, fusionar y escribir sin que el hilo
+        //    del cliente lea ni escriba la región entre medias
+        Map<Long, Long> sequences = new HashMap<>();
+        for (long key : offlineRegions.keySet()) {
+            sequences.put(key, state.nextWriteSequence());
+        }
+
+        CompletableFuture<Map<Long, RegionShard>> offlineWrites = new CompletableFuture<>();
+        ioExecutor.execute(() -> {
+            // Región escrita por clave; null = escritura fallida, sin clave = ya
+            // guardada desde memoria (cargada con las zonas importadas)
+            Map<Long, RegionShard> merged = new HashMap<>();
+
+            for (Map.Entry<Long, List<Zone>> entry : offlineRegions.entrySet()) {
+                long key = entry.getKey();
+                synchronized (state.fileLock) {
+                    if (sequences.get(key) < state.writtenSequence.getOrDefault(key, 0L)) {
+                        continue;
+                    }
+                    RegionShard shard = readRegion(state, (int) (key >> 32), (int) key);
+                    for (Zone zone : entry.getValue()) {
+                        shard.zones.put(zone.getZoneId(), zone);
+                    }
+                    merged.put(key, writeRegionFile(state, shard, sequences.get(key)) ? shard : null);
+                }
+            }
+
+            CLIENT.execute(() -> offlineWrites.complete(merged));
+        });
+
+        // 3. Índice y resultado, en el hilo del cliente
+        return CompletableFuture.allOf(residentWrites.toArray(new CompletableFuture[0]))
+            .thenCombine(offlineWrites, (ignored, merged) -> merged)
+            .thenCompose(merged -> finishOfflineImport(state, offlineRegions, merged))
+            .thenApply(offline -> {
+                ImportWrite result = new ImportWrite();
+                for (CompletableFuture<Boolean> write : residentWrites) {
+                    if (write.join()) {
+                        result.regionsWritten++;
+                    } else {
+                        result.regionsFailed++;
+                    }
+                }
+                result.regionsWritten += offline.regionsWritten;
+                result.regionsFailed += offline.regionsFailed;
+                result.zonesLost = offline.zonesLost;
+
+                saveManifest(state);
+                if (result.regionsFailed > 0) {
+                    System.err.println(String.format(
+                        "[WorldConfigManager] ✗ Importación con errores: %d región(es) sin escribir, %d zona(s) perdida(s)",
+                        result.regionsFailed, result.zonesLost
+                    ));
+                }
+                System.out.println(String.format(
+                    "[WorldConfigManager] ✓ Importación guardada: %d zona(s) en %d región(es) (%d residente(s))",
+                    zones.size() - result.zonesLost, result.regionsWritten, residentWrites.size()
+                ));
+                return result;
+            });
+    }
+
+    /**
+     * Cierra la parte no residente de una importación (hilo del cliente).
+     * Si la región se cargó mientras tanto, ya incluye las zonas importadas
+     * (install las fusiona); si aun así falta alguna, o la escritura del
+     * hilo de E/S falló, se vuelve a guardar lo que hay en memoria.
+     *
+     * @param merged Región escrita por clave (null si falló; sin clave si ya
+     *               se había guardado desde memoria)
+     */
+    private CompletableFuture<ImportWrite> finishOfflineImport(WorldState state, Map<Long, List<Zone>> offlineRegions,
+                                                               Map<Long, RegionShard> merged) {
+        ImportWrite result = new ImportWrite();
+        List<CompletableFuture<Boolean>> resaves = new ArrayList<>();
+
+        for (Map.Entry<Long, List<Zone>> entry : offlineRegions.entrySet()) {
+            long key = entry.getKey();
+            RegionShard written = merged.get(key);
+            boolean saved = written != null || !merged.containsKey(key);
+            state.pendingImports.remove(key);
+
+            RegionShard loaded = state.residentRegions.get(key);
+            if (loaded == null) {
+                if (written != null) {
+                    state.putRegionInfo(RegionInfo.fromZones(written.regionX, written.regionZ, written.zones.values()));
+                }
+                if (saved) {
+                    result.regionsWritten++;
+                } else {
+                    result.regionsFailed++;
+                    result.zonesLost += entry.getValue().size();
+                }
+                continue;
+            }
+
+            List<Zone> missing = new ArrayList<>();
+            for (Zone zone : entry.getValue()) {
+                if (!loaded.zones.containsKey(zone.getZoneId())) {
+                    loaded.zones.put(zone.getZoneId(), zone);
+                    state.regionByZoneId.put(zone.getZoneId(), loaded.key);
+                    missing.add(zone);
+                }
+            }
+            if (!missing.isEmpty() && state == current && shardListener != null) {
+                shardListener.onShardLoaded(missing);
+            }
+
+            if (saved && missing.isEmpty()) {
+                updateRegionInfo(state, loaded);
+                result.regionsWritten++;
+            } else {
+                resaves.add(saveRegionAsync(state, loaded));
+            }
+        }
+
+        return CompletableFuture.allOf(resaves.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            for (CompletableFuture<Boolean> resave : resaves) {
+                if (resave.join()) {
+                    result.regionsWritten++;
+                } else {
+                    result.regionsFailed++;
+                }
+            }
+            return result;
+        });
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // NOMBRES DE ZONA (TODO EL MUNDO)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Indica si alguna zona del mundo actual (residente o no) usa el nombre.
+     */
+    public boolean isZoneNameTaken(String name) {
+        return current != null && current.zonesByName.containsKey(name);
+    }
+
+    /**
+     * Busca una zona por nombre en todo el mundo. Si su región no está
+     * residente se lee de disco (de forma síncrona) y se entrega a
+     * ZoneManager como cualquier región cargada.
+     *
+     * @return La zona, o null si no existe
+     */
+    public Zone loadZoneByName(String name) {
+        if (!isWorldReady()) {
+            return null;
+        }
+
+        ZoneRef ref = current.zonesByName.get(name);
+        if (ref == null) {
+            return null;
+        }
+
+        RegionShard shard = current.residentRegions.get(ref.regionKey);
+        if (shard == null) {
+            shard = getOrLoadRegion(current, ref.regionKey);
+            System.out.println(String.format(
+                "[WorldConfigManager] ✓ Región cargada bajo demanda: r.%d.%d (zona %s)",
+                shard.regionX, shard.regionZ, name
+            ));
+        }
+        return shard.zones.get(ref.zoneId);
+    }
+
+    /**
+     * Carga las regiones no residentes que contienen las zonas dadas. Las
+     * regiones se leen en el hilo de E/S (una sola pasada en cola) y se
+     * entregan a ZoneManager en el hilo del cliente, de modo que al
+     * completarse el futuro todas las zonas se pueden buscar por nombre.
+     *
+     * @param names Nombres de zonas del mundo (los desconocidos se ignoran)
+     * @return Futuro con el número de regiones cargadas (hilo del cliente)
+     */
+    public CompletableFuture<Integer> loadZonesByName(Collection<String> names) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        if (!isWorldReady()) {
+            future.completeExceptionally(new IllegalStateException("El mundo aún no está cargado"));
+            return future;
+        }
+
+        WorldState state = current;
+        Set<Long> missing = new LinkedHashSet<>();
+        for (String name : names) {
+            ZoneRef ref = state.zonesByName.get(name);
+            if (ref != null && !state.residentRegions.containsKey(ref.regionKey)) {
+                missing.add(ref.regionKey);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            future.complete(0);
+            return future;
+        }
+
+        ioExecutor.execute(() -> {
+            List<RegionShard> shards = new ArrayList<>(missing.size());
+            for (long key : missing) {
+                shards.add(readRegion(state, (int) (key >> 32), (int) key));
+            }
+
+            CLIENT.execute(() -> {
+                int loaded = 0;
+                for (RegionShard shard : shards) {
+                    // Cargada mientras tanto (p. ej. por el movimiento del jugador)
+                    if (state.residentRegions.containsKey(shard.key)) {
+                        continue;
+                    }
+
+                    state.pendingLoads.remove(shard.key);
+                    state.install(shard);
+                    loaded++;
+
+                    if (state == current && shardListener != null) {
+                        shardListener.onShardLoaded(new ArrayList<>(shard.zones.values()));
+                    }
+                }
+
+                System.out.println(String.format(
+                    "[WorldConfigManager] ✓ %d región(es) cargada(s) bajo demanda para %d zona(s)",
+                    loaded, names.size()
+                ));
+                future.complete(loaded);
+            });
+        });
+
+        return future;
+    }
+
+    /**
+     * Nombres de todas las zonas del mundo, en orden alfabético (en caché
+     * hasta el siguiente cambio).
+     *
+     * @return Lista no modificable
+     */
+    public List<String> getZoneNames() {
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        if (current.nameOrder == null) {
+            List<String> sorted = new ArrayList<>(current.zonesByName.keySet());
+            Collections.sort(sorted);
+            current.nameOrder = Collections.unmodifiableList(sorted);
+        }
+        return current.nameOrder;
+    }
+
+    /**
+     * Nombres del mundo que empiezan por el prefijo (búsqueda binaria sobre
+     * la lista ordenada).
+     *
+     * @return Sublista no modificable
+     */
+    public List<String> getZoneNamesWithPrefix(String prefix) {
+        List<String> sorted = getZoneNames();
+        int from = Collections.binarySearch(sorted, prefix);
+        from = from >= 0 ? from : -from - 1;
+        int to = Collections.binarySearch(sorted, prefix + Character.MAX_VALUE);
+        to = to >= 0 ? to : -to - 1;
+        return sorted.subList(from, to);
+    }
+
+    /**
+     * Nombres de zonas de todo el mundo que encajan con el patrón, en orden
+     * alfabético. Con un glob solo se revisa el rango de su prefijo literal.
+     *
+     * @return Lista nueva (se puede modificar)
+     */
+    public List<String> getZoneNamesMatching(ZonePattern pattern) {
+        List<String> matches = new ArrayList<>();
+        for (String name : getZoneNamesWithPrefix(pattern.getLiteralPrefix())) {
+            if (pattern.matches(name)) {
+                matches.add(name);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Número de zonas del mundo actual, residentes o no.
+     */
+    public int getWorldZoneCount() {
+        return current != null ? current.zonesByName.size() : 0;
+    }
+
+    /**
+     * Completa nombres de zona de todo el mundo (sin distinguir mayúsculas).
+     *
+     * @param out Lista destino (no se vacía)
+     */
+    public void completeZoneNames(String prefix, int limit, List<String> out) {
+        if (current != null) {
+            current.nameIndex.complete(prefix, limit, out);
+        }
+    }
+
+    /**
+     * Nombres del mundo parecidos al dado, para "¿quisiste decir...?".
+     */
+    public List<String> findSimilarZoneNames(String name, int limit) {
+        return current != null ? current.nameIndex.findSimilar(name, limit) : Collections.emptyList();
+    }
+
+    /**
+     * Obtiene todas las zonas residentes del mundo actual.
+     *
+     * @return Lista de zonas
+     */
+    public List<Zone> getZonesData() {
+        return current != null ? current.getResidentZones() : new ArrayList<>();
+    }
+
+    /**
+     * Devuelve la región residente indicada o la lee de disco de forma
+     * síncrona (ediciones sobre regiones que aún no se han cargado).
+     */
+    private RegionShard getOrLoadRegion(WorldState state, long key) {
+        RegionShard shard = state.residentRegions.get(key);
+        if (shard != null) {
+            return shard;
+        }
+
+        int regionX = (int) (key >> 32);
+        int regionZ = (int) key;
+        shard = state.manifest.containsKey(key)
+            ? readRegion(state, regionX, regionZ)
+            : new RegionShard(regionX, regionZ);
+
+        // Si había una lectura asíncrona en curso, se descartará al llegar
+        state.pendingLoads.remove(key);
+        state.install(shard);
+
+        if (!shard.zones.isEmpty() && shardListener != null) {
+            shardListener.onShardLoaded(new ArrayList<>(shard.zones.values()));
+        }
+
+        return shard;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // REGIONES EN DISCO
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lee el índice de regiones de un mundo (o lo genera migrando zones.json
+     * o escaneando las regiones). Se ejecuta en el hilo de E/S.
+     */
+    private void loadManifest(WorldState state) throws IOException {
+        File manifestFile = getManifestPath(state.worldId).toFile();
+        File legacyFile = getWorldDir(state.worldId).resolve(LEGACY_FILE).toFile();
+
+        if (manifestFile.exists()) {
+            if (readManifest(state, manifestFile)) {
+                System.out.println("[WorldConfigManager] ✓ Índice de regiones cargado: " +
+                    state.manifest.size() + " región(es)");
+            } else {
+                // Índice anterior sin nombres de zona: se regenera desde las regiones
+                state.clearManifest();
+                rebuildManifest(state);
+            }
+        } else if (legacyFile.exists()) {
+            migrateLegacyFile(state, legacyFile);
+        } else if (Files.isDirectory(getRegionsDir(state.worldId))) {
+            rebuildManifest(state);
+        } else {
+            System.out.println("[WorldConfigManager] ✓ Mundo nuevo sin zonas: " + state.worldId);
+        }
+    }
+
+    /**
+     * Lee un archivo de región. Puede ejecutarse fuera del hilo del cliente.
+     */
+    private RegionShard readRegion(WorldState state, int regionX, int regionZ) {
+        long start = System.nanoTime();
+        RegionShard shard = new RegionShard(regionX, regionZ);
+
+        // Sin escrituras a medias: el hilo de E/S puede estar escribiendo la región
+        List<Zone> zones;
+        synchronized (state.fileLock) {
+            zones = readZonesFile(getRegionPath(state.worldId, regionX, regionZ));
+        }
+        for (Zone zone : zones) {
+            shard.zones.put(zone.getZoneId(), zone);
+        }
+        ZoneMetrics.LOAD_NANOS.record(System.nanoTime() - start);
+        return shard;
+    }
+
+    private List<Zone> readZonesFile(Path path) {
+        try {
+            if (Files.exists(path)) {
+                return parseZones(Files.readAllBytes(path), path);
+            }
+        } catch (Exception e) {
+            System.err.println("[WorldConfigManager] ✗ Error leyendo región: " + path);
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Convierte el contenido de un archivo de zonas (región o zones.json).
+     */
+    private List<Zone> parseZones(byte[] content, Path path) {
+        List<Zone> zones = new ArrayList<>();
+
+        try {
+            JsonObject root = JsonParser.parseString(new String(content)).getAsJsonObject();
+
+            if (root.has("zones")) {
+                for (JsonElement element : root.getAsJsonArray("zones")) {
+                    Zone zone = jsonToZone(element.getAsJsonObject());
+                    if (zone != null) {
+                        zones.add(zone);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("[WorldConfigManager] ✗ Error leyendo región: " + path);
+            e.printStackTrace();
+        }
+
+        return zones;
+    }
+
+    /**
+     * Escribe una región en disco y actualiza su entrada del índice.
+     * Las regiones vacías se eliminan.
+     *
+     * @return true si se escribió (o eliminó) correctamente
+     */
+    private boolean saveRegion(WorldState state, RegionShard shard) {
+        boolean saved = writeRegionFile(state, shard, state.nextWriteSequence());
+
+        if (shard.zones.isEmpty()) {
+            state.removeRegionInfo(shard.key);
+        } else if (saved) {
+            state.putRegionInfo(RegionInfo.fromZones(shard.regionX, shard.regionZ, shard.zones.values()));
+        }
+        return saved;
+    }
+
+    /**
+     * Como saveRegion, pero la escritura se hace en el hilo de E/S con una
+     * copia de las zonas de la región. El índice se actualiza al terminar.
+     *
+     * @return Futuro con true si se escribió, completado en el hilo del cliente
+     */
+    private CompletableFuture<Boolean> saveRegionAsync(WorldState state, RegionShard shard) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        RegionShard snapshot = shard.snapshot();
+        long sequence = state.nextWriteSequence();
+
+        ioExecutor.execute(() -> {
+            boolean saved = writeRegionFile(state, snapshot, sequence);
+            CLIENT.execute(() -> {
+                if (saved) {
+                    // Lo residente puede haber cambiado desde la copia
+                    RegionShard resident = state.residentRegions.get(shard.key);
+                    updateRegionInfo(state, resident != null ? resident : snapshot);
+                }
+                future.complete(saved);
+            });
+        });
+
+        return future;
+    }
+
+    private static void updateRegionInfo(WorldState state, RegionShard shard) {
+        if (shard.zones.isEmpty()) {
+            state.removeRegionInfo(shard.key);
+        } else {
+            state.putRegionInfo(RegionInfo.fromZones(shard.regionX, shard.regionZ, shard.zones.values()));
+        }
+    }
+
+    /**
+     * Escribe el archivo de una región (o lo elimina si está vacía) sin tocar
+     * el índice, por lo que puede ejecutarse en el hilo de E/S.
+     *
+     * Las escrituras de una región se ordenan por secuencia: si ya se
+     * escribió una copia más reciente, esta se descarta (el archivo ya tiene
+     * un estado posterior) y cuenta como correcta.
+     *
+     * @param sequence Orden de la copia (WorldState.nextWriteSequence)
+     * @return true si se escribió correctamente
+     */
+    private boolean writeRegionFile(WorldState state, RegionShard shard, long sequence) {
+        long start = System.nanoTime();
+        Path path = getRegionPath(state.worldId, shard.regionX, shard.regionZ);
+
+        try {
+            byte[] content = null;
+            if (!shard.zones.isEmpty()) {
+                JsonObject root = new JsonObject();
+                JsonArray zonesArray = new JsonArray();
+                for (Zone zone : shard.zones.values()) {
+                    zonesArray.add(zoneToJson(zone));
+                }
+                root.addProperty("world_id", state.worldId);
+                root.addProperty("region_x", shard.regionX);
+                root.addProperty("region_z", shard.regionZ);
+                root.addProperty("last_modified", System.currentTimeMillis());
+                root.add("zones", zonesArray);
+                content = GSON.toJson(root).getBytes();
+            }
+
+            synchronized (state.fileLock) {
+                if (sequence < state.writtenSequence.getOrDefault(shard.key, 0L)) {
+                    return true;
+                }
+
+                if (content == null) {
+                    Files.deleteIfExists(path);
+                } else {
+                    // El hash se registra antes de escribir: el watcher puede ver
+                    // el archivo en cuanto aparece
+                    Files.createDirectories(path.getParent());
+                    state.selfWrites.put(path.getFileName().toString(), contentHash(content));
+                    Files.write(path, content);
+                }
+                state.writtenSequence.put(shard.key, sequence);
+            }
+
+            if (content != null) {
+                ZoneMetrics.SAVE_NANOS.record(System.nanoTime() - start);
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("[WorldConfigManager] ✗ Error guardando región: " + path);
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * @return false si el índice no guarda los nombres de las zonas (formato anterior)
+     */
+    private boolean readManifest(WorldState state, File manifestFile) throws IOException {
+        String content = new String(Files.readAllBytes(manifestFile.toPath()));
+        JsonObject root = JsonParser.parseString(content).getAsJsonObject();
+
+        if (root.has("last_x") && root.has("last_z")) {
+            state.lastX = root.get("last_x").getAsDouble();
+            state.lastZ = root.get("last_z").getAsDouble();
+            state.hasLastPosition = true;
+        }
+
+        if (root.has("legacy_hash")) {
+            state.legacyHash = root.get("legacy_hash").getAsLong();
+        }
+
+        if (!root.has("regions")) {
+            return true;
+        }
+
+        for (JsonElement element : root.getAsJsonArray("regions")) {
+            JsonObject region = element.getAsJsonObject();
+            if (!region.has("names")) {
+                return false;
+            }
+            state.putRegionInfo(RegionInfo.fromJson(region));
+        }
+        return true;
+    }
+
+    /**
+     * @return true si se escribió correctamente
+     */
+    private boolean saveManifest(WorldState state) {
+        try {
+            Path path = getManifestPath(state.worldId);
+            Files.createDirectories(path.getParent());
+
+            JsonObject root = new JsonObject();
+            root.addProperty("world_id", state.worldId);
+            root.addProperty("region_size", REGION_SIZE);
+            root.addProperty("last_modified", System.currentTimeMillis());
+
+            if (state.hasLastPosition) {
+                root.addProperty("last_x", state.lastX);
+                root.addProperty("last_z", state.lastZ);
+            }
+
+            if (state.legacyHash != -1) {
+                root.addProperty("legacy_hash", state.legacyHash);
+            }
+
+            JsonArray regions = new JsonArray();
+            for (RegionInfo info : state.manifest.values()) {
+                regions.add(info.toJson());
+            }
+            root.add("regions", regions);
+
+            Files.write(path, GSON.toJson(root).getBytes());
+            return true;
+        } catch (Exception e) {
+            System.err.println("[WorldConfigManager] ✗ Error guardando índice de regiones:");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Reconstruye index.json leyendo todas las regiones (índice perdido o borrado).
+     */
+    private void rebuildManifest(WorldState state) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(getRegionsDir(state.worldId), "r.*.json")) {
+            for (Path file : files) {
+                String[] parts = file.getFileName().toString().split("\\.");
+                if (parts.length != 4) {
+                    continue;
+                }
+
+                int regionX = Integer.parseInt(parts[1]);
+                int regionZ = Integer.parseInt(parts[2]);
+                List<Zone> zones = readZonesFile(file);
+                if (!zones.isEmpty()) {
+                    state.putRegionInfo(RegionInfo.fromZones(regionX, regionZ, zones));
+                }
+            }
+        }
+
+        saveManifest(state);
+        System.out.println("[WorldConfigManager] ✓ Índice de regiones reconstruido: " +
+            state.manifest.size() + " región(es)");
+    }
+
+    /**
+     * Reparte el antiguo zones.json en regiones. El archivo se deja en su
+     * sitio (puede pertenecer a una herramienta externa); index.json guarda su
+     * hash para no volver a aplicarlo mientras no cambie.
+     */
+    private void migrateLegacyFile(WorldState state, File legacyFile) throws IOException {
+        byte[] content = Files.readAllBytes(legacyFile.toPath());
+
+        Map<Long, RegionShard> shards = new HashMap<>();
+        int count = 0;
+
+        for (Zone zone : parseZones(content, legacyFile.toPath())) {
+            long key = regionKeyFor(zone);
+            shards.computeIfAbsent(key, k -> new RegionShard((int) (k >> 32), (int) (long) k))
+                .zones.put(zone.getZoneId(), zone);
+            count++;
+        }
+
+        for (RegionShard shard : shards.values()) {
+            saveRegion(state, shard);
+        }
+        state.legacyHash = contentHash(content);
+        saveManifest(state);
+
+        System.out.println(String.format(
+            "[WorldConfigManager] ✓ zones.json migrado: %d zona(s) en %d región(es)",
+            count, shards.size()
+        ));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // CONVERSIÓN JSON ↔ JAVA
+    // ═══════════════════════════════════════════════════════════════════════
+
+    private JsonObject zoneToJson(Zone zone) {
+        JsonObject json = new JsonObject();
+
+        json.addProperty("id", zone.getZoneId());
+        json.addProperty("name", zone.getZoneName());
+
+        JsonArray min = new JsonArray();
+        min.add(zone.getMinX());
+        min.add(zone.getMinY());
+        min.add(zone.getMinZ());
+        json.add("min", min);
+
+        JsonArray max = new JsonArray();
+        max.add(zone.getMaxX());
+        max.add(zone.getMaxY());
+        max.add(zone.getMaxZ());
+        json.add("max", max);
+
+        // min/max se guardan siempre (caja envolvente) para versiones anteriores
+        if (zone.getShape() != null) {
+            json.add("shape", zone.getShape().toJson());
+        }
+        if (zone.getPriority() != 0) {
+            json.addProperty("priority", zone.getPriority());
+        }
+        json.addProperty("dimension", zone.getDimension());
+        if (!zone.getBuffer().isDefault()) {
+            json.add("buffer", zone.getBuffer().toJson());
+        }
+        if (zone.getDwellSeconds() > 0) {
+            json.add("dwell", timedMessageToJson(zone.getDwellSeconds(), zone.getDwellMessage()));
+        }
+        if (zone.getRepeatSeconds() > 0) {
+            json.add("repeat", timedMessageToJson(zone.getRepeatSeconds(), zone.getRepeatMessage()));
+        }
+
+        // Etiquetas por nombre: los IDs de ZoneTags solo valen en esta sesión
+        List<String> tagNames = zone.getTagNames();
+        if (!tagNames.isEmpty()) {
+            JsonArray tags = new JsonArray();
+            tagNames.forEach(tags::add);
+            json.add("tags", tags);
+        }
+
+        json.addProperty("enterMsg", zone.getEnterMessage());
+        json.addProperty("exitMsg", zone.getExitMessage());
+        json.addProperty("created_at", System.currentTimeMillis());
+
+        return json;
+    }
+
+    private static JsonObject timedMessageToJson(int seconds, String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("seconds", seconds);
+        json.addProperty("msg", message);
+        return json;
+    }
+
+    private Zone jsonToZone(JsonObject json) {
+        try {
+            String name = json.get("name").getAsString();
+            JsonArray min = json.get("min").getAsJsonArray();
+            JsonArray max = json.get("max").getAsJsonArray();
+
+            // Conservar el ID guardado; los archivos antiguos pueden no tenerlo
+            String id = json.has("id") ? json.get("id").getAsString() : UUID.randomUUID().toString();
+
+            Zone zone = new Zone(
+                id,
+                name,
+                min.get(0).getAsDouble(),
+                min.get(1).getAsDouble(),
+                min.get(2).getAsDouble(),
+                max.get(0).getAsDouble(),
+                max.get(1).getAsDouble(),
+                max.get(2).getAsDouble()
+            );
+
+            if (json.has("shape")) {
+                zone.setShape(ZoneShape.fromJson(json.getAsJsonObject("shape")));
+            }
+            if (json.has("priority")) {
+                zone.setPriority(json.get("priority").getAsInt());
+            }
+            // Archivos anteriores a las dimensiones: overworld
+            if (json.has("dimension")) {
+                zone.setDimension(json.get("dimension").getAsString());
+            }
+            if (json.has("buffer")) {
+                zone.setBuffer(ZoneBuffer.fromJson(json.getAsJsonObject("buffer")));
+            }
+            if (json.has("dwell")) {
+                JsonObject dwell = json.getAsJsonObject("dwell");
+                zone.setDwell(dwell.get("seconds").getAsInt(), dwell.get("msg").getAsString());
+            }
+            if (json.has("repeat")) {
+                JsonObject repeat = json.getAsJsonObject("repeat");
+                zone.setRepeat(repeat.get("seconds").getAsInt(), repeat.get("msg").getAsString());
+            }
+            if (json.has("tags")) {
+                for (JsonElement tag : json.getAsJsonArray("tags")) {
+                    zone.setTag(ZoneTags.idOf(tag.getAsString()), true);
+                }
+            }
+
+            zone.setEnterMessage(json.get("enterMsg").getAsString());
+            zone.setExitMessage(json.get("exitMsg").getAsString());
+
+            return zone;
+        } catch (Exception e) {
+            System.err.println("[WorldConfigManager] ✗ Error deserializando zona:");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // UTILIDADES
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Clave de la región que almacena una zona (región de su centro X/Z).
+     */
+    public static long regionKeyFor(Zone zone) {
+        int centerX = (int) Math.floor((zone.getMinX() + zone.getMaxX()) / 2.0);
+        int centerZ = (int) Math.floor((zone.getMinZ() + zone.getMaxZ()) / 2.0);
+        return regionKey(centerX >> REGION_SHIFT, centerZ >> REGION_SHIFT);
+    }
+
+    /**
+     * Hash del contenido de un archivo (longitud + CRC32C), para reconocer
+     * nuestras propias escrituras y un zones.json ya aplicado.
+     */
+    private static long contentHash(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return (long) content.length << 32 | crc.getValue();
+    }
+
+    public static long regionKey(int regionX, int regionZ) {
+        return (long) regionX << 32 | (regionZ & 0xFFFFFFFFL);
+    }
+
+    private Path getWorldDir(String worldId) {
+        return Paths.get(CONFIG_DIR, worldId);
+    }
+
+    private Path getRegionsDir(String worldId) {
+        return getWorldDir(worldId).resolve(REGIONS_DIR);
+    }
+
+    private Path getManifestPath(String worldId) {
+        return getRegionsDir(worldId).resolve(MANIFEST_FILE);
+    }
+
+    private Path getRegionPath(String worldId, int regionX, int regionZ) {
+        return getRegionsDir(worldId).resolve("r." + regionX + "." + regionZ + ".json");
+    }
+
+    public String getCurrentWorldId() {
+        return currentWorldId;
+    }
+
+    public int getKnownRegionCount() {
+        return current != null ? current.manifest.size() : 0;
+    }
+
+    public int getResidentRegionCount() {
+        return current != null ? current.residentRegions.size() : 0;
+    }
+
+    /**
+     * Tareas esperando en el hilo de E/S (lecturas, escrituras, recargas).
+     */
+    public int getIoQueueDepth() {
+        return ioExecutor.getQueue().size();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // ESTRUCTURAS INTERNAS
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Resultado de escribir una importación. Las regiones residentes que
+     * fallan conservan sus zonas en memoria (se reintentan en el siguiente
+     * guardado); las no residentes que fallan pierden las suyas.
+     */
+    public static class ImportWrite {
+        public int regionsWritten;
+        public int regionsFailed;
+        public int zonesLost;
+    }
+
+    /**
+     * Estado en memoria de un mundo: índice de regiones y regiones residentes.
+     * Se conserva en caché tras desconectarse.
+     */
+    private static class WorldState {
+        final String worldId;
+
+        // Todas las regiones conocidas del mundo (en disco)
+        final Map<Long, RegionInfo> manifest = new HashMap<>();
+
+        // Regiones cargadas en memoria, en orden de acceso (LRU)
+        final LinkedHashMap<Long, RegionShard> residentRegions = new LinkedHashMap<>(16, 0.75f, true);
+
+        // Regiones con lectura pendiente en el hilo de E/S
+        final Set<Long> pendingLoads = new HashSet<>();
+
+        // Región en la que está guardada cada zona residente
+        final Map<String, Long> regionByZoneId = new HashMap<>();
+
+        // Todas las zonas del mundo por nombre (residentes o no), según el índice
+        final Map<String, ZoneRef> zonesByName = new HashMap<>();
+        final ZoneNameIndex nameIndex = new ZoneNameIndex();
+
+        // Nombres ordenados para /zam list (null = recalcular)
+        List<String> nameOrder = null;
+
+        // Última posición conocida del jugador (precarga al reconectar)
+        double lastX, lastZ;
+        boolean hasLastPosition = false;
+
+        // true cuando el índice terminó de cargarse
+        volatile boolean ready = false;
+
+        // Hash del contenido de los archivos escritos por el propio mod
+        // (el watcher los ignora para no recargar nuestros propios cambios)
+        final Map<String, Long> selfWrites = new ConcurrentHashMap<>();
+
+        // Hash del último zones.json aplicado (-1 = ninguno)
+        volatile long legacyHash = -1;
+
+        // Zonas importadas cuya escritura sigue pendiente en el hilo de E/S,
+        // por región: cualquier carga de esas regiones las incluye
+        final Map<Long, List<Zone>> pendingImports = new HashMap<>();
+
+        // Orden de las escrituras de regiones: cada copia recibe un número y
+        // no se escribe si ya hay en disco una más reciente (bajo fileLock)
+        final Object fileLock = new Object();
+        final Map<Long, Long> writtenSequence = new HashMap<>();
+        private final AtomicLong writeSequence = new AtomicLong();
+
+        WorldState(String worldId) {
+            this.worldId = worldId;
+        }
+
+        long nextWriteSequence() {
+            return writeSequence.incrementAndGet();
+        }
+
+        void install(RegionShard shard) {
+            List<Zone> imported = pendingImports.get(shard.key);
+            if (imported != null) {
+                for (Zone zone : imported) {
+                    shard.zones.putIfAbsent(zone.getZoneId(), zone);
+                }
+            }
+
+            residentRegions.put(shard.key, shard);
+            for (String zoneId : shard.zones.keySet()) {
+                regionByZoneId.put(zoneId, shard.key);
+            }
+        }
+
+        /**
+         * Añade o reemplaza la entrada de una región y sus nombres de zona.
+         */
+        void putRegionInfo(RegionInfo info) {
+            RegionInfo previous = manifest.put(info.key, info);
+            if (previous != null) {
+                unindexNames(previous);
+            }
+            for (Map.Entry<String, String> entry : info.zoneNames.entrySet()) {
+                zonesByName.put(entry.getValue(), new ZoneRef(entry.getKey(), info.key));
+                nameIndex.add(entry.getValue());
+            }
+            nameOrder = null;
+        }
+
+        void removeRegionInfo(long key) {
+            RegionInfo previous = manifest.remove(key);
+            if (previous != null) {
+                unindexNames(previous);
+                nameOrder = null;
+            }
+        }
+
+        void clearManifest() {
+            manifest.clear();
+            zonesByName.clear();
+            nameIndex.clear();
+            nameOrder = null;
+        }
+
+        private void unindexNames(RegionInfo info) {
+            for (Map.Entry<String, String> entry : info.zoneNames.entrySet()) {
+                // Solo si el nombre sigue apuntando a esta zona (pudo moverse de región)
+                ZoneRef ref = zonesByName.get(entry.getValue());
+                if (ref != null && ref.zoneId.equals(entry.getKey()) && ref.regionKey == info.key) {
+                    zonesByName.remove(entry.getValue());
+                    nameIndex.remove(entry.getValue());
+                }
+            }
+        }
+
+        List<Zone> getResidentZones() {
+            List<Zone> zones = new ArrayList<>();
+            for (RegionShard shard : residentRegions.values()) {
+                zones.addAll(shard.zones.values());
+            }
+            return zones;
+        }
+    }
+
+    /**
+     * Zona del índice: su ID y la región que la guarda.
+     */
+    private static class ZoneRef {
+        final String zoneId;
+        final long regionKey;
+
+        ZoneRef(String zoneId, long regionKey) {
+            this.zoneId = zoneId;
+            this.regionKey = regionKey;
+        }
+    }
+
+    /**
+     * Región cargada en memoria con sus zonas.
+     */
+    private static class RegionShard {
+        final int regionX;
+        final int regionZ;
+        final long key;
+        final Map<String, Zone> zones = new LinkedHashMap<>();
+
+        RegionShard(int regionX, int regionZ) {
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+            this.key = regionKey(regionX, regionZ);
+        }
+
+        /**
+         * Copia de la lista de zonas (las zonas son las mismas instancias).
+         */
+        RegionShard snapshot() {
+            RegionShard copy = new RegionShard(regionX, regionZ);
+            copy.zones.putAll(zones);
+            return copy;
+        }
+    }
+
+    /**
+     * Entrada del índice: límites reales y nombres de las zonas de una región.
+     */
+    private static class RegionInfo {
+        final int regionX;
+        final int regionZ;
+        final long key;
+        final int zoneCount;
+        final double minX, minY, minZ;
+        final double maxX, maxY, maxZ;
+
+        // ID → nombre de cada zona de la región
+        final Map<String, String> zoneNames;
+
+        RegionInfo(int regionX, int regionZ, int zoneCount, Map<String, String> zoneNames,
+                   double minX, double minY, double minZ,
+                   double maxX, double maxY, double maxZ) {
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+            this.key = regionKey(regionX, regionZ);
+            this.zoneCount = zoneCount;
+            this.zoneNames = zoneNames;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+        }
+
+        static RegionInfo fromZones(int regionX, int regionZ, Collection<Zone> zones) {
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+            Map<String, String> zoneNames = new LinkedHashMap<>();
+
+            for (Zone zone : zones) {
+                zoneNames.put(zone.getZoneId(), zone.getZoneName());
+                minX = Math.min(minX, zone.getMinX());
+                minY = Math.min(minY, zone.getMinY());
+                minZ = Math.min(minZ, zone.getMinZ());
+                maxX = Math.max(maxX, zone.getMaxX());
+                maxY = Math.max(maxY, zone.getMaxY());
+                maxZ = Math.max(maxZ, zone.getMaxZ());
+            }
+
+            return new RegionInfo(regionX, regionZ, zones.size(), zoneNames, minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        static RegionInfo fromJson(JsonObject json) {
+            JsonArray min = json.getAsJsonArray("min");
+            JsonArray max = json.getAsJsonArray("max");
+            Map<String, String> zoneNames = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("names").entrySet()) {
+                zoneNames.put(entry.getKey(), entry.getValue().getAsString());
+            }
+            return new RegionInfo(
+                json.get("x").getAsInt(),
+                json.get("z").getAsInt(),
+                json.get("zones").getAsInt(),
+                zoneNames,
+                min.get(0).getAsDouble(), min.get(1).getAsDouble(), min.get(2).getAsDouble(),
+                max.get(0).getAsDouble(), max.get(1).getAsDouble(), max.get(2).getAsDouble()
+            );
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("x", regionX);
+            json.addProperty("z", regionZ);
+            json.addProperty("zones", zoneCount);
+
+            JsonArray min = new JsonArray();
+            min.add(minX);
+            min.add(minY);
+            min.add(minZ);
+            json.add("min", min);
+
+            JsonArray max = new JsonArray();
+            max.add(maxX);
+            max.add(maxY);
+            max.add(maxZ);
+            json.add("max", max);
+
+            JsonObject names = new JsonObject();
+            zoneNames.forEach(names::addProperty);
+            json.add("names", names);
+
+            return json;
+        }
+
+        /**
+         * Distancia horizontal (X/Z) desde un punto hasta los límites de la región.
+         */
+        double horizontalDistance(double x, double z) {
+            double dx = Math.max(minX - x, Math.max(x - maxX, 0));
+            double dz = Math.max(minZ - z, Math.max(z - maxZ, 0));
+            return Math.sqrt(dx * dx + dz * dz);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,238 @@
+package com.neokey.zoneautomessage.manager;
+
+import com.neokey.zoneautomessage.event.ZoneEvaluator;
+import com.neokey.zoneautomessage.util.LogHistogram;
+import com.neokey.zoneautomessage.zone.Zone;
+import net.minecraft.client.MinecraftClient;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║       ZONE BENCHMARK - Medición de la Detección de Zonas (/zam bench)    ║
+ * ║                                                                          ║
+ * ║ 1. Genera N zonas aleatorias (solapadas) en un ZoneManager de prueba;   ║
+ * ║    no se guardan ni tocan las zonas del mundo                           ║
+ * ║ 2. Mueve un jugador sintético (paseo aleatorio a velocidad variable)    ║
+ * ║ 3. En cada paso ejecuta ZoneEvaluator, el mismo código que usa          ║
+ * ║    PlayerTickHandler, con un listener que solo cuenta transiciones      ║
+ * ║ 4. Informa de ticks/s, percentiles por tick y bytes asignados por tick  ║
+ * ║                                                                          ║
+ * ║ Se ejecuta en su propio hilo para no congelar el juego. La semilla es   ║
+ * ║ fija, así que dos ejecuciones con los mismos parámetros son comparables.║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneBenchmark {
+
+	public static final int MAX_ZONES = 200_000;
+	public static final int MAX_SECONDS = 60;
+
+	private static final long SEED = 42L;
+
+	// Lado del área generada = sqrt(N) * ZONE_SPACING (densidad constante)
+	private static final double ZONE_SPACING = 48.0;
+
+	// Tamaño de las zonas (bloques) y franja de altura
+	private static final int MIN_ZONE_SIZE = 4;
+	private static final int MAX_ZONE_WIDTH = 64;
+	private static final int MAX_ZONE_HEIGHT = 32;
+	private static final double MIN_Y = 40.0;
+	private static final double MAX_Y = 130.0;
+
+	// Velocidad del jugador sintético (bloques/tick; ~1.5 = elytra)
+	private static final double MIN_SPEED = 0.1;
+	private static final double MAX_SPEED = 1.5;
+
+	private static final MinecraftClient CLIENT = MinecraftClient.getInstance();
+	private static final Executor CLIENT_EXECUTOR = CLIENT::execute;
+
+	private volatile boolean running = false;
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Lanza el benchmark. Llamar desde el hilo del cliente.
+	 *
+	 * @return Futuro con el resultado, completado en el hilo del cliente
+	 */
+	public CompletableFuture<BenchResult> run(int zoneCount, int seconds) {
+		if (running) {
+			CompletableFuture<BenchResult> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new IllegalStateException("Ya hay un benchmark en curso"));
+			return failed;
+		}
+		running = true;
+
+		Executor benchThread = runnable -> {
+			Thread thread = new Thread(runnable, "ZoneAutoMessage-Bench");
+			thread.setDaemon(true);
+			thread.start();
+		};
+
+		return CompletableFuture
+			.supplyAsync(() -> execute(zoneCount, seconds), benchThread)
+			.whenCompleteAsync((result, error) -> {
+				running = false;
+				if (error != null) {
+					System.err.println("[ZoneBenchmark] ✗ Benchmark fallido:");
+					error.printStackTrace();
+				} else {
+					System.out.println("[ZoneBenchmark] ✓ " + result.summary().replaceAll("§.", ""));
+				}
+			}, CLIENT_EXECUTOR);
+	}
+
+	/**
+	 * Genera las zonas y recorre el camino sintético durante el tiempo dado.
+	 * Se ejecuta en el hilo del benchmark.
+	 */
+	private BenchResult execute(int zoneCount, int seconds) {
+		BenchResult result = new BenchResult(zoneCount);
+		Random random = new Random(SEED);
+		double side = Math.sqrt(zoneCount) * ZONE_SPACING;
+
+		// 1. Zonas de prueba
+		long setupStart = System.nanoTime();
+		List<Zone> zones = new ArrayList<>(zoneCount);
+		for (int i = 0; i < zoneCount; i++) {
+			double x = random.nextDouble() * side;
+			double y = MIN_Y + random.nextDouble() * (MAX_Y - MIN_Y - MAX_ZONE_HEIGHT);
+			double z = random.nextDouble() * side;
+			int width = MIN_ZONE_SIZE + random.nextInt(MAX_ZONE_WIDTH - MIN_ZONE_SIZE + 1);
+			int height = MIN_ZONE_SIZE + random.nextInt(MAX_ZONE_HEIGHT - MIN_ZONE_SIZE + 1);
+			int depth = MIN_ZONE_SIZE + random.nextInt(MAX_ZONE_WIDTH - MIN_ZONE_SIZE + 1);
+			zones.add(new Zone("bench_" + i, x, y, z, x + width, y + height, z + depth));
+		}
+
+		ZoneManager scratch = new ZoneManager();
+		scratch.loadZones(zones);
+		result.setupNanos = System.nanoTime() - setupStart;
+
+		// 2. Recorrido sintético sobre el camino real de evaluación
+		ZoneEvaluator evaluator = new ZoneEvaluator();
+		CountingListener listener = new CountingListener();
+
+		double px = side / 2;
+		double py = (MIN_Y + MAX_Y) / 2;
+		double pz = side / 2;
+		double heading = random.nextDouble() * Math.PI * 2;
+		double speed = MIN_SPEED;
+
+		long allocatedStart = allocatedBytes();
+		long start = System.nanoTime();
+		long deadline = start + seconds * 1_000_000_000L;
+
+		while (System.nanoTime() < deadline) {
+			// Giros suaves y cambios de velocidad ocasionales
+			heading += (random.nextDouble() - 0.5) * 0.6;
+			if (random.nextInt(200) == 0) {
+				speed = MIN_SPEED + random.nextDouble() * (MAX_SPEED - MIN_SPEED);
+			}
+
+			px += Math.cos(heading) * speed;
+			pz += Math.sin(heading) * speed;
+			py = Math.max(MIN_Y, Math.min(MAX_Y, py + (random.nextDouble() - 0.5) * 0.8));
+
+			// Rebotar en los bordes del área
+			if (px < 0 || px > side || pz < 0 || pz > side) {
+				heading += Math.PI;
+				px = Math.max(0, Math.min(side, px));
+				pz = Math.max(0, Math.min(side, pz));
+			}
+
+			long tickStart = System.nanoTime();
+			evaluator.evaluate(scratch, px, py, pz, listener);
+			result.tickNanos.record(System.nanoTime() - tickStart);
+
+			result.zonesExamined += evaluator.getLastExaminedCount();
+			result.ticks++;
+		}
+
+		result.elapsedNanos = System.nanoTime() - start;
+		long allocatedEnd = allocatedBytes();
+		if (allocatedStart >= 0 && allocatedEnd >= 0 && result.ticks > 0) {
+			result.bytesPerTick = (double) (allocatedEnd - allocatedStart) / result.ticks;
+		}
+		result.enters = listener.enters;
+		result.exits = listener.exits;
+
+		return result;
+	}
+
+	/**
+	 * Bytes asignados por el hilo actual, o -1 si la JVM no lo permite.
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean sunBean
+			&& sunBean.isThreadAllocatedMemorySupported()
+			&& sunBean.isThreadAllocatedMemoryEnabled()) {
+			return sunBean.getCurrentThreadAllocatedBytes();
+		}
+		return -1;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// RESULTADO
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private static final class CountingListener implements ZoneEvaluator.TransitionListener {
+		long enters = 0;
+		long exits = 0;
+
+		@Override
+		public void onZoneEnter(Zone zone) {
+			enters++;
+		}
+
+		@Override
+		public void onZoneExit(Zone zone) {
+			exits++;
+		}
+	}
+
+	public static final class BenchResult {
+		public final int zoneCount;
+		public final LogHistogram tickNanos = new LogHistogram();
+		public long ticks = 0;
+		public long zonesExamined = 0;
+		public long enters = 0;
+		public long exits = 0;
+		public long setupNanos = 0;
+		public long elapsedNanos = 0;
+		public double bytesPerTick = -1;
+
+		BenchResult(int zoneCount) {
+			this.zoneCount = zoneCount;
+		}
+
+		public double ticksPerSecond() {
+			return elapsedNanos > 0 ? ticks * 1_000_000_000.0 / elapsedNanos : 0;
+		}
+
+		public String summary() {
+			return String.format(
+				"§6Benchmark: §f%d §7zonas, §f%.1f s §7(preparación %.0f ms)\n" +
+				"§7Ticks: §f%d §7(§f%.0f§7/s)\n" +
+				"§7Por tick p50/p95/p99/máx: §f%.2f / %.2f / %.2f / %.2f µs\n" +
+				"§7Zonas examinadas/tick: §f%.2f §7· Transiciones: §f%d §7(%d entradas, %d salidas)\n" +
+				"§7Memoria asignada/tick: §f%s",
+				zoneCount, elapsedNanos / 1e9, setupNanos / 1e6,
+				ticks, ticksPerSecond(),
+				tickNanos.percentile(50) / 1e3, tickNanos.percentile(95) / 1e3,
+				tickNanos.percentile(99) / 1e3, tickNanos.getMax() / 1e3,
+				ticks > 0 ? (double) zonesExamined / ticks : 0, enters + exits, enters, exits,
+				bytesPerTick >= 0 ? String.format("%.1f bytes", bytesPerTick) : "n/d"
+			);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package com.neokey.zoneautomessage.manager;
+
+import com.neokey.zoneautomessage.zone.Zone;
+import java.util.*;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║         ZONE DIFF - Diferencias entre Zonas Cargadas y en Disco          ║
+ * ║                                                                          ║
+ * ║ Se usa en la recarga en caliente: en lugar de descargar y volver a      ║
+ * ║ cargar una región entera, solo se aplican los cambios reales.           ║
+ * ║                                                                          ║
+ * ║ - added: zonas nuevas en disco                                          ║
+ * ║ - removed: zonas que ya no existen en disco                             ║
+ * ║ - changed: zonas existentes con límites (o forma), nombre o mensajes    ║
+ * ║   distintos                                                             ║
+ * ║                                                                          ║
+ * ║ Las zonas cambiadas conservan su instancia (y su estado dentro/fuera).  ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneDiff {
+
+	public final List<Zone> added = new ArrayList<>();
+	public final List<Zone> removed = new ArrayList<>();
+	public final List<Change> changed = new ArrayList<>();
+
+	/**
+	 * Calcula las diferencias entre las zonas cargadas y las leídas de disco.
+	 * Las zonas se emparejan por ID y, si el archivo no trae ID, por nombre.
+	 *
+	 * @param loaded Zonas actualmente en memoria
+	 * @param fromDisk Zonas recién leídas
+	 * @return Diferencias (vacía si no hay cambios)
+	 */
+	public static ZoneDiff compute(Collection<Zone> loaded, Collection<Zone> fromDisk) {
+		ZoneDiff diff = new ZoneDiff();
+
+		Map<String, Zone> unmatchedById = new LinkedHashMap<>();
+		Map<String, Zone> unmatchedByName = new HashMap<>();
+		for (Zone zone : loaded) {
+			unmatchedById.put(zone.getZoneId(), zone);
+			unmatchedByName.put(zone.getZoneName(), zone);
+		}
+
+		for (Zone updated : fromDisk) {
+			Zone existing = unmatchedById.get(updated.getZoneId());
+			if (existing == null) {
+				existing = unmatchedByName.get(updated.getZoneName());
+				if (existing != null && !unmatchedById.containsKey(existing.getZoneId())) {
+					existing = null;
+				}
+			}
+
+			if (existing == null) {
+				diff.added.add(updated);
+				continue;
+			}
+
+			unmatchedById.remove(existing.getZoneId());
+			unmatchedByName.remove(existing.getZoneName());
+
+			Change change = new Change(existing, updated);
+			if (change.hasChanges()) {
+				diff.changed.add(change);
+			}
+		}
+
+		diff.removed.addAll(unmatchedById.values());
+		return diff;
+	}
+
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+	}
+
+	public String summary() {
+		return String.format("+%d -%d ~%d", added.size(), removed.size(), changed.size());
+	}
+
+	/**
+	 * Cambio sobre una zona existente.
+	 */
+	public static class Change {
+		public final Zone zone;
+		public final Zone updated;
+		public final boolean boundsChanged;
+		public final boolean messagesChanged;
+		public final boolean nameChanged;
+		public final boolean priorityChanged;
+		public final boolean dimensionChanged;
+		public final boolean bufferChanged;
+		public final boolean timersChanged;
+		public final boolean tagsChanged;
+
+		Change(Zone zone, Zone updated) {
+			this.zone = zone;
+			this.updated = updated;
+
+			this.boundsChanged =
+				zone.getMinX() != updated.getMinX() || zone.getMinY() != updated.getMinY() ||
+				zone.getMinZ() != updated.getMinZ() || zone.getMaxX() != updated.getMaxX() ||
+				zone.getMaxY() != updated.getMaxY() || zone.getMaxZ() != updated.getMaxZ() ||
+				!Objects.equals(zone.getShape(), updated.getShape());
+
+			this.messagesChanged =
+				!Objects.equals(zone.getEnterMessage(), updated.getEnterMessage()) ||
+				!Objects.equals(zone.getExitMessage(), updated.getExitMessage());
+
+			this.nameChanged = !zone.getZoneName().equals(updated.getZoneName());
+			this.priorityChanged = zone.getPriority() != updated.getPriority();
+			this.dimensionChanged = !zone.getDimension().equals(updated.getDimension());
+			this.bufferChanged = !zone.getBuffer().equals(updated.getBuffer());
+			this.timersChanged =
+				zone.getDwellSeconds() != updated.getDwellSeconds() ||
+				zone.getRepeatSeconds() != updated.getRepeatSeconds() ||
+				!Objects.equals(zone.getDwellMessage(), updated.getDwellMessage()) ||
+				!Objects.equals(zone.getRepeatMessage(), updated.getRepeatMessage());
+			this.tagsChanged = !zone.getTags().equals(updated.getTags());
+		}
+
+		boolean hasChanges() {
+			return boundsChanged || messagesChanged || nameChanged || priorityChanged || dimensionChanged ||
+				bufferChanged || timersChanged || tagsChanged;
+		}
+
+		/**
+		 * Copia límites, mensajes (también los programados), prioridad y buffer
+		 * sobre la instancia existente.
+		 * El nombre, la dimensión y las etiquetas los aplica ZoneManager, que
+		 * mantiene los índices por nombre, por dimensión y por etiqueta.
+		 */
+		public void applyBoundsAndMessages() {
+			if (boundsChanged && updated.getShape() != null) {
+				zone.setShape(updated.getShape());
+			} else if (boundsChanged) {
+				zone.setCoordinates(
+					updated.getMinX(), updated.getMinY(), updated.getMinZ(),
+					updated.getMaxX(), updated.getMaxY(), updated.getMaxZ()
+				);
+			}
+
+			if (messagesChanged) {
+				zone.setEnterMessage(updated.getEnterMessage());
+				zone.setExitMessage(updated.getExitMessage());
+			}
+
+			if (priorityChanged) {
+				zone.setPriority(updated.getPriority());
+			}
+
+			if (bufferChanged) {
+				zone.setBuffer(updated.getBuffer());
+			}
+
+			if (timersChanged) {
+				zone.setDwell(updated.getDwellSeconds(), updated.getDwellMessage());
+				zone.setRepeat(updated.getRepeatSeconds(), updated.getRepeatMessage());
+			}
+		}
+	}
+}
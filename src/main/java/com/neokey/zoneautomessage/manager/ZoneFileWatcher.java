@@ -0,0 +1,127 @@
+package com.neokey.zoneautomessage.manager;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║     ZONE FILE WATCHER - Recarga en Caliente de Archivos de Zonas         ║
+ * ║                                                                          ║
+ * ║ Vigila con WatchService la carpeta del mundo actual y su carpeta        ║
+ * ║ regions/. Los eventos se agrupan hasta que los archivos dejan de        ║
+ * ║ cambiar durante DEBOUNCE_MS, para no leer archivos a medio escribir.    ║
+ * ║                                                                          ║
+ * ║ El hilo del watcher solo detecta cambios; la lectura y el diff los      ║
+ * ║ hace WorldConfigManager en su hilo de E/S.                              ║
+ * ║                                                                          ║
+ * ║ Si el sistema pierde eventos (OVERFLOW, ráfagas de herramientas         ║
+ * ║ externas) se entrega la carpeta entera para que se vuelva a examinar.   ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneFileWatcher {
+
+	private static final long DEBOUNCE_MS = 250;
+
+	private final Path[] directories;
+	private final Consumer<Path> onFileChanged;
+
+	private WatchService watchService;
+	private Thread thread;
+
+	/**
+	 * @param onFileChanged Recibe la ruta de cada archivo modificado, creado o
+	 *                      borrado, o la de una carpeta vigilada si se perdieron
+	 *                      eventos en ella (hay que volver a examinarla entera)
+	 * @param directories Carpetas a vigilar (se crean si no existen)
+	 */
+	public ZoneFileWatcher(Consumer<Path> onFileChanged, Path... directories) {
+		this.onFileChanged = onFileChanged;
+		this.directories = directories;
+	}
+
+	/**
+	 * Empieza a vigilar las carpetas en un hilo daemon.
+	 */
+	public void start() {
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+
+			for (Path directory : directories) {
+				Files.createDirectories(directory);
+				directory.register(watchService,
+					StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY,
+					StandardWatchEventKinds.ENTRY_DELETE);
+			}
+
+			thread = new Thread(this::watchLoop, "ZoneAutoMessage-Watcher");
+			thread.setDaemon(true);
+			thread.start();
+
+			System.out.println("[ZoneFileWatcher] ✓ Vigilando cambios en " + directories.length + " carpeta(s)");
+		} catch (IOException e) {
+			System.err.println("[ZoneFileWatcher] ✗ No se pudo iniciar el watcher:");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Detiene el watcher. Los eventos pendientes se descartan.
+	 */
+	public void stop() {
+		try {
+			if (watchService != null) {
+				watchService.close();
+			}
+		} catch (IOException e) {
+			System.err.println("[ZoneFileWatcher] ✗ Error cerrando watcher:");
+			e.printStackTrace();
+		}
+	}
+
+	private void watchLoop() {
+		Set<Path> pending = new LinkedHashSet<>();
+
+		try {
+			while (true) {
+				// Sin cambios pendientes: bloquear; con cambios: esperar a que se calmen
+				WatchKey key = pending.isEmpty()
+					? watchService.take()
+					: watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+
+				if (key == null) {
+					for (Path path : pending) {
+						onFileChanged.accept(path);
+					}
+					pending.clear();
+					continue;
+				}
+
+				Path directory = (Path) key.watchable();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						// Eventos perdidos: examinar la carpeta entera
+						if (pending.add(directory)) {
+							System.err.println("[ZoneFileWatcher] ✗ Eventos perdidos en " + directory + ", se examinará entera");
+						}
+						continue;
+					}
+					pending.add(directory.resolve((Path) event.context()));
+				}
+
+				key.reset();
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// Watcher detenido
+		} catch (Exception e) {
+			System.err.println("[ZoneFileWatcher] ✗ Error en el watcher:");
+			e.printStackTrace();
+		}
+	}
+}
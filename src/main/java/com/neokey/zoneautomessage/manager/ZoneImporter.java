@@ -0,0 +1,514 @@
+package com.neokey.zoneautomessage.manager;
+
+import com.google.gson.*;
+import com.neokey.zoneautomessage.util.PlayerInfoUtil;
+import com.neokey.zoneautomessage.util.ZoneValidator;
+import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneBuffer;
+import com.neokey.zoneautomessage.zone.ZoneShape;
+import com.neokey.zoneautomessage.zone.ZoneTags;
+import net.minecraft.client.MinecraftClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║       ZONE IMPORTER - Importación Masiva de Zonas desde Archivos         ║
+ * ║                                                                          ║
+ * ║ Archivos en config/zoneautomessage/import/:                             ║
+ * ║ - .csv: nombre,minX,minY,minZ,maxX,maxY,maxZ[,entrada[,salida]]         ║
+ * ║   (admite comillas dobles, líneas # y cabecera "name,...")              ║
+ * ║ - .json: array de zonas o {"zones": [...]} con name, min[], max[] y     ║
+ * ║   enterMsg/exitMsg opcionales (los archivos de región sirven tal cual)  ║
+ * ║   o con "shape" (esfera, cilindro o polígono) en lugar de min/max       ║
+ * ║ Sin "dimension", las zonas son de la dimensión actual del jugador.      ║
+ * ║                                                                          ║
+ * ║ Flujo:                                                                   ║
+ * ║ 1. Lectura del archivo fuera del hilo del cliente                       ║
+ * ║ 2. Conversión y validación en paralelo por bloques (fork-join)          ║
+ * ║ 3. Descarte de nombres repetidos en el archivo y de colisiones con las  ║
+ * ║    zonas de todo el mundo, residentes o no (hilo del cliente)           ║
+ * ║ 4. Carga en bloque en el índice y escritura por regiones en el hilo de  ║
+ * ║    E/S (las regiones que no se pudieron escribir se informan)           ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneImporter {
+
+	public static final String IMPORT_DIR = "config/zoneautomessage/import";
+
+	// Registros por bloque de trabajo
+	private static final int CHUNK_SIZE = 1024;
+
+	// Errores de ejemplo que se muestran al usuario
+	private static final int MAX_REPORTED_ERRORS = 5;
+
+	// Se resuelve al usarse: la clase puede cargarse sin cliente (tests)
+	private static final Executor CLIENT_EXECUTOR = task -> MinecraftClient.getInstance().execute(task);
+
+	private final ZoneManager zoneManager;
+	private final WorldConfigManager worldConfigManager;
+
+	private volatile boolean running = false;
+
+	public ZoneImporter(ZoneManager zoneManager, WorldConfigManager worldConfigManager) {
+		this.zoneManager = zoneManager;
+		this.worldConfigManager = worldConfigManager;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// IMPORTACIÓN
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Importa un archivo de la carpeta de importación. Llamar desde el hilo
+	 * del cliente.
+	 *
+	 * @param fileName Nombre del archivo dentro de IMPORT_DIR
+	 * @param progress Recibe mensajes de progreso (en el hilo del cliente)
+	 * @return Futuro con el resultado, completado en el hilo del cliente
+	 */
+	public CompletableFuture<ImportResult> importFile(String fileName, Consumer<String> progress) {
+		CompletableFuture<ImportResult> failed = new CompletableFuture<>();
+
+		if (running) {
+			failed.completeExceptionally(new IllegalStateException("Ya hay una importación en curso"));
+			return failed;
+		}
+		if (!worldConfigManager.isWorldReady()) {
+			failed.completeExceptionally(new IllegalStateException("El mundo aún no está cargado"));
+			return failed;
+		}
+
+		Path importDir = Paths.get(IMPORT_DIR).toAbsolutePath().normalize();
+		Path path = importDir.resolve(fileName).normalize();
+		if (!path.startsWith(importDir) || !Files.isRegularFile(path)) {
+			failed.completeExceptionally(new IllegalArgumentException("No existe el archivo: " + IMPORT_DIR + "/" + fileName));
+			return failed;
+		}
+
+		running = true;
+		long startTime = System.nanoTime();
+		Consumer<String> clientProgress = message -> CLIENT_EXECUTOR.execute(() -> progress.accept(message));
+
+		// Leída aquí: el mundo solo se consulta desde el hilo del cliente
+		String defaultDimension = PlayerInfoUtil.getZoneDimension();
+
+		return CompletableFuture
+			.supplyAsync(() -> parseFile(path, defaultDimension, clientProgress), ForkJoinPool.commonPool())
+			.thenComposeAsync(parsed -> storeZones(parsed, startTime), CLIENT_EXECUTOR)
+			.whenCompleteAsync((result, error) -> {
+				running = false;
+				if (error != null) {
+					System.err.println("[ZoneImporter] ✗ Importación fallida: " + fileName);
+					error.printStackTrace();
+				} else {
+					System.out.println("[ZoneImporter] ✓ " + fileName + ": " + result.summary());
+				}
+			}, CLIENT_EXECUTOR);
+	}
+
+	/**
+	 * Lee el archivo y convierte/valida los registros en paralelo.
+	 * Se ejecuta en el pool fork-join.
+	 */
+	static ParsedChunk parseFile(Path path, String defaultDimension, Consumer<String> progress) {
+		List<Object> records = new ArrayList<>();
+		boolean csv = path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+
+		try {
+			if (csv) {
+				records.addAll(Files.readAllLines(path, StandardCharsets.UTF_8));
+			} else {
+				JsonElement root = JsonParser.parseString(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+				JsonArray array = root.isJsonArray() ? root.getAsJsonArray() : root.getAsJsonObject().getAsJsonArray("zones");
+				if (array != null) {
+					array.forEach(records::add);
+				}
+			}
+		} catch (Exception e) {
+			throw new IllegalArgumentException("No se pudo leer el archivo: " + e.getMessage(), e);
+		}
+
+		progress.accept(String.format("§7Analizando %d registro(s)...", records.size()));
+
+		ParseTask task = new ParseTask(records, 0, records.size(), defaultDimension,
+			new Progress(records.size(), progress));
+		ParsedChunk parsed = ForkJoinPool.commonPool().invoke(task);
+
+		// Nombres repetidos dentro del propio archivo: gana el primero
+		Set<String> seen = new HashSet<>();
+		Iterator<Zone> iterator = parsed.zones.iterator();
+		while (iterator.hasNext()) {
+			if (!seen.add(iterator.next().getZoneName())) {
+				iterator.remove();
+				parsed.duplicates++;
+			}
+		}
+
+		return parsed;
+	}
+
+	/**
+	 * Descarta colisiones con las zonas del mundo y guarda el resto en bloque.
+	 * Se ejecuta en el hilo del cliente.
+	 */
+	private CompletableFuture<ImportResult> storeZones(ParsedChunk parsed, long startTime) {
+		List<Zone> accepted = new ArrayList<>(parsed.zones.size());
+		int collisions = dropCollisions(parsed.zones,
+			nameCheck(zoneManager, worldConfigManager::isZoneNameTaken), accepted);
+
+		ImportResult result = new ImportResult();
+		result.total = parsed.records;
+		result.imported = accepted.size();
+		result.invalid = parsed.invalid;
+		result.duplicates = parsed.duplicates;
+		result.collisions = collisions;
+		result.errors = parsed.errors;
+
+		if (accepted.isEmpty()) {
+			result.elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
+			return CompletableFuture.completedFuture(result);
+		}
+
+		return worldConfigManager.importZones(accepted).thenApply(write -> {
+			result.regionsWritten = write.regionsWritten;
+			result.regionsFailed = write.regionsFailed;
+			result.imported -= write.zonesLost;
+			result.elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
+			return result;
+		});
+	}
+
+	/**
+	 * Un nombre está ocupado si lo tiene una zona cargada o cualquier zona
+	 * del índice del mundo (también las de regiones no residentes).
+	 *
+	 * @param worldNameTaken Consulta al índice de nombres del mundo
+	 */
+	static Predicate<String> nameCheck(ZoneManager zoneManager, Predicate<String> worldNameTaken) {
+		return name -> zoneManager.getZoneByName(name) != null || worldNameTaken.test(name);
+	}
+
+	/**
+	 * Separa las zonas cuyo nombre ya está ocupado.
+	 *
+	 * @param nameTaken Comprobación de nombres de todo el mundo
+	 * @param accepted Recibe las zonas sin colisión, en orden
+	 * @return Número de zonas descartadas
+	 */
+	static int dropCollisions(Collection<Zone> zones, Predicate<String> nameTaken, List<Zone> accepted) {
+		int collisions = 0;
+		for (Zone zone : zones) {
+			if (nameTaken.test(zone.getZoneName())) {
+				collisions++;
+			} else {
+				accepted.add(zone);
+			}
+		}
+		return collisions;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// CONVERSIÓN DE REGISTROS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Convierte un registro en zona. Devuelve null si es una línea a ignorar
+	 * (vacía, comentario o cabecera) y lanza excepción si es inválido.
+	 *
+	 * @param defaultDimension Dimensión de los registros que no la indican
+	 */
+	private static Zone parseRecord(Object record, int index, String defaultDimension) {
+		String name;
+		double[] coords = new double[6];
+		String enterMessage = null;
+		String exitMessage = null;
+		ZoneShape shape = null;
+		int priority = 0;
+		String dimension = defaultDimension;
+		ZoneBuffer buffer = ZoneBuffer.DEFAULT;
+		JsonObject dwell = null;
+		JsonObject repeat = null;
+		BitSet tags = new BitSet();
+
+		if (record instanceof String line) {
+			String trimmed = line.trim();
+			if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+				return null;
+			}
+
+			List<String> fields = splitCsv(trimmed);
+			if (index == 0 && fields.get(0).equalsIgnoreCase("name")) {
+				return null;
+			}
+			if (fields.size() < 7) {
+				throw new IllegalArgumentException("se esperaban al menos 7 campos");
+			}
+
+			name = fields.get(0).trim();
+			for (int i = 0; i < 6; i++) {
+				coords[i] = Double.parseDouble(fields.get(i + 1).trim());
+			}
+			if (fields.size() > 7) enterMessage = fields.get(7);
+			if (fields.size() > 8) exitMessage = fields.get(8);
+		} else {
+			JsonObject json = ((JsonElement) record).getAsJsonObject();
+			name = json.get("name").getAsString();
+
+			if (json.has("shape")) {
+				// Zonas no cuboides: los límites son la caja de la forma
+				shape = ZoneShape.fromJson(json.getAsJsonObject("shape"));
+				coords = new double[]{
+					shape.getMinX(), shape.getMinY(), shape.getMinZ(),
+					shape.getMaxX(), shape.getMaxY(), shape.getMaxZ()
+				};
+			} else if (json.has("min") && json.has("max")) {
+				JsonArray min = json.getAsJsonArray("min");
+				JsonArray max = json.getAsJsonArray("max");
+				for (int i = 0; i < 3; i++) {
+					coords[i] = min.get(i).getAsDouble();
+					coords[i + 3] = max.get(i).getAsDouble();
+				}
+			} else {
+				String[] keys = {"minX", "minY", "minZ", "maxX", "maxY", "maxZ"};
+				for (int i = 0; i < 6; i++) {
+					coords[i] = json.get(keys[i]).getAsDouble();
+				}
+			}
+
+			if (json.has("enterMsg")) enterMessage = json.get("enterMsg").getAsString();
+			if (json.has("exitMsg")) exitMessage = json.get("exitMsg").getAsString();
+			if (json.has("priority")) priority = json.get("priority").getAsInt();
+			if (json.has("dimension")) dimension = json.get("dimension").getAsString();
+			if (json.has("buffer")) buffer = ZoneBuffer.fromJson(json.getAsJsonObject("buffer"));
+			if (json.has("dwell")) dwell = json.getAsJsonObject("dwell");
+			if (json.has("repeat")) repeat = json.getAsJsonObject("repeat");
+			if (json.has("tags")) {
+				for (JsonElement tag : json.getAsJsonArray("tags")) {
+					tags.set(ZoneTags.idOf(tag.getAsString()));
+				}
+			}
+		}
+
+		// Normalizar antes de validar (los volcados no siempre ordenan min/max)
+		double minX = Math.min(coords[0], coords[3]), maxX = Math.max(coords[0], coords[3]);
+		double minY = Math.min(coords[1], coords[4]), maxY = Math.max(coords[1], coords[4]);
+		double minZ = Math.min(coords[2], coords[5]), maxZ = Math.max(coords[2], coords[5]);
+
+		if (!ZoneValidator.validateZoneName(name)) {
+			throw new IllegalArgumentException("nombre inválido");
+		}
+		if (!ZoneValidator.validateCoordinates(minX, minY, minZ, maxX, maxY, maxZ)) {
+			throw new IllegalArgumentException("coordenadas inválidas");
+		}
+		if ((enterMessage != null && !ZoneValidator.validateMessage(enterMessage)) ||
+			(exitMessage != null && !ZoneValidator.validateMessage(exitMessage))) {
+			throw new IllegalArgumentException("mensaje inválido");
+		}
+		if (dwell != null) checkTimer(dwell, "dwell");
+		if (repeat != null) checkTimer(repeat, "repeat");
+
+		Zone zone = shape != null ? new Zone(name, shape) : new Zone(name, minX, minY, minZ, maxX, maxY, maxZ);
+		if (enterMessage != null) zone.setEnterMessage(enterMessage);
+		if (exitMessage != null) zone.setExitMessage(exitMessage);
+		zone.setPriority(priority);
+		zone.setDimension(dimension);
+		if (!buffer.isDefault()) zone.setBuffer(buffer);
+		if (dwell != null) zone.setDwell(dwell.get("seconds").getAsInt(), dwell.get("msg").getAsString());
+		if (repeat != null) zone.setRepeat(repeat.get("seconds").getAsInt(), repeat.get("msg").getAsString());
+		zone.setTags(tags);
+		return zone;
+	}
+
+	/**
+	 * Temporizador de permanencia o repetición: mismos límites que los
+	 * comandos y mensaje válido, como en ZoneTransaction.
+	 */
+	private static void checkTimer(JsonObject timer, String label) {
+		if (!timer.has("seconds") || !timer.has("msg")) {
+			throw new IllegalArgumentException(label + " incompleto");
+		}
+		if (!ZoneValidator.validateTimerSeconds(timer.get("seconds").getAsInt())) {
+			throw new IllegalArgumentException(label + ": segundos fuera de rango");
+		}
+		if (!ZoneValidator.validateMessage(timer.get("msg").getAsString())) {
+			throw new IllegalArgumentException(label + ": mensaje inválido");
+		}
+	}
+
+	/**
+	 * Divide una línea CSV respetando comillas dobles ("" = comilla literal).
+	 */
+	private static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+
+		fields.add(field.toString());
+		return fields;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// ESTRUCTURAS INTERNAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Divide los registros hasta bloques de CHUNK_SIZE y los procesa en paralelo.
+	 */
+	private static class ParseTask extends RecursiveTask<ParsedChunk> {
+		private final List<Object> records;
+		private final int from;
+		private final int to;
+		private final String defaultDimension;
+		private final Progress progress;
+
+		ParseTask(List<Object> records, int from, int to, String defaultDimension, Progress progress) {
+			this.records = records;
+			this.from = from;
+			this.to = to;
+			this.defaultDimension = defaultDimension;
+			this.progress = progress;
+		}
+
+		@Override
+		protected ParsedChunk compute() {
+			if (to - from <= CHUNK_SIZE) {
+				return parseChunk();
+			}
+
+			int mid = (from + to) >>> 1;
+			ParseTask left = new ParseTask(records, from, mid, defaultDimension, progress);
+			ParseTask right = new ParseTask(records, mid, to, defaultDimension, progress);
+			left.fork();
+			ParsedChunk rightResult = right.compute();
+			return left.join().merge(rightResult);
+		}
+
+		private ParsedChunk parseChunk() {
+			ParsedChunk chunk = new ParsedChunk();
+
+			for (int i = from; i < to; i++) {
+				try {
+					Zone zone = parseRecord(records.get(i), i, defaultDimension);
+					if (zone != null) {
+						chunk.zones.add(zone);
+						chunk.records++;
+					}
+				} catch (Exception e) {
+					chunk.records++;
+					chunk.invalid++;
+					if (chunk.errors.size() < MAX_REPORTED_ERRORS) {
+						chunk.errors.add("registro " + (i + 1) + ": " + e.getMessage());
+					}
+				}
+			}
+
+			progress.advance(to - from);
+			return chunk;
+		}
+	}
+
+	/**
+	 * Resultado parcial de un bloque (se combinan en orden).
+	 */
+	static class ParsedChunk {
+		final List<Zone> zones = new ArrayList<>();
+		final List<String> errors = new ArrayList<>();
+		int records = 0;
+		int invalid = 0;
+		int duplicates = 0;
+
+		ParsedChunk merge(ParsedChunk other) {
+			zones.addAll(other.zones);
+			for (String error : other.errors) {
+				if (errors.size() < MAX_REPORTED_ERRORS) {
+					errors.add(error);
+				}
+			}
+			records += other.records;
+			invalid += other.invalid;
+			return this;
+		}
+	}
+
+	/**
+	 * Informa del avance cada 10% procesado.
+	 */
+	private static class Progress {
+		private final int total;
+		private final Consumer<String> sink;
+		private final AtomicInteger done = new AtomicInteger();
+		private final AtomicInteger lastReported = new AtomicInteger();
+
+		Progress(int total, Consumer<String> sink) {
+			this.total = total;
+			this.sink = sink;
+		}
+
+		void advance(int count) {
+			int percent = (int) (done.addAndGet(count) * 100L / Math.max(1, total));
+			int step = percent / 10 * 10;
+			int last = lastReported.get();
+			if (step > last && step < 100 && lastReported.compareAndSet(last, step)) {
+				sink.accept(String.format("§7Importando... %d%%", step));
+			}
+		}
+	}
+
+	/**
+	 * Resumen de una importación.
+	 */
+	public static class ImportResult {
+		public int total;
+		public int imported;
+		public int invalid;
+		public int duplicates;
+		public int collisions;
+		public int regionsWritten;
+		public int regionsFailed;
+		public long elapsedMs;
+		public List<String> errors = new ArrayList<>();
+
+		public String summary() {
+			return String.format(
+				"%d/%d importada(s), %d inválida(s), %d repetida(s), %d colisión(es), %d región(es), %d con error, %d ms",
+				imported, total, invalid, duplicates, collisions, regionsWritten, regionsFailed, elapsedMs
+			);
+		}
+	}
+}
@@ -1,7 +1,13 @@
 package com.neokey.zoneautomessage.manager;
 
 import java.util.*;
+import com.neokey.zoneautomessage.util.ZonePattern;
 import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneHierarchy;
+import com.neokey.zoneautomessage.zone.ZoneIndex;
+import com.neokey.zoneautomessage.zone.ZoneNameIndex;
+import com.neokey.zoneautomessage.zone.ZoneShape;
+import com.neokey.zoneautomessage.zone.ZoneTags;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════╗
@@ -12,6 +18,10 @@ import com.neokey.zoneautomessage.zone.Zone;
  * ║ - Cargar/guardar zonas desde/hacia persistencia                         ║
  * ║ - Iterar eficientemente sobre zonas para detectar cambios                ║
  * ║ - Proporcionar búsquedas rápidas por ID o nombre                        ║
+ * ║ - Mantener el árbol de zonas anidadas (ZoneHierarchy)                   ║
+ * ║ - Un índice espacial por dimensión; las consultas solo ven el de la     ║
+ * ║   dimensión activa (la del jugador)                                     ║
+ * ║ - Índice de zonas por etiqueta y grupos de etiquetas desactivados       ║
  * ║                                                                          ║
  * ║ Patrón: Manager Centralizado (Singleton implícito)                       ║
  * ║ Autor: NeoKey                                                           ║
@@ -23,12 +33,53 @@ public class ZoneManager {
 	// Usamos HashMap para búsqueda O(1) por ID
 	private final Map<String, Zone> zonesById = new HashMap<>();
 
-	// Índice secundario para búsquedas por nombre
-	private final Map<String, Zone> zonesByName = new HashMap<>();
+	// Índice secundario para búsquedas por nombre (ordenado, para listados)
+	private final NavigableMap<String, Zone> zonesByName = new TreeMap<>();
+
+	// Vistas ordenadas en caché para /zam list (null = recalcular)
+	private List<Zone> nameOrder = null;
+	private List<Zone> volumeOrder = null;
+
+	// Autocompletado y "¿quisiste decir...?" de nombres
+	private final ZoneNameIndex nameIndex = new ZoneNameIndex();
+
+	// Índices espaciales por dimensión; spatialIndex es el de la dimensión
+	// activa y es el único que ven las consultas del tick
+	private final Map<String, ZoneIndex> indexesByDimension = new HashMap<>();
+	private String activeDimension = Zone.DEFAULT_DIMENSION;
+	private ZoneIndex spatialIndex = indexForDimension(activeDimension);
+
+	// Zonas por etiqueta (ID de ZoneTags → zonas con esa etiqueta)
+	private final Map<Integer, Set<Zone>> zonesByTag = new HashMap<>();
+
+	// Etiquetas desactivadas: sus zonas no disparan mensajes (solo esta sesión)
+	private final BitSet disabledTags = new BitSet();
+
+	// Árbol de zonas anidadas de la dimensión activa. Se reconstruye entero
+	// solo tras la carga inicial, un cambio de dimensión o una carga grande;
+	// el resto de cambios lo actualizan zona a zona
+	private final ZoneHierarchy hierarchy = new ZoneHierarchy();
+	private boolean hierarchyDirty = true;
 
 	// Estadísticas de depuración
 	private int totalZonesCreated = 0;
 
+	// Interesados en cambios de geometría (p. ej. la caché de mallas del renderer)
+	private final List<ChangeListener> changeListeners = new ArrayList<>();
+
+	// Lote abierto con beginBatch(): los cambios se acumulan y se notifican
+	// una sola vez en endBatch()
+	private int batchDepth = 0;
+	private final Set<Zone> batchedChanges = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * Recibe las zonas añadidas, eliminadas o redimensionadas. Para saber si
+	 * una zona sigue registrada, comparar con getZoneById().
+	 */
+	public interface ChangeListener {
+		void onZonesChanged(Collection<Zone> zones);
+	}
+
 	/**
 	 * Constructor. Inicializa el gestor vacío.
 	 */
@@ -52,13 +103,123 @@ public class ZoneManager {
 			return;
 		}
 
+		// Índices espaciales en una sola pasada por dimensión (construcción por lotes)
+		// Un lote mayor que el árbol actual sale más barato reconstruyéndolo
+		if (zonesData.size() > zonesById.size()) {
+			hierarchyDirty = true;
+		}
+
+		Map<String, List<Zone>> byDimension = new HashMap<>();
 		for (Zone zone : zonesData) {
-			addZoneInternal(zone);
+			zonesById.put(zone.getZoneId(), zone);
+			zonesByName.put(zone.getZoneName(), zone);
+			nameIndex.add(zone.getZoneName());
+			indexTags(zone);
+			byDimension.computeIfAbsent(zone.getDimension(), d -> new ArrayList<>()).add(zone);
 		}
+		for (Map.Entry<String, List<Zone>> entry : byDimension.entrySet()) {
+			indexForDimension(entry.getKey()).insertAll(entry.getValue());
+		}
+		for (Zone zone : zonesData) {
+			hierarchyInsert(zone);
+		}
+		fireZonesChanged(zonesData);
 
 		System.out.println("[ZoneManager] ✓ Cargadas " + zonesById.size() + " zona(s)");
 	}
 
+	/**
+	 * Descarga zonas de memoria sin borrarlas del disco.
+	 * Llamado cuando una región deja de estar residente.
+	 *
+	 * @param zones Zonas a descargar
+	 */
+	public void unloadZones(Collection<Zone> zones) {
+		List<Zone> unloaded = new ArrayList<>();
+
+		for (Zone zone : zones) {
+			// Solo descargar si la instancia registrada es la misma
+			if (zonesById.get(zone.getZoneId()) == zone) {
+				removeZoneInternal(zone);
+				unloaded.add(zone);
+			}
+		}
+		fireZonesChanged(unloaded);
+
+		System.out.println("[ZoneManager] ✓ Descargadas " + unloaded.size() + " zona(s)");
+	}
+
+	/**
+	 * Aplica los cambios detectados al recargar un archivo en caliente.
+	 * Solo toca las zonas afectadas; las demás conservan su estado.
+	 *
+	 * @param diff Diferencias calculadas por WorldConfigManager
+	 */
+	public void applyDiff(ZoneDiff diff) {
+		List<Zone> geometryChanged = new ArrayList<>();
+
+		for (Zone zone : diff.removed) {
+			Zone loaded = zonesById.get(zone.getZoneId());
+			if (loaded != null) {
+				removeZoneInternal(loaded);
+				geometryChanged.add(loaded);
+			}
+		}
+
+		for (Zone zone : diff.added) {
+			addZoneInternal(zone);
+			geometryChanged.add(zone);
+		}
+
+		for (ZoneDiff.Change change : diff.changed) {
+			Zone zone = change.zone;
+
+			if (change.nameChanged) {
+				String newName = change.updated.getZoneName();
+				if (zonesByName.get(zone.getZoneName()) == zone) {
+					zonesByName.remove(zone.getZoneName());
+					nameIndex.remove(zone.getZoneName());
+				}
+				zone.setZoneName(newName);
+				zonesByName.put(newName, zone);
+				nameIndex.add(newName);
+				nameOrder = null;
+			}
+
+			if (change.dimensionChanged || change.boundsChanged) {
+				hierarchyRemove(zone);
+			}
+
+			if (change.dimensionChanged) {
+				indexForDimension(zone.getDimension()).remove(zone.getZoneId());
+				zone.setDimension(change.updated.getDimension());
+			}
+
+			if (change.tagsChanged) {
+				unindexTags(zone);
+				zone.setTags(change.updated.getTags());
+				indexTags(zone);
+			}
+
+			change.applyBoundsAndMessages();
+
+			if (change.dimensionChanged) {
+				indexForDimension(zone.getDimension()).insert(zone);
+				geometryChanged.add(zone);
+			} else if (change.boundsChanged) {
+				indexForDimension(zone.getDimension()).update(zone);
+				geometryChanged.add(zone);
+			}
+
+			if (change.dimensionChanged || change.boundsChanged) {
+				hierarchyInsert(zone);
+			}
+		}
+		fireZonesChanged(geometryChanged);
+
+		System.out.println("[ZoneManager] ✓ Cambios aplicados: " + diff.summary());
+	}
+
 	// ═══════════════════════════════════════════════════════════════════════════
 	// OPERACIONES CRUD
 	// ═══════════════════════════════════════════════════════════════════════════
@@ -85,11 +246,16 @@ public class ZoneManager {
 
 		// Crear la zona
 		Zone zone = new Zone(zoneName, minX, minY, minZ, maxX, maxY, maxZ);
+		zone.setDimension(activeDimension);
 		
 		// Añadir al gestor
 		addZoneInternal(zone);
+		fireZonesChanged(Collections.singletonList(zone));
 
-		System.out.println("[ZoneManager] ✓ Zona creada: " + zone);
+		System.out.println(String.format(
+			"[ZoneManager] ✓ Zona creada: %s | Buffer: %.1f bloques | Dimensiones: %.0fx%.0fx%.0f",
+			zoneName, zone.getBufferDistance(), zone.getWidth(), zone.getHeight(), zone.getDepth()
+		));
 		totalZonesCreated++;
 
 		return zone;
@@ -107,6 +273,7 @@ public class ZoneManager {
 			return;
 		}
 		addZoneInternal(zone);
+		fireZonesChanged(Collections.singletonList(zone));
 		totalZonesCreated++;
 	}
 
@@ -116,6 +283,210 @@ public class ZoneManager {
 	private void addZoneInternal(Zone zone) {
 		zonesById.put(zone.getZoneId(), zone);
 		zonesByName.put(zone.getZoneName(), zone);
+		nameIndex.add(zone.getZoneName());
+		indexTags(zone);
+		indexForDimension(zone.getDimension()).insert(zone);
+		hierarchyInsert(zone);
+	}
+
+	/**
+	 * Método interno para quitar una zona de los índices.
+	 */
+	private void removeZoneInternal(Zone zone) {
+		zonesById.remove(zone.getZoneId());
+		if (zonesByName.get(zone.getZoneName()) == zone) {
+			zonesByName.remove(zone.getZoneName());
+			nameIndex.remove(zone.getZoneName());
+		}
+		unindexTags(zone);
+		indexForDimension(zone.getDimension()).remove(zone.getZoneId());
+		hierarchyRemove(zone);
+	}
+
+	/**
+	 * Cambia los límites de una zona y la reubica en el índice espacial.
+	 *
+	 * @param zone Zona a modificar
+	 */
+	public void updateZoneBounds(Zone zone, double minX, double minY, double minZ,
+								 double maxX, double maxY, double maxZ) {
+		zone.setCoordinates(minX, minY, minZ, maxX, maxY, maxZ);
+		if (zonesById.get(zone.getZoneId()) == zone) {
+			indexForDimension(zone.getDimension()).update(zone);
+			hierarchyRemove(zone);
+			hierarchyInsert(zone);
+			fireZonesChanged(Collections.singletonList(zone));
+		}
+	}
+
+	/**
+	 * Cambia la forma de una zona (null = cuboide) y la reubica en el índice
+	 * espacial con su nueva caja envolvente.
+	 *
+	 * @param zone Zona a modificar
+	 */
+	public void updateZoneShape(Zone zone, ZoneShape shape) {
+		zone.setShape(shape);
+		if (zonesById.get(zone.getZoneId()) == zone) {
+			indexForDimension(zone.getDimension()).update(zone);
+			hierarchyRemove(zone);
+			hierarchyInsert(zone);
+			fireZonesChanged(Collections.singletonList(zone));
+		}
+	}
+
+	/**
+	 * Añade la zona al árbol de anidamiento si está al día y la zona es de
+	 * la dimensión activa (ya debe estar en su índice espacial).
+	 */
+	private void hierarchyInsert(Zone zone) {
+		if (!hierarchyDirty && isInActiveDimension(zone)) {
+			hierarchy.insert(zone, spatialIndex);
+		}
+	}
+
+	private void hierarchyRemove(Zone zone) {
+		if (!hierarchyDirty) {
+			hierarchy.remove(zone, spatialIndex);
+		}
+	}
+
+	/**
+	 * Árbol de zonas anidadas de la dimensión activa. Solo se reconstruye
+	 * entero la primera vez tras una carga grande o un cambio de dimensión.
+	 */
+	public ZoneHierarchy getHierarchy() {
+		if (hierarchyDirty) {
+			List<Zone> active = new ArrayList<>();
+			for (Zone zone : zonesById.values()) {
+				if (isInActiveDimension(zone)) {
+					active.add(zone);
+				}
+			}
+			hierarchy.rebuild(active, spatialIndex);
+			hierarchyDirty = false;
+		}
+		return hierarchy;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// DIMENSIONES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Cambia la dimensión activa. Las consultas espaciales y el árbol de
+	 * anidamiento pasan a ver solo las zonas de esa dimensión; se notifica a
+	 * los listeners con las zonas de ambas dimensiones para que las quiten o
+	 * las añadan (p. ej. la caché de mallas).
+	 *
+	 * @param dimension ID de la dimensión (p. ej. "minecraft:the_nether")
+	 */
+	public void setActiveDimension(String dimension) {
+		if (dimension == null || dimension.equals(activeDimension)) {
+			return;
+		}
+
+		String previous = activeDimension;
+		activeDimension = dimension;
+		spatialIndex = indexForDimension(dimension);
+
+		List<Zone> affected = new ArrayList<>();
+		for (Zone zone : zonesById.values()) {
+			String zoneDimension = zone.getDimension();
+			if (zoneDimension.equals(previous) || zoneDimension.equals(dimension)) {
+				affected.add(zone);
+			}
+		}
+		hierarchyDirty = true;
+		fireZonesChanged(affected);
+
+		System.out.println("[ZoneManager] ✓ Dimensión activa: " + dimension +
+			" (" + spatialIndex.size() + " zona(s))");
+	}
+
+	public String getActiveDimension() {
+		return activeDimension;
+	}
+
+	public boolean isInActiveDimension(Zone zone) {
+		return zone.getDimension().equals(activeDimension);
+	}
+
+	private ZoneIndex indexForDimension(String dimension) {
+		return indexesByDimension.computeIfAbsent(dimension, d -> new ZoneIndex());
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// ETIQUETAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Pone o quita una etiqueta y actualiza el índice por etiqueta.
+	 *
+	 * @param tag ID de ZoneTags
+	 */
+	public void setZoneTag(Zone zone, int tag, boolean tagged) {
+		boolean registered = zonesById.get(zone.getZoneId()) == zone;
+		zone.setTag(tag, tagged);
+		if (!registered) {
+			return;
+		}
+
+		if (tagged) {
+			zonesByTag.computeIfAbsent(tag, t -> Collections.newSetFromMap(new IdentityHashMap<>())).add(zone);
+		} else {
+			Set<Zone> zones = zonesByTag.get(tag);
+			if (zones != null) {
+				zones.remove(zone);
+			}
+		}
+	}
+
+	/**
+	 * Zonas cargadas con la etiqueta (sin recorrer todas las zonas).
+	 *
+	 * @return Vista no modificable
+	 */
+	public Set<Zone> getZonesWithTag(int tag) {
+		Set<Zone> zones = zonesByTag.get(tag);
+		return zones != null ? Collections.unmodifiableSet(zones) : Collections.emptySet();
+	}
+
+	/**
+	 * Activa o desactiva un grupo: las zonas con una etiqueta desactivada
+	 * no disparan mensajes.
+	 */
+	public void setTagEnabled(int tag, boolean enabled) {
+		disabledTags.set(tag, !enabled);
+		System.out.println("[ZoneManager] Etiqueta " + ZoneTags.nameOf(tag) + ": " +
+			(enabled ? "activada" : "desactivada"));
+	}
+
+	public boolean isTagEnabled(int tag) {
+		return !disabledTags.get(tag);
+	}
+
+	/**
+	 * Una zona está activa si no tiene ninguna etiqueta desactivada
+	 * (una intersección de bits por zona en el tick).
+	 */
+	public boolean isZoneEnabled(Zone zone) {
+		return disabledTags.isEmpty() || !zone.hasAnyTag(disabledTags);
+	}
+
+	private void indexTags(Zone zone) {
+		for (int tag = zone.nextTag(0); tag >= 0; tag = zone.nextTag(tag + 1)) {
+			zonesByTag.computeIfAbsent(tag, t -> Collections.newSetFromMap(new IdentityHashMap<>())).add(zone);
+		}
+	}
+
+	private void unindexTags(Zone zone) {
+		for (int tag = zone.nextTag(0); tag >= 0; tag = zone.nextTag(tag + 1)) {
+			Set<Zone> tagged = zonesByTag.get(tag);
+			if (tagged != null) {
+				tagged.remove(zone);
+			}
+		}
 	}
 
 	/**
@@ -151,8 +522,8 @@ public class ZoneManager {
 			return false;
 		}
 
-		zonesById.remove(zoneId);
-		zonesByName.remove(zone.getZoneName());
+		removeZoneInternal(zone);
+		fireZonesChanged(Collections.singletonList(zone));
 
 		System.out.println("[ZoneManager] ✓ Zona eliminada: " + zone.getZoneName());
 		return true;
@@ -197,6 +568,8 @@ public class ZoneManager {
 		zonesByName.remove(nombreAnterior);
 		zone.setZoneName(nuevoNombre);
 		zonesByName.put(nuevoNombre, zone);
+		nameIndex.rename(nombreAnterior, nuevoNombre);
+		nameOrder = null;
 
 		System.out.println("[ZoneManager] ✓ Zona renombrada: " + nombreAnterior + 
 			" → " + nuevoNombre);
@@ -217,6 +590,133 @@ public class ZoneManager {
 		return Collections.unmodifiableCollection(zonesById.values());
 	}
 
+	/**
+	 * Añade a la lista las zonas que contienen el punto dado.
+	 * Usa el índice espacial: O(log n) en lugar de recorrer todas las zonas.
+	 *
+	 * @param x, y, z Posición a consultar
+	 * @param out Lista destino (no se vacía)
+	 */
+	public void getZonesAt(double x, double y, double z, List<Zone> out) {
+		spatialIndex.queryPoint(x, y, z, out);
+	}
+
+	/**
+	 * Añade a la lista las zonas cuyo volumen intersecta la caja dada.
+	 *
+	 * @param out Lista destino (no se vacía)
+	 */
+	public void getZonesInBox(double minX, double minY, double minZ,
+							  double maxX, double maxY, double maxZ, List<Zone> out) {
+		spatialIndex.queryBox(minX, minY, minZ, maxX, maxY, maxZ, out);
+	}
+
+	/**
+	 * Obtiene las k zonas más cercanas a un punto, de más cercana a más
+	 * lejana, usando el índice espacial.
+	 *
+	 * @param k Número máximo de resultados
+	 * @param maxDistance Distancia máxima (Double.POSITIVE_INFINITY = sin límite)
+	 */
+	public List<Zone> getNearestZones(double x, double y, double z, int k, double maxDistance) {
+		return spatialIndex.nearest(x, y, z, k, maxDistance);
+	}
+
+	/**
+	 * Zonas ordenadas por nombre. La lista se guarda en caché hasta el
+	 * siguiente cambio, así paginar es O(tamaño de página).
+	 *
+	 * @return Lista no modificable
+	 */
+	public List<Zone> getZonesSortedByName() {
+		if (nameOrder == null) {
+			nameOrder = Collections.unmodifiableList(new ArrayList<>(zonesByName.values()));
+		}
+		return nameOrder;
+	}
+
+	/**
+	 * Zonas cuyo nombre empieza por el prefijo, en orden alfabético.
+	 * Búsqueda binaria sobre la vista ordenada: O(log n), sin copiar.
+	 *
+	 * @param prefix Prefijo (sensible a mayúsculas, como los nombres)
+	 * @return Sublista no modificable
+	 */
+	public List<Zone> getZonesWithPrefix(String prefix) {
+		List<Zone> sorted = getZonesSortedByName();
+		int from = lowerBound(sorted, prefix);
+		int to = lowerBound(sorted, prefix + Character.MAX_VALUE);
+		return sorted.subList(from, to);
+	}
+
+	/**
+	 * Zonas cuyo nombre encaja con el patrón, en orden alfabético. Con un
+	 * glob solo se revisa el rango de nombres de su prefijo literal.
+	 *
+	 * @return Lista nueva (se puede modificar)
+	 */
+	public List<Zone> getZonesMatching(ZonePattern pattern) {
+		List<Zone> matches = new ArrayList<>();
+		for (Zone zone : getZonesWithPrefix(pattern.getLiteralPrefix())) {
+			if (pattern.matches(zone.getZoneName())) {
+				matches.add(zone);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Zonas ordenadas por volumen, de mayor a menor (en caché hasta el
+	 * siguiente cambio de geometría).
+	 *
+	 * @return Lista no modificable
+	 */
+	public List<Zone> getZonesSortedByVolume() {
+		if (volumeOrder == null) {
+			List<Zone> sorted = new ArrayList<>(zonesById.values());
+			sorted.sort(Comparator.comparingDouble(Zone::getVolume).reversed()
+				.thenComparing(Zone::getZoneName));
+			volumeOrder = Collections.unmodifiableList(sorted);
+		}
+		return volumeOrder;
+	}
+
+	/**
+	 * Primer índice cuyo nombre es >= key.
+	 */
+	private static int lowerBound(List<Zone> sorted, String key) {
+		int low = 0;
+		int high = sorted.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sorted.get(mid).getZoneName().compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Completa nombres de zona por prefijo, sin distinguir mayúsculas.
+	 * Coste O(log n + límite): apto para sugerencias mientras se escribe.
+	 *
+	 * @param out Lista destino (no se vacía)
+	 */
+	public void completeZoneNames(String prefix, int limit, List<String> out) {
+		nameIndex.complete(prefix, limit, out);
+	}
+
+	/**
+	 * Nombres parecidos al dado, para "¿quisiste decir...?".
+	 *
+	 * @return Hasta {@code limit} nombres, de más a menos parecido
+	 */
+	public List<String> findSimilarZoneNames(String name, int limit) {
+		return nameIndex.findSimilar(name, limit);
+	}
+
 	/**
 	 * Obtiene la cantidad total de zonas cargadas.
 	 *
@@ -256,11 +756,73 @@ public class ZoneManager {
 	 * Limpia todas las zonas. ¡CUIDADO!
 	 */
 	public void clearAllZones() {
+		List<Zone> removed = new ArrayList<>(zonesById.values());
 		zonesById.clear();
 		zonesByName.clear();
+		nameIndex.clear();
+		for (ZoneIndex index : indexesByDimension.values()) {
+			index.clear();
+		}
+		zonesByTag.clear();
+		hierarchyDirty = true;
+		fireZonesChanged(removed);
 		System.out.println("[ZoneManager] ⚠ Todas las zonas han sido eliminadas");
 	}
 
+	// ═══════════════════════════════════════════════════════════════════════════
+	// NOTIFICACIONES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	public void addChangeListener(ChangeListener listener) {
+		changeListeners.add(listener);
+	}
+
+	/**
+	 * Abre un lote de cambios (p. ej. una transacción): hasta el endBatch()
+	 * correspondiente, las zonas cambiadas se acumulan y los oyentes reciben
+	 * una sola notificación. Los lotes pueden anidarse.
+	 */
+	public void beginBatch() {
+		batchDepth++;
+	}
+
+	/**
+	 * Cierra un lote y, si era el más externo, notifica todas las zonas
+	 * cambiadas de una vez.
+	 */
+	public void endBatch() {
+		if (batchDepth == 0) {
+			throw new IllegalStateException("endBatch() sin beginBatch()");
+		}
+		if (--batchDepth > 0 || batchedChanges.isEmpty()) {
+			return;
+		}
+
+		List<Zone> zones = new ArrayList<>(batchedChanges);
+		batchedChanges.clear();
+		fireZonesChanged(zones);
+	}
+
+	private void fireZonesChanged(Collection<Zone> zones) {
+		if (zones.isEmpty()) {
+			return;
+		}
+
+		if (batchDepth > 0) {
+			batchedChanges.addAll(zones);
+			return;
+		}
+
+		// Altas, bajas y cambios de tamaño invalidan los listados ordenados
+		// (el árbol de anidamiento ya se actualizó zona a zona)
+		nameOrder = null;
+		volumeOrder = null;
+
+		for (ChangeListener listener : changeListeners) {
+			listener.onZonesChanged(zones);
+		}
+	}
+
 	/**
 	 * Reinicia el estado de todas las zonas.
 	 * Llamar cuando el jugador cambia de mundo o es necesario resetear.
@@ -0,0 +1,556 @@
+package com.neokey.zoneautomessage.manager;
+
+import com.neokey.zoneautomessage.util.ZoneValidator;
+import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneBuffer;
+import com.neokey.zoneautomessage.zone.ZoneShape;
+import java.util.*;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║      ZONE TRANSACTION - Edición por Lotes de Zonas (Todo o Nada)         ║
+ * ║                                                                          ║
+ * ║ Uso:                                                                     ║
+ * ║   ZoneTransaction tx = new ZoneTransaction(zoneManager, worldConfig);    ║
+ * ║   tx.setEnterMessage(zonaA, "...");                                      ║
+ * ║   tx.delete(zonaB);                                                      ║
+ * ║   if (!tx.commit()) { ... tx.getError() ... }                            ║
+ * ║                                                                          ║
+ * ║ Al confirmar:                                                            ║
+ * ║ 1. Se validan todas las operaciones con ZoneValidator (nombres,         ║
+ * ║    coordenadas, mensajes y colisiones de nombre). Si algo falla no se   ║
+ * ║    aplica nada.                                                          ║
+ * ║ 2. Se aplican en memoria (ZoneManager + índice) con registro de         ║
+ * ║    deshacer; ante un error se revierte todo.                            ║
+ * ║ 3. Se persiste en una sola escritura por región afectada. Si alguna     ║
+ * ║    escritura falla, se revierte en memoria y se vuelve a guardar el     ║
+ * ║    estado anterior; commit() devuelve false.                            ║
+ * ║ Los oyentes de ZoneManager reciben un único aviso con todas las zonas   ║
+ * ║ tocadas, no uno por operación.                                          ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneTransaction {
+
+	private final ZoneManager zoneManager;
+	private final WorldConfigManager worldConfigManager;
+
+	// Operaciones pendientes, en orden
+	private final List<Operation> operations = new ArrayList<>();
+
+	private boolean finished = false;
+	private String error = null;
+
+	/**
+	 * Abre una transacción sobre los gestores dados.
+	 */
+	public ZoneTransaction(ZoneManager zoneManager, WorldConfigManager worldConfigManager) {
+		this.zoneManager = zoneManager;
+		this.worldConfigManager = worldConfigManager;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// OPERACIONES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	public ZoneTransaction create(Zone zone) {
+		return stage(new Operation(OpType.CREATE, zone));
+	}
+
+	public ZoneTransaction delete(Zone zone) {
+		return stage(new Operation(OpType.DELETE, zone));
+	}
+
+	public ZoneTransaction rename(Zone zone, String newName) {
+		Operation op = new Operation(OpType.RENAME, zone);
+		op.text = newName;
+		return stage(op);
+	}
+
+	public ZoneTransaction setEnterMessage(Zone zone, String message) {
+		Operation op = new Operation(OpType.ENTER_MESSAGE, zone);
+		op.text = message;
+		return stage(op);
+	}
+
+	public ZoneTransaction setExitMessage(Zone zone, String message) {
+		Operation op = new Operation(OpType.EXIT_MESSAGE, zone);
+		op.text = message;
+		return stage(op);
+	}
+
+	/**
+	 * Mensaje tras llevar {@code seconds} segundos dentro (0 = desactivar).
+	 */
+	public ZoneTransaction setDwell(Zone zone, int seconds, String message) {
+		Operation op = new Operation(OpType.DWELL, zone);
+		op.seconds = seconds;
+		op.text = message;
+		return stage(op);
+	}
+
+	/**
+	 * Mensaje cada {@code seconds} segundos mientras se está dentro (0 = desactivar).
+	 */
+	public ZoneTransaction setRepeat(Zone zone, int seconds, String message) {
+		Operation op = new Operation(OpType.REPEAT, zone);
+		op.seconds = seconds;
+		op.text = message;
+		return stage(op);
+	}
+
+	/**
+	 * Pone o quita una etiqueta (ID de ZoneTags).
+	 */
+	public ZoneTransaction setTag(Zone zone, int tag, boolean tagged) {
+		Operation op = new Operation(OpType.TAG, zone);
+		op.tag = tag;
+		op.tagged = tagged;
+		return stage(op);
+	}
+
+	public ZoneTransaction setBounds(Zone zone, double minX, double minY, double minZ,
+									 double maxX, double maxY, double maxZ) {
+		Operation op = new Operation(OpType.BOUNDS, zone);
+		op.bounds = new double[]{
+			Math.min(minX, maxX), Math.min(minY, maxY), Math.min(minZ, maxZ),
+			Math.max(minX, maxX), Math.max(minY, maxY), Math.max(minZ, maxZ)
+		};
+		return stage(op);
+	}
+
+	/**
+	 * Cambia la prioridad entre zonas solapadas (mayor = más interna).
+	 */
+	public ZoneTransaction setPriority(Zone zone, int priority) {
+		Operation op = new Operation(OpType.PRIORITY, zone);
+		op.priority = priority;
+		return stage(op);
+	}
+
+	/**
+	 * Cambia la configuración del buffer de salida.
+	 */
+	public ZoneTransaction setBuffer(Zone zone, ZoneBuffer buffer) {
+		Operation op = new Operation(OpType.BUFFER, zone);
+		op.buffer = buffer;
+		return stage(op);
+	}
+
+	/**
+	 * Cambia la forma de la zona (null = cuboide con sus límites actuales).
+	 */
+	public ZoneTransaction setShape(Zone zone, ZoneShape shape) {
+		Operation op = new Operation(OpType.SHAPE, zone);
+		op.shape = shape;
+		return stage(op);
+	}
+
+	private ZoneTransaction stage(Operation op) {
+		if (finished) {
+			throw new IllegalStateException("La transacción ya fue confirmada o descartada");
+		}
+		operations.add(op);
+		return this;
+	}
+
+	/**
+	 * Descarta todas las operaciones pendientes.
+	 */
+	public void rollback() {
+		operations.clear();
+		finished = true;
+	}
+
+	public int size() {
+		return operations.size();
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// CONFIRMACIÓN
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Valida, aplica y persiste todas las operaciones.
+	 *
+	 * @return true si se aplicó todo; false si no se aplicó nada (ver getError())
+	 */
+	public boolean commit() {
+		if (finished) {
+			throw new IllegalStateException("La transacción ya fue confirmada o descartada");
+		}
+		finished = true;
+
+		if (operations.isEmpty()) {
+			return true;
+		}
+
+		if (!worldConfigManager.isWorldReady()) {
+			return fail("El mundo aún no está cargado");
+		}
+
+		// 1. Validar sin tocar nada
+		if (!validate()) {
+			System.err.println("[ZoneTransaction] ✗ Transacción descartada: " + error);
+			return false;
+		}
+
+		// Un solo aviso a los oyentes (renderer, listados, árbol) al final
+		zoneManager.beginBatch();
+		try {
+			return applyAndPersist();
+		} finally {
+			zoneManager.endBatch();
+		}
+	}
+
+	private boolean applyAndPersist() {
+		// 2. Aplicar en memoria con registro para deshacer
+		Deque<Runnable> undoLog = new ArrayDeque<>();
+		try {
+			for (Operation op : operations) {
+				apply(op, undoLog);
+			}
+		} catch (Exception e) {
+			System.err.println("[ZoneTransaction] ✗ Error aplicando cambios, revirtiendo:");
+			e.printStackTrace();
+			rollback(undoLog);
+			return fail("Error aplicando cambios: " + e.getMessage());
+		}
+
+		// 3. Persistir en una sola escritura por región
+		Map<String, Zone> upserts = new LinkedHashMap<>();
+		Set<String> deletes = new LinkedHashSet<>();
+		Set<String> createdHere = new HashSet<>();
+
+		for (Operation op : operations) {
+			String id = op.zone.getZoneId();
+			if (op.type == OpType.CREATE) {
+				createdHere.add(id);
+			}
+
+			if (op.type == OpType.DELETE) {
+				upserts.remove(id);
+				if (!createdHere.contains(id)) {
+					deletes.add(id);
+				}
+			} else {
+				upserts.put(id, op.zone);
+			}
+		}
+
+		if (!worldConfigManager.saveZones(upserts.values(), deletes)) {
+			System.err.println("[ZoneTransaction] ✗ Error guardando cambios, revirtiendo");
+			rollback(undoLog);
+
+			// Volver a dejar en disco el estado anterior: las zonas borradas
+			// regresan, las creadas aquí desaparecen y el resto se reescribe
+			// con sus valores restaurados
+			Map<String, Zone> restored = new LinkedHashMap<>();
+			for (String id : upserts.keySet()) {
+				Zone zone = zoneManager.getZoneById(id);
+				if (zone != null) {
+					restored.put(id, zone);
+				}
+			}
+			for (String id : deletes) {
+				Zone zone = zoneManager.getZoneById(id);
+				if (zone != null) {
+					restored.put(id, zone);
+				}
+			}
+			Set<String> removed = new LinkedHashSet<>(createdHere);
+			removed.removeAll(restored.keySet());
+			if (!worldConfigManager.saveZones(restored.values(), removed)) {
+				System.err.println("[ZoneTransaction] ✗ No se pudo restaurar el estado anterior en disco");
+			}
+
+			return fail("Error guardando los cambios en disco; no se aplicó nada");
+		}
+
+		System.out.println(String.format(
+			"[ZoneTransaction] ✓ %d operación(es) confirmadas (%d guardada(s), %d eliminada(s))",
+			operations.size(), upserts.size(), deletes.size()
+		));
+		return true;
+	}
+
+	private static void rollback(Deque<Runnable> undoLog) {
+		while (!undoLog.isEmpty()) {
+			undoLog.pop().run();
+		}
+	}
+
+	/**
+	 * Simula las operaciones sobre los nombres actuales para detectar
+	 * datos inválidos y colisiones antes de aplicar nada.
+	 */
+	private boolean validate() {
+		// Nombre → zona tras las operaciones previas (null = nombre liberado)
+		Map<String, Zone> nameOverlay = new HashMap<>();
+		// Zona → nombre tras las operaciones previas (null = zona borrada)
+		Map<Zone, String> stagedNames = new IdentityHashMap<>();
+
+		for (Operation op : operations) {
+			Zone zone = op.zone;
+			boolean exists = stagedNames.containsKey(zone)
+				? stagedNames.get(zone) != null
+				: zoneManager.getZoneById(zone.getZoneId()) == zone;
+			String currentName = exists && stagedNames.containsKey(zone)
+				? stagedNames.get(zone)
+				: zone.getZoneName();
+
+			switch (op.type) {
+				case CREATE:
+					if (exists || zoneManager.getZoneById(zone.getZoneId()) != null) {
+						return fail("La zona ya existe: " + zone.getZoneName());
+					}
+					if (!ZoneValidator.validateZoneName(zone.getZoneName()) ||
+						!ZoneValidator.validateCoordinates(
+							zone.getMinX(), zone.getMinY(), zone.getMinZ(),
+							zone.getMaxX(), zone.getMaxY(), zone.getMaxZ())) {
+						return fail("Zona inválida: " + zone.getZoneName());
+					}
+					if (isNameTaken(zone.getZoneName(), nameOverlay)) {
+						return fail("Nombre duplicado: " + zone.getZoneName());
+					}
+					nameOverlay.put(zone.getZoneName(), zone);
+					stagedNames.put(zone, zone.getZoneName());
+					break;
+
+				case DELETE:
+					if (!exists) {
+						return fail("No existe la zona: " + currentName);
+					}
+					nameOverlay.put(currentName, null);
+					stagedNames.put(zone, null);
+					break;
+
+				case RENAME:
+					if (!exists) {
+						return fail("No existe la zona: " + currentName);
+					}
+					if (!ZoneValidator.validateZoneName(op.text)) {
+						return fail("Nombre inválido: " + op.text);
+					}
+					if (!op.text.equals(currentName) && isNameTaken(op.text, nameOverlay)) {
+						return fail("Nombre duplicado: " + op.text);
+					}
+					nameOverlay.put(currentName, null);
+					nameOverlay.put(op.text, zone);
+					stagedNames.put(zone, op.text);
+					break;
+
+				case ENTER_MESSAGE:
+				case EXIT_MESSAGE:
+					if (!exists) {
+						return fail("No existe la zona: " + currentName);
+					}
+					if (!ZoneValidator.validateMessage(op.text)) {
+						return fail("Mensaje inválido para: " + currentName);
+					}
+					break;
+
+				case DWELL:
+				case REPEAT:
+					if (!exists) {
+						return fail("No existe la zona: " + currentName);
+					}
+					if (op.seconds > 0 && !ZoneValidator.validateMessage(op.text)) {
+						return fail("Mensaje inválido para: " + currentName);
+					}
+					break;
+
+				case BOUNDS:
+					if (!exists) {
+						return fail("No existe la zona: " + currentName);
+					}
+					if (!ZoneValidator.validateCoordinates(
+						op.bounds[0], op.bounds[1], op.bounds[2],
+						op.bounds[3], op.bounds[4], op.bounds[5])) {
+						return fail("Coordenadas inválidas para: " + currentName);
+					}
+					break;
+
+				case PRIORITY:
+				case BUFFER:
+				case TAG:
+					if (!exists) {
+						return fail("No existe la zona: " + currentName);
+					}
+					break;
+
+				case SHAPE:
+					if (!exists) {
+						return fail("No existe la zona: " + currentName);
+					}
+					if (op.shape != null && !ZoneValidator.validateCoordinates(
+						op.shape.getMinX(), op.shape.getMinY(), op.shape.getMinZ(),
+						op.shape.getMaxX(), op.shape.getMaxY(), op.shape.getMaxZ())) {
+						return fail("Forma inválida para: " + currentName);
+					}
+					break;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Las colisiones se buscan en todo el mundo (índice de nombres de
+	 * WorldConfigManager), no solo entre las zonas residentes.
+	 */
+	private boolean isNameTaken(String name, Map<String, Zone> nameOverlay) {
+		if (nameOverlay.containsKey(name)) {
+			return nameOverlay.get(name) != null;
+		}
+		return zoneManager.getZoneByName(name) != null || worldConfigManager.isZoneNameTaken(name);
+	}
+
+	/**
+	 * Aplica una operación en memoria y registra cómo deshacerla.
+	 */
+	private void apply(Operation op, Deque<Runnable> undoLog) {
+		Zone zone = op.zone;
+
+		switch (op.type) {
+			case CREATE:
+				zoneManager.createZoneFromObject(zone);
+				undoLog.push(() -> zoneManager.deleteZone(zone.getZoneId()));
+				break;
+
+			case DELETE:
+				zoneManager.deleteZone(zone.getZoneId());
+				undoLog.push(() -> zoneManager.createZoneFromObject(zone));
+				break;
+
+			case RENAME: {
+				String oldName = zone.getZoneName();
+				zoneManager.renameZone(zone.getZoneId(), op.text);
+				undoLog.push(() -> zoneManager.renameZone(zone.getZoneId(), oldName));
+				break;
+			}
+
+			case ENTER_MESSAGE: {
+				String oldMessage = zone.getEnterMessage();
+				zone.setEnterMessage(op.text);
+				undoLog.push(() -> zone.setEnterMessage(oldMessage));
+				break;
+			}
+
+			case EXIT_MESSAGE: {
+				String oldMessage = zone.getExitMessage();
+				zone.setExitMessage(op.text);
+				undoLog.push(() -> zone.setExitMessage(oldMessage));
+				break;
+			}
+
+			case TAG: {
+				boolean wasTagged = zone.hasTag(op.tag);
+				zoneManager.setZoneTag(zone, op.tag, op.tagged);
+				undoLog.push(() -> zoneManager.setZoneTag(zone, op.tag, wasTagged));
+				break;
+			}
+
+			case DWELL: {
+				int oldSeconds = zone.getDwellSeconds();
+				String oldMessage = zone.getDwellMessage();
+				zone.setDwell(op.seconds, op.text);
+				undoLog.push(() -> zone.setDwell(oldSeconds, oldMessage));
+				break;
+			}
+
+			case REPEAT: {
+				int oldSeconds = zone.getRepeatSeconds();
+				String oldMessage = zone.getRepeatMessage();
+				zone.setRepeat(op.seconds, op.text);
+				undoLog.push(() -> zone.setRepeat(oldSeconds, oldMessage));
+				break;
+			}
+
+			case BOUNDS: {
+				double[] old = {
+					zone.getMinX(), zone.getMinY(), zone.getMinZ(),
+					zone.getMaxX(), zone.getMaxY(), zone.getMaxZ()
+				};
+				ZoneShape oldShape = zone.getShape();
+				double[] b = op.bounds;
+				zoneManager.updateZoneBounds(zone, b[0], b[1], b[2], b[3], b[4], b[5]);
+				if (oldShape != null) {
+					undoLog.push(() -> zoneManager.updateZoneShape(zone, oldShape));
+				} else {
+					undoLog.push(() -> zoneManager.updateZoneBounds(
+						zone, old[0], old[1], old[2], old[3], old[4], old[5]));
+				}
+				break;
+			}
+
+			case PRIORITY: {
+				int oldPriority = zone.getPriority();
+				zone.setPriority(op.priority);
+				undoLog.push(() -> zone.setPriority(oldPriority));
+				break;
+			}
+
+			case BUFFER: {
+				ZoneBuffer oldBuffer = zone.getBuffer();
+				zone.setBuffer(op.buffer);
+				undoLog.push(() -> zone.setBuffer(oldBuffer));
+				break;
+			}
+
+			case SHAPE: {
+				ZoneShape oldShape = zone.getShape();
+				double[] old = {
+					zone.getMinX(), zone.getMinY(), zone.getMinZ(),
+					zone.getMaxX(), zone.getMaxY(), zone.getMaxZ()
+				};
+				zoneManager.updateZoneShape(zone, op.shape);
+				if (oldShape != null) {
+					undoLog.push(() -> zoneManager.updateZoneShape(zone, oldShape));
+				} else {
+					undoLog.push(() -> zoneManager.updateZoneBounds(
+						zone, old[0], old[1], old[2], old[3], old[4], old[5]));
+				}
+				break;
+			}
+		}
+	}
+
+	private boolean fail(String message) {
+		error = message;
+		return false;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// ESTRUCTURAS INTERNAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private enum OpType {
+		CREATE, DELETE, RENAME, ENTER_MESSAGE, EXIT_MESSAGE, BOUNDS, SHAPE, PRIORITY, BUFFER,
+		DWELL, REPEAT, TAG
+	}
+
+	private static class Operation {
+		final OpType type;
+		final Zone zone;
+		String text;
+		double[] bounds;
+		ZoneShape shape;
+		int priority;
+		int seconds;
+		int tag;
+		boolean tagged;
+		ZoneBuffer buffer;
+
+		Operation(OpType type, Zone zone) {
+			this.type = type;
+			this.zone = zone;
+		}
+	}
+}
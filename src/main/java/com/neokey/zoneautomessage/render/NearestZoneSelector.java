@@ -0,0 +1,168 @@
+package com.neokey.zoneautomessage.render;
+
+import com.neokey.zoneautomessage.manager.ZoneManager;
+import com.neokey.zoneautomessage.zone.Zone;
+
+import java.util.*;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║     NEAREST ZONE SELECTOR - Presupuesto de Zonas a Renderizar            ║
+ * ║                                                                          ║
+ * ║ Elige las N zonas más relevantes alrededor del jugador:                 ║
+ * ║ 1. Las zonas en las que está dentro                                     ║
+ * ║ 2. Las más cercanas según Zone.getDistanceToZone                        ║
+ * ║                                                                          ║
+ * ║ Usa un montículo de máximos acotado a N elementos: cada candidata se    ║
+ * ║ compara con la peor seleccionada, así el coste es O(k log N).           ║
+ * ║ Se recalcula cada pocos ticks, no en cada frame.                        ║
+ * ║                                                                          ║
+ * ║ La selección se publica agrupada por sección de ZoneMeshCache, con los  ║
+ * ║ índices de cada zona dentro de la malla: el render solo recorre esas N  ║
+ * ║ zonas y no todas las de las secciones visibles.                         ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class NearestZoneSelector {
+
+    public static final int DEFAULT_BUDGET = 200;
+    public static final int MAX_BUDGET = 10000;
+
+    // Ticks entre recálculos
+    private static final int SELECTION_INTERVAL = 5;
+
+    // 0 = sin límite
+    private int budget = DEFAULT_BUDGET;
+
+    private List<SectionSelection> selectedSections = Collections.emptyList();
+    private int selectedCount = 0;
+    private int tickCounter = 0;
+    private boolean forceUpdate = true;
+
+    private final List<Zone> candidates = new ArrayList<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(
+        Comparator.comparingDouble((Candidate c) -> c.priority).reversed()
+    );
+
+    /**
+     * Llamado en cada tick del cliente; recalcula la selección cada
+     * SELECTION_INTERVAL ticks. Las zonas sin sección en la caché (otra
+     * dimensión) se descartan.
+     */
+    public void tick(ZoneManager zoneManager, ZoneMeshCache meshCache,
+                     double x, double y, double z, double radius) {
+        if (!forceUpdate && ++tickCounter < SELECTION_INTERVAL) {
+            return;
+        }
+        tickCounter = 0;
+        forceUpdate = false;
+
+        if (budget <= 0) {
+            selectedSections = Collections.emptyList();
+            selectedCount = 0;
+            return;
+        }
+
+        candidates.clear();
+        zoneManager.getZonesInBox(x - radius, y - radius, z - radius, x + radius, y + radius, z + radius, candidates);
+
+        heap.clear();
+        for (Zone zone : candidates) {
+            // Dentro de la zona: prioridad máxima
+            double priority = zone.isPlayerInside(x, y, z) ? -1.0 : zone.getDistanceToZone(x, y, z);
+
+            if (heap.size() < budget) {
+                heap.add(new Candidate(zone.getZoneId(), priority));
+            } else if (priority < heap.peek().priority) {
+                heap.poll();
+                heap.add(new Candidate(zone.getZoneId(), priority));
+            }
+        }
+
+        Map<Long, SectionSelection> bySection = new HashMap<>();
+        int count = 0;
+        for (Candidate candidate : heap) {
+            Long key = meshCache.getSectionKey(candidate.zoneId);
+            if (key == null) {
+                continue;
+            }
+            bySection.computeIfAbsent(key, SectionSelection::new).zoneIds.add(candidate.zoneId);
+            count++;
+        }
+        selectedSections = new ArrayList<>(bySection.values());
+        selectedCount = count;
+    }
+
+    /**
+     * Secciones con alguna zona seleccionada. Vacía si no hay presupuesto
+     * (budget = 0): en ese caso se dibujan todas las zonas.
+     */
+    public List<SectionSelection> getSelectedSections() {
+        return selectedSections;
+    }
+
+    public boolean isUnlimited() {
+        return budget <= 0;
+    }
+
+    public void setBudget(int budget) {
+        this.budget = Math.max(0, Math.min(MAX_BUDGET, budget));
+        this.forceUpdate = true;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getSelectedCount() {
+        return selectedCount;
+    }
+
+    /**
+     * Zonas seleccionadas de una sección. Sus índices en la malla se
+     * resuelven al dibujar y se reutilizan hasta que la malla se sustituya.
+     */
+    public static final class SectionSelection {
+        public final long sectionKey;
+
+        private final List<String> zoneIds = new ArrayList<>();
+        private ZoneMeshCache.MeshData resolvedFor;
+        private int[] indices;
+
+        SectionSelection(long sectionKey) {
+            this.sectionKey = sectionKey;
+        }
+
+        /**
+         * Índices (ordenados) de las zonas seleccionadas dentro de la malla.
+         * Las zonas que aún no están en ella (malla en construcción) se omiten.
+         */
+        public int[] indicesFor(ZoneMeshCache.MeshData mesh) {
+            if (mesh != resolvedFor) {
+                int[] resolved = new int[zoneIds.size()];
+                int count = 0;
+                for (String zoneId : zoneIds) {
+                    int index = mesh.indexOf(zoneId);
+                    if (index >= 0) {
+                        resolved[count++] = index;
+                    }
+                }
+                indices = Arrays.copyOf(resolved, count);
+                Arrays.sort(indices);
+                resolvedFor = mesh;
+            }
+            return indices;
+        }
+    }
+
+    private static final class Candidate {
+        final String zoneId;
+        final double priority;
+
+        Candidate(String zoneId, double priority) {
+            this.zoneId = zoneId;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.neokey.zoneautomessage.render;
+
+import com.neokey.zoneautomessage.util.RollingPercentiles;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderTickCounter;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL33;
+import org.lwjgl.opengl.GLCapabilities;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║       RENDER TIMINGS - Coste por Frame del Renderizado de Zonas          ║
+ * ║                                                                          ║
+ * ║ Mide cada llamada a ZoneRenderer (AFTER_TRANSLUCENT):                   ║
+ * ║ - CPU "build": desde el inicio hasta tener todos los vértices escritos  ║
+ * ║ - CPU "submit": el envío del lote de líneas (Immediate.draw)            ║
+ * ║ - GPU: timestamps de OpenGL alrededor del envío (si el driver los       ║
+ * ║   soporta). El resultado se lee varios frames después, sin bloquear     ║
+ * ║ - Vértices y cajas emitidos                                             ║
+ * ║                                                                          ║
+ * ║ Todo se agrega en ventanas de percentiles (últimos WINDOW frames) y se  ║
+ * ║ muestra con /zam render timing o en una línea del HUD.                  ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class RenderTimings {
+
+    private static final int WINDOW = 240; // ~4 s a 60 FPS
+    private static final int HUD_COLOR = 0xFFE0E0E0;
+
+    private final RollingPercentiles buildNanos = new RollingPercentiles(WINDOW);
+    private final RollingPercentiles submitNanos = new RollingPercentiles(WINDOW);
+    private final RollingPercentiles totalNanos = new RollingPercentiles(WINDOW);
+    private final RollingPercentiles gpuNanos = new RollingPercentiles(WINDOW);
+    private final RollingPercentiles vertices = new RollingPercentiles(WINDOW);
+
+    private final GpuTimer gpuTimer = new GpuTimer();
+
+    private long frameStart;
+    private long submitStart;
+    private int frameVertices;
+    private int frameBoxes;
+    private int lastVertices;
+    private int lastBoxes;
+
+    private boolean hudVisible = false;
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // MEDICIÓN (hilo de render)
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Inicio del callback: recoge resultados de GPU ya disponibles y
+     * reinicia los contadores del frame.
+     */
+    public void beginFrame() {
+        gpuTimer.collect(gpuNanos);
+        frameVertices = 0;
+        frameBoxes = 0;
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * Fin de la construcción de vértices, justo antes de enviar el lote.
+     */
+    public void beginSubmit() {
+        submitStart = System.nanoTime();
+        gpuTimer.begin();
+    }
+
+    /**
+     * Fin del envío: registra las muestras del frame.
+     */
+    public void endFrame() {
+        gpuTimer.end();
+        long end = System.nanoTime();
+
+        buildNanos.add(submitStart - frameStart);
+        submitNanos.add(end - submitStart);
+        totalNanos.add(end - frameStart);
+        vertices.add(frameVertices);
+
+        lastVertices = frameVertices;
+        lastBoxes = frameBoxes;
+    }
+
+    public void countVertices(int count) {
+        frameVertices += count;
+    }
+
+    public void countBoxes(int count) {
+        frameBoxes += count;
+    }
+
+    public void reset() {
+        buildNanos.reset();
+        submitNanos.reset();
+        totalNanos.reset();
+        gpuNanos.reset();
+        vertices.reset();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // HUD Y RESUMEN
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Línea de depuración del HUD (registrada en ZoneRenderer.register).
+     */
+    public void renderHud(DrawContext drawContext, RenderTickCounter tickCounter) {
+        if (!hudVisible || totalNanos.count() == 0) {
+            return;
+        }
+
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.textRenderer == null) {
+            return;
+        }
+
+        String text = String.format(
+            "ZAM render: cpu %s/%s ms · gpu %s · %d vért · %d cajas",
+            millis(totalNanos.percentile(50)),
+            millis(totalNanos.percentile(95)),
+            gpuNanos.count() > 0
+                ? millis(gpuNanos.percentile(50)) + "/" + millis(gpuNanos.percentile(95)) + " ms"
+                : "n/d",
+            lastVertices,
+            lastBoxes
+        );
+        drawContext.drawTextWithShadow(client.textRenderer, text, 2, 2, HUD_COLOR);
+    }
+
+    /**
+     * Resumen para /zam render timing.
+     */
+    public String summary() {
+        return String.format(
+            "§6Tiempos de render (últimos %d frames, p50/p95/p99/máx):\n" +
+            "§7CPU total: §f%s\n" +
+            "§7CPU build: §f%s\n" +
+            "§7CPU submit: §f%s\n" +
+            "§7GPU: §f%s\n" +
+            "§7Vértices: §f%d §7(p95 %d) §7· Cajas: §f%d",
+            totalNanos.count(),
+            row(totalNanos),
+            row(buildNanos),
+            row(submitNanos),
+            gpuTimer.isSupported() && gpuNanos.count() > 0 ? row(gpuNanos) : "no disponible",
+            lastVertices,
+            vertices.percentile(95),
+            lastBoxes
+        );
+    }
+
+    public boolean toggleHud() {
+        hudVisible = !hudVisible;
+        return hudVisible;
+    }
+
+    private static String row(RollingPercentiles stats) {
+        return millis(stats.percentile(50)) + " / " + millis(stats.percentile(95)) + " / "
+            + millis(stats.percentile(99)) + " / " + millis(stats.max()) + " ms";
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // TEMPORIZADOR DE GPU
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Pares de timestamps (GL_TIMESTAMP) en un anillo de SLOTS frames.
+     *
+     * Se usan timestamps en lugar de GL_TIME_ELAPSED porque estos no se
+     * pueden anidar y el propio juego puede tener uno activo. Los resultados
+     * se consultan con GL_QUERY_RESULT_AVAILABLE para no detener el
+     * pipeline; si un hueco sigue pendiente, ese frame no se mide.
+     * Ante cualquier error de GL el temporizador se desactiva.
+     */
+    private static final class GpuTimer {
+        private static final int SLOTS = 4;
+
+        private final int[] startQueries = new int[SLOTS];
+        private final int[] endQueries = new int[SLOTS];
+        private final boolean[] pending = new boolean[SLOTS];
+
+        private boolean initialized = false;
+        private boolean supported = false;
+        private int slot = 0;
+        private boolean active = false;
+
+        void begin() {
+            if (!ensureInitialized() || pending[slot]) {
+                return;
+            }
+
+            try {
+                GL33.glQueryCounter(startQueries[slot], GL33.GL_TIMESTAMP);
+                active = true;
+            } catch (RuntimeException e) {
+                disable(e);
+            }
+        }
+
+        void end() {
+            if (!active) {
+                return;
+            }
+            active = false;
+
+            try {
+                GL33.glQueryCounter(endQueries[slot], GL33.GL_TIMESTAMP);
+                pending[slot] = true;
+                slot = (slot + 1) % SLOTS;
+            } catch (RuntimeException e) {
+                disable(e);
+            }
+        }
+
+        /**
+         * Lee los pares terminados y los añade a {@code out}.
+         */
+        void collect(RollingPercentiles out) {
+            if (!supported) {
+                return;
+            }
+
+            try {
+                for (int i = 0; i < SLOTS; i++) {
+                    if (!pending[i]
+                        || GL15.glGetQueryObjecti(endQueries[i], GL15.GL_QUERY_RESULT_AVAILABLE) == 0) {
+                        continue;
+                    }
+
+                    long start = GL33.glGetQueryObjecti64(startQueries[i], GL15.GL_QUERY_RESULT);
+                    long end = GL33.glGetQueryObjecti64(endQueries[i], GL15.GL_QUERY_RESULT);
+                    out.add(Math.max(0, end - start));
+                    pending[i] = false;
+                }
+            } catch (RuntimeException e) {
+                disable(e);
+            }
+        }
+
+        boolean isSupported() {
+            return supported;
+        }
+
+        private boolean ensureInitialized() {
+            if (initialized) {
+                return supported;
+            }
+            initialized = true;
+
+            try {
+                GLCapabilities caps = GL.getCapabilities();
+                if (caps == null || !(caps.OpenGL33 || caps.GL_ARB_timer_query)) {
+                    System.out.println("[RenderTimings] Timer queries de GPU no disponibles");
+                    return false;
+                }
+
+                for (int i = 0; i < SLOTS; i++) {
+                    startQueries[i] = GL15.glGenQueries();
+                    endQueries[i] = GL15.glGenQueries();
+                }
+                supported = true;
+                System.out.println("[RenderTimings] ✓ Timer queries de GPU activadas");
+            } catch (RuntimeException | LinkageError e) {
+                System.err.println("[RenderTimings] ✗ No se pudieron crear timer queries: " + e.getMessage());
+            }
+
+            return supported;
+        }
+
+        private void disable(Throwable e) {
+            System.err.println("[RenderTimings] ✗ Timer queries de GPU desactivadas: " + e.getMessage());
+            supported = false;
+            active = false;
+
+            try {
+                for (int i = 0; i < SLOTS; i++) {
+                    GL15.glDeleteQueries(startQueries[i]);
+                    GL15.glDeleteQueries(endQueries[i]);
+                }
+            } catch (RuntimeException ignored) {
+                // El contexto ya no es válido
+            }
+        }
+    }
+}
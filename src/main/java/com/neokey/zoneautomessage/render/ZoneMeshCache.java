@@ -0,0 +1,420 @@
+package com.neokey.zoneautomessage.render;
+
+import com.neokey.zoneautomessage.manager.ZoneManager;
+import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneShape;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║       ZONE MESH CACHE - Geometría Precalculada de Zonas por Secciones    ║
+ * ║                                                                          ║
+ * ║ Las zonas se agrupan en secciones de 256x256 bloques (según su centro). ║
+ * ║ Cada sección guarda sus aristas ya calculadas, relativas al origen de   ║
+ * ║ la sección, y solo se recalcula cuando ZoneManager informa de que una   ║
+ * ║ de sus zonas se creó, se eliminó o cambió de tamaño.                    ║
+ * ║                                                                          ║
+ * ║ Reconstrucción (como las secciones de chunks de Minecraft):             ║
+ * ║ 1. Hilo del cliente: copia los límites de las zonas de la sección       ║
+ * ║ 2. Hilo "Mesher": calcula las aristas a partir de la copia (12 por      ║
+ * ║    cuboide; esferas, cilindros y polígonos aportan su propio contorno)  ║
+ * ║ 3. Hilo de render: sustituye la malla al inicio del siguiente frame     ║
+ * ║ Mientras tanto se sigue dibujando la malla anterior. Los resultados     ║
+ * ║ obsoletos (la sección volvió a cambiar) se descartan por versión.       ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneMeshCache implements ZoneManager.ChangeListener {
+
+    private static final int SECTION_SHIFT = 8; // 256 bloques
+
+    private final ZoneManager zoneManager;
+    private final int color;
+
+    // Estado del hilo del cliente
+    private final Map<Long, MeshSection> sections = new HashMap<>();
+    private final Map<String, Long> sectionByZoneId = new HashMap<>();
+    private final Set<Long> dirtySections = new HashSet<>();
+
+    // Mallas terminadas por el mesher, pendientes de sustituir
+    private final ConcurrentLinkedQueue<BuiltMesh> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingBuilds = new AtomicInteger();
+
+    private final ExecutorService mesher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ZoneAutoMessage-Mesher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ZoneMeshCache(ZoneManager zoneManager, int color) {
+        this.zoneManager = zoneManager;
+        this.color = color;
+    }
+
+    /**
+     * Reubica las zonas cambiadas y marca sus secciones para reconstruir.
+     */
+    @Override
+    public void onZonesChanged(Collection<Zone> zones) {
+        for (Zone zone : zones) {
+            Long oldKey = sectionByZoneId.remove(zone.getZoneId());
+            if (oldKey != null) {
+                MeshSection oldSection = sections.get(oldKey);
+                if (oldSection != null) {
+                    oldSection.zones.remove(zone.getZoneId());
+                }
+                dirtySections.add(oldKey);
+            }
+
+            // Zona todavía registrada y de la dimensión activa: creada,
+            // redimensionada o de la dimensión a la que se acaba de entrar
+            if (zoneManager.getZoneById(zone.getZoneId()) == zone &&
+                    zoneManager.isInActiveDimension(zone)) {
+                long key = sectionKeyFor(zone);
+                sections.computeIfAbsent(key, MeshSection::new).zones.put(zone.getZoneId(), zone);
+                sectionByZoneId.put(zone.getZoneId(), key);
+                dirtySections.add(key);
+            }
+        }
+    }
+
+    /**
+     * Envía al mesher las secciones marcadas. Las secciones vacías se quitan
+     * al momento.
+     *
+     * @return Número de reconstrucciones programadas
+     */
+    public int scheduleDirtySections() {
+        if (dirtySections.isEmpty()) {
+            return 0;
+        }
+
+        int scheduled = 0;
+        for (long key : dirtySections) {
+            MeshSection section = sections.get(key);
+            if (section == null) {
+                continue;
+            }
+
+            if (section.zones.isEmpty()) {
+                sections.remove(key);
+                continue;
+            }
+
+            int version = ++section.version;
+            double originX = section.originX;
+            double originZ = section.originZ;
+            double[] bounds = section.snapshotBounds();
+            ZoneShape[] shapes = section.snapshotShapes();
+            String[] zoneIds = section.zones.keySet().toArray(new String[0]);
+
+            pendingBuilds.incrementAndGet();
+            mesher.execute(() -> {
+                try {
+                    completed.add(new BuiltMesh(key, version,
+                        MeshData.build(originX, originZ, bounds, shapes, zoneIds, color)));
+                } finally {
+                    pendingBuilds.decrementAndGet();
+                }
+            });
+            scheduled++;
+        }
+
+        dirtySections.clear();
+        return scheduled;
+    }
+
+    /**
+     * Sustituye las mallas terminadas. Llamar desde el hilo de render.
+     *
+     * @return Número de mallas sustituidas
+     */
+    public int swapCompletedMeshes() {
+        int swapped = 0;
+
+        BuiltMesh built;
+        while ((built = completed.poll()) != null) {
+            MeshSection section = sections.get(built.key);
+            if (section == null || section.version != built.version) {
+                continue; // Resultado obsoleto
+            }
+            section.mesh = built.mesh;
+            swapped++;
+        }
+
+        return swapped;
+    }
+
+    public Collection<MeshSection> getSections() {
+        return sections.values();
+    }
+
+    public MeshSection getSection(long key) {
+        return sections.get(key);
+    }
+
+    /**
+     * Clave de la sección de la zona, o null si no está en la caché.
+     */
+    public Long getSectionKey(String zoneId) {
+        return sectionByZoneId.get(zoneId);
+    }
+
+    public int getPendingBuilds() {
+        return pendingBuilds.get();
+    }
+
+    private static long sectionKeyFor(Zone zone) {
+        int centerX = (int) Math.floor((zone.getMinX() + zone.getMaxX()) / 2.0);
+        int centerZ = (int) Math.floor((zone.getMinZ() + zone.getMaxZ()) / 2.0);
+        return (long) (centerX >> SECTION_SHIFT) << 32 | ((centerZ >> SECTION_SHIFT) & 0xFFFFFFFFL);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════
+    // SECCIÓN Y MALLA
+    // ═══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Sección de 256x256 bloques. {@code mesh} es la malla visible (null
+     * hasta que termine la primera construcción).
+     */
+    public static final class MeshSection {
+        public final double originX;
+        public final double originZ;
+        public MeshData mesh;
+
+        final Map<String, Zone> zones = new LinkedHashMap<>();
+        int version = 0;
+
+        MeshSection(long key) {
+            this.originX = (double) ((int) (key >> 32) << SECTION_SHIFT);
+            this.originZ = (double) ((int) key << SECTION_SHIFT);
+        }
+
+        /**
+         * Copia los límites de las zonas (6 valores por zona) para que el
+         * mesher no lea objetos Zone que el hilo del cliente puede modificar.
+         * Los cuboides cubren el bloque máximo (+1); las formas usan su caja
+         * envolvente exacta.
+         */
+        double[] snapshotBounds() {
+            double[] bounds = new double[zones.size() * 6];
+            int i = 0;
+            for (Zone zone : zones.values()) {
+                double pad = zone.getShape() == null ? 1 : 0;
+                bounds[i++] = zone.getMinX();
+                bounds[i++] = zone.getMinY();
+                bounds[i++] = zone.getMinZ();
+                bounds[i++] = zone.getMaxX() + pad;
+                bounds[i++] = zone.getMaxY() + pad;
+                bounds[i++] = zone.getMaxZ() + pad;
+            }
+            return bounds;
+        }
+
+        /**
+         * Formas de las zonas en el mismo orden (null = cuboide). Son
+         * inmutables, así que basta con copiar las referencias.
+         */
+        ZoneShape[] snapshotShapes() {
+            ZoneShape[] shapes = new ZoneShape[zones.size()];
+            int i = 0;
+            for (Zone zone : zones.values()) {
+                shapes[i++] = zone.getShape();
+            }
+            return shapes;
+        }
+    }
+
+    /**
+     * Malla inmutable de una sección. Cada línea ocupa 6 floats (extremo A y
+     * extremo B) relativos a (originX, 0, originZ). Las líneas de cada zona
+     * son consecutivas, de {@code zoneLineStart[i]} a {@code zoneLineStart[i + 1]}
+     * (12 para un cuboide, más para las formas), y sus límites absolutos
+     * están en {@code zoneBounds}.
+     *
+     * {@code lineAxes}: 0/1/2 = arista paralela a X/Y/Z; AXIS_DIAGONAL = otra
+     * dirección (contornos de formas), cuya normal se calcula al dibujar.
+     */
+    public static final class MeshData {
+        public static final int AXIS_DIAGONAL = 3;
+
+        public final float[] lines;
+        public final int[] lineColors;
+        public final byte[] lineAxes;
+        public final int lineCount;
+        public final int zoneCount;
+        public final int[] zoneLineStart;
+
+        // Límites absolutos de cada zona (6 valores por zona, para LOD)
+        public final double[] zoneBounds;
+
+        // ID de cada zona, en el mismo orden (presupuesto de renderizado)
+        public final String[] zoneIds;
+        private final Map<String, Integer> zoneIndexById;
+
+        // Límites reales de las zonas (para culling)
+        public final double minX, minY, minZ;
+        public final double maxX, maxY, maxZ;
+
+        private MeshData(float[] lines, int[] lineColors, byte[] lineAxes, int[] zoneLineStart,
+                         double[] zoneBounds, String[] zoneIds, double[] box) {
+            this.lines = lines;
+            this.lineColors = lineColors;
+            this.lineAxes = lineAxes;
+            this.lineCount = lineAxes.length;
+            this.zoneCount = zoneBounds.length / 6;
+            this.zoneLineStart = zoneLineStart;
+            this.zoneBounds = zoneBounds;
+            this.zoneIds = zoneIds;
+            this.zoneIndexById = new HashMap<>(zoneIds.length * 2);
+            for (int i = 0; i < zoneIds.length; i++) {
+                zoneIndexById.put(zoneIds[i], i);
+            }
+            this.minX = box[0];
+            this.minY = box[1];
+            this.minZ = box[2];
+            this.maxX = box[3];
+            this.maxY = box[4];
+            this.maxZ = box[5];
+        }
+
+        /**
+         * Índice de la zona en esta malla, o -1 si no está.
+         */
+        public int indexOf(String zoneId) {
+            Integer index = zoneIndexById.get(zoneId);
+            return index != null ? index : -1;
+        }
+
+        /**
+         * Construye la malla a partir de los límites y formas copiados. Se
+         * ejecuta en el hilo del mesher.
+         */
+        static MeshData build(double originX, double originZ, double[] bounds, ZoneShape[] shapes,
+                              String[] zoneIds, int color) {
+            int zoneCount = bounds.length / 6;
+            LineBuilder builder = new LineBuilder(originX, originZ, zoneCount * 12);
+            int[] zoneLineStart = new int[zoneCount + 1];
+
+            double[] box = {
+                Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+                -Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE
+            };
+
+            for (int zone = 0; zone < zoneCount; zone++) {
+                int b = zone * 6;
+                zoneLineStart[zone] = builder.count;
+
+                if (shapes[zone] != null) {
+                    shapes[zone].outline(builder);
+                } else {
+                    builder.box(bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3], bounds[b + 4], bounds[b + 5]);
+                }
+
+                for (int i = 0; i < 3; i++) {
+                    box[i] = Math.min(box[i], bounds[b + i]);
+                    box[i + 3] = Math.max(box[i + 3], bounds[b + 3 + i]);
+                }
+            }
+            zoneLineStart[zoneCount] = builder.count;
+
+            float[] lines = Arrays.copyOf(builder.lines, builder.count * 6);
+            byte[] axes = Arrays.copyOf(builder.axes, builder.count);
+            int[] colors = new int[builder.count];
+            Arrays.fill(colors, color);
+            return new MeshData(lines, colors, axes, zoneLineStart, bounds, zoneIds, box);
+        }
+    }
+
+    /**
+     * Acumula líneas relativas al origen de la sección; crece según haga falta
+     * (las formas no tienen un número fijo de aristas).
+     */
+    private static final class LineBuilder implements ZoneShape.OutlineConsumer {
+        final double originX;
+        final double originZ;
+        float[] lines;
+        byte[] axes;
+        int count = 0;
+
+        LineBuilder(double originX, double originZ, int capacity) {
+            this.originX = originX;
+            this.originZ = originZ;
+            this.lines = new float[Math.max(1, capacity) * 6];
+            this.axes = new byte[Math.max(1, capacity)];
+        }
+
+        void box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            float x0 = (float) (minX - originX);
+            float y0 = (float) minY;
+            float z0 = (float) (minZ - originZ);
+            float x1 = (float) (maxX - originX);
+            float y1 = (float) maxY;
+            float z1 = (float) (maxZ - originZ);
+
+            put(x0, y0, z0, x1, y0, z0, 0);
+            put(x0, y1, z0, x1, y1, z0, 0);
+            put(x0, y0, z1, x1, y0, z1, 0);
+            put(x0, y1, z1, x1, y1, z1, 0);
+
+            put(x0, y0, z0, x0, y1, z0, 1);
+            put(x1, y0, z0, x1, y1, z0, 1);
+            put(x0, y0, z1, x0, y1, z1, 1);
+            put(x1, y0, z1, x1, y1, z1, 1);
+
+            put(x0, y0, z0, x0, y0, z1, 2);
+            put(x1, y0, z0, x1, y0, z1, 2);
+            put(x0, y1, z0, x0, y1, z1, 2);
+            put(x1, y1, z0, x1, y1, z1, 2);
+        }
+
+        @Override
+        public void line(double xa, double ya, double za, double xb, double yb, double zb) {
+            boolean sameX = xa == xb;
+            boolean sameY = ya == yb;
+            boolean sameZ = za == zb;
+            int axis = sameY && sameZ ? 0 : sameX && sameZ ? 1 : sameX && sameY ? 2 : MeshData.AXIS_DIAGONAL;
+
+            put((float) (xa - originX), (float) ya, (float) (za - originZ),
+                (float) (xb - originX), (float) yb, (float) (zb - originZ), axis);
+        }
+
+        private void put(float xa, float ya, float za, float xb, float yb, float zb, int axis) {
+            if (count == axes.length) {
+                lines = Arrays.copyOf(lines, lines.length * 2);
+                axes = Arrays.copyOf(axes, axes.length * 2);
+            }
+            int i = count * 6;
+            lines[i] = xa;
+            lines[i + 1] = ya;
+            lines[i + 2] = za;
+            lines[i + 3] = xb;
+            lines[i + 4] = yb;
+            lines[i + 5] = zb;
+            axes[count] = (byte) axis;
+            count++;
+        }
+    }
+
+    /**
+     * Resultado del mesher, etiquetado con la versión de la sección.
+     */
+    private static final class BuiltMesh {
+        final long key;
+        final int version;
+        final MeshData mesh;
+
+        BuiltMesh(long key, int version, MeshData mesh) {
+            this.key = key;
+            this.version = version;
+            this.mesh = mesh;
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.neokey.zoneautomessage.render;
 
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
 import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.hud.HudElementRegistry;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.*;
 import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
-import org.joml.Matrix4f;
 import com.neokey.zoneautomessage.ZoneAutoMessageMod;
 import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneTags;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * ╔══════════════════════════════════════════════════════════════════════════╗
@@ -21,6 +29,19 @@ import com.neokey.zoneautomessage.zone.Zone;
  * ║ - Diferentes colores para zonas/selecciones                             ║
  * ║ - Renderiza cajas con líneas                                            ║
  * ║ - Sistema optimizado para no afectar FPS                                ║
+ * ║ - Descarta zonas lejanas (distancia máxima) y fuera del frustum         ║
+ * ║ - Un solo lote de líneas por frame (color por vértice)                  ║
+ * ║ - Geometría de zonas en caché; solo se recalcula al cambiar las zonas   ║
+ * ║   (en un hilo aparte, sin tirones tras importar o recargar)             ║
+ * ║ - Nivel de detalle (LOD):                                               ║
+ * ║   · Cerca: contorno + rejilla en las paredes próximas al jugador        ║
+ * ║     (parche acotado alrededor de la cámara, tamaño fijo)                ║
+ * ║   · Media distancia: solo contorno                                      ║
+ * ║   · Lejos o diminutas en pantalla: no se dibujan                        ║
+ * ║ - Presupuesto: solo las N zonas más relevantes (dentro → más cercanas), ║
+ * ║   recalculadas cada pocos ticks; cada frame recorre solo esas N         ║
+ * ║ - Medición del coste por frame (CPU, GPU, vértices) con RenderTimings   ║
+ * ║ - Filtro opcional por etiqueta (/zam render tag): test de un bit        ║
  * ║                                                                          ║
  * ║ SIMPLIFICADO PARA MC 1.21.8 - Solo líneas, sin caras                    ║
  * ║ Autor: NeoKey                                                           ║
@@ -29,23 +50,81 @@ import com.neokey.zoneautomessage.zone.Zone;
 public class ZoneRenderer {
 
     private static final MinecraftClient CLIENT = MinecraftClient.getInstance();
-    
-    // Colores para renderizado (RGBA)
+
+    // Colores para renderizado (ARGB)
     private static final int ZONE_COLOR = 0x4000FF00; // Verde semitransparente
     private static final int SELECTION_COLOR = 0x60FF0000; // Rojo semitransparente
     private static final int POINT1_COLOR = 0xFFFF0000; // Rojo brillante
     private static final int POINT2_COLOR = 0xFF0000FF; // Azul brillante
-    
+    private static final int POLYGON_COLOR = 0xFFFFAA00; // Naranja (vértices de /zam polygon)
+
+    // Distancia máxima de renderizado (configurable con /zam render distance)
+    public static final int MIN_RENDER_DISTANCE = 16;
+    public static final int MAX_RENDER_DISTANCE = 4096;
+    private static int maxRenderDistance = 256;
+
+    // Etiqueta a dibujar (-1 = todas)
+    private static int renderTag = -1;
+
+    // Estadísticas del último frame (zonas dibujadas / zonas cargadas)
+    private static int lastDrawnZones = 0;
+    private static int lastTotalZones = 0;
+
+    // Aristas precalculadas de las zonas, por secciones
+    private static ZoneMeshCache meshCache;
+
+    // LOD: rejilla de paredes cercanas
+    private static final int GRID_COLOR = 0x8000FF00;
+    private static final double GRID_DISTANCE = 32.0;  // Distancia máxima a la pared
+    private static final double GRID_RADIUS = 16.0;    // Medio lado del parche de rejilla
+    private static final double GRID_STEP = 2.0;       // Separación entre líneas
+    private static final int MAX_GRID_ZONES = 8;       // Zonas cercanas con rejilla
+
+    // LOD: tamaño aparente mínimo (diagonal / distancia) para dibujar una zona
+    private static final double MIN_ANGULAR_SIZE = 0.02;
+
+    private static final List<Zone> nearbyZones = new ArrayList<>();
+    private static int lastGridLines = 0;
+
+    // Presupuesto: N zonas más relevantes alrededor del jugador
+    private static final NearestZoneSelector zoneSelector = new NearestZoneSelector();
+
+    // Tiempos y contadores por frame (/zam render timing, HUD)
+    private static final RenderTimings timings = new RenderTimings();
+
     /**
      * Registra el renderizador en el event loop de Fabric.
      */
     public static void register() {
+        meshCache = new ZoneMeshCache(ZoneAutoMessageMod.getZoneManager(), ZONE_COLOR);
+        ZoneAutoMessageMod.getZoneManager().addChangeListener(meshCache);
+
+        ClientTickEvents.END_CLIENT_TICK.register(ZoneRenderer::updateZoneBudget);
         WorldRenderEvents.AFTER_TRANSLUCENT.register(ZoneRenderer::renderZonesAndSelection);
+        HudElementRegistry.addLast(Identifier.of(ZoneAutoMessageMod.MOD_ID, "render_timings"), timings::renderHud);
         System.out.println("[ZoneRenderer] ✓ Renderizador 3D registrado");
     }
 
+    /**
+     * Recalcula (cada pocos ticks) qué zonas entran en el presupuesto.
+     */
+    private static void updateZoneBudget(MinecraftClient client) {
+        if (client.player == null || !ZoneAutoMessageMod.isModEnabled()) {
+            return;
+        }
+
+        zoneSelector.tick(
+            ZoneAutoMessageMod.getZoneManager(), meshCache,
+            client.player.getX(), client.player.getY(), client.player.getZ(),
+            maxRenderDistance
+        );
+    }
+
     /**
      * Renderiza todas las zonas y la selección actual.
+     *
+     * Todas las cajas se escriben en el mismo buffer de la capa de líneas y
+     * se envían con una sola llamada de dibujo al final.
      */
     private static void renderZonesAndSelection(WorldRenderContext context) {
         if (CLIENT.player == null || CLIENT.world == null) {
@@ -56,56 +135,317 @@ public class ZoneRenderer {
             return;
         }
 
-        MatrixStack matrices = context.matrixStack();
-        Camera camera = context.camera();
-        Vec3d cameraPos = camera.getPos();
+        VertexConsumerProvider consumers = context.consumers();
+        if (consumers == null) {
+            return;
+        }
 
-        // Preparar renderizado
-        matrices.push();
-        matrices.translate(-cameraPos.x, -cameraPos.y, -cameraPos.z);
+        timings.beginFrame();
 
-        // Renderizar todas las zonas guardadas
-        for (Zone zone : ZoneAutoMessageMod.getZoneManager().getAllZones()) {
-            renderZone(matrices, zone);
-        }
+        MatrixStack.Entry entry = context.matrixStack().peek();
+        Vec3d cameraPos = context.camera().getPos();
+        VertexConsumer lines = consumers.getBuffer(RenderLayer.getLines());
+
+        // Renderizar solo las zonas cercanas y dentro del campo de visión
+        renderVisibleZones(lines, entry, context.frustum(), cameraPos);
+
+        // Rejilla en las paredes de zonas cercanas
+        renderNearbyWallGrids(lines, entry, cameraPos);
 
         // Renderizar selección activa (si existe)
-        renderActiveSelection(matrices);
+        renderActiveSelection(lines, entry, cameraPos);
+
+        // Enviar el lote completo de líneas en una sola llamada
+        timings.beginSubmit();
+        if (consumers instanceof VertexConsumerProvider.Immediate immediate) {
+            immediate.draw(RenderLayer.getLines());
+        }
+        timings.endFrame();
+    }
+
+    /**
+     * Copia al buffer las secciones en caché que están dentro de la
+     * distancia máxima y del frustum de la cámara. Las secciones cuyas
+     * zonas cambiaron se envían al mesher y las mallas terminadas se
+     * sustituyen aquí; hasta entonces se dibuja la anterior.
+     *
+     * Con presupuesto solo se visitan las secciones y zonas elegidas por
+     * NearestZoneSelector, así el trabajo por frame está acotado por N.
+     */
+    private static void renderVisibleZones(VertexConsumer lines, MatrixStack.Entry entry,
+                                           Frustum frustum, Vec3d cameraPos) {
+        meshCache.scheduleDirtySections();
+        meshCache.swapCompletedMeshes();
+
+        double maxDistanceSq = (double) maxRenderDistance * maxRenderDistance;
+        int drawn = 0;
+
+        if (zoneSelector.isUnlimited()) {
+            for (ZoneMeshCache.MeshSection section : meshCache.getSections()) {
+                ZoneMeshCache.MeshData mesh = section.mesh;
+                if (isSectionVisible(mesh, frustum, cameraPos, maxDistanceSq)) {
+                    drawn += renderSection(lines, entry, cameraPos, section, mesh, null, mesh.zoneCount);
+                }
+            }
+        } else {
+            for (NearestZoneSelector.SectionSelection selection : zoneSelector.getSelectedSections()) {
+                ZoneMeshCache.MeshSection section = meshCache.getSection(selection.sectionKey);
+                if (section == null) {
+                    continue; // Sección vaciada desde la última selección
+                }
+                ZoneMeshCache.MeshData mesh = section.mesh;
+                if (isSectionVisible(mesh, frustum, cameraPos, maxDistanceSq)) {
+                    int[] indices = selection.indicesFor(mesh);
+                    drawn += renderSection(lines, entry, cameraPos, section, mesh, indices, indices.length);
+                }
+            }
+        }
 
-        matrices.pop();
+        lastDrawnZones = drawn;
+        timings.countBoxes(drawn);
+        lastTotalZones = ZoneAutoMessageMod.getZoneManager().getZoneCount();
     }
 
     /**
-     * Renderiza una zona específica.
+     * Culling de sección completa: malla construida, dentro de la distancia
+     * máxima y del frustum.
      */
-    private static void renderZone(MatrixStack matrices, Zone zone) {
-        double minX = zone.getMinX();
-        double minY = zone.getMinY();
-        double minZ = zone.getMinZ();
-        double maxX = zone.getMaxX() + 1;
-        double maxY = zone.getMaxY() + 1;
-        double maxZ = zone.getMaxZ() + 1;
+    private static boolean isSectionVisible(ZoneMeshCache.MeshData mesh, Frustum frustum,
+                                            Vec3d cameraPos, double maxDistanceSq) {
+        if (mesh == null) {
+            return false; // Primera construcción aún en curso
+        }
+
+        double dx = Math.max(mesh.minX - cameraPos.x, Math.max(cameraPos.x - mesh.maxX, 0));
+        double dy = Math.max(mesh.minY - cameraPos.y, Math.max(cameraPos.y - mesh.maxY, 0));
+        double dz = Math.max(mesh.minZ - cameraPos.z, Math.max(cameraPos.z - mesh.maxZ, 0));
+        if (dx * dx + dy * dy + dz * dz > maxDistanceSq) {
+            return false;
+        }
+
+        return frustum == null || frustum.isVisible(new Box(
+            mesh.minX, mesh.minY, mesh.minZ,
+            mesh.maxX, mesh.maxY, mesh.maxZ));
+    }
+
+    /**
+     * Copia las aristas de una sección desplazadas al espacio de la cámara,
+     * omitiendo las zonas demasiado lejanas o pequeñas en pantalla.
+     *
+     * @param indices Zonas de la malla a recorrer (null = las {@code count} primeras)
+     * @return Número de zonas dibujadas
+     */
+    private static int renderSection(VertexConsumer lines, MatrixStack.Entry entry, Vec3d cameraPos,
+                                     ZoneMeshCache.MeshSection section, ZoneMeshCache.MeshData mesh,
+                                     int[] indices, int count) {
+        float ox = (float) (section.originX - cameraPos.x);
+        float oy = (float) -cameraPos.y;
+        float oz = (float) (section.originZ - cameraPos.z);
+
+        double maxDistanceSq = (double) maxRenderDistance * maxRenderDistance;
+        double[] bounds = mesh.zoneBounds;
+        float[] data = mesh.lines;
+        int drawn = 0;
+
+        for (int n = 0; n < count; n++) {
+            int zone = indices != null ? indices[n] : n;
+            int b = zone * 6;
+            double dx = Math.max(bounds[b] - cameraPos.x, Math.max(cameraPos.x - bounds[b + 3], 0));
+            double dy = Math.max(bounds[b + 1] - cameraPos.y, Math.max(cameraPos.y - bounds[b + 4], 0));
+            double dz = Math.max(bounds[b + 2] - cameraPos.z, Math.max(cameraPos.z - bounds[b + 5], 0));
+            double distanceSq = dx * dx + dy * dy + dz * dz;
+            if (distanceSq > maxDistanceSq) {
+                continue;
+            }
+            if (renderTag >= 0 && !hasRenderTag(ZoneAutoMessageMod.getZoneManager().getZoneById(mesh.zoneIds[zone]))) {
+                continue;
+            }
 
-        renderBox(matrices, minX, minY, minZ, maxX, maxY, maxZ, ZONE_COLOR);
+            // Comparación al cuadrado: diagonal² < (tamaño mínimo · distancia)²
+            double sx = bounds[b + 3] - bounds[b];
+            double sy = bounds[b + 4] - bounds[b + 1];
+            double sz = bounds[b + 5] - bounds[b + 2];
+            if (sx * sx + sy * sy + sz * sz < MIN_ANGULAR_SIZE * MIN_ANGULAR_SIZE * distanceSq) {
+                continue;
+            }
+
+            for (int i = mesh.zoneLineStart[zone]; i < mesh.zoneLineStart[zone + 1]; i++) {
+                int j = i * 6;
+                int axis = mesh.lineAxes[i];
+                float nx = axis == 0 ? 1 : 0;
+                float ny = axis == 1 ? 1 : 0;
+                float nz = axis == 2 ? 1 : 0;
+
+                // Contornos de formas: la normal de línea es su dirección
+                if (axis == ZoneMeshCache.MeshData.AXIS_DIAGONAL) {
+                    nx = data[j + 3] - data[j];
+                    ny = data[j + 4] - data[j + 1];
+                    nz = data[j + 5] - data[j + 2];
+                    float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+                    if (length > 0) {
+                        nx /= length;
+                        ny /= length;
+                        nz /= length;
+                    }
+                }
+
+                line(lines, entry,
+                    data[j] + ox, data[j + 1] + oy, data[j + 2] + oz,
+                    data[j + 3] + ox, data[j + 4] + oy, data[j + 5] + oz,
+                    mesh.lineColors[i], nx, ny, nz);
+            }
+            drawn++;
+        }
+
+        return drawn;
+    }
+
+    /**
+     * Dibuja una rejilla en las paredes de las zonas más cercanas, solo en
+     * un parche de GRID_RADIUS alrededor de la cámara. El número de líneas
+     * por pared está acotado, sea cual sea el tamaño de la zona.
+     */
+    private static void renderNearbyWallGrids(VertexConsumer lines, MatrixStack.Entry entry, Vec3d cameraPos) {
+        nearbyZones.clear();
+        ZoneAutoMessageMod.getZoneManager().getZonesInBox(
+            cameraPos.x - GRID_DISTANCE, cameraPos.y - GRID_DISTANCE, cameraPos.z - GRID_DISTANCE,
+            cameraPos.x + GRID_DISTANCE, cameraPos.y + GRID_DISTANCE, cameraPos.z + GRID_DISTANCE,
+            nearbyZones
+        );
+
+        // Solo las MAX_GRID_ZONES más cercanas
+        if (nearbyZones.size() > MAX_GRID_ZONES) {
+            nearbyZones.sort(Comparator.comparingDouble(
+                zone -> zone.getDistanceToZone(cameraPos.x, cameraPos.y, cameraPos.z)));
+        }
+
+        int gridLines = 0;
+        int zones = 0;
+        double[] box = new double[6];
+        double[] cam = {cameraPos.x, cameraPos.y, cameraPos.z};
+
+        for (Zone zone : nearbyZones) {
+            if (zones++ >= MAX_GRID_ZONES) {
+                break;
+            }
+
+            // La rejilla sigue las paredes del cuboide; las formas solo llevan contorno
+            if (zone.getShape() != null || !hasRenderTag(zone)) {
+                continue;
+            }
+
+            box[0] = zone.getMinX();
+            box[1] = zone.getMinY();
+            box[2] = zone.getMinZ();
+            box[3] = zone.getMaxX() + 1;
+            box[4] = zone.getMaxY() + 1;
+            box[5] = zone.getMaxZ() + 1;
+
+            // Las 6 paredes: eje perpendicular + valor del plano
+            for (int axis = 0; axis < 3; axis++) {
+                gridLines += renderWallGrid(lines, entry, cam, box, axis, box[axis]);
+                gridLines += renderWallGrid(lines, entry, cam, box, axis, box[axis + 3]);
+            }
+        }
+
+        lastGridLines = gridLines;
+    }
+
+    /**
+     * Rejilla sobre la pared perpendicular a {@code axis} en {@code plane}.
+     * Las líneas se alinean a múltiplos de GRID_STEP en coordenadas del mundo
+     * para que no se desplacen al moverse la cámara.
+     *
+     * @return Número de líneas emitidas
+     */
+    private static int renderWallGrid(VertexConsumer lines, MatrixStack.Entry entry, double[] cam,
+                                      double[] box, int axis, double plane) {
+        double planeDistance = Math.abs(cam[axis] - plane);
+        if (planeDistance > GRID_DISTANCE) {
+            return 0;
+        }
+
+        int u = (axis + 1) % 3;
+        int v = (axis + 2) % 3;
+
+        double uMin = Math.max(box[u], cam[u] - GRID_RADIUS);
+        double uMax = Math.min(box[u + 3], cam[u] + GRID_RADIUS);
+        double vMin = Math.max(box[v], cam[v] - GRID_RADIUS);
+        double vMax = Math.min(box[v + 3], cam[v] + GRID_RADIUS);
+        if (uMin >= uMax || vMin >= vMax) {
+            return 0;
+        }
+
+        // Se desvanece al alejarse de la pared
+        int alpha = (int) (((GRID_COLOR >>> 24) & 0xFF) * (1.0 - planeDistance / GRID_DISTANCE));
+        int color = (alpha << 24) | (GRID_COLOR & 0x00FFFFFF);
+
+        float[] a = new float[3];
+        float[] b = new float[3];
+        a[axis] = b[axis] = (float) (plane - cam[axis]);
+        int emitted = 0;
+
+        // Líneas a lo largo de V (una por cada paso en U)
+        for (double p = Math.ceil(uMin / GRID_STEP) * GRID_STEP; p <= uMax; p += GRID_STEP) {
+            a[u] = b[u] = (float) (p - cam[u]);
+            a[v] = (float) (vMin - cam[v]);
+            b[v] = (float) (vMax - cam[v]);
+            line(lines, entry, a[0], a[1], a[2], b[0], b[1], b[2], color,
+                v == 0 ? 1 : 0, v == 1 ? 1 : 0, v == 2 ? 1 : 0);
+            emitted++;
+        }
+
+        // Líneas a lo largo de U (una por cada paso en V)
+        for (double p = Math.ceil(vMin / GRID_STEP) * GRID_STEP; p <= vMax; p += GRID_STEP) {
+            a[v] = b[v] = (float) (p - cam[v]);
+            a[u] = (float) (uMin - cam[u]);
+            b[u] = (float) (uMax - cam[u]);
+            line(lines, entry, a[0], a[1], a[2], b[0], b[1], b[2], color,
+                u == 0 ? 1 : 0, u == 1 ? 1 : 0, u == 2 ? 1 : 0);
+            emitted++;
+        }
+
+        return emitted;
     }
 
     /**
      * Renderiza la selección activa del jugador (con palo).
      */
-    private static void renderActiveSelection(MatrixStack matrices) {
+    private static void renderActiveSelection(VertexConsumer lines, MatrixStack.Entry entry, Vec3d cameraPos) {
         var selectionManager = ZoneAutoMessageMod.getSelectionManager();
-        
+
         BlockPos pos1 = selectionManager.getPosition1();
         BlockPos pos2 = selectionManager.getPosition2();
 
         // Renderizar punto 1 (si existe)
         if (pos1 != null) {
-            renderPoint(matrices, pos1, POINT1_COLOR);
+            renderPoint(lines, entry, cameraPos, pos1, POINT1_COLOR);
         }
 
         // Renderizar punto 2 (si existe)
         if (pos2 != null) {
-            renderPoint(matrices, pos2, POINT2_COLOR);
+            renderPoint(lines, entry, cameraPos, pos2, POINT2_COLOR);
+        }
+
+        // Vértices del polígono en construcción, unidos en orden (y cerrado)
+        List<BlockPos> polygon = selectionManager.getPolygonPoints();
+        for (int i = 0; i < polygon.size(); i++) {
+            BlockPos a = polygon.get(i);
+            renderPoint(lines, entry, cameraPos, a, POLYGON_COLOR);
+
+            if (polygon.size() > 1 && (i + 1 < polygon.size() || polygon.size() > 2)) {
+                BlockPos b = polygon.get((i + 1) % polygon.size());
+                float dx = b.getX() - a.getX();
+                float dy = b.getY() - a.getY();
+                float dz = b.getZ() - a.getZ();
+                float length = Math.max(1e-6f, (float) Math.sqrt(dx * dx + dy * dy + dz * dz));
+                line(lines, entry,
+                    (float) (a.getX() + 0.5 - cameraPos.x), (float) (a.getY() + 0.5 - cameraPos.y),
+                    (float) (a.getZ() + 0.5 - cameraPos.z),
+                    (float) (b.getX() + 0.5 - cameraPos.x), (float) (b.getY() + 0.5 - cameraPos.y),
+                    (float) (b.getZ() + 0.5 - cameraPos.z),
+                    POLYGON_COLOR, dx / length, dy / length, dz / length);
+            }
         }
 
         // Renderizar caja de selección (si ambos puntos existen)
@@ -117,44 +457,123 @@ public class ZoneRenderer {
             double maxY = Math.max(pos1.getY(), pos2.getY()) + 1;
             double maxZ = Math.max(pos1.getZ(), pos2.getZ()) + 1;
 
-            renderBox(matrices, minX, minY, minZ, maxX, maxY, maxZ, SELECTION_COLOR);
+            renderBox(lines, entry, cameraPos, minX, minY, minZ, maxX, maxY, maxZ, SELECTION_COLOR);
         }
     }
 
     /**
      * Renderiza un punto específico (bloque destacado).
      */
-    private static void renderPoint(MatrixStack matrices, BlockPos pos, int color) {
+    private static void renderPoint(VertexConsumer lines, MatrixStack.Entry entry, Vec3d cameraPos,
+                                    BlockPos pos, int color) {
         double x = pos.getX();
         double y = pos.getY();
         double z = pos.getZ();
 
-        renderBox(matrices, x, y, z, x + 1, y + 1, z + 1, color);
+        renderBox(lines, entry, cameraPos, x, y, z, x + 1, y + 1, z + 1, color);
     }
 
     /**
-     * Renderiza un cubo 3D usando WorldRenderer.drawBox.
-     * SIMPLIFICADO: Usa el método nativo de Minecraft para dibujar cajas.
+     * Escribe las 12 aristas de una caja en el buffer de líneas.
+     *
+     * Las coordenadas se pasan relativas a la cámara (resta en double) para
+     * no perder precisión al convertirlas a float lejos del origen.
      */
-    private static void renderBox(MatrixStack matrices, double minX, double minY, double minZ,
-                                   double maxX, double maxY, double maxZ, int color) {
-        
-        // Extraer componentes ARGB del color
-        float a = ((color >> 24) & 0xFF) / 255.0f;
-        float r = ((color >> 16) & 0xFF) / 255.0f;
-        float g = ((color >> 8) & 0xFF) / 255.0f;
-        float b = (color & 0xFF) / 255.0f;
-
-        // Usar el método nativo de Minecraft para dibujar líneas de caja
-        WorldRenderer.drawBox(
-            matrices,
-            Tessellator.getInstance().begin(
-                VertexFormat.Mode.DEBUG_LINES,
-                VertexFormats.POSITION_COLOR
-            ),
-            minX, minY, minZ,
-            maxX, maxY, maxZ,
-            r, g, b, a
-        );
+    private static void renderBox(VertexConsumer lines, MatrixStack.Entry entry, Vec3d cameraPos,
+                                  double minX, double minY, double minZ,
+                                  double maxX, double maxY, double maxZ, int color) {
+        float x0 = (float) (minX - cameraPos.x);
+        float y0 = (float) (minY - cameraPos.y);
+        float z0 = (float) (minZ - cameraPos.z);
+        float x1 = (float) (maxX - cameraPos.x);
+        float y1 = (float) (maxY - cameraPos.y);
+        float z1 = (float) (maxZ - cameraPos.z);
+        timings.countBoxes(1);
+
+        // Aristas paralelas a X
+        line(lines, entry, x0, y0, z0, x1, y0, z0, color, 1, 0, 0);
+        line(lines, entry, x0, y1, z0, x1, y1, z0, color, 1, 0, 0);
+        line(lines, entry, x0, y0, z1, x1, y0, z1, color, 1, 0, 0);
+        line(lines, entry, x0, y1, z1, x1, y1, z1, color, 1, 0, 0);
+
+        // Aristas paralelas a Y
+        line(lines, entry, x0, y0, z0, x0, y1, z0, color, 0, 1, 0);
+        line(lines, entry, x1, y0, z0, x1, y1, z0, color, 0, 1, 0);
+        line(lines, entry, x0, y0, z1, x0, y1, z1, color, 0, 1, 0);
+        line(lines, entry, x1, y0, z1, x1, y1, z1, color, 0, 1, 0);
+
+        // Aristas paralelas a Z
+        line(lines, entry, x0, y0, z0, x0, y0, z1, color, 0, 0, 1);
+        line(lines, entry, x1, y0, z0, x1, y0, z1, color, 0, 0, 1);
+        line(lines, entry, x0, y1, z0, x0, y1, z1, color, 0, 0, 1);
+        line(lines, entry, x1, y1, z0, x1, y1, z1, color, 0, 0, 1);
+    }
+
+    /**
+     * Emite un segmento (dos vértices con color y normal de línea).
+     */
+    private static void line(VertexConsumer lines, MatrixStack.Entry entry,
+                             float xa, float ya, float za, float xb, float yb, float zb,
+                             int color, float nx, float ny, float nz) {
+        lines.vertex(entry, xa, ya, za).color(color).normal(entry, nx, ny, nz);
+        lines.vertex(entry, xb, yb, zb).color(color).normal(entry, nx, ny, nz);
+        timings.countVertices(2);
+    }
+
+    /**
+     * Cambia la distancia máxima de renderizado (en bloques).
+     */
+    public static void setMaxRenderDistance(int distance) {
+        maxRenderDistance = Math.max(MIN_RENDER_DISTANCE, Math.min(MAX_RENDER_DISTANCE, distance));
+        System.out.println("[ZoneRenderer] Distancia de renderizado: " + maxRenderDistance);
+    }
+
+    public static int getMaxRenderDistance() {
+        return maxRenderDistance;
+    }
+
+    /**
+     * Dibuja solo las zonas con esa etiqueta (-1 = todas).
+     */
+    public static void setRenderTag(int tag) {
+        renderTag = tag;
+        System.out.println("[ZoneRenderer] Etiqueta dibujada: " + (tag >= 0 ? ZoneTags.nameOf(tag) : "todas"));
+    }
+
+    public static int getRenderTag() {
+        return renderTag;
+    }
+
+    private static boolean hasRenderTag(Zone zone) {
+        return renderTag < 0 || (zone != null && zone.hasTag(renderTag));
+    }
+
+    public static int getLastDrawnZones() {
+        return lastDrawnZones;
+    }
+
+    public static int getLastTotalZones() {
+        return lastTotalZones;
+    }
+
+    public static void setZoneBudget(int budget) {
+        zoneSelector.setBudget(budget);
+        System.out.println("[ZoneRenderer] Presupuesto de zonas: " + zoneSelector.getBudget());
+    }
+
+    public static int getZoneBudget() {
+        return zoneSelector.getBudget();
+    }
+
+    public static int getLastGridLines() {
+        return lastGridLines;
+    }
+
+    public static int getPendingMeshBuilds() {
+        return meshCache != null ? meshCache.getPendingBuilds() : 0;
+    }
+
+    public static RenderTimings getTimings() {
+        return timings;
     }
-}
\ No newline at end of file
+}
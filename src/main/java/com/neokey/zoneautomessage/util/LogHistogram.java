@@ -0,0 +1,120 @@
+package com.neokey.zoneautomessage.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                LOG HISTOGRAM - Percentiles con Coste Fijo                ║
+ * ║                                                                          ║
+ * ║ Histograma de buckets logarítmicos para percentiles con coste fijo.     ║
+ * ║                                                                          ║
+ * ║ - Cada potencia de dos se divide en SUB_COUNT buckets (error relativo   ║
+ * ║   de ~25% como máximo)                                                  ║
+ * ║ - Los valores menores que SUB_COUNT son exactos                         ║
+ * ║ - Registrar es un incremento atómico sin asignar memoria, así que puede ║
+ * ║   usarse desde el hilo del cliente y desde el hilo de E/S a la vez      ║
+ * ║                                                                          ║
+ * ║ Lo usa ZoneMetrics para todas las métricas de /zam stats.               ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class LogHistogram {
+
+	private static final int SUB_BITS = 2;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Registra un valor (los negativos cuentan como 0).
+	 */
+	public void record(long value) {
+		long v = Math.max(0, value);
+		counts.incrementAndGet(bucketOf(v));
+		count.incrementAndGet();
+		sum.addAndGet(v);
+		max.accumulateAndGet(v, Math::max);
+	}
+
+	/**
+	 * Percentil aproximado: punto medio del bucket que lo contiene.
+	 *
+	 * @param percentile Valor entre 0 y 100
+	 * @return El percentil, o 0 si no hay datos
+	 */
+	public long percentile(double percentile) {
+		long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen += counts.get(bucket);
+			if (seen >= target) {
+				long middle = lowerBound(bucket) + (width(bucket) - 1) / 2;
+				return Math.min(middle, max.get());
+			}
+		}
+		return max.get();
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long total = count.get();
+		return total == 0 ? 0 : (double) sum.get() / total;
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// BUCKETS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private static int bucketOf(long value) {
+		if (value < SUB_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+		return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+	}
+
+	private static long lowerBound(int bucket) {
+		if (bucket < SUB_COUNT) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+		int sub = bucket % SUB_COUNT;
+		return (1L << exponent) | ((long) sub << (exponent - SUB_BITS));
+	}
+
+	private static long width(int bucket) {
+		if (bucket < SUB_COUNT) {
+			return 1;
+		}
+		int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+		return 1L << (exponent - SUB_BITS);
+	}
+}
@@ -1,5 +1,6 @@
 package com.neokey.zoneautomessage.util;
 
+import com.neokey.zoneautomessage.zone.Zone;
 import net.minecraft.client.MinecraftClient;
 
 /**
@@ -28,6 +29,15 @@ public class PlayerInfoUtil {
 		return dimensionEntry.getIdAsString();
 	}
 
+	/**
+	 * Dimensión que se asigna a las zonas nuevas: la del jugador, o la
+	 * dimensión por defecto si todavía no hay mundo cargado.
+	 */
+	public static String getZoneDimension() {
+		if (CLIENT.world == null) return Zone.DEFAULT_DIMENSION;
+		return getDimensionName();
+	}
+
 	/**
 	 * Obtiene las coordenadas del jugador redondeadas.
 	 */
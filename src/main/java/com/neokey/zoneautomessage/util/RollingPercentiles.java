@@ -0,0 +1,78 @@
+package com.neokey.zoneautomessage.util;
+
+import java.util.Arrays;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║       ROLLING PERCENTILES - Percentiles de las Últimas N Muestras        ║
+ * ║                                                                          ║
+ * ║ Ventana deslizante de las últimas N muestras con percentiles.           ║
+ * ║                                                                          ║
+ * ║ - Las muestras se guardan en un buffer circular de tamaño fijo (sin     ║
+ * ║   asignaciones al añadir)                                               ║
+ * ║ - Los percentiles (nearest-rank) se calculan bajo demanda sobre una     ║
+ * ║   copia ordenada, pensado para consultas ocasionales (HUD, comandos)    ║
+ * ║                                                                          ║
+ * ║ Lo usa RenderTimings para el coste por frame del renderizado.           ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class RollingPercentiles {
+
+	private final long[] samples;
+	private final long[] sorted;
+	private int next = 0;
+	private int count = 0;
+
+	public RollingPercentiles(int capacity) {
+		this.samples = new long[capacity];
+		this.sorted = new long[capacity];
+	}
+
+	/**
+	 * Añade una muestra, sustituyendo la más antigua si la ventana está llena.
+	 */
+	public void add(long value) {
+		samples[next] = value;
+		next = (next + 1) % samples.length;
+		if (count < samples.length) {
+			count++;
+		}
+	}
+
+	/**
+	 * Percentil aproximado (nearest-rank) de las muestras en la ventana.
+	 *
+	 * @param percentile Valor entre 0 y 100
+	 * @return El percentil, o 0 si no hay muestras
+	 */
+	public long percentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+
+		System.arraycopy(samples, 0, sorted, 0, count);
+		Arrays.sort(sorted, 0, count);
+
+		int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+		return sorted[Math.max(0, Math.min(count - 1, rank))];
+	}
+
+	public long max() {
+		long max = 0;
+		for (int i = 0; i < count; i++) {
+			max = Math.max(max, samples[i]);
+		}
+		return max;
+	}
+
+	public int count() {
+		return count;
+	}
+
+	public void reset() {
+		next = 0;
+		count = 0;
+	}
+}
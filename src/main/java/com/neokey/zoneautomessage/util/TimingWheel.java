@@ -0,0 +1,164 @@
+package com.neokey.zoneautomessage.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                  TIMING WHEEL - Temporizadores por Tick                  ║
+ * ║                                                                          ║
+ * ║ Rueda de temporización con hash (hashed timing wheel) en ticks.         ║
+ * ║                                                                          ║
+ * ║ - SLOTS casillas en anillo; un temporizador va a la casilla (tick       ║
+ * ║   actual + retraso) % SLOTS con las vueltas completas que le faltan     ║
+ * ║ - advance() examina solo la casilla del tick actual: los que no tienen  ║
+ * ║   vueltas pendientes expiran y al resto se les resta una                ║
+ * ║ - Cada casilla es una lista doblemente enlazada intrusiva, así          ║
+ * ║   programar y cancelar son O(1) sin asignar memoria (los Timer se       ║
+ * ║   reutilizan)                                                           ║
+ * ║                                                                          ║
+ * ║ Con miles de temporizadores cada tick cuesta los de una casilla en      ║
+ * ║ lugar de comprobar todos. No es segura entre hilos: usar desde el hilo  ║
+ * ║ del cliente.                                                            ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public final class TimingWheel<T> {
+
+	// Potencia de dos: la casilla se obtiene con una máscara
+	private static final int SLOTS = 512;
+	private static final int MASK = SLOTS - 1;
+
+	/**
+	 * Temporizador reutilizable. Se crea con newTimer() y se programa,
+	 * reprograma o cancela tantas veces como haga falta.
+	 */
+	public static final class Timer<T> {
+		private final T payload;
+		private Timer<T> prev;
+		private Timer<T> next;
+		private int slot = -1;
+		private long rounds;
+
+		private Timer(T payload) {
+			this.payload = payload;
+		}
+
+		public T getPayload() {
+			return payload;
+		}
+
+		public boolean isScheduled() {
+			return slot >= 0;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private final Timer<T>[] heads = new Timer[SLOTS];
+	private long currentTick = 0;
+	private int size = 0;
+
+	// Vencidos del tick actual (se entregan tras recorrer la casilla)
+	private final List<Timer<T>> expiredBuffer = new ArrayList<>();
+
+	public Timer<T> newTimer(T payload) {
+		return new Timer<>(payload);
+	}
+
+	/**
+	 * Programa (o reprograma) el temporizador para dentro de delayTicks ticks.
+	 *
+	 * @param delayTicks Retraso en ticks (mínimo 1)
+	 */
+	public void schedule(Timer<T> timer, long delayTicks) {
+		cancel(timer);
+
+		long delay = Math.max(1, delayTicks);
+		long target = currentTick + delay;
+		int slot = (int) (target & MASK);
+
+		// advance() visita la casilla de destino por primera vez dentro de
+		// ((slot - currentTick - 1) & MASK) + 1 ticks; cada vuelta más son SLOTS
+		long firstVisit = ((slot - currentTick - 1) & MASK) + 1;
+		timer.rounds = (delay - firstVisit) / SLOTS;
+		timer.slot = slot;
+
+		timer.prev = null;
+		timer.next = heads[slot];
+		if (heads[slot] != null) {
+			heads[slot].prev = timer;
+		}
+		heads[slot] = timer;
+		size++;
+	}
+
+	/**
+	 * Quita el temporizador de la rueda (no hace nada si no estaba programado).
+	 */
+	public void cancel(Timer<T> timer) {
+		if (timer.slot < 0) {
+			return;
+		}
+
+		if (timer.prev != null) {
+			timer.prev.next = timer.next;
+		} else {
+			heads[timer.slot] = timer.next;
+		}
+		if (timer.next != null) {
+			timer.next.prev = timer.prev;
+		}
+
+		timer.prev = null;
+		timer.next = null;
+		timer.slot = -1;
+		size--;
+	}
+
+	/**
+	 * Avanza un tick y entrega los temporizadores vencidos. Se entregan
+	 * después de recorrer la casilla, así el consumidor puede volver a
+	 * programar o cancelar cualquier temporizador.
+	 */
+	public void advance(Consumer<Timer<T>> expired) {
+		currentTick++;
+		int slot = (int) (currentTick & MASK);
+
+		Timer<T> timer = heads[slot];
+		while (timer != null) {
+			Timer<T> next = timer.next;
+			if (timer.rounds > 0) {
+				timer.rounds--;
+			} else {
+				cancel(timer);
+				expiredBuffer.add(timer);
+			}
+			timer = next;
+		}
+
+		for (int i = 0; i < expiredBuffer.size(); i++) {
+			expired.accept(expiredBuffer.get(i));
+		}
+		expiredBuffer.clear();
+	}
+
+	/**
+	 * Cancela todos los temporizadores.
+	 */
+	public void clear() {
+		for (int slot = 0; slot < SLOTS; slot++) {
+			while (heads[slot] != null) {
+				cancel(heads[slot]);
+			}
+		}
+	}
+
+	/**
+	 * Temporizadores programados.
+	 */
+	public int size() {
+		return size;
+	}
+}
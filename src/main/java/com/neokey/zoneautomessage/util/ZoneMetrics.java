@@ -0,0 +1,83 @@
+package com.neokey.zoneautomessage.util;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                  ZONE METRICS - Métricas de Rendimiento                  ║
+ * ║                                                                          ║
+ * ║ Métricas de rendimiento del mod, consultables con /zam stats.           ║
+ * ║                                                                          ║
+ * ║ Todas usan LogHistogram (coste fijo por registro, sin asignar memoria): ║
+ * ║ - Tiempo de evaluación de zonas por tick (PlayerTickHandler)            ║
+ * ║ - Zonas examinadas por tick                                             ║
+ * ║ - Transiciones (entradas + salidas) por minuto de juego                 ║
+ * ║ - Latencia de formateo de mensajes (MessageManager)                     ║
+ * ║ - Tareas en cola del hilo de E/S (muestreada cada segundo)              ║
+ * ║ - Duración de lecturas y escrituras de regiones (WorldConfigManager)    ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneMetrics {
+
+	public static final LogHistogram TICK_NANOS = new LogHistogram();
+	public static final LogHistogram ZONES_EXAMINED = new LogHistogram();
+	public static final LogHistogram TRANSITIONS_PER_MINUTE = new LogHistogram();
+	public static final LogHistogram FORMAT_NANOS = new LogHistogram();
+	public static final LogHistogram IO_QUEUE_DEPTH = new LogHistogram();
+	public static final LogHistogram SAVE_NANOS = new LogHistogram();
+	public static final LogHistogram LOAD_NANOS = new LogHistogram();
+
+	/**
+	 * Resumen con p50/p95/p99/máx de cada métrica.
+	 */
+	public static String summary() {
+		return "§6Métricas (p50 / p95 / p99 / máx):\n" +
+			timeRow("Tick de zonas", TICK_NANOS) + "\n" +
+			countRow("Zonas examinadas/tick", ZONES_EXAMINED) + "\n" +
+			countRow("Transiciones/min", TRANSITIONS_PER_MINUTE) + "\n" +
+			timeRow("Formato de mensaje", FORMAT_NANOS) + "\n" +
+			countRow("Cola de E/S", IO_QUEUE_DEPTH) + "\n" +
+			timeRow("Guardado de región", SAVE_NANOS) + "\n" +
+			timeRow("Carga de región", LOAD_NANOS);
+	}
+
+	public static void reset() {
+		TICK_NANOS.reset();
+		ZONES_EXAMINED.reset();
+		TRANSITIONS_PER_MINUTE.reset();
+		FORMAT_NANOS.reset();
+		IO_QUEUE_DEPTH.reset();
+		SAVE_NANOS.reset();
+		LOAD_NANOS.reset();
+	}
+
+	private static String timeRow(String label, LogHistogram histogram) {
+		if (histogram.getCount() == 0) {
+			return "§7" + label + ": §8sin datos";
+		}
+		return String.format("§7%s: §f%s / %s / %s / %s ms §8(n=%d)",
+			label,
+			millis(histogram.percentile(50)),
+			millis(histogram.percentile(95)),
+			millis(histogram.percentile(99)),
+			millis(histogram.getMax()),
+			histogram.getCount());
+	}
+
+	private static String countRow(String label, LogHistogram histogram) {
+		if (histogram.getCount() == 0) {
+			return "§7" + label + ": §8sin datos";
+		}
+		return String.format("§7%s: §f%d / %d / %d / %d §8(n=%d)",
+			label,
+			histogram.percentile(50),
+			histogram.percentile(95),
+			histogram.percentile(99),
+			histogram.getMax(),
+			histogram.getCount());
+	}
+
+	private static String millis(long nanos) {
+		return String.format("%.3f", nanos / 1_000_000.0);
+	}
+}
@@ -0,0 +1,112 @@
+package com.neokey.zoneautomessage.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║        ZONE PATTERN - Patrones de Nombres para Comandos en Bloque        ║
+ * ║                                                                          ║
+ * ║ Sintaxis:                                                               ║
+ * ║ - Glob (por defecto): * = cualquier texto, ? = un carácter. Cada        ║
+ * ║   comodín es un grupo de captura, así que al renombrar se puede usar    ║
+ * ║   $1, $2... ("tienda_*" → "shop_$1")                                    ║
+ * ║ - Regex: con el prefijo re: ("re:^tienda_[0-9]+$")                      ║
+ * ║                                                                          ║
+ * ║ Los globs guardan su prefijo literal para que ZoneManager y el índice   ║
+ * ║ de nombres del mundo solo revisen el rango de nombres que empieza por   ║
+ * ║ él.                                                                     ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZonePattern {
+
+	private static final String REGEX_PREFIX = "re:";
+
+	private final String source;
+	private final Pattern pattern;
+	private final String literalPrefix;
+
+	private ZonePattern(String source, Pattern pattern, String literalPrefix) {
+		this.source = source;
+		this.pattern = pattern;
+		this.literalPrefix = literalPrefix;
+	}
+
+	/**
+	 * Compila un glob o una regex ("re:...").
+	 *
+	 * @throws java.util.regex.PatternSyntaxException si la regex no es válida
+	 */
+	public static ZonePattern compile(String text) {
+		if (text.startsWith(REGEX_PREFIX)) {
+			return new ZonePattern(text, Pattern.compile(text.substring(REGEX_PREFIX.length())), "");
+		}
+
+		StringBuilder regex = new StringBuilder();
+		StringBuilder literal = new StringBuilder();
+		boolean inPrefix = true;
+
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '*' || c == '?') {
+				regex.append(c == '*' ? "(.*)" : "(.)");
+				inPrefix = false;
+			} else {
+				regex.append(Pattern.quote(String.valueOf(c)));
+				if (inPrefix) {
+					literal.append(c);
+				}
+			}
+		}
+
+		return new ZonePattern(text, Pattern.compile(regex.toString()), literal.toString());
+	}
+
+	/**
+	 * Glob: el nombre completo debe encajar. Regex: basta con encontrarla.
+	 */
+	public boolean matches(String name) {
+		Matcher matcher = pattern.matcher(name);
+		return isRegex() ? matcher.find() : matcher.matches();
+	}
+
+	/**
+	 * Nombre nuevo sustituyendo las coincidencias (admite $1, $2...).
+	 *
+	 * Glob: una sola sustitución del nombre completo; con replaceAll un "*"
+	 * volvería a encajar en la cadena vacía del final ("abc" → "old_abcold_").
+	 * Regex: todas las coincidencias. Si no encaja, devuelve el nombre tal cual.
+	 */
+	public String rename(String name, String replacement) {
+		Matcher matcher = pattern.matcher(name);
+		if (isRegex()) {
+			return matcher.replaceAll(replacement);
+		}
+		if (!matcher.matches()) {
+			return name;
+		}
+
+		StringBuilder result = new StringBuilder();
+		matcher.appendReplacement(result, replacement);
+		return result.toString();
+	}
+
+	/**
+	 * Texto fijo con el que empiezan todos los nombres que encajan ("" si no
+	 * se sabe).
+	 */
+	public String getLiteralPrefix() {
+		return literalPrefix;
+	}
+
+	public boolean isRegex() {
+		return source.startsWith(REGEX_PREFIX);
+	}
+
+	@Override
+	public String toString() {
+		return source;
+	}
+}
@@ -5,6 +5,9 @@ package com.neokey.zoneautomessage.util;
  */
 public class ZoneValidator {
 
+	// Máximo de los temporizadores de permanencia y repetición (un día)
+	public static final int MAX_TIMER_SECONDS = 86400;
+
 	/**
 	 * Valida si una zona tiene coordenadas válidas.
 	 *
@@ -77,4 +80,19 @@ public class ZoneValidator {
 
 		return true;
 	}
+
+	/**
+	 * Valida los segundos de un temporizador de permanencia o repetición.
+	 *
+	 * @param seconds Segundos a validar
+	 * @return true si están entre 1 y MAX_TIMER_SECONDS
+	 */
+	public static boolean validateTimerSeconds(int seconds) {
+		if (seconds < 1 || seconds > MAX_TIMER_SECONDS) {
+			System.err.println("[ZoneValidator] ✗ Temporizador fuera de rango (1 a " + MAX_TIMER_SECONDS + " segundos)");
+			return false;
+		}
+
+		return true;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,502 @@
+package com.neokey.zoneautomessage.zone;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                 COMPOUND SHAPE - Zona Compuesta de Cajas                 ║
+ * ║                                                                          ║
+ * ║ Zona compuesta: unión de cajas incluidas menos cajas excluidas (una     ║
+ * ║ zona en L, un pueblo sin sus parcelas privadas...). Es una sola zona:   ║
+ * ║ un estado dentro/fuera y un par de mensajes, sin entradas/salidas       ║
+ * ║ falsas en las juntas entre cajas.                                       ║
+ * ║                                                                          ║
+ * ║ - Cada lista de cajas tiene su propio BVH (BoxTree), así que comprobar  ║
+ * ║   un punto cuesta O(log n) cajas aunque la zona tenga cientos de partes ║
+ * ║ - Las cajas están en coordenadas exactas del mundo: una selección de    ║
+ * ║   bloques va de min a max + 1                                           ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public final class CompoundShape implements ZoneShape {
+
+	public static final String TYPE = "compound";
+
+	public static final int MAX_PARTS = 256;
+
+	private final double[] includes;
+	private final double[] excludes;
+	private final BoxTree includeTree;
+	private final BoxTree excludeTree;
+
+	/**
+	 * @param includes Cajas incluidas, 6 valores por caja (min XYZ, max XYZ)
+	 * @param excludes Cajas excluidas, mismo formato (puede estar vacío)
+	 * @throws IllegalArgumentException Sin cajas incluidas o con demasiadas
+	 */
+	public CompoundShape(double[] includes, double[] excludes) {
+		if (includes.length == 0 || includes.length % 6 != 0 || excludes.length % 6 != 0) {
+			throw new IllegalArgumentException("La zona compuesta necesita al menos una caja incluida");
+		}
+		if (includes.length / 6 > MAX_PARTS || excludes.length / 6 > MAX_PARTS) {
+			throw new IllegalArgumentException("Máximo " + MAX_PARTS + " cajas por lista");
+		}
+
+		this.includes = normalize(includes);
+		this.excludes = normalize(excludes);
+		this.includeTree = new BoxTree(this.includes);
+		this.excludeTree = new BoxTree(this.excludes);
+	}
+
+	/**
+	 * Zona compuesta con una sola caja (para convertir un cuboide).
+	 */
+	public static CompoundShape ofBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		return new CompoundShape(new double[]{minX, minY, minZ, maxX, maxY, maxZ}, new double[0]);
+	}
+
+	/**
+	 * Copia con una caja incluida más.
+	 */
+	public CompoundShape withInclude(double[] box) {
+		return new CompoundShape(append(includes, box), excludes);
+	}
+
+	/**
+	 * Copia con una caja excluida más.
+	 */
+	public CompoundShape withExclude(double[] box) {
+		return new CompoundShape(includes, append(excludes, box));
+	}
+
+	@Override
+	public String getType() {
+		return TYPE;
+	}
+
+	@Override
+	public boolean contains(double x, double y, double z) {
+		return includeTree.containsPoint(x, y, z) && !excludeTree.containsPoint(x, y, z);
+	}
+
+	/**
+	 * Fuera de todas las cajas incluidas: distancia exacta a la más cercana.
+	 * Dentro de un hueco: lo que falta para salir de la caja excluida que lo
+	 * contiene (aproximación; no tiene en cuenta huecos solapados).
+	 */
+	@Override
+	public double distanceTo(double x, double y, double z) {
+		double includeSq = includeTree.distanceSq(x, y, z);
+		if (includeSq > 0) {
+			return Math.sqrt(includeSq);
+		}
+		return excludeTree.exitDepth(x, y, z);
+	}
+
+	/**
+	 * Cerca de alguna caja incluida (en X/Z y en Y por separado) y, si está
+	 * en un hueco, cerca de su borde en alguno de los dos sentidos. Misma
+	 * aproximación que distanceTo() con huecos solapados.
+	 */
+	@Override
+	public boolean isWithinBuffer(double x, double y, double z, double horizontal, double vertical) {
+		return includeTree.isNear(x, y, z, horizontal * horizontal, vertical) &&
+			excludeTree.isNearExit(x, y, z, horizontal, vertical);
+	}
+
+	/**
+	 * Volumen aproximado: cajas incluidas menos excluidas, sin descontar
+	 * solapes.
+	 */
+	@Override
+	public double getVolume() {
+		return Math.max(0, boxVolume(includes) - boxVolume(excludes));
+	}
+
+	@Override public double getMinX() { return includeTree.root(0); }
+	@Override public double getMinY() { return includeTree.root(1); }
+	@Override public double getMinZ() { return includeTree.root(2); }
+	@Override public double getMaxX() { return includeTree.root(3); }
+	@Override public double getMaxY() { return includeTree.root(4); }
+	@Override public double getMaxZ() { return includeTree.root(5); }
+
+	/**
+	 * Las 12 aristas de cada caja, incluidas y excluidas (los huecos se ven).
+	 */
+	@Override
+	public void outline(OutlineConsumer consumer) {
+		outlineBoxes(includes, consumer);
+		outlineBoxes(excludes, consumer);
+	}
+
+	@Override
+	public String describe() {
+		return String.format("compuesta (%d caja(s), %d excluida(s))", getIncludeCount(), getExcludeCount());
+	}
+
+	@Override
+	public JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		json.addProperty("type", TYPE);
+		json.add("include", boxesToJson(includes));
+		json.add("exclude", boxesToJson(excludes));
+		return json;
+	}
+
+	static CompoundShape fromJson(JsonObject json) {
+		double[] excludes = json.has("exclude") ? boxesFromJson(json.getAsJsonArray("exclude")) : new double[0];
+		return new CompoundShape(boxesFromJson(json.getAsJsonArray("include")), excludes);
+	}
+
+	public int getIncludeCount() {
+		return includes.length / 6;
+	}
+
+	public int getExcludeCount() {
+		return excludes.length / 6;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof CompoundShape other)) return false;
+		return Arrays.equals(includes, other.includes) && Arrays.equals(excludes, other.excludes);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(includes) + Arrays.hashCode(excludes);
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// UTILIDADES DE CAJAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private static double[] normalize(double[] boxes) {
+		double[] result = new double[boxes.length];
+		for (int b = 0; b < boxes.length; b += 6) {
+			for (int i = 0; i < 3; i++) {
+				result[b + i] = Math.min(boxes[b + i], boxes[b + 3 + i]);
+				result[b + 3 + i] = Math.max(boxes[b + i], boxes[b + 3 + i]);
+			}
+		}
+		return result;
+	}
+
+	private static double[] append(double[] boxes, double[] box) {
+		double[] result = Arrays.copyOf(boxes, boxes.length + 6);
+		System.arraycopy(box, 0, result, boxes.length, 6);
+		return result;
+	}
+
+	private static double boxVolume(double[] boxes) {
+		double volume = 0;
+		for (int b = 0; b < boxes.length; b += 6) {
+			volume += (boxes[b + 3] - boxes[b]) * (boxes[b + 4] - boxes[b + 1]) * (boxes[b + 5] - boxes[b + 2]);
+		}
+		return volume;
+	}
+
+	private static void outlineBoxes(double[] boxes, OutlineConsumer consumer) {
+		for (int b = 0; b < boxes.length; b += 6) {
+			double x0 = boxes[b], y0 = boxes[b + 1], z0 = boxes[b + 2];
+			double x1 = boxes[b + 3], y1 = boxes[b + 4], z1 = boxes[b + 5];
+
+			consumer.line(x0, y0, z0, x1, y0, z0);
+			consumer.line(x0, y1, z0, x1, y1, z0);
+			consumer.line(x0, y0, z1, x1, y0, z1);
+			consumer.line(x0, y1, z1, x1, y1, z1);
+
+			consumer.line(x0, y0, z0, x0, y1, z0);
+			consumer.line(x1, y0, z0, x1, y1, z0);
+			consumer.line(x0, y0, z1, x0, y1, z1);
+			consumer.line(x1, y0, z1, x1, y1, z1);
+
+			consumer.line(x0, y0, z0, x0, y0, z1);
+			consumer.line(x1, y0, z0, x1, y0, z1);
+			consumer.line(x0, y1, z0, x0, y1, z1);
+			consumer.line(x1, y1, z0, x1, y1, z1);
+		}
+	}
+
+	private static JsonArray boxesToJson(double[] boxes) {
+		JsonArray array = new JsonArray();
+		for (int b = 0; b < boxes.length; b += 6) {
+			JsonArray box = new JsonArray();
+			for (int i = 0; i < 6; i++) {
+				box.add(boxes[b + i]);
+			}
+			array.add(box);
+		}
+		return array;
+	}
+
+	private static double[] boxesFromJson(JsonArray array) {
+		double[] boxes = new double[array.size() * 6];
+		int b = 0;
+		for (JsonElement element : array) {
+			JsonArray box = element.getAsJsonArray();
+			for (int i = 0; i < 6; i++) {
+				boxes[b++] = box.get(i).getAsDouble();
+			}
+		}
+		return boxes;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// BVH DE CAJAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * BVH inmutable sobre una lista de cajas, en arrays planos. Las hojas
+	 * tienen hasta LEAF_SIZE cajas; los nodos se parten por la mediana de los
+	 * centros en el eje más largo.
+	 */
+	private static final class BoxTree {
+		private static final int LEAF_SIZE = 4;
+
+		private final double[] boxes;
+		private final int[] order;     // Índices de caja, agrupados por hoja
+
+		// Nodo i: caja en bounds[i*6..], hijos left/right (-1 = hoja), rango de order
+		private final double[] bounds;
+		private final int[] left;
+		private final int[] right;
+		private final int[] start;
+		private final int[] count;
+		private int nodeCount = 0;
+
+		BoxTree(double[] boxes) {
+			int n = boxes.length / 6;
+			int maxNodes = Math.max(1, 2 * n);
+
+			this.boxes = boxes;
+			this.order = new int[n];
+			this.bounds = new double[maxNodes * 6];
+			this.left = new int[maxNodes];
+			this.right = new int[maxNodes];
+			this.start = new int[maxNodes];
+			this.count = new int[maxNodes];
+
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+			if (n > 0) {
+				build(0, n);
+			}
+		}
+
+		private int build(int from, int to) {
+			int node = nodeCount++;
+			int b = node * 6;
+			bounds[b] = bounds[b + 1] = bounds[b + 2] = Double.MAX_VALUE;
+			bounds[b + 3] = bounds[b + 4] = bounds[b + 5] = -Double.MAX_VALUE;
+			for (int k = from; k < to; k++) {
+				int box = order[k] * 6;
+				for (int i = 0; i < 3; i++) {
+					bounds[b + i] = Math.min(bounds[b + i], boxes[box + i]);
+					bounds[b + 3 + i] = Math.max(bounds[b + 3 + i], boxes[box + 3 + i]);
+				}
+			}
+
+			start[node] = from;
+			count[node] = to - from;
+			left[node] = right[node] = -1;
+			if (to - from <= LEAF_SIZE) {
+				return node;
+			}
+
+			// Eje más largo y mediana de los centros
+			int axis = 0;
+			for (int i = 1; i < 3; i++) {
+				if (bounds[b + 3 + i] - bounds[b + i] > bounds[b + 3 + axis] - bounds[b + axis]) {
+					axis = i;
+				}
+			}
+			final int splitAxis = axis;
+			Integer[] range = new Integer[to - from];
+			for (int k = from; k < to; k++) {
+				range[k - from] = order[k];
+			}
+			Arrays.sort(range, Comparator.comparingDouble(
+				box -> boxes[box * 6 + splitAxis] + boxes[box * 6 + 3 + splitAxis]));
+			for (int k = from; k < to; k++) {
+				order[k] = range[k - from];
+			}
+
+			int middle = (from + to) >>> 1;
+			left[node] = build(from, middle);
+			right[node] = build(middle, to);
+			return node;
+		}
+
+		double root(int i) {
+			return bounds[i];
+		}
+
+		boolean containsPoint(double x, double y, double z) {
+			return nodeCount > 0 && containsPoint(0, x, y, z);
+		}
+
+		private boolean containsPoint(int node, double x, double y, double z) {
+			int b = node * 6;
+			if (!inside(bounds, b, x, y, z)) {
+				return false;
+			}
+			if (left[node] < 0) {
+				for (int k = start[node], end = k + count[node]; k < end; k++) {
+					if (inside(boxes, order[k] * 6, x, y, z)) {
+						return true;
+					}
+				}
+				return false;
+			}
+			return containsPoint(left[node], x, y, z) || containsPoint(right[node], x, y, z);
+		}
+
+		/**
+		 * Distancia al cuadrado a la caja más cercana (0 si está dentro de
+		 * alguna). Poda los nodos más lejanos que la mejor encontrada.
+		 */
+		double distanceSq(double x, double y, double z) {
+			return nodeCount > 0 ? distanceSq(0, x, y, z, Double.MAX_VALUE) : Double.MAX_VALUE;
+		}
+
+		private double distanceSq(int node, double x, double y, double z, double best) {
+			if (left[node] < 0) {
+				for (int k = start[node], end = k + count[node]; k < end && best > 0; k++) {
+					best = Math.min(best, boxDistanceSq(boxes, order[k] * 6, x, y, z));
+				}
+				return best;
+			}
+
+			// Primero el hijo más cercano
+			double dl = boxDistanceSq(bounds, left[node] * 6, x, y, z);
+			double dr = boxDistanceSq(bounds, right[node] * 6, x, y, z);
+			int near = dl <= dr ? left[node] : right[node];
+			int far = dl <= dr ? right[node] : left[node];
+
+			if (Math.min(dl, dr) < best) {
+				best = distanceSq(near, x, y, z, best);
+			}
+			if (Math.max(dl, dr) < best) {
+				best = distanceSq(far, x, y, z, best);
+			}
+			return best;
+		}
+
+		/**
+		 * Mayor distancia hasta salir de alguna caja que contiene el punto
+		 * (0 si ninguna lo contiene).
+		 */
+		double exitDepth(double x, double y, double z) {
+			return nodeCount > 0 ? exitDepth(0, x, y, z) : 0;
+		}
+
+		private double exitDepth(int node, double x, double y, double z) {
+			if (!inside(bounds, node * 6, x, y, z)) {
+				return 0;
+			}
+			if (left[node] >= 0) {
+				return Math.max(exitDepth(left[node], x, y, z), exitDepth(right[node], x, y, z));
+			}
+
+			double depth = 0;
+			for (int k = start[node], end = k + count[node]; k < end; k++) {
+				int b = order[k] * 6;
+				if (inside(boxes, b, x, y, z)) {
+					double toFace = Math.min(
+						Math.min(Math.min(x - boxes[b], boxes[b + 3] - x), Math.min(y - boxes[b + 1], boxes[b + 4] - y)),
+						Math.min(z - boxes[b + 2], boxes[b + 5] - z));
+					depth = Math.max(depth, toFace);
+				}
+			}
+			return depth;
+		}
+
+		/**
+		 * true si alguna caja está a como mucho sqrt(horizontalSq) en X/Z y a
+		 * como mucho {@code vertical} en Y.
+		 */
+		boolean isNear(double x, double y, double z, double horizontalSq, double vertical) {
+			return nodeCount > 0 && isNear(0, x, y, z, horizontalSq, vertical);
+		}
+
+		private boolean isNear(int node, double x, double y, double z, double horizontalSq, double vertical) {
+			if (!near(bounds, node * 6, x, y, z, horizontalSq, vertical)) {
+				return false;
+			}
+			if (left[node] >= 0) {
+				return isNear(left[node], x, y, z, horizontalSq, vertical) ||
+					isNear(right[node], x, y, z, horizontalSq, vertical);
+			}
+			for (int k = start[node], end = k + count[node]; k < end; k++) {
+				if (near(boxes, order[k] * 6, x, y, z, horizontalSq, vertical)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * true si en cada caja que contiene el punto el borde está a como
+		 * mucho {@code horizontal} en X/Z o {@code vertical} en Y (también si
+		 * ninguna lo contiene).
+		 */
+		boolean isNearExit(double x, double y, double z, double horizontal, double vertical) {
+			return nodeCount == 0 || isNearExit(0, x, y, z, horizontal, vertical);
+		}
+
+		private boolean isNearExit(int node, double x, double y, double z, double horizontal, double vertical) {
+			if (!inside(bounds, node * 6, x, y, z)) {
+				return true;
+			}
+			if (left[node] >= 0) {
+				return isNearExit(left[node], x, y, z, horizontal, vertical) &&
+					isNearExit(right[node], x, y, z, horizontal, vertical);
+			}
+			for (int k = start[node], end = k + count[node]; k < end; k++) {
+				int b = order[k] * 6;
+				if (!inside(boxes, b, x, y, z)) {
+					continue;
+				}
+				double toSide = Math.min(Math.min(x - boxes[b], boxes[b + 3] - x),
+					Math.min(z - boxes[b + 2], boxes[b + 5] - z));
+				double toCap = Math.min(y - boxes[b + 1], boxes[b + 4] - y);
+				if (toSide > horizontal && toCap > vertical) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean near(double[] array, int b, double x, double y, double z,
+									double horizontalSq, double vertical) {
+			double dy = Math.max(array[b + 1] - y, Math.max(y - array[b + 4], 0));
+			if (dy > vertical) {
+				return false;
+			}
+			double dx = Math.max(array[b] - x, Math.max(x - array[b + 3], 0));
+			double dz = Math.max(array[b + 2] - z, Math.max(z - array[b + 5], 0));
+			return dx * dx + dz * dz <= horizontalSq;
+		}
+
+		private static boolean inside(double[] array, int b, double x, double y, double z) {
+			return x >= array[b] && x <= array[b + 3] &&
+				y >= array[b + 1] && y <= array[b + 4] &&
+				z >= array[b + 2] && z <= array[b + 5];
+		}
+
+		private static double boxDistanceSq(double[] array, int b, double x, double y, double z) {
+			double dx = Math.max(array[b] - x, Math.max(x - array[b + 3], 0));
+			double dy = Math.max(array[b + 1] - y, Math.max(y - array[b + 4], 0));
+			double dz = Math.max(array[b + 2] - z, Math.max(z - array[b + 5], 0));
+			return dx * dx + dy * dy + dz * dz;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.neokey.zoneautomessage.zone;
+
+import com.google.gson.JsonObject;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                     CYLINDER SHAPE - Zona Cilíndrica                     ║
+ * ║                                                                          ║
+ * ║ Cilindro vertical: centro en X/Z, radio y rango de Y.                   ║
+ * ║                                                                          ║
+ * ║ - La pertenencia es un rango de Y y una comparación de distancias al    ║
+ * ║   cuadrado en el plano XZ                                               ║
+ * ║ - El buffer de salida compara por separado el radio ampliado y el rango ║
+ * ║   de Y ampliado                                                         ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public final class CylinderShape implements ZoneShape {
+
+	public static final String TYPE = "cylinder";
+
+	// Segmentos de cada círculo del contorno y aristas verticales
+	private static final int OUTLINE_SEGMENTS = 32;
+	private static final int OUTLINE_VERTICALS = 4;
+
+	private final double centerX, centerZ;
+	private final double radius;
+	private final double radiusSq;
+	private final double minY, maxY;
+
+	public CylinderShape(double centerX, double centerZ, double radius, double minY, double maxY) {
+		if (!(radius > 0)) {
+			throw new IllegalArgumentException("El radio debe ser positivo");
+		}
+		this.centerX = centerX;
+		this.centerZ = centerZ;
+		this.radius = radius;
+		this.radiusSq = radius * radius;
+		this.minY = Math.min(minY, maxY);
+		this.maxY = Math.max(minY, maxY);
+	}
+
+	@Override
+	public String getType() {
+		return TYPE;
+	}
+
+	@Override
+	public boolean contains(double x, double y, double z) {
+		if (y < minY || y > maxY) {
+			return false;
+		}
+		double dx = x - centerX;
+		double dz = z - centerZ;
+		return dx * dx + dz * dz <= radiusSq;
+	}
+
+	@Override
+	public double distanceTo(double x, double y, double z) {
+		double dx = x - centerX;
+		double dz = z - centerZ;
+		double horizontalSq = dx * dx + dz * dz;
+		double horizontal = horizontalSq <= radiusSq ? 0 : Math.sqrt(horizontalSq) - radius;
+		double vertical = Math.max(minY - y, Math.max(y - maxY, 0));
+		return Math.sqrt(horizontal * horizontal + vertical * vertical);
+	}
+
+	@Override
+	public boolean isWithinBuffer(double x, double y, double z, double horizontal, double vertical) {
+		if (y < minY - vertical || y > maxY + vertical) {
+			return false;
+		}
+		double dx = x - centerX;
+		double dz = z - centerZ;
+		double reach = radius + horizontal;
+		return dx * dx + dz * dz <= reach * reach;
+	}
+
+	@Override
+	public double getVolume() {
+		return Math.PI * radiusSq * (maxY - minY);
+	}
+
+	@Override public double getMinX() { return centerX - radius; }
+	@Override public double getMinY() { return minY; }
+	@Override public double getMinZ() { return centerZ - radius; }
+	@Override public double getMaxX() { return centerX + radius; }
+	@Override public double getMaxY() { return maxY; }
+	@Override public double getMaxZ() { return centerZ + radius; }
+
+	/**
+	 * Círculos inferior y superior y cuatro aristas verticales.
+	 */
+	@Override
+	public void outline(OutlineConsumer consumer) {
+		double step = Math.PI * 2 / OUTLINE_SEGMENTS;
+		for (int i = 0; i < OUTLINE_SEGMENTS; i++) {
+			double xa = centerX + Math.cos(i * step) * radius;
+			double za = centerZ + Math.sin(i * step) * radius;
+			double xb = centerX + Math.cos((i + 1) * step) * radius;
+			double zb = centerZ + Math.sin((i + 1) * step) * radius;
+
+			consumer.line(xa, minY, za, xb, minY, zb);
+			consumer.line(xa, maxY, za, xb, maxY, zb);
+
+			if (i % (OUTLINE_SEGMENTS / OUTLINE_VERTICALS) == 0) {
+				consumer.line(xa, minY, za, xa, maxY, za);
+			}
+		}
+	}
+
+	@Override
+	public String describe() {
+		return String.format("cilindro (centro [%.1f, %.1f], radio %.1f, Y %.0f a %.0f)",
+			centerX, centerZ, radius, minY, maxY);
+	}
+
+	@Override
+	public JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		json.addProperty("type", TYPE);
+		json.addProperty("centerX", centerX);
+		json.addProperty("centerZ", centerZ);
+		json.addProperty("radius", radius);
+		json.addProperty("minY", minY);
+		json.addProperty("maxY", maxY);
+		return json;
+	}
+
+	static CylinderShape fromJson(JsonObject json) {
+		return new CylinderShape(
+			json.get("centerX").getAsDouble(),
+			json.get("centerZ").getAsDouble(),
+			json.get("radius").getAsDouble(),
+			json.get("minY").getAsDouble(),
+			json.get("maxY").getAsDouble()
+		);
+	}
+
+	public double getCenterX() { return centerX; }
+	public double getCenterZ() { return centerZ; }
+	public double getRadius() { return radius; }
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof CylinderShape other)) return false;
+		return centerX == other.centerX && centerZ == other.centerZ &&
+			radius == other.radius && minY == other.minY && maxY == other.maxY;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Double.hashCode(centerX);
+		result = 31 * result + Double.hashCode(centerZ);
+		result = 31 * result + Double.hashCode(radius);
+		result = 31 * result + Double.hashCode(minY);
+		return 31 * result + Double.hashCode(maxY);
+	}
+}
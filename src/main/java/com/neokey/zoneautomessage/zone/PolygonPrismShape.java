@@ -0,0 +1,308 @@
+package com.neokey.zoneautomessage.zone;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.Arrays;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                  POLYGON PRISM SHAPE - Prisma Poligonal                  ║
+ * ║                                                                          ║
+ * ║ Prisma poligonal: polígono simple en el plano XZ extruido entre minY y  ║
+ * ║ maxY.                                                                   ║
+ * ║                                                                          ║
+ * ║ Punto en polígono con tabla de aristas por franjas:                     ║
+ * ║ - El eje Z de la caja envolvente se divide en franjas de igual altura   ║
+ * ║ - Cada franja guarda (en formato CSR) las aristas que la cruzan         ║
+ * ║ - Un punto solo cuenta los cruces del rayo +X con las aristas de su     ║
+ * ║   franja                                                                ║
+ * ║                                                                          ║
+ * ║ Con polígonos de cientos de vértices cada consulta examina unas pocas   ║
+ * ║ aristas en lugar de todas. Las aristas horizontales (dz = 0) nunca      ║
+ * ║ cortan el rayo y no se guardan.                                         ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public final class PolygonPrismShape implements ZoneShape {
+
+	public static final String TYPE = "polygon";
+
+	public static final int MIN_VERTICES = 3;
+	public static final int MAX_VERTICES = 1024;
+
+	// Franjas de la tabla de aristas (como mucho una por vértice)
+	private static final int MAX_SLABS = 256;
+
+	// Aristas verticales dibujadas como máximo en el contorno
+	private static final int MAX_OUTLINE_VERTICALS = 32;
+
+	private final double[] xs;
+	private final double[] zs;
+	private final double minY, maxY;
+	private final double minX, maxX, minZ, maxZ;
+	private final double area;
+
+	// Arista i: de (xs[i], zs[i]) a (xs[i+1], zs[i+1]); dx/dz precalculados
+	private final double[] edgeDx;
+	private final double[] edgeDz;
+	private final double[] edgeSlope; // dx/dz, para el cruce con el rayo
+
+	// Tabla de aristas por franjas (CSR)
+	private final int slabCount;
+	private final double slabScale; // franjas por bloque en Z
+	private final int[] slabStart;
+	private final int[] slabEdges;
+
+	/**
+	 * @param xs Coordenadas X de los vértices (en orden)
+	 * @param zs Coordenadas Z de los vértices (en orden)
+	 * @throws IllegalArgumentException Si el número de vértices no es válido
+	 *         o el polígono no tiene área
+	 */
+	public PolygonPrismShape(double[] xs, double[] zs, double minY, double maxY) {
+		if (xs.length != zs.length || xs.length < MIN_VERTICES || xs.length > MAX_VERTICES) {
+			throw new IllegalArgumentException(
+				"El polígono necesita entre " + MIN_VERTICES + " y " + MAX_VERTICES + " vértices");
+		}
+
+		int n = xs.length;
+		this.xs = xs.clone();
+		this.zs = zs.clone();
+		this.minY = Math.min(minY, maxY);
+		this.maxY = Math.max(minY, maxY);
+
+		double loX = Double.MAX_VALUE, hiX = -Double.MAX_VALUE;
+		double loZ = Double.MAX_VALUE, hiZ = -Double.MAX_VALUE;
+		double doubleArea = 0;
+
+		this.edgeDx = new double[n];
+		this.edgeDz = new double[n];
+		this.edgeSlope = new double[n];
+
+		for (int i = 0; i < n; i++) {
+			int j = i + 1 == n ? 0 : i + 1;
+			loX = Math.min(loX, xs[i]);
+			hiX = Math.max(hiX, xs[i]);
+			loZ = Math.min(loZ, zs[i]);
+			hiZ = Math.max(hiZ, zs[i]);
+
+			edgeDx[i] = xs[j] - xs[i];
+			edgeDz[i] = zs[j] - zs[i];
+			edgeSlope[i] = edgeDz[i] != 0 ? edgeDx[i] / edgeDz[i] : 0;
+			doubleArea += xs[i] * zs[j] - xs[j] * zs[i];
+		}
+
+		if (doubleArea == 0 || hiZ <= loZ) {
+			throw new IllegalArgumentException("El polígono no tiene área");
+		}
+
+		this.minX = loX;
+		this.maxX = hiX;
+		this.minZ = loZ;
+		this.maxZ = hiZ;
+		this.area = Math.abs(doubleArea) / 2;
+
+		// Tabla de aristas: dos pasadas (contar y rellenar)
+		this.slabCount = Math.min(n, MAX_SLABS);
+		this.slabScale = slabCount / (maxZ - minZ);
+		this.slabStart = new int[slabCount + 1];
+
+		for (int i = 0; i < n; i++) {
+			if (edgeDz[i] == 0) continue;
+			int first = slabOf(Math.min(zs[i], zs[i] + edgeDz[i]));
+			int last = slabOf(Math.max(zs[i], zs[i] + edgeDz[i]));
+			for (int s = first; s <= last; s++) {
+				slabStart[s + 1]++;
+			}
+		}
+		for (int s = 0; s < slabCount; s++) {
+			slabStart[s + 1] += slabStart[s];
+		}
+
+		this.slabEdges = new int[slabStart[slabCount]];
+		int[] fill = Arrays.copyOf(slabStart, slabCount);
+		for (int i = 0; i < n; i++) {
+			if (edgeDz[i] == 0) continue;
+			int first = slabOf(Math.min(zs[i], zs[i] + edgeDz[i]));
+			int last = slabOf(Math.max(zs[i], zs[i] + edgeDz[i]));
+			for (int s = first; s <= last; s++) {
+				slabEdges[fill[s]++] = i;
+			}
+		}
+	}
+
+	private int slabOf(double z) {
+		int slab = (int) ((z - minZ) * slabScale);
+		return slab < 0 ? 0 : Math.min(slab, slabCount - 1);
+	}
+
+	@Override
+	public String getType() {
+		return TYPE;
+	}
+
+	@Override
+	public boolean contains(double x, double y, double z) {
+		if (y < minY || y > maxY) {
+			return false;
+		}
+		return containsXZ(x, z);
+	}
+
+	/**
+	 * Regla par-impar con las aristas de la franja del punto.
+	 */
+	private boolean containsXZ(double x, double z) {
+		if (x < minX || x > maxX || z < minZ || z > maxZ) {
+			return false;
+		}
+
+		boolean inside = false;
+		int slab = slabOf(z);
+		for (int k = slabStart[slab], end = slabStart[slab + 1]; k < end; k++) {
+			int i = slabEdges[k];
+			double z0 = zs[i];
+			double z1 = z0 + edgeDz[i];
+			if ((z0 > z) != (z1 > z) && x < xs[i] + (z - z0) * edgeSlope[i]) {
+				inside = !inside;
+			}
+		}
+		return inside;
+	}
+
+	/**
+	 * Distancia a la arista más cercana en XZ combinada con la distancia
+	 * vertical. Recorre todas las aristas, pero solo se llama para las zonas
+	 * ocupadas mientras el jugador está fuera (buffer de salida).
+	 */
+	@Override
+	public double distanceTo(double x, double y, double z) {
+		double vertical = Math.max(minY - y, Math.max(y - maxY, 0));
+		if (containsXZ(x, z)) {
+			return vertical;
+		}
+		return Math.sqrt(edgeDistanceSq(x, z) + vertical * vertical);
+	}
+
+	@Override
+	public boolean isWithinBuffer(double x, double y, double z, double horizontal, double vertical) {
+		if (y < minY - vertical || y > maxY + vertical) {
+			return false;
+		}
+		return containsXZ(x, z) || edgeDistanceSq(x, z) <= horizontal * horizontal;
+	}
+
+	/**
+	 * Distancia al cuadrado en XZ hasta la arista más cercana.
+	 */
+	private double edgeDistanceSq(double x, double z) {
+		double bestSq = Double.MAX_VALUE;
+		for (int i = 0; i < xs.length; i++) {
+			double px = x - xs[i];
+			double pz = z - zs[i];
+			double lengthSq = edgeDx[i] * edgeDx[i] + edgeDz[i] * edgeDz[i];
+			double t = lengthSq > 0 ? (px * edgeDx[i] + pz * edgeDz[i]) / lengthSq : 0;
+			t = Math.max(0, Math.min(1, t));
+			double ex = px - t * edgeDx[i];
+			double ez = pz - t * edgeDz[i];
+			bestSq = Math.min(bestSq, ex * ex + ez * ez);
+		}
+		return bestSq;
+	}
+
+	@Override
+	public double getVolume() {
+		return area * (maxY - minY);
+	}
+
+	@Override public double getMinX() { return minX; }
+	@Override public double getMinY() { return minY; }
+	@Override public double getMinZ() { return minZ; }
+	@Override public double getMaxX() { return maxX; }
+	@Override public double getMaxY() { return maxY; }
+	@Override public double getMaxZ() { return maxZ; }
+
+	/**
+	 * Polígono inferior y superior; aristas verticales en los vértices
+	 * (como mucho MAX_OUTLINE_VERTICALS, repartidas).
+	 */
+	@Override
+	public void outline(OutlineConsumer consumer) {
+		int n = xs.length;
+		int verticalStep = Math.max(1, (n + MAX_OUTLINE_VERTICALS - 1) / MAX_OUTLINE_VERTICALS);
+
+		for (int i = 0; i < n; i++) {
+			double xb = xs[i] + edgeDx[i];
+			double zb = zs[i] + edgeDz[i];
+			consumer.line(xs[i], minY, zs[i], xb, minY, zb);
+			consumer.line(xs[i], maxY, zs[i], xb, maxY, zb);
+
+			if (i % verticalStep == 0) {
+				consumer.line(xs[i], minY, zs[i], xs[i], maxY, zs[i]);
+			}
+		}
+	}
+
+	@Override
+	public String describe() {
+		return String.format("prisma poligonal (%d vértices, %.0f bloques², Y %.0f a %.0f)",
+			xs.length, area, minY, maxY);
+	}
+
+	@Override
+	public JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		json.addProperty("type", TYPE);
+
+		JsonArray points = new JsonArray();
+		for (int i = 0; i < xs.length; i++) {
+			JsonArray point = new JsonArray();
+			point.add(xs[i]);
+			point.add(zs[i]);
+			points.add(point);
+		}
+		json.add("points", points);
+		json.addProperty("minY", minY);
+		json.addProperty("maxY", maxY);
+
+		return json;
+	}
+
+	static PolygonPrismShape fromJson(JsonObject json) {
+		JsonArray points = json.getAsJsonArray("points");
+		double[] xs = new double[points.size()];
+		double[] zs = new double[points.size()];
+
+		int i = 0;
+		for (JsonElement element : points) {
+			JsonArray point = element.getAsJsonArray();
+			xs[i] = point.get(0).getAsDouble();
+			zs[i] = point.get(1).getAsDouble();
+			i++;
+		}
+
+		return new PolygonPrismShape(xs, zs, json.get("minY").getAsDouble(), json.get("maxY").getAsDouble());
+	}
+
+	public int getVertexCount() {
+		return xs.length;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof PolygonPrismShape other)) return false;
+		return minY == other.minY && maxY == other.maxY &&
+			Arrays.equals(xs, other.xs) && Arrays.equals(zs, other.zs);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Arrays.hashCode(xs);
+		result = 31 * result + Arrays.hashCode(zs);
+		result = 31 * result + Double.hashCode(minY);
+		return 31 * result + Double.hashCode(maxY);
+	}
+}
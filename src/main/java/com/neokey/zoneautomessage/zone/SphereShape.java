@@ -0,0 +1,160 @@
+package com.neokey.zoneautomessage.zone;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                       SPHERE SHAPE - Zona Esférica                       ║
+ * ║                                                                          ║
+ * ║ Esfera: centro y radio.                                                 ║
+ * ║                                                                          ║
+ * ║ - La pertenencia es una comparación de distancias al cuadrado           ║
+ * ║ - La raíz solo se calcula en distanceTo()                               ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public final class SphereShape implements ZoneShape {
+
+	public static final String TYPE = "sphere";
+
+	// Segmentos de cada círculo del contorno
+	private static final int OUTLINE_SEGMENTS = 32;
+
+	private final double centerX, centerY, centerZ;
+	private final double radius;
+	private final double radiusSq;
+
+	public SphereShape(double centerX, double centerY, double centerZ, double radius) {
+		if (!(radius > 0)) {
+			throw new IllegalArgumentException("El radio debe ser positivo");
+		}
+		this.centerX = centerX;
+		this.centerY = centerY;
+		this.centerZ = centerZ;
+		this.radius = radius;
+		this.radiusSq = radius * radius;
+	}
+
+	@Override
+	public String getType() {
+		return TYPE;
+	}
+
+	@Override
+	public boolean contains(double x, double y, double z) {
+		double dx = x - centerX;
+		double dy = y - centerY;
+		double dz = z - centerZ;
+		return dx * dx + dy * dy + dz * dz <= radiusSq;
+	}
+
+	@Override
+	public double distanceTo(double x, double y, double z) {
+		double dx = x - centerX;
+		double dy = y - centerY;
+		double dz = z - centerZ;
+		double distanceSq = dx * dx + dy * dy + dz * dz;
+		return distanceSq <= radiusSq ? 0 : Math.sqrt(distanceSq) - radius;
+	}
+
+	/**
+	 * En horizontal se mide hasta el círculo de la esfera a la altura del
+	 * punto (limitada a la esfera); en vertical, lo que sobresale por encima
+	 * o por debajo.
+	 */
+	@Override
+	public boolean isWithinBuffer(double x, double y, double z, double horizontal, double vertical) {
+		double dy = Math.abs(y - centerY);
+		if (dy > radius + vertical) {
+			return false;
+		}
+
+		// Radio² del corte a esa altura: d ≤ r + h  ⇔  d² - r² - h² ≤ 2rh
+		double sliceSq = dy < radius ? radiusSq - dy * dy : 0;
+		double dx = x - centerX;
+		double dz = z - centerZ;
+		double excess = dx * dx + dz * dz - sliceSq - horizontal * horizontal;
+		return excess <= 0 || excess * excess <= 4 * sliceSq * horizontal * horizontal;
+	}
+
+	@Override
+	public double getVolume() {
+		return 4.0 / 3.0 * Math.PI * radiusSq * radius;
+	}
+
+	@Override public double getMinX() { return centerX - radius; }
+	@Override public double getMinY() { return centerY - radius; }
+	@Override public double getMinZ() { return centerZ - radius; }
+	@Override public double getMaxX() { return centerX + radius; }
+	@Override public double getMaxY() { return centerY + radius; }
+	@Override public double getMaxZ() { return centerZ + radius; }
+
+	/**
+	 * Tres círculos máximos (planos XZ, XY y ZY).
+	 */
+	@Override
+	public void outline(OutlineConsumer consumer) {
+		double step = Math.PI * 2 / OUTLINE_SEGMENTS;
+		for (int i = 0; i < OUTLINE_SEGMENTS; i++) {
+			double ca = Math.cos(i * step) * radius, sa = Math.sin(i * step) * radius;
+			double cb = Math.cos((i + 1) * step) * radius, sb = Math.sin((i + 1) * step) * radius;
+
+			consumer.line(centerX + ca, centerY, centerZ + sa, centerX + cb, centerY, centerZ + sb);
+			consumer.line(centerX + ca, centerY + sa, centerZ, centerX + cb, centerY + sb, centerZ);
+			consumer.line(centerX, centerY + sa, centerZ + ca, centerX, centerY + sb, centerZ + cb);
+		}
+	}
+
+	@Override
+	public String describe() {
+		return String.format("esfera (centro [%.1f, %.1f, %.1f], radio %.1f)", centerX, centerY, centerZ, radius);
+	}
+
+	@Override
+	public JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		json.addProperty("type", TYPE);
+
+		JsonArray center = new JsonArray();
+		center.add(centerX);
+		center.add(centerY);
+		center.add(centerZ);
+		json.add("center", center);
+		json.addProperty("radius", radius);
+
+		return json;
+	}
+
+	static SphereShape fromJson(JsonObject json) {
+		JsonArray center = json.getAsJsonArray("center");
+		return new SphereShape(
+			center.get(0).getAsDouble(),
+			center.get(1).getAsDouble(),
+			center.get(2).getAsDouble(),
+			json.get("radius").getAsDouble()
+		);
+	}
+
+	public double getCenterX() { return centerX; }
+	public double getCenterY() { return centerY; }
+	public double getCenterZ() { return centerZ; }
+	public double getRadius() { return radius; }
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof SphereShape other)) return false;
+		return centerX == other.centerX && centerY == other.centerY &&
+			centerZ == other.centerZ && radius == other.radius;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Double.hashCode(centerX);
+		result = 31 * result + Double.hashCode(centerY);
+		result = 31 * result + Double.hashCode(centerZ);
+		return 31 * result + Double.hashCode(radius);
+	}
+}
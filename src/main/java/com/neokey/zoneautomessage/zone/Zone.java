@@ -1,5 +1,8 @@
 package com.neokey.zoneautomessage.zone;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -11,9 +14,15 @@ import java.util.UUID;
  * ║ - Mínimo 5 bloques, máximo 200 bloques                                  ║
  * ║ - Evita spam sin ser demasiado restrictivo                              ║
  * ║ - Se adapta automáticamente a zonas pequeñas y grandes                  ║
+ * ║ - Formas: cuboide (por defecto), esfera, cilindro, polígono y           ║
+ * ║   compuesta (unión de cajas menos cajas)                                ║
  * ║                                                                          ║
- * ║ Fórmula del buffer:                                                      ║
+ * ║ Fórmula del buffer (configurable por zona, ver ZoneBuffer):             ║
  * ║ buffer = max(5, min(200, diagonal_zona * 0.1))                          ║
+ * ║ Buffers horizontal (X/Z) y vertical (Y) fijos opcionales por zona.      ║
+ * ║                                                                          ║
+ * ║ Salida: la caja de la zona ampliada con los buffers se precalcula; el   ║
+ * ║ tick solo compara coordenadas (sin raíz cuadrada en cuboides).          ║
  * ║                                                                          ║
  * ║ Ejemplos:                                                                ║
  * ║ - Zona 10x10x10: buffer = 5 bloques (mínimo)                            ║
@@ -25,14 +34,23 @@ import java.util.UUID;
  */
 public class Zone {
 
+	// Dimensión por defecto (zonas antiguas sin dimensión guardada)
+	public static final String DEFAULT_DIMENSION = "minecraft:overworld";
+
 	// Identificadores únicos
 	private final String zoneId;
 	private String zoneName;
 
-	// Coordenadas del cuboide (delimitadores)
+	// Dimensión a la que pertenece (p. ej. "minecraft:the_nether")
+	private String dimension = DEFAULT_DIMENSION;
+
+	// Coordenadas del cuboide (delimitadores); con forma, su caja envolvente
 	private double minX, minY, minZ;
 	private double maxX, maxY, maxZ;
 
+	// Forma de la zona (esfera, cilindro, polígono); null = cuboide
+	private ZoneShape shape;
+
 	// Mensajes personalizados (soportan MiniMessage, Hex, placeholders)
 	private String enterMessage;
 	private String exitMessage;
@@ -40,20 +58,60 @@ public class Zone {
 	// Control de estado del jugador
 	private boolean playerWasInside = false;
 
-	// Buffer dinámico (calculado automáticamente)
+	// Prioridad explícita entre zonas solapadas (mayor = más interna)
+	private int priority = 0;
+
+	// Etiquetas (bits con los IDs de ZoneTags). Las altas y bajas de una
+	// zona registrada pasan por ZoneManager, que mantiene el índice por etiqueta
+	private final BitSet tags = new BitSet();
+
+	// Mensajes mientras el jugador está dentro (segundos; 0 = desactivado):
+	// uno tras llevar dwellSeconds dentro y otro cada repeatSeconds
+	private int dwellSeconds = 0;
+	private String dwellMessage;
+	private int repeatSeconds = 0;
+	private String repeatMessage;
+
+	// Configuración del buffer de salida (fórmula y buffers fijos)
+	private ZoneBuffer buffer = ZoneBuffer.DEFAULT;
+
+	// Buffers resultantes: horizontal (X/Z) y vertical (Y)
 	private double bufferDistance;
+	private double verticalBuffer;
 
-	// Constantes para buffer
-	private static final double MIN_BUFFER = 5.0;
-	private static final double MAX_BUFFER = 200.0;
-	private static final double BUFFER_MULTIPLIER = 0.10; // 10% del tamaño
+	// Caja de salida: la de la zona ampliada con los buffers
+	private double outerMinX, outerMinY, outerMinZ;
+	private double outerMaxX, outerMaxY, outerMaxZ;
 
 	/**
 	 * Constructor principal para crear una nueva zona.
 	 */
 	public Zone(String zoneName, double minX, double minY, double minZ,
 			   double maxX, double maxY, double maxZ) {
-		this.zoneId = UUID.randomUUID().toString();
+		this(UUID.randomUUID().toString(), zoneName, minX, minY, minZ, maxX, maxY, maxZ);
+	}
+
+	/**
+	 * Constructor para zonas con forma (esfera, cilindro, polígono).
+	 * Los límites de la zona son la caja envolvente de la forma.
+	 */
+	public Zone(String zoneName, ZoneShape shape) {
+		this(UUID.randomUUID().toString(), zoneName, shape);
+	}
+
+	public Zone(String zoneId, String zoneName, ZoneShape shape) {
+		this(zoneId, zoneName, shape.getMinX(), shape.getMinY(), shape.getMinZ(),
+			shape.getMaxX(), shape.getMaxY(), shape.getMaxZ());
+		this.shape = shape;
+	}
+
+	/**
+	 * Constructor para zonas que ya tienen ID (cargadas desde disco).
+	 * Conservar el ID permite localizar la zona en su región al editarla o borrarla.
+	 */
+	public Zone(String zoneId, String zoneName, double minX, double minY, double minZ,
+			   double maxX, double maxY, double maxZ) {
+		this.zoneId = zoneId;
 		this.zoneName = zoneName;
 
 		// Asegurar que mín < máx
@@ -65,16 +123,14 @@ public class Zone {
 		this.maxZ = Math.max(minZ, maxZ);
 
 		// Calcular buffer dinámico basado en tamaño
-		this.bufferDistance = calculateDynamicBuffer();
+		updateBuffers();
 
 		// Mensajes por defecto con placeholders
 		this.enterMessage = "<gradient:#00ff00:#00aa00>✓ Bienvenido a [zona_name]</gradient>";
 		this.exitMessage = "<gradient:#ff0000:#aa0000>✗ Has salido de [zona_name]</gradient>";
 
-		System.out.println(String.format(
-			"[Zone] Creada: %s | Buffer: %.1f bloques | Dimensiones: %.0fx%.0fx%.0f",
-			zoneName, bufferDistance, getWidth(), getHeight(), getDepth()
-		));
+		// Sin log aquí: las cargas, importaciones y benchmarks crean miles de
+		// zonas seguidas. La creación interactiva la registra ZoneManager.
 	}
 
 	// ═══════════════════════════════════════════════════════════════════════════
@@ -82,62 +138,90 @@ public class Zone {
 	// ═══════════════════════════════════════════════════════════════════════════
 
 	/**
-	 * Calcula el buffer dinámico basado en el tamaño de la zona.
-	 * 
-	 * El buffer es el 10% de la diagonal 3D de la zona, con un mínimo de 5
-	 * bloques y un máximo de 200 bloques.
-	 *
-	 * Esto evita que zonas pequeñas tengan buffers demasiado grandes,
-	 * y que zonas enormes tengan buffers excesivos.
+	 * Calcula los buffers con la configuración de la zona y precalcula la
+	 * caja de salida.
 	 *
-	 * @return Buffer en bloques
+	 * Con la fórmula por defecto el buffer es el 10% de la diagonal 3D de la
+	 * zona, con un mínimo de 5 bloques y un máximo de 200 bloques. Esto
+	 * evita que zonas pequeñas tengan buffers demasiado grandes, y que zonas
+	 * enormes tengan buffers excesivos.
 	 */
-	private double calculateDynamicBuffer() {
-		// Calcular diagonal 3D de la zona
-		double width = maxX - minX;
-		double height = maxY - minY;
-		double depth = maxZ - minZ;
-		
-		double diagonal = Math.sqrt(width * width + height * height + depth * depth);
-		
-		// Buffer = 10% de la diagonal
-		double buffer = diagonal * BUFFER_MULTIPLIER;
-		
-		// Aplicar límites (mín: 5, máx: 200)
-		buffer = Math.max(MIN_BUFFER, Math.min(MAX_BUFFER, buffer));
-		
-		return buffer;
+	private void updateBuffers() {
+		double diagonal = getDiagonal();
+		this.bufferDistance = buffer.horizontal(diagonal);
+		this.verticalBuffer = buffer.vertical(diagonal);
+
+		this.outerMinX = minX - bufferDistance;
+		this.outerMaxX = maxX + bufferDistance;
+		this.outerMinY = minY - verticalBuffer;
+		this.outerMaxY = maxY + verticalBuffer;
+		this.outerMinZ = minZ - bufferDistance;
+		this.outerMaxZ = maxZ + bufferDistance;
 	}
 
 	/**
-	 * Recalcula el buffer dinámico si cambian las coordenadas.
-	 * Llamar después de usar setCoordinates().
+	 * Recalcula el buffer dinámico y lo registra en el log. Los setters que
+	 * cambian la geometría o el buffer ya lo recalculan (sin log).
 	 */
 	public void recalculateBuffer() {
-		this.bufferDistance = calculateDynamicBuffer();
+		updateBuffers();
 		System.out.println(String.format(
-			"[Zone] %s | Buffer recalculado: %.1f bloques",
-			zoneName, bufferDistance
+			"[Zone] %s | Buffer recalculado: %.1f bloques (vertical %.1f)",
+			zoneName, bufferDistance, verticalBuffer
 		));
 	}
 
+	public ZoneBuffer getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Cambia la configuración del buffer y recalcula la caja de salida.
+	 */
+	public void setBuffer(ZoneBuffer buffer) {
+		this.buffer = buffer != null ? buffer : ZoneBuffer.DEFAULT;
+		updateBuffers();
+	}
+
 	// ═══════════════════════════════════════════════════════════════════════════
 	// DETECCIÓN DE POSICIÓN
 	// ═══════════════════════════════════════════════════════════════════════════
 
 	/**
-	 * Verifica si una posición XYZ está dentro de este cuboide.
+	 * Verifica si una posición XYZ está dentro de la zona. La caja descarta
+	 * primero; la forma solo se consulta para los puntos dentro de la caja.
 	 */
 	public boolean isPlayerInside(double x, double y, double z) {
 		return x >= minX && x <= maxX &&
 			   y >= minY && y <= maxY &&
-			   z >= minZ && z <= maxZ;
+			   z >= minZ && z <= maxZ &&
+			   (shape == null || shape.contains(x, y, z));
 	}
 
 	/**
-	 * Calcula la distancia euclidiana mínima desde un punto al cuboide.
+	 * Verifica si el punto sigue dentro del buffer de salida. Fuera de la
+	 * caja ampliada se descarta solo con comparaciones; en los cuboides la
+	 * caja ampliada es exactamente el buffer (por ejes, no esférico). Con
+	 * forma, dentro de la caja se comparan además la distancia horizontal a
+	 * la forma con el buffer horizontal y la vertical con el vertical.
+	 */
+	public boolean isWithinBuffer(double x, double y, double z) {
+		if (x < outerMinX || x > outerMaxX ||
+			y < outerMinY || y > outerMaxY ||
+			z < outerMinZ || z > outerMaxZ) {
+			return false;
+		}
+		return shape == null || shape.isWithinBuffer(x, y, z, bufferDistance, verticalBuffer);
+	}
+
+	/**
+	 * Calcula la distancia euclidiana mínima desde un punto a la zona.
 	 */
 	public double getDistanceToZone(double x, double y, double z) {
+		if (shape != null) {
+			return shape.distanceTo(x, y, z);
+		}
+
 		double dx = Math.max(minX - x, Math.max(x - maxX, 0));
 		double dy = Math.max(minY - y, Math.max(y - maxY, 0));
 		double dz = Math.max(minZ - z, Math.max(z - maxZ, 0));
@@ -161,7 +245,6 @@ public class Zone {
 	 */
 	public int updatePlayerState(double x, double y, double z) {
 		boolean isInside = isPlayerInside(x, y, z);
-		double distanceToZone = getDistanceToZone(x, y, z);
 
 		int result = 0;
 
@@ -174,17 +257,17 @@ public class Zone {
 				zoneName, bufferDistance
 			));
 		}
-		// CASO 2: Transición Dentro → Fuera (con buffer dinámico)
-		else if (!isInside && playerWasInside && distanceToZone > bufferDistance) {
+		// CASO 2: Transición Dentro → Fuera (fuera de la caja de salida)
+		else if (!isInside && playerWasInside && !isWithinBuffer(x, y, z)) {
 			playerWasInside = false;
 			result = -1; // SALIDA DETECTADA
 			System.out.println(String.format(
-				"[ZONE] ◄ Salida de: %s (Distancia: %.1f > Buffer: %.1f)",
-				zoneName, distanceToZone, bufferDistance
+				"[ZONE] ◄ Salida de: %s (fuera del buffer: %.1f H / %.1f V)",
+				zoneName, bufferDistance, verticalBuffer
 			));
 		}
 		// CASO 3: Dentro → Fuera pero aún en buffer
-		else if (!isInside && playerWasInside && distanceToZone <= bufferDistance) {
+		else if (!isInside && playerWasInside) {
 			// Sin cambio, esperar a que se aleje más
 			result = 0;
 		}
@@ -228,7 +311,7 @@ public class Zone {
 	 * Obtiene el volumen de la zona en bloques cúbicos.
 	 */
 	public double getVolume() {
-		return getWidth() * getHeight() * getDepth();
+		return shape != null ? shape.getVolume() : getWidth() * getHeight() * getDepth();
 	}
 
 	/**
@@ -265,8 +348,12 @@ public class Zone {
 	public double getMaxY() { return maxY; }
 	public double getMaxZ() { return maxZ; }
 
+	/**
+	 * Cambia los límites. La zona pasa a ser un cuboide.
+	 */
 	public void setCoordinates(double minX, double minY, double minZ,
 							   double maxX, double maxY, double maxZ) {
+		this.shape = null;
 		this.minX = Math.min(minX, maxX);
 		this.maxX = Math.max(minX, maxX);
 		this.minY = Math.min(minY, maxY);
@@ -275,7 +362,36 @@ public class Zone {
 		this.maxZ = Math.max(minZ, maxZ);
 		
 		// Recalcular buffer automáticamente
-		recalculateBuffer();
+		updateBuffers();
+	}
+
+	// Forma
+	public ZoneShape getShape() {
+		return shape;
+	}
+
+	/**
+	 * Cambia la forma (null = cuboide con los límites actuales) y ajusta los
+	 * límites a su caja envolvente.
+	 */
+	public void setShape(ZoneShape shape) {
+		this.shape = shape;
+		if (shape != null) {
+			this.minX = shape.getMinX();
+			this.minY = shape.getMinY();
+			this.minZ = shape.getMinZ();
+			this.maxX = shape.getMaxX();
+			this.maxY = shape.getMaxY();
+			this.maxZ = shape.getMaxZ();
+		}
+		updateBuffers();
+	}
+
+	/**
+	 * Tipo de forma: "cuboid" o el de la forma.
+	 */
+	public String getShapeType() {
+		return shape != null ? shape.getType() : "cuboid";
 	}
 
 	// Mensajes
@@ -295,6 +411,102 @@ public class Zone {
 		this.exitMessage = msg;
 	}
 
+	// Dimensión
+	public String getDimension() {
+		return dimension;
+	}
+
+	public void setDimension(String dimension) {
+		this.dimension = dimension != null ? dimension : DEFAULT_DIMENSION;
+	}
+
+	// Prioridad
+	public int getPriority() {
+		return priority;
+	}
+
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	// Etiquetas
+	public boolean hasTag(int tag) {
+		return tags.get(tag);
+	}
+
+	/**
+	 * Indica si tiene alguna de las etiquetas de la máscara.
+	 */
+	public boolean hasAnyTag(BitSet mask) {
+		return tags.intersects(mask);
+	}
+
+	/**
+	 * Siguiente etiqueta a partir de {@code from} (para recorrerlas sin copiar).
+	 *
+	 * @return ID de la etiqueta, o -1 si no hay más
+	 */
+	public int nextTag(int from) {
+		return tags.nextSetBit(from);
+	}
+
+	public void setTag(int tag, boolean tagged) {
+		tags.set(tag, tagged);
+	}
+
+	/**
+	 * @return Copia de las etiquetas
+	 */
+	public BitSet getTags() {
+		return (BitSet) tags.clone();
+	}
+
+	public void setTags(BitSet tags) {
+		this.tags.clear();
+		this.tags.or(tags);
+	}
+
+	public List<String> getTagNames() {
+		List<String> result = new ArrayList<>();
+		for (int tag = tags.nextSetBit(0); tag >= 0; tag = tags.nextSetBit(tag + 1)) {
+			result.add(ZoneTags.nameOf(tag));
+		}
+		return result;
+	}
+
+	// Mensajes programados
+	public int getDwellSeconds() {
+		return dwellSeconds;
+	}
+
+	public String getDwellMessage() {
+		return dwellMessage;
+	}
+
+	/**
+	 * @param seconds Segundos dentro antes del mensaje (0 = desactivado)
+	 */
+	public void setDwell(int seconds, String message) {
+		this.dwellSeconds = message != null ? Math.max(0, seconds) : 0;
+		this.dwellMessage = dwellSeconds > 0 ? message : null;
+	}
+
+	public int getRepeatSeconds() {
+		return repeatSeconds;
+	}
+
+	public String getRepeatMessage() {
+		return repeatMessage;
+	}
+
+	/**
+	 * @param seconds Intervalo entre mensajes mientras se está dentro (0 = desactivado)
+	 */
+	public void setRepeat(int seconds, String message) {
+		this.repeatSeconds = message != null ? Math.max(0, seconds) : 0;
+		this.repeatMessage = repeatSeconds > 0 ? message : null;
+	}
+
 	// Estado
 	public boolean isPlayerWasInside() {
 		return playerWasInside;
@@ -304,15 +516,25 @@ public class Zone {
 		this.playerWasInside = state;
 	}
 
+	/**
+	 * Buffer horizontal (X/Z) en bloques.
+	 */
 	public double getBufferDistance() {
 		return bufferDistance;
 	}
 
+	/**
+	 * Buffer vertical (Y) en bloques.
+	 */
+	public double getVerticalBuffer() {
+		return verticalBuffer;
+	}
+
 	@Override
 	public String toString() {
 		return String.format(
-			"Zone{id='%s', name='%s', bounds=[%.0f,%.0f,%.0f to %.0f,%.0f,%.0f], buffer=%.1f}",
-			zoneId, zoneName, minX, minY, minZ, maxX, maxY, maxZ, bufferDistance
+			"Zone{id='%s', name='%s', dimension=%s, shape=%s, bounds=[%.0f,%.0f,%.0f to %.0f,%.0f,%.0f], buffer=%.1f}",
+			zoneId, zoneName, dimension, getShapeType(), minX, minY, minZ, maxX, maxY, maxZ, bufferDistance
 		);
 	}
 }
\ No newline at end of file
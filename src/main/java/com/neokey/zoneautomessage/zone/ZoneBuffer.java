@@ -0,0 +1,152 @@
+package com.neokey.zoneautomessage.zone;
+
+import com.google.gson.JsonObject;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                 ZONE BUFFER - Buffer de Salida por Zona                  ║
+ * ║                                                                          ║
+ * ║ Configuración del buffer de salida de una zona.                         ║
+ * ║                                                                          ║
+ * ║ - Por defecto el buffer sale de la fórmula max(min, min(max, diagonal * ║
+ * ║   multiplicador)) con 5 / 200 / 0.10                                    ║
+ * ║ - Cada zona puede cambiar los tres parámetros o fijar el buffer         ║
+ * ║   horizontal (X/Z) y el vertical (Y) por separado; un valor fijo        ║
+ * ║   negativo significa "usar la fórmula"                                  ║
+ * ║                                                                          ║
+ * ║ Es inmutable: para cambiarla se asigna otra con Zone.setBuffer(), que   ║
+ * ║ recalcula la caja ampliada de salida.                                   ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public final class ZoneBuffer {
+
+	public static final double DEFAULT_MIN = 5.0;
+	public static final double DEFAULT_MAX = 200.0;
+	public static final double DEFAULT_MULTIPLIER = 0.10; // 10% del tamaño
+
+	// Límite de cualquier buffer (fijo o de la fórmula)
+	public static final double MAX_BUFFER = 1000.0;
+
+	private static final double AUTO = -1;
+
+	public static final ZoneBuffer DEFAULT =
+		new ZoneBuffer(DEFAULT_MULTIPLIER, DEFAULT_MIN, DEFAULT_MAX, AUTO, AUTO);
+
+	private final double multiplier;
+	private final double min;
+	private final double max;
+	private final double horizontal;
+	private final double vertical;
+
+	private ZoneBuffer(double multiplier, double min, double max, double horizontal, double vertical) {
+		this.multiplier = multiplier;
+		this.min = min;
+		this.max = max;
+		this.horizontal = horizontal;
+		this.vertical = vertical;
+	}
+
+	/**
+	 * Misma configuración con otra fórmula.
+	 *
+	 * @throws IllegalArgumentException Si los valores no son válidos
+	 */
+	public ZoneBuffer withFormula(double multiplier, double min, double max) {
+		if (!(multiplier >= 0) || !(min >= 0) || !(max >= min) || max > MAX_BUFFER) {
+			throw new IllegalArgumentException("Fórmula de buffer inválida");
+		}
+		return new ZoneBuffer(multiplier, min, max, horizontal, vertical);
+	}
+
+	/**
+	 * Misma fórmula con buffers fijos (negativo = usar la fórmula en ese eje).
+	 *
+	 * @throws IllegalArgumentException Si algún buffer supera MAX_BUFFER
+	 */
+	public ZoneBuffer withFixed(double horizontal, double vertical) {
+		if (horizontal > MAX_BUFFER || vertical > MAX_BUFFER || Double.isNaN(horizontal) || Double.isNaN(vertical)) {
+			throw new IllegalArgumentException("Buffer inválido");
+		}
+		return new ZoneBuffer(multiplier, min, max,
+			horizontal < 0 ? AUTO : horizontal, vertical < 0 ? AUTO : vertical);
+	}
+
+	/**
+	 * Buffer de la fórmula para una zona con esa diagonal.
+	 */
+	public double formula(double diagonal) {
+		return Math.max(min, Math.min(max, diagonal * multiplier));
+	}
+
+	public double horizontal(double diagonal) {
+		return horizontal >= 0 ? horizontal : formula(diagonal);
+	}
+
+	public double vertical(double diagonal) {
+		return vertical >= 0 ? vertical : formula(diagonal);
+	}
+
+	public boolean isDefault() {
+		return equals(DEFAULT);
+	}
+
+	/**
+	 * Descripción corta para /zam info.
+	 */
+	public String describe() {
+		String formula = String.format("%.0f%% de la diagonal, %.0f a %.0f", multiplier * 100, min, max);
+		if (horizontal < 0 && vertical < 0) {
+			return formula;
+		}
+		return String.format("H %s · V %s (%s)",
+			horizontal >= 0 ? String.format("%.1f", horizontal) : "auto",
+			vertical >= 0 ? String.format("%.1f", vertical) : "auto",
+			formula);
+	}
+
+	/**
+	 * Solo guarda lo que difiere de la configuración por defecto.
+	 */
+	public JsonObject toJson() {
+		JsonObject json = new JsonObject();
+		if (multiplier != DEFAULT_MULTIPLIER) json.addProperty("multiplier", multiplier);
+		if (min != DEFAULT_MIN) json.addProperty("min", min);
+		if (max != DEFAULT_MAX) json.addProperty("max", max);
+		if (horizontal >= 0) json.addProperty("horizontal", horizontal);
+		if (vertical >= 0) json.addProperty("vertical", vertical);
+		return json;
+	}
+
+	/**
+	 * @throws IllegalArgumentException Si los valores no son válidos
+	 */
+	public static ZoneBuffer fromJson(JsonObject json) {
+		return DEFAULT
+			.withFormula(
+				json.has("multiplier") ? json.get("multiplier").getAsDouble() : DEFAULT_MULTIPLIER,
+				json.has("min") ? json.get("min").getAsDouble() : DEFAULT_MIN,
+				json.has("max") ? json.get("max").getAsDouble() : DEFAULT_MAX)
+			.withFixed(
+				json.has("horizontal") ? json.get("horizontal").getAsDouble() : AUTO,
+				json.has("vertical") ? json.get("vertical").getAsDouble() : AUTO);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof ZoneBuffer other)) return false;
+		return multiplier == other.multiplier && min == other.min && max == other.max &&
+			horizontal == other.horizontal && vertical == other.vertical;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Double.hashCode(multiplier);
+		result = 31 * result + Double.hashCode(min);
+		result = 31 * result + Double.hashCode(max);
+		result = 31 * result + Double.hashCode(horizontal);
+		return 31 * result + Double.hashCode(vertical);
+	}
+}
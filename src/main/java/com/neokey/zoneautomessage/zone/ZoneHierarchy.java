@@ -0,0 +1,413 @@
+package com.neokey.zoneautomessage.zone;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║        ZONE HIERARCHY - Árbol de Contención de Zonas Anidadas            ║
+ * ║                                                                          ║
+ * ║ El padre de una zona es la zona más pequeña cuya caja contiene la suya  ║
+ * ║ (tienda → pueblo → región). Las cajas iguales se desempatan por ID, así ║
+ * ║ que el árbol nunca tiene ciclos.                                        ║
+ * ║                                                                          ║
+ * ║ Búsqueda por descenso:                                                  ║
+ * ║ - Las raíces tienen su propio ZoneIndex                                 ║
+ * ║ - De cada zona cuya caja contiene el punto se baja a sus hijos (con un  ║
+ * ║   ZoneIndex propio si tiene muchos)                                     ║
+ * ║ Solo se examinan las ramas que contienen el punto.                      ║
+ * ║                                                                          ║
+ * ║ Zona más interna: mayor prioridad explícita, luego mayor profundidad y  ║
+ * ║ luego menor volumen.                                                    ║
+ * ║                                                                          ║
+ * ║ Mantenimiento: rebuild() para la carga inicial o al cambiar de          ║
+ * ║ dimensión; insert()/remove() para altas, bajas y cambios de tamaño      ║
+ * ║ sueltos (solo se tocan la zona, su padre y los hijos que cambian de     ║
+ * ║ padre).                                                                 ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneHierarchy {
+
+	// Hijos a partir de los cuales se indexan en un ZoneIndex propio
+	private static final int CHILD_INDEX_THRESHOLD = 16;
+
+	private final Map<Zone, Node> nodes = new IdentityHashMap<>();
+	private final ZoneIndex rootIndex = new ZoneIndex();
+	private int maxDepth = 0;
+
+	// La profundidad máxima se recalcula al consultarla tras una baja
+	private boolean maxDepthDirty = false;
+
+	// Zonas que solapan la caja consultada (reutilizada en insert/remove)
+	private final List<Zone> overlapping = new ArrayList<>();
+
+	// Pila y resultados reutilizados en cada búsqueda
+	private final List<Zone> pending = new ArrayList<>();
+
+	private static final class Node {
+		final Zone zone;
+		Node parent;
+		int depth;
+		final List<Zone> children = new ArrayList<>();
+		ZoneIndex childIndex;
+
+		Node(Zone zone) {
+			this.zone = zone;
+		}
+	}
+
+	/**
+	 * Reconstruye el árbol. Las cajas contenedoras se buscan con el índice
+	 * espacial de todas las zonas.
+	 */
+	public void rebuild(Collection<Zone> zones, ZoneIndex spatialIndex) {
+		long start = System.nanoTime();
+
+		nodes.clear();
+		rootIndex.clear();
+		maxDepth = 0;
+		maxDepthDirty = false;
+
+		// De mayor a menor caja: los padres se procesan antes que sus hijos
+		List<Zone> ordered = new ArrayList<>(zones);
+		ordered.sort(NESTING_ORDER);
+
+		Map<Zone, Integer> rank = new IdentityHashMap<>();
+		for (int i = 0; i < ordered.size(); i++) {
+			rank.put(ordered.get(i), i);
+			nodes.put(ordered.get(i), new Node(ordered.get(i)));
+		}
+
+		List<Zone> roots = new ArrayList<>();
+
+		for (int i = 0; i < ordered.size(); i++) {
+			Zone zone = ordered.get(i);
+			Node node = nodes.get(zone);
+
+			// Padre = la contenedora de rango más alto (la más pequeña) anterior a esta
+			overlapping.clear();
+			spatialIndex.queryBox(zone.getMinX(), zone.getMinY(), zone.getMinZ(),
+				zone.getMaxX(), zone.getMaxY(), zone.getMaxZ(), overlapping);
+
+			Node parent = null;
+			int parentRank = -1;
+			for (Zone candidate : overlapping) {
+				Integer candidateRank = rank.get(candidate);
+				if (candidateRank == null || candidateRank >= i || candidateRank <= parentRank) {
+					continue;
+				}
+				if (boxContains(candidate, zone)) {
+					parent = nodes.get(candidate);
+					parentRank = candidateRank;
+				}
+			}
+
+			if (parent == null) {
+				roots.add(zone);
+			} else {
+				node.parent = parent;
+				node.depth = parent.depth + 1;
+				parent.children.add(zone);
+				maxDepth = Math.max(maxDepth, node.depth);
+			}
+		}
+
+		rootIndex.insertAll(roots);
+
+		for (Node node : nodes.values()) {
+			if (node.children.size() >= CHILD_INDEX_THRESHOLD) {
+				node.childIndex = new ZoneIndex();
+				node.childIndex.insertAll(node.children);
+			}
+		}
+
+		System.out.println(String.format(
+			"[ZoneHierarchy] ✓ Árbol reconstruido: %d zonas, %d raíces, profundidad %d (%.1f ms)",
+			nodes.size(), rootIndex.size(), maxDepth, (System.nanoTime() - start) / 1e6
+		));
+	}
+
+	/**
+	 * Añade una zona al árbol sin reconstruirlo: se le busca padre y adopta
+	 * a las zonas que contiene cuyo padre actual es mayor que ella.
+	 *
+	 * @param spatialIndex Índice de la dimensión, ya con la zona insertada
+	 */
+	public void insert(Zone zone, ZoneIndex spatialIndex) {
+		if (nodes.containsKey(zone)) {
+			return;
+		}
+
+		Node node = new Node(zone);
+		nodes.put(zone, node);
+		attach(node, findParent(zone, spatialIndex));
+
+		// Zonas contenidas en esta para las que es mejor padre que el actual
+		overlapping.clear();
+		spatialIndex.queryBox(zone.getMinX(), zone.getMinY(), zone.getMinZ(),
+			zone.getMaxX(), zone.getMaxY(), zone.getMaxZ(), overlapping);
+
+		List<Node> adopted = new ArrayList<>();
+		for (Zone candidate : overlapping) {
+			Node child = nodes.get(candidate);
+			if (child == null || child == node ||
+				NESTING_ORDER.compare(zone, candidate) >= 0 || !boxContains(zone, candidate)) {
+				continue;
+			}
+			if (child.parent == null || NESTING_ORDER.compare(child.parent.zone, zone) < 0) {
+				adopted.add(child);
+			}
+		}
+		for (Node child : adopted) {
+			detach(child);
+			attach(child, node);
+		}
+	}
+
+	/**
+	 * Quita una zona del árbol sin reconstruirlo: sus hijos pasan al mejor
+	 * contenedor restante.
+	 *
+	 * @param spatialIndex Índice de la dimensión (puede contener aún la zona)
+	 */
+	public void remove(Zone zone, ZoneIndex spatialIndex) {
+		Node node = nodes.remove(zone);
+		if (node == null) {
+			return;
+		}
+
+		detach(node);
+		List<Node> orphans = new ArrayList<>(node.children.size());
+		for (Zone child : node.children) {
+			orphans.add(nodes.get(child));
+		}
+		node.children.clear();
+		node.childIndex = null;
+
+		for (Node orphan : orphans) {
+			orphan.parent = null;
+			attach(orphan, findParent(orphan.zone, spatialIndex));
+		}
+		maxDepthDirty = true;
+	}
+
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Contenedora de la zona que va antes que ella en NESTING_ORDER y, de
+	 * ellas, la última (la más pequeña). Igual que en rebuild().
+	 */
+	private Node findParent(Zone zone, ZoneIndex spatialIndex) {
+		overlapping.clear();
+		spatialIndex.queryBox(zone.getMinX(), zone.getMinY(), zone.getMinZ(),
+			zone.getMaxX(), zone.getMaxY(), zone.getMaxZ(), overlapping);
+
+		Node parent = null;
+		for (Zone candidate : overlapping) {
+			Node candidateNode = nodes.get(candidate);
+			if (candidateNode == null || candidate == zone ||
+				NESTING_ORDER.compare(candidate, zone) >= 0 || !boxContains(candidate, zone)) {
+				continue;
+			}
+			if (parent == null || NESTING_ORDER.compare(candidate, parent.zone) > 0) {
+				parent = candidateNode;
+			}
+		}
+		return parent;
+	}
+
+	/**
+	 * Cuelga un nodo sin padre de {@code parent} (o de las raíces si es null)
+	 * y actualiza la profundidad de su subárbol.
+	 */
+	private void attach(Node node, Node parent) {
+		node.parent = parent;
+		if (parent == null) {
+			rootIndex.insert(node.zone);
+		} else {
+			parent.children.add(node.zone);
+			if (parent.childIndex != null) {
+				parent.childIndex.insert(node.zone);
+			} else if (parent.children.size() >= CHILD_INDEX_THRESHOLD) {
+				parent.childIndex = new ZoneIndex();
+				parent.childIndex.insertAll(parent.children);
+			}
+		}
+		updateDepth(node, parent != null ? parent.depth + 1 : 0);
+	}
+
+	/**
+	 * Separa un nodo de su padre (o de las raíces); conserva sus hijos.
+	 */
+	private void detach(Node node) {
+		Node parent = node.parent;
+		if (parent == null) {
+			rootIndex.remove(node.zone.getZoneId());
+			return;
+		}
+
+		parent.children.remove(node.zone);
+		if (parent.childIndex != null) {
+			if (parent.children.size() < CHILD_INDEX_THRESHOLD) {
+				parent.childIndex = null;
+			} else {
+				parent.childIndex.remove(node.zone.getZoneId());
+			}
+		}
+		node.parent = null;
+	}
+
+	private void updateDepth(Node node, int depth) {
+		List<Node> stack = new ArrayList<>();
+		setDepth(node, depth);
+		stack.add(node);
+
+		// Solo se baja por las ramas cuya profundidad cambia
+		while (!stack.isEmpty()) {
+			Node current = stack.remove(stack.size() - 1);
+			for (Zone child : current.children) {
+				Node childNode = nodes.get(child);
+				if (childNode.depth != current.depth + 1) {
+					setDepth(childNode, current.depth + 1);
+					stack.add(childNode);
+				}
+			}
+		}
+	}
+
+	private void setDepth(Node node, int depth) {
+		if (depth < node.depth) {
+			maxDepthDirty = true;
+		}
+		node.depth = depth;
+		maxDepth = Math.max(maxDepth, depth);
+	}
+
+	/**
+	 * Añade a {@code out} las zonas que contienen el punto, bajando solo por
+	 * las ramas cuya caja lo contiene.
+	 *
+	 * @param out Lista destino (no se vacía)
+	 */
+	public void collectContaining(double x, double y, double z, List<Zone> out) {
+		pending.clear();
+		rootIndex.queryBox(x, y, z, x, y, z, pending);
+
+		while (!pending.isEmpty()) {
+			Zone zone = pending.remove(pending.size() - 1);
+			if (zone.isPlayerInside(x, y, z)) {
+				out.add(zone);
+			}
+
+			// La caja del padre contiene a sus hijos: basta con que contenga el punto
+			Node node = nodes.get(zone);
+			if (node == null || node.children.isEmpty()) {
+				continue;
+			}
+			if (node.childIndex != null) {
+				node.childIndex.queryBox(x, y, z, x, y, z, pending);
+			} else {
+				for (Zone child : node.children) {
+					if (x >= child.getMinX() && x <= child.getMaxX() &&
+						y >= child.getMinY() && y <= child.getMaxY() &&
+						z >= child.getMinZ() && z <= child.getMaxZ()) {
+						pending.add(child);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Zona más interna de las dadas: mayor prioridad, luego mayor
+	 * profundidad y luego menor volumen.
+	 *
+	 * @return La zona, o null si no hay ninguna
+	 */
+	public Zone innermost(Collection<Zone> zones) {
+		Zone best = null;
+		for (Zone zone : zones) {
+			if (best == null || compareInnermost(zone, best) > 0) {
+				best = zone;
+			}
+		}
+		return best;
+	}
+
+	private int compareInnermost(Zone a, Zone b) {
+		if (a.getPriority() != b.getPriority()) {
+			return Integer.compare(a.getPriority(), b.getPriority());
+		}
+		int depthA = getDepth(a);
+		int depthB = getDepth(b);
+		if (depthA != depthB) {
+			return Integer.compare(depthA, depthB);
+		}
+		return Double.compare(b.getVolume(), a.getVolume());
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// CONSULTAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * @return Zona padre, o null si es raíz o no está en el árbol
+	 */
+	public Zone getParent(Zone zone) {
+		Node node = nodes.get(zone);
+		return node != null && node.parent != null ? node.parent.zone : null;
+	}
+
+	public int getDepth(Zone zone) {
+		Node node = nodes.get(zone);
+		return node != null ? node.depth : 0;
+	}
+
+	public List<Zone> getChildren(Zone zone) {
+		Node node = nodes.get(zone);
+		return node != null ? Collections.unmodifiableList(node.children) : Collections.emptyList();
+	}
+
+	public int getRootCount() {
+		return rootIndex.size();
+	}
+
+	public int getMaxDepth() {
+		if (maxDepthDirty) {
+			maxDepth = 0;
+			for (Node node : nodes.values()) {
+				maxDepth = Math.max(maxDepth, node.depth);
+			}
+			maxDepthDirty = false;
+		}
+		return maxDepth;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// UTILIDADES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	// Caja mayor primero; a igual caja, por ID (orden total, sin ciclos)
+	private static final Comparator<Zone> NESTING_ORDER = Comparator
+		.comparingDouble(ZoneHierarchy::boxVolume).reversed()
+		.thenComparing(Zone::getZoneId);
+
+	private static double boxVolume(Zone zone) {
+		return zone.getWidth() * zone.getHeight() * zone.getDepth();
+	}
+
+	private static boolean boxContains(Zone outer, Zone inner) {
+		return outer.getMinX() <= inner.getMinX() && outer.getMaxX() >= inner.getMaxX() &&
+			outer.getMinY() <= inner.getMinY() && outer.getMaxY() >= inner.getMaxY() &&
+			outer.getMinZ() <= inner.getMinZ() && outer.getMaxZ() >= inner.getMaxZ();
+	}
+}
@@ -0,0 +1,555 @@
+package com.neokey.zoneautomessage.zone;
+
+import java.util.*;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║       ZONE INDEX - Índice Espacial (Árbol AABB Dinámico)                 ║
+ * ║                                                                          ║
+ * ║ Responsabilidades:                                                       ║
+ * ║ - Localizar las zonas que contienen un punto en O(log n)                ║
+ * ║ - Consultas por caja y búsqueda de las k zonas más cercanas             ║
+ * ║ - Inserción/eliminación incremental al cargar o descargar regiones      ║
+ * ║                                                                          ║
+ * ║ Cada hoja guarda el AABB de una zona; los nodos internos guardan la     ║
+ * ║ unión de sus hijos. Las inserciones eligen el hermano con menor coste   ║
+ * ║ de superficie y el árbol se rebalancea con rotaciones (estilo AVL).     ║
+ * ║                                                                          ║
+ * ║ No es thread-safe: se usa desde el hilo del cliente.                    ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneIndex {
+
+	// Raíz del árbol
+	private Node root = null;
+
+	// Hojas por ID de zona (eliminación O(1) + refit O(log n))
+	private final Map<String, Node> leavesById = new HashMap<>();
+
+	// Pila reutilizable para recorridos (evita asignar memoria por consulta)
+	private Node[] stack = new Node[64];
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// MODIFICACIÓN
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Inserta una zona en el índice. Si ya existía, actualiza sus límites.
+	 *
+	 * @param zone Zona a indexar
+	 */
+	public void insert(Zone zone) {
+		Node existing = leavesById.get(zone.getZoneId());
+		if (existing != null) {
+			removeLeaf(existing);
+		}
+
+		Node leaf = new Node();
+		leaf.zone = zone;
+		leaf.setBounds(zone);
+		leavesById.put(zone.getZoneId(), leaf);
+		insertLeaf(leaf);
+	}
+
+	/**
+	 * Inserta muchas zonas de una vez. Si el lote es al menos tan grande como
+	 * el índice actual, el árbol se reconstruye entero de arriba abajo
+	 * (división por la mediana del eje más largo) en lugar de insertar una a
+	 * una; el resultado queda balanceado y la carga es O(n log n).
+	 *
+	 * @param zones Zonas a indexar (las ya indexadas se actualizan)
+	 */
+	public void insertAll(Collection<Zone> zones) {
+		if (zones.isEmpty()) {
+			return;
+		}
+
+		if (zones.size() < leavesById.size()) {
+			for (Zone zone : zones) {
+				insert(zone);
+			}
+			return;
+		}
+
+		for (Zone zone : zones) {
+			Node leaf = new Node();
+			leaf.zone = zone;
+			leaf.setBounds(zone);
+			leavesById.put(zone.getZoneId(), leaf);
+		}
+
+		Node[] leaves = leavesById.values().toArray(new Node[0]);
+		for (Node leaf : leaves) {
+			leaf.parent = null;
+		}
+
+		root = buildTopDown(leaves, 0, leaves.length);
+		root.parent = null;
+	}
+
+	/**
+	 * Elimina una zona del índice.
+	 *
+	 * @param zoneId ID de la zona
+	 * @return true si estaba indexada
+	 */
+	public boolean remove(String zoneId) {
+		Node leaf = leavesById.remove(zoneId);
+		if (leaf == null) {
+			return false;
+		}
+		removeLeaf(leaf);
+		return true;
+	}
+
+	/**
+	 * Reubica una zona tras cambiar sus coordenadas.
+	 *
+	 * @param zone Zona modificada
+	 */
+	public void update(Zone zone) {
+		insert(zone);
+	}
+
+	/**
+	 * Vacía el índice.
+	 */
+	public void clear() {
+		root = null;
+		leavesById.clear();
+	}
+
+	public int size() {
+		return leavesById.size();
+	}
+
+	public boolean contains(String zoneId) {
+		return leavesById.containsKey(zoneId);
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// CONSULTAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Añade a {@code out} las zonas cuyo volumen contiene el punto.
+	 *
+	 * @param x, y, z Punto a consultar
+	 * @param out Lista destino (no se vacía)
+	 */
+	public void queryPoint(double x, double y, double z, List<Zone> out) {
+		if (root == null) {
+			return;
+		}
+
+		int top = 0;
+		stack[top++] = root;
+
+		while (top > 0) {
+			Node node = stack[--top];
+			if (x < node.minX || x > node.maxX ||
+				y < node.minY || y > node.maxY ||
+				z < node.minZ || z > node.maxZ) {
+				continue;
+			}
+
+			if (node.isLeaf()) {
+				if (node.zone.isPlayerInside(x, y, z)) {
+					out.add(node.zone);
+				}
+			} else {
+				top = push(top, node.left);
+				top = push(top, node.right);
+			}
+		}
+	}
+
+	/**
+	 * Añade a {@code out} las zonas cuyo AABB intersecta la caja dada.
+	 *
+	 * @param out Lista destino (no se vacía)
+	 */
+	public void queryBox(double minX, double minY, double minZ,
+						 double maxX, double maxY, double maxZ, List<Zone> out) {
+		if (root == null) {
+			return;
+		}
+
+		int top = 0;
+		stack[top++] = root;
+
+		while (top > 0) {
+			Node node = stack[--top];
+			if (maxX < node.minX || minX > node.maxX ||
+				maxY < node.minY || minY > node.maxY ||
+				maxZ < node.minZ || minZ > node.maxZ) {
+				continue;
+			}
+
+			if (node.isLeaf()) {
+				out.add(node.zone);
+			} else {
+				top = push(top, node.left);
+				top = push(top, node.right);
+			}
+		}
+	}
+
+	/**
+	 * Obtiene las k zonas más cercanas a un punto (búsqueda best-first).
+	 *
+	 * @param x, y, z Punto de referencia
+	 * @param k Número máximo de resultados
+	 * @param maxDistance Distancia máxima (Double.POSITIVE_INFINITY = sin límite)
+	 * @return Zonas ordenadas de más cercana a más lejana
+	 */
+	public List<Zone> nearest(double x, double y, double z, int k, double maxDistance) {
+		List<Zone> result = new ArrayList<>();
+		if (root == null || k <= 0) {
+			return result;
+		}
+
+		double maxDistSq = maxDistance * maxDistance;
+		PriorityQueue<Candidate> open = new PriorityQueue<>();
+		open.add(new Candidate(root, root.distanceSq(x, y, z)));
+
+		while (!open.isEmpty() && result.size() < k) {
+			Candidate current = open.poll();
+			if (current.distSq > maxDistSq) {
+				break;
+			}
+
+			Node node = current.node;
+			if (node.isLeaf()) {
+				if (current.exact) {
+					result.add(node.zone);
+				} else {
+					// Reinsertar con la distancia exacta de la zona
+					double d = node.zone.getDistanceToZone(x, y, z);
+					open.add(new Candidate(node, d * d, true));
+				}
+			} else {
+				open.add(new Candidate(node.left, node.left.distanceSq(x, y, z)));
+				open.add(new Candidate(node.right, node.right.distanceSq(x, y, z)));
+			}
+		}
+
+		return result;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// ÁRBOL: INSERCIÓN / ELIMINACIÓN / BALANCEO
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private void insertLeaf(Node leaf) {
+		if (root == null) {
+			root = leaf;
+			leaf.parent = null;
+			return;
+		}
+
+		// 1. Buscar el mejor hermano (heurística de superficie)
+		Node sibling = root;
+		while (!sibling.isLeaf()) {
+			double area = sibling.surface();
+			double combinedArea = Node.unionSurface(sibling, leaf);
+
+			double cost = 2.0 * combinedArea;
+			double inheritance = 2.0 * (combinedArea - area);
+
+			double costLeft = descendCost(sibling.left, leaf) + inheritance;
+			double costRight = descendCost(sibling.right, leaf) + inheritance;
+
+			if (cost < costLeft && cost < costRight) {
+				break;
+			}
+			sibling = costLeft < costRight ? sibling.left : sibling.right;
+		}
+
+		// 2. Crear un nuevo padre para hermano + hoja
+		Node oldParent = sibling.parent;
+		Node newParent = new Node();
+		newParent.parent = oldParent;
+		newParent.setUnion(sibling, leaf);
+		newParent.height = sibling.height + 1;
+		newParent.left = sibling;
+		newParent.right = leaf;
+		sibling.parent = newParent;
+		leaf.parent = newParent;
+
+		if (oldParent == null) {
+			root = newParent;
+		} else if (oldParent.left == sibling) {
+			oldParent.left = newParent;
+		} else {
+			oldParent.right = newParent;
+		}
+
+		// 3. Reajustar ancestros
+		refitUpwards(newParent.parent);
+	}
+
+	/**
+	 * Construye un subárbol balanceado con las hojas [from, to).
+	 */
+	private Node buildTopDown(Node[] leaves, int from, int to) {
+		if (to - from == 1) {
+			return leaves[from];
+		}
+
+		// Eje más largo según los centros de las hojas
+		double minCX = Double.MAX_VALUE, minCY = Double.MAX_VALUE, minCZ = Double.MAX_VALUE;
+		double maxCX = -Double.MAX_VALUE, maxCY = -Double.MAX_VALUE, maxCZ = -Double.MAX_VALUE;
+		for (int i = from; i < to; i++) {
+			Node leaf = leaves[i];
+			double cx = leaf.minX + leaf.maxX;
+			double cy = leaf.minY + leaf.maxY;
+			double cz = leaf.minZ + leaf.maxZ;
+			minCX = Math.min(minCX, cx); maxCX = Math.max(maxCX, cx);
+			minCY = Math.min(minCY, cy); maxCY = Math.max(maxCY, cy);
+			minCZ = Math.min(minCZ, cz); maxCZ = Math.max(maxCZ, cz);
+		}
+
+		double spanX = maxCX - minCX;
+		double spanY = maxCY - minCY;
+		double spanZ = maxCZ - minCZ;
+		int axis = spanX >= spanY && spanX >= spanZ ? 0 : (spanY >= spanZ ? 1 : 2);
+		Arrays.sort(leaves, from, to, CENTER_ORDER[axis]);
+
+		int mid = (from + to) >>> 1;
+		Node left = buildTopDown(leaves, from, mid);
+		Node right = buildTopDown(leaves, mid, to);
+
+		Node node = new Node();
+		node.left = left;
+		node.right = right;
+		left.parent = node;
+		right.parent = node;
+		node.setUnion(left, right);
+		node.height = 1 + Math.max(left.height, right.height);
+		return node;
+	}
+
+	private void removeLeaf(Node leaf) {
+		if (leaf == root) {
+			root = null;
+			return;
+		}
+
+		Node parent = leaf.parent;
+		Node grandParent = parent.parent;
+		Node sibling = parent.left == leaf ? parent.right : parent.left;
+
+		if (grandParent == null) {
+			root = sibling;
+			sibling.parent = null;
+		} else {
+			if (grandParent.left == parent) {
+				grandParent.left = sibling;
+			} else {
+				grandParent.right = sibling;
+			}
+			sibling.parent = grandParent;
+			refitUpwards(grandParent);
+		}
+
+		leaf.parent = null;
+	}
+
+	private void refitUpwards(Node node) {
+		while (node != null) {
+			node = balance(node);
+			node.height = 1 + Math.max(node.left.height, node.right.height);
+			node.setUnion(node.left, node.right);
+			node = node.parent;
+		}
+	}
+
+	private double descendCost(Node child, Node leaf) {
+		double union = Node.unionSurface(child, leaf);
+		return child.isLeaf() ? union : union - child.surface();
+	}
+
+	/**
+	 * Rotación para mantener el árbol balanceado. Devuelve la nueva raíz
+	 * del subárbol.
+	 */
+	private Node balance(Node a) {
+		if (a.isLeaf() || a.height < 2) {
+			return a;
+		}
+
+		Node b = a.left;
+		Node c = a.right;
+		int balance = c.height - b.height;
+
+		// Rotar C hacia arriba
+		if (balance > 1) {
+			Node f = c.left;
+			Node g = c.right;
+
+			c.left = a;
+			c.parent = a.parent;
+			a.parent = c;
+			replaceChild(c.parent, a, c);
+
+			if (f.height > g.height) {
+				c.right = f;
+				a.right = g;
+				g.parent = a;
+				a.setUnion(b, g);
+				c.setUnion(a, f);
+				a.height = 1 + Math.max(b.height, g.height);
+				c.height = 1 + Math.max(a.height, f.height);
+			} else {
+				c.right = g;
+				a.right = f;
+				f.parent = a;
+				a.setUnion(b, f);
+				c.setUnion(a, g);
+				a.height = 1 + Math.max(b.height, f.height);
+				c.height = 1 + Math.max(a.height, g.height);
+			}
+			return c;
+		}
+
+		// Rotar B hacia arriba
+		if (balance < -1) {
+			Node d = b.left;
+			Node e = b.right;
+
+			b.left = a;
+			b.parent = a.parent;
+			a.parent = b;
+			replaceChild(b.parent, a, b);
+
+			if (d.height > e.height) {
+				b.right = d;
+				a.left = e;
+				e.parent = a;
+				a.setUnion(e, c);
+				b.setUnion(a, d);
+				a.height = 1 + Math.max(e.height, c.height);
+				b.height = 1 + Math.max(a.height, d.height);
+			} else {
+				b.right = e;
+				a.left = d;
+				d.parent = a;
+				a.setUnion(d, c);
+				b.setUnion(a, e);
+				a.height = 1 + Math.max(d.height, c.height);
+				b.height = 1 + Math.max(a.height, e.height);
+			}
+			return b;
+		}
+
+		return a;
+	}
+
+	private void replaceChild(Node parent, Node oldChild, Node newChild) {
+		if (parent == null) {
+			root = newChild;
+		} else if (parent.left == oldChild) {
+			parent.left = newChild;
+		} else {
+			parent.right = newChild;
+		}
+	}
+
+	private int push(int top, Node node) {
+		if (top == stack.length) {
+			stack = Arrays.copyOf(stack, stack.length * 2);
+		}
+		stack[top] = node;
+		return top + 1;
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// ESTRUCTURAS INTERNAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	// Orden de las hojas por su centro en X, Y y Z (construcción por lotes)
+	private static final Comparator<Node>[] CENTER_ORDER = createCenterOrders();
+
+	@SuppressWarnings("unchecked")
+	private static Comparator<Node>[] createCenterOrders() {
+		return new Comparator[]{
+			Comparator.<Node>comparingDouble(n -> n.minX + n.maxX),
+			Comparator.<Node>comparingDouble(n -> n.minY + n.maxY),
+			Comparator.<Node>comparingDouble(n -> n.minZ + n.maxZ)
+		};
+	}
+
+	private static final class Node {
+		double minX, minY, minZ;
+		double maxX, maxY, maxZ;
+		Node parent, left, right;
+		Zone zone;
+		int height = 0;
+
+		boolean isLeaf() {
+			return left == null;
+		}
+
+		void setBounds(Zone zone) {
+			minX = zone.getMinX();
+			minY = zone.getMinY();
+			minZ = zone.getMinZ();
+			maxX = zone.getMaxX();
+			maxY = zone.getMaxY();
+			maxZ = zone.getMaxZ();
+		}
+
+		void setUnion(Node a, Node b) {
+			minX = Math.min(a.minX, b.minX);
+			minY = Math.min(a.minY, b.minY);
+			minZ = Math.min(a.minZ, b.minZ);
+			maxX = Math.max(a.maxX, b.maxX);
+			maxY = Math.max(a.maxY, b.maxY);
+			maxZ = Math.max(a.maxZ, b.maxZ);
+		}
+
+		double surface() {
+			double w = maxX - minX;
+			double h = maxY - minY;
+			double d = maxZ - minZ;
+			return 2.0 * (w * h + h * d + d * w);
+		}
+
+		double distanceSq(double x, double y, double z) {
+			double dx = Math.max(minX - x, Math.max(x - maxX, 0));
+			double dy = Math.max(minY - y, Math.max(y - maxY, 0));
+			double dz = Math.max(minZ - z, Math.max(z - maxZ, 0));
+			return dx * dx + dy * dy + dz * dz;
+		}
+
+		static double unionSurface(Node a, Node b) {
+			double w = Math.max(a.maxX, b.maxX) - Math.min(a.minX, b.minX);
+			double h = Math.max(a.maxY, b.maxY) - Math.min(a.minY, b.minY);
+			double d = Math.max(a.maxZ, b.maxZ) - Math.min(a.minZ, b.minZ);
+			return 2.0 * (w * h + h * d + d * w);
+		}
+	}
+
+	private static final class Candidate implements Comparable<Candidate> {
+		final Node node;
+		final double distSq;
+		final boolean exact;
+
+		Candidate(Node node, double distSq) {
+			this(node, distSq, false);
+		}
+
+		Candidate(Node node, double distSq, boolean exact) {
+			this.node = node;
+			this.distSq = distSq;
+			this.exact = exact;
+		}
+
+		@Override
+		public int compareTo(Candidate other) {
+			return Double.compare(distSq, other.distSq);
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package com.neokey.zoneautomessage.zone;
+
+import java.util.*;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║       ZONE NAME INDEX - Autocompletado y Búsqueda Aproximada             ║
+ * ║                                                                          ║
+ * ║ Responsabilidades:                                                       ║
+ * ║ - Completar nombres por prefijo sin distinguir mayúsculas               ║
+ * ║ - Sugerir nombres parecidos ("¿quisiste decir...?") con trigramas       ║
+ * ║                                                                          ║
+ * ║ Prefijos: mapa ordenado por nombre en minúsculas; un prefijo es un      ║
+ * ║ rango contiguo, así que completar cuesta O(log n + límite) sea cual     ║
+ * ║ sea el número de zonas.                                                 ║
+ * ║                                                                          ║
+ * ║ Aproximada: índice invertido trigrama → nombres. Los candidatos son los ║
+ * ║ que comparten algún trigrama con la consulta, puntuados con el          ║
+ * ║ coeficiente de Dice. Los trigramas demasiado comunes se ignoran si hay  ║
+ * ║ otros más selectivos.                                                   ║
+ * ║                                                                          ║
+ * ║ Lo mantiene ZoneManager (altas, bajas y renombrados).                   ║
+ * ║ No es thread-safe: se usa desde el hilo del cliente.                    ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public class ZoneNameIndex {
+
+	// Similitud mínima (Dice) para sugerir un nombre
+	private static final double MIN_SIMILARITY = 0.3;
+
+	// Listas de trigramas más largas que esto se consideran "comunes"
+	private static final int COMMON_TRIGRAM_POSTINGS = 2048;
+
+	// Clave: nombre en minúsculas + '\0' + nombre (admite "Casa" y "casa")
+	private final NavigableMap<String, String> byLowerName = new TreeMap<>();
+
+	// Trigrama → nombres que lo contienen
+	private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// MODIFICACIÓN
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	public void add(String name) {
+		if (byLowerName.put(key(name), name) != null) {
+			return;
+		}
+		for (String trigram : trigramsOf(name)) {
+			trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(name);
+		}
+	}
+
+	public void remove(String name) {
+		if (byLowerName.remove(key(name)) == null) {
+			return;
+		}
+		for (String trigram : trigramsOf(name)) {
+			Set<String> names = trigrams.get(trigram);
+			if (names != null) {
+				names.remove(name);
+				if (names.isEmpty()) {
+					trigrams.remove(trigram);
+				}
+			}
+		}
+	}
+
+	public void rename(String oldName, String newName) {
+		remove(oldName);
+		add(newName);
+	}
+
+	public void clear() {
+		byLowerName.clear();
+		trigrams.clear();
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// CONSULTAS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	/**
+	 * Añade a {@code out} hasta {@code limit} nombres que empiezan por el
+	 * prefijo (sin distinguir mayúsculas), en orden alfabético.
+	 */
+	public void complete(String prefix, int limit, List<String> out) {
+		String lower = prefix.toLowerCase(Locale.ROOT);
+		int added = 0;
+
+		for (String name : byLowerName.subMap(lower, true, lower + Character.MAX_VALUE, false).values()) {
+			if (added++ >= limit) {
+				break;
+			}
+			out.add(name);
+		}
+	}
+
+	/**
+	 * Nombres parecidos a la consulta, de más a menos similar.
+	 *
+	 * @param query Nombre buscado (normalmente uno que no existe)
+	 * @param limit Número máximo de sugerencias
+	 */
+	public List<String> findSimilar(String query, int limit) {
+		Set<String> queryTrigrams = trigramsOf(query);
+		if (queryTrigrams.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+
+		// Trigramas selectivos primero; los comunes solo si no queda otra
+		List<Set<String>> postings = new ArrayList<>();
+		for (String trigram : queryTrigrams) {
+			Set<String> names = trigrams.get(trigram);
+			if (names != null) {
+				postings.add(names);
+			}
+		}
+		boolean hasSelective = postings.stream().anyMatch(p -> p.size() <= COMMON_TRIGRAM_POSTINGS);
+
+		Map<String, Integer> shared = new HashMap<>();
+		for (Set<String> names : postings) {
+			if (hasSelective && names.size() > COMMON_TRIGRAM_POSTINGS) {
+				continue;
+			}
+			for (String name : names) {
+				shared.merge(name, 1, Integer::sum);
+			}
+		}
+
+		List<Map.Entry<String, Double>> scored = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+			int nameTrigrams = trigramsOf(entry.getKey()).size();
+			double dice = 2.0 * entry.getValue() / (queryTrigrams.size() + nameTrigrams);
+			if (dice >= MIN_SIMILARITY) {
+				scored.add(Map.entry(entry.getKey(), dice));
+			}
+		}
+
+		scored.sort(Map.Entry.<String, Double>comparingByValue().reversed()
+			.thenComparing(Map.Entry.comparingByKey()));
+
+		List<String> result = new ArrayList<>();
+		for (int i = 0; i < scored.size() && i < limit; i++) {
+			result.add(scored.get(i).getKey());
+		}
+		return result;
+	}
+
+	public int size() {
+		return byLowerName.size();
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// UTILIDADES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private static String key(String name) {
+		return name.toLowerCase(Locale.ROOT) + '\0' + name;
+	}
+
+	/**
+	 * Trigramas del nombre en minúsculas, con relleno para que los extremos
+	 * también cuenten ("ab" → "  a", " ab", "ab ").
+	 */
+	private static Set<String> trigramsOf(String name) {
+		String padded = "  " + name.toLowerCase(Locale.ROOT) + " ";
+		Set<String> result = new HashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			result.add(padded.substring(i, i + 3));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,91 @@
+package com.neokey.zoneautomessage.zone;
+
+import com.google.gson.JsonObject;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                       ZONE SHAPE - Formas de Zona                        ║
+ * ║                                                                          ║
+ * ║ Forma de una zona que no es un cuboide: esfera, cilindro, prisma        ║
+ * ║ poligonal o compuesta (unión de cajas menos cajas). Las zonas cuboides  ║
+ * ║ no tienen forma (Zone.getShape() == null).                              ║
+ * ║                                                                          ║
+ * ║ - Las formas son inmutables; para cambiar una zona se le asigna otra.   ║
+ * ║   Así el mesher puede leerlas desde su hilo sin copiarlas               ║
+ * ║ - Los límites (getMinX..getMaxZ) son la caja envolvente que guarda la   ║
+ * ║   zona y que usa el índice espacial                                     ║
+ * ║ - Zone solo llama a contains() si el punto está en la caja              ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public interface ZoneShape {
+
+	/**
+	 * Recibe las aristas del contorno (coordenadas absolutas).
+	 */
+	interface OutlineConsumer {
+		void line(double xa, double ya, double za, double xb, double yb, double zb);
+	}
+
+	/**
+	 * Tipo guardado en disco ("sphere", "cylinder", "polygon", "compound").
+	 */
+	String getType();
+
+	boolean contains(double x, double y, double z);
+
+	/**
+	 * Distancia euclidiana mínima desde el punto a la forma (0 si está dentro).
+	 */
+	double distanceTo(double x, double y, double z);
+
+	/**
+	 * Buffer de salida: true si el punto está a como mucho {@code horizontal}
+	 * bloques de la forma en X/Z y a como mucho {@code vertical} en Y. Las
+	 * dos distancias se comparan por separado y al cuadrado, sin raíces.
+	 */
+	boolean isWithinBuffer(double x, double y, double z, double horizontal, double vertical);
+
+	double getVolume();
+
+	double getMinX();
+	double getMinY();
+	double getMinZ();
+	double getMaxX();
+	double getMaxY();
+	double getMaxZ();
+
+	/**
+	 * Emite las aristas que dibuja ZoneRenderer.
+	 */
+	void outline(OutlineConsumer consumer);
+
+	/**
+	 * Descripción corta para /zam info.
+	 */
+	String describe();
+
+	JsonObject toJson();
+
+	/**
+	 * Lee una forma guardada con toJson().
+	 *
+	 * @throws IllegalArgumentException Si el tipo no existe o faltan datos
+	 */
+	static ZoneShape fromJson(JsonObject json) {
+		String type = json.get("type").getAsString();
+		switch (type) {
+			case SphereShape.TYPE:
+				return SphereShape.fromJson(json);
+			case CylinderShape.TYPE:
+				return CylinderShape.fromJson(json);
+			case PolygonPrismShape.TYPE:
+				return PolygonPrismShape.fromJson(json);
+			case CompoundShape.TYPE:
+				return CompoundShape.fromJson(json);
+			default:
+				throw new IllegalArgumentException("Forma desconocida: " + type);
+		}
+	}
+}
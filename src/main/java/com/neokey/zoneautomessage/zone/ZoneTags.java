@@ -0,0 +1,96 @@
+package com.neokey.zoneautomessage.zone;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * ╔══════════════════════════════════════════════════════════════════════════╗
+ * ║                   ZONE TAGS - Diccionario de Etiquetas                   ║
+ * ║                                                                          ║
+ * ║ Diccionario global de etiquetas de zona ("shop", "pvp", "spawn"...).    ║
+ * ║                                                                          ║
+ * ║ - Cada nombre recibe un ID pequeño y estable durante la sesión          ║
+ * ║ - Las zonas guardan sus etiquetas como bits de un BitSet con esos IDs,  ║
+ * ║   así filtrar por etiqueta es una operación de bits en lugar de         ║
+ * ║   comparar cadenas                                                      ║
+ * ║ - En disco se guardan los nombres, nunca los IDs                        ║
+ * ║                                                                          ║
+ * ║ Sincronizado: el importador lo usa desde el pool fork-join.             ║
+ * ║                                                                          ║
+ * ║ Autor: NeoKey                                                           ║
+ * ╚══════════════════════════════════════════════════════════════════════════╝
+ */
+public final class ZoneTags {
+
+	public static final int MAX_TAGS = 1024;
+	public static final int MAX_TAG_LENGTH = 32;
+
+	private static final Pattern VALID_TAG = Pattern.compile("[a-z0-9_\\-]{1," + MAX_TAG_LENGTH + "}");
+
+	private static final Map<String, Integer> ids = new HashMap<>();
+	private static final List<String> names = new ArrayList<>();
+
+	private ZoneTags() {
+	}
+
+	/**
+	 * Normaliza el nombre (minúsculas, sin espacios alrededor).
+	 */
+	public static String normalize(String name) {
+		return name.trim().toLowerCase(Locale.ROOT);
+	}
+
+	public static boolean isValid(String name) {
+		return VALID_TAG.matcher(normalize(name)).matches();
+	}
+
+	/**
+	 * ID de la etiqueta, registrándola si es nueva.
+	 *
+	 * @throws IllegalArgumentException Si el nombre no es válido o el
+	 *         diccionario está lleno
+	 */
+	public static synchronized int idOf(String name) {
+		String tag = normalize(name);
+		Integer id = ids.get(tag);
+		if (id != null) {
+			return id;
+		}
+
+		if (!VALID_TAG.matcher(tag).matches()) {
+			throw new IllegalArgumentException("Etiqueta inválida: " + name);
+		}
+		if (names.size() >= MAX_TAGS) {
+			throw new IllegalArgumentException("Demasiadas etiquetas (máximo " + MAX_TAGS + ")");
+		}
+
+		id = names.size();
+		ids.put(tag, id);
+		names.add(tag);
+		return id;
+	}
+
+	/**
+	 * @return ID de la etiqueta, o -1 si nunca se ha registrado
+	 */
+	public static synchronized int find(String name) {
+		Integer id = ids.get(normalize(name));
+		return id != null ? id : -1;
+	}
+
+	public static synchronized String nameOf(int id) {
+		return names.get(id);
+	}
+
+	/**
+	 * Etiquetas registradas, en orden de ID.
+	 */
+	public static synchronized List<String> getNames() {
+		return Collections.unmodifiableList(new ArrayList<>(names));
+	}
+}
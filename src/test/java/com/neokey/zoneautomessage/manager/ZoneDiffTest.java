@@ -0,0 +1,98 @@
+package com.neokey.zoneautomessage.manager;
+
+import com.neokey.zoneautomessage.zone.SphereShape;
+import com.neokey.zoneautomessage.zone.Zone;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Diferencias de la recarga en caliente: emparejado por ID y por nombre,
+ * detección de cada tipo de cambio y aplicación sobre la misma instancia.
+ */
+class ZoneDiffTest {
+
+	private static Zone zone(String id, String name, double size) {
+		return new Zone(id, name, 0, 0, 0, size, size, size);
+	}
+
+	@Test
+	void identicalZonesProduceEmptyDiff() {
+		ZoneDiff diff = ZoneDiff.compute(List.of(zone("1", "a", 10)), List.of(zone("1", "a", 10)));
+		assertTrue(diff.isEmpty());
+		assertEquals("+0 -0 ~0", diff.summary());
+	}
+
+	@Test
+	void addedAndRemovedAreMatchedById() {
+		Zone kept = zone("1", "a", 10);
+		Zone gone = zone("2", "b", 10);
+		Zone fresh = zone("3", "c", 10);
+
+		ZoneDiff diff = ZoneDiff.compute(List.of(kept, gone), List.of(zone("1", "a", 10), fresh));
+
+		assertEquals(List.of(fresh), diff.added);
+		assertEquals(List.of(gone), diff.removed);
+		assertTrue(diff.changed.isEmpty());
+	}
+
+	@Test
+	void zonesWithoutKnownIdAreMatchedByName() {
+		Zone loaded = zone("1", "plaza", 10);
+		Zone fromDisk = zone("otro-id", "plaza", 20);
+
+		ZoneDiff diff = ZoneDiff.compute(List.of(loaded), List.of(fromDisk));
+
+		assertTrue(diff.added.isEmpty());
+		assertTrue(diff.removed.isEmpty());
+		assertEquals(1, diff.changed.size());
+		assertSame(loaded, diff.changed.get(0).zone);
+		assertTrue(diff.changed.get(0).boundsChanged);
+	}
+
+	@Test
+	void renameKeepsTheSameInstance() {
+		Zone loaded = zone("1", "viejo", 10);
+		ZoneDiff diff = ZoneDiff.compute(List.of(loaded), List.of(zone("1", "nuevo", 10)));
+
+		ZoneDiff.Change change = diff.changed.get(0);
+		assertTrue(change.nameChanged);
+		assertFalse(change.boundsChanged);
+		assertFalse(change.messagesChanged);
+	}
+
+	@Test
+	void applyCopiesBoundsAndMessagesOntoExistingZone() {
+		Zone loaded = zone("1", "a", 10);
+		Zone updated = zone("1", "a", 30);
+		updated.setEnterMessage("hola");
+		updated.setPriority(5);
+
+		ZoneDiff.Change change = ZoneDiff.compute(List.of(loaded), List.of(updated)).changed.get(0);
+		assertTrue(change.boundsChanged);
+		assertTrue(change.messagesChanged);
+		assertTrue(change.priorityChanged);
+
+		change.applyBoundsAndMessages();
+		assertEquals(30, loaded.getMaxX(), 1e-9);
+		assertEquals("hola", loaded.getEnterMessage());
+		assertEquals(5, loaded.getPriority());
+	}
+
+	@Test
+	void shapeChangesAreDetectedAndApplied() {
+		Zone loaded = new Zone("1", "bola", new SphereShape(0, 64, 0, 10));
+
+		ZoneDiff same = ZoneDiff.compute(List.of(loaded), List.of(new Zone("1", "bola", new SphereShape(0, 64, 0, 10))));
+		assertTrue(same.isEmpty());
+
+		// De esfera a cuboide: la forma desaparece
+		ZoneDiff.Change change = ZoneDiff.compute(List.of(loaded), List.of(zone("1", "bola", 5))).changed.get(0);
+		assertTrue(change.boundsChanged);
+		change.applyBoundsAndMessages();
+		assertNull(loaded.getShape());
+		assertEquals(5, loaded.getMaxY(), 1e-9);
+		assertTrue(loaded.isPlayerInside(4.9, 4.9, 4.9));
+	}
+}
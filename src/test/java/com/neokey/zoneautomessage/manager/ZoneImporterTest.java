@@ -0,0 +1,201 @@
+package com.neokey.zoneautomessage.manager;
+
+import com.neokey.zoneautomessage.zone.SphereShape;
+import com.neokey.zoneautomessage.zone.Zone;
+import com.neokey.zoneautomessage.zone.ZoneTags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Importación: conversión de los archivos de ejemplo (CSV y JSON) y
+ * colisiones de nombre contra todo el mundo, no solo contra las zonas de
+ * las regiones residentes.
+ */
+class ZoneImporterTest {
+
+	private static final String DIMENSION = "minecraft:overworld";
+
+	private ZoneManager zoneManager;
+
+	// Índice de nombres del mundo (index.json): incluye regiones no residentes
+	private Set<String> worldNames;
+
+	@BeforeEach
+	void setUp() {
+		zoneManager = new ZoneManager();
+		zoneManager.createZoneFromObject(new Zone("spawn", 0, 0, 0, 10, 10, 10));
+
+		worldNames = new HashSet<>(List.of("spawn", "lejana"));
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// CONVERSIÓN DE ARCHIVOS
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	@Test
+	void csvSkipsHeaderCommentsAndBlankLines() throws Exception {
+		ZoneImporter.ParsedChunk parsed = parse("sample.csv");
+
+		// plaza, mercado, roto, sin_numero, plaza (repetida), diminuta
+		assertEquals(6, parsed.records);
+		assertEquals(3, parsed.invalid);
+		assertEquals(1, parsed.duplicates);
+		assertEquals(List.of("plaza", "mercado"), names(parsed));
+	}
+
+	@Test
+	void csvHonoursQuotes() throws Exception {
+		Map<String, Zone> zones = byName(parse("sample.csv"));
+
+		Zone plaza = zones.get("plaza");
+		assertEquals("Bienvenido, viajero", plaza.getEnterMessage());
+		assertEquals("Adiós", plaza.getExitMessage());
+		assertEquals(DIMENSION, plaza.getDimension());
+
+		Zone mercado = zones.get("mercado");
+		assertEquals("Dice \"hola\"", mercado.getEnterMessage());
+		// Sin campo de salida: mensaje por defecto
+		assertEquals(new Zone("x", 0, 0, 0, 1, 1, 1).getExitMessage(), mercado.getExitMessage());
+	}
+
+	@Test
+	void csvNormalizesMinMaxAndKeepsFirstDuplicate() throws Exception {
+		Map<String, Zone> zones = byName(parse("sample.csv"));
+
+		Zone mercado = zones.get("mercado");
+		assertEquals(10, mercado.getMinX(), 1e-9);
+		assertEquals(70, mercado.getMinY(), 1e-9);
+		assertEquals(30, mercado.getMaxX(), 1e-9);
+		assertEquals(90, mercado.getMaxY(), 1e-9);
+
+		// La segunda "plaza" (en 100..120) se descarta
+		assertEquals(0, zones.get("plaza").getMinX(), 1e-9);
+	}
+
+	@Test
+	void csvReportsInvalidRecordsByLine() throws Exception {
+		ZoneImporter.ParsedChunk parsed = parse("sample.csv");
+
+		assertEquals(3, parsed.errors.size());
+		assertTrue(parsed.errors.get(0).startsWith("registro 5:"), parsed.errors.get(0));
+		assertTrue(parsed.errors.get(1).startsWith("registro 7:"), parsed.errors.get(1));
+		assertTrue(parsed.errors.get(2).startsWith("registro 9:"), parsed.errors.get(2));
+	}
+
+	@Test
+	void jsonReadsAllFieldsAndShapes() throws Exception {
+		ZoneImporter.ParsedChunk parsed = parse("sample.json");
+
+		assertEquals(7, parsed.records);
+		assertEquals(1, parsed.duplicates);
+		assertEquals(List.of("torre", "lago", "invertida"), names(parsed));
+
+		Map<String, Zone> zones = byName(parsed);
+		Zone torre = zones.get("torre");
+		assertEquals("Subiendo", torre.getEnterMessage());
+		assertEquals(3, torre.getPriority());
+		assertEquals("minecraft:the_nether", torre.getDimension());
+		assertTrue(torre.hasTag(ZoneTags.find("pvp")));
+		assertEquals(30, torre.getDwellSeconds());
+		assertEquals("Sigues aquí", torre.getDwellMessage());
+		// La primera "torre" gana a la de 500..510
+		assertEquals(0, torre.getMinX(), 1e-9);
+
+		Zone lago = zones.get("lago");
+		assertTrue(lago.getShape() instanceof SphereShape);
+		assertEquals(42, lago.getMinX(), 1e-9);
+		assertEquals(DIMENSION, lago.getDimension());
+
+		Zone invertida = zones.get("invertida");
+		assertEquals(0, invertida.getMinX(), 1e-9);
+		assertEquals(10, invertida.getMaxZ(), 1e-9);
+		assertEquals(60, invertida.getRepeatSeconds());
+	}
+
+	@Test
+	void jsonRejectsInvalidTimers() throws Exception {
+		ZoneImporter.ParsedChunk parsed = parse("sample.json");
+
+		// repeat_cero, dwell_negativo y dwell_sin_mensaje
+		assertEquals(3, parsed.invalid);
+		assertFalse(names(parsed).contains("repeat_cero"));
+		assertFalse(names(parsed).contains("dwell_negativo"));
+		assertFalse(names(parsed).contains("dwell_sin_mensaje"));
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// COLISIONES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	@Test
+	void nameOnlyInNonResidentRegionCollides() {
+		assertNull(zoneManager.getZoneByName("lejana"), "la zona no debe estar residente");
+
+		List<Zone> accepted = new ArrayList<>();
+		int collisions = ZoneImporter.dropCollisions(
+			List.of(new Zone("lejana", 5000, 0, 5000, 5010, 10, 5010)),
+			ZoneImporter.nameCheck(zoneManager, worldNames::contains),
+			accepted
+		);
+
+		assertEquals(1, collisions);
+		assertTrue(accepted.isEmpty());
+	}
+
+	@Test
+	void residentNameCollides() {
+		List<Zone> accepted = new ArrayList<>();
+		int collisions = ZoneImporter.dropCollisions(
+			List.of(new Zone("spawn", 0, 0, 0, 1, 1, 1)),
+			ZoneImporter.nameCheck(zoneManager, name -> false),
+			accepted
+		);
+
+		assertEquals(1, collisions);
+		assertTrue(accepted.isEmpty());
+	}
+
+	@Test
+	void freeNamesAreAcceptedInOrder() {
+		Zone a = new Zone("nueva_a", 0, 0, 0, 1, 1, 1);
+		Zone b = new Zone("lejana", 0, 0, 0, 1, 1, 1);
+		Zone c = new Zone("nueva_c", 0, 0, 0, 1, 1, 1);
+		Predicate<String> taken = ZoneImporter.nameCheck(zoneManager, worldNames::contains);
+
+		List<Zone> accepted = new ArrayList<>();
+		int collisions = ZoneImporter.dropCollisions(List.of(a, b, c), taken, accepted);
+
+		assertEquals(1, collisions);
+		assertEquals(List.of(a, c), accepted);
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// UTILIDADES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private static ZoneImporter.ParsedChunk parse(String sample) throws Exception {
+		Path path = Path.of(ZoneImporterTest.class.getResource("/import/" + sample).toURI());
+		return ZoneImporter.parseFile(path, DIMENSION, message -> {});
+	}
+
+	private static List<String> names(ZoneImporter.ParsedChunk parsed) {
+		List<String> names = new ArrayList<>();
+		for (Zone zone : parsed.zones) {
+			names.add(zone.getZoneName());
+		}
+		return names;
+	}
+
+	private static Map<String, Zone> byName(ZoneImporter.ParsedChunk parsed) {
+		Map<String, Zone> zones = new HashMap<>();
+		for (Zone zone : parsed.zones) {
+			zones.put(zone.getZoneName(), zone);
+		}
+		return zones;
+	}
+}
@@ -0,0 +1,90 @@
+package com.neokey.zoneautomessage.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Buckets logarítmicos: valores pequeños exactos, error relativo acotado en
+ * los grandes y reinicio.
+ */
+class LogHistogramTest {
+
+	@Test
+	void emptyHistogramReturnsZero() {
+		LogHistogram histogram = new LogHistogram();
+		assertEquals(0, histogram.percentile(50));
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0.0, histogram.getMean());
+	}
+
+	@Test
+	void smallValuesAreExact() {
+		LogHistogram histogram = new LogHistogram();
+		histogram.record(0);
+		histogram.record(1);
+		histogram.record(2);
+		histogram.record(3);
+
+		assertEquals(0, histogram.percentile(25));
+		assertEquals(1, histogram.percentile(50));
+		assertEquals(2, histogram.percentile(75));
+		assertEquals(3, histogram.percentile(100));
+	}
+
+	@Test
+	void negativeValuesCountAsZero() {
+		LogHistogram histogram = new LogHistogram();
+		histogram.record(-5);
+
+		assertEquals(1, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.percentile(50));
+	}
+
+	@Test
+	void largeValuesStayWithinRelativeError() {
+		long[] values = {5, 17, 100, 1_000, 12_345, 1_000_000, 987_654_321L, 1L << 40};
+		for (long value : values) {
+			LogHistogram histogram = new LogHistogram();
+			histogram.record(value);
+			histogram.record(value);
+
+			long estimate = histogram.percentile(50);
+			double error = Math.abs(estimate - value) / (double) value;
+			assertTrue(error <= 0.25, "valor " + value + " estimado como " + estimate);
+			assertTrue(estimate <= value, "nunca supera el máximo registrado");
+		}
+	}
+
+	@Test
+	void percentilesFollowDistribution() {
+		LogHistogram histogram = new LogHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000, histogram.getMax());
+		assertEquals(500.5, histogram.getMean());
+
+		long p50 = histogram.percentile(50);
+		long p99 = histogram.percentile(99);
+		assertTrue(p50 >= 375 && p50 <= 625, "p50 = " + p50);
+		assertTrue(p99 >= 742 && p99 <= 1000, "p99 = " + p99);
+		assertTrue(p50 <= p99);
+	}
+
+	@Test
+	void resetClearsEverything() {
+		LogHistogram histogram = new LogHistogram();
+		histogram.record(42);
+		histogram.record(4242);
+		histogram.reset();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.percentile(99));
+	}
+}
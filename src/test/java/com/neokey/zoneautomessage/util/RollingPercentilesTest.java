@@ -0,0 +1,49 @@
+package com.neokey.zoneautomessage.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ventana circular de muestras: percentiles nearest-rank y sustitución de
+ * las muestras más antiguas.
+ */
+class RollingPercentilesTest {
+
+	@Test
+	void emptyWindowReturnsZero() {
+		RollingPercentiles window = new RollingPercentiles(8);
+		assertEquals(0, window.percentile(50));
+		assertEquals(0, window.max());
+		assertEquals(0, window.count());
+	}
+
+	@Test
+	void nearestRankPercentiles() {
+		RollingPercentiles window = new RollingPercentiles(100);
+		for (int i = 100; i >= 1; i--) {
+			window.add(i);
+		}
+
+		assertEquals(50, window.percentile(50));
+		assertEquals(99, window.percentile(99));
+		assertEquals(100, window.percentile(100));
+		assertEquals(1, window.percentile(0));
+		assertEquals(100, window.max());
+	}
+
+	@Test
+	void oldestSamplesAreReplaced() {
+		RollingPercentiles window = new RollingPercentiles(4);
+		for (int i = 1; i <= 10; i++) {
+			window.add(i * 10);
+		}
+
+		assertEquals(4, window.count());
+		assertEquals(70, window.percentile(0));
+		assertEquals(100, window.max());
+
+		window.reset();
+		assertEquals(0, window.count());
+	}
+}
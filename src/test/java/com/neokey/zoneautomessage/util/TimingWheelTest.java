@@ -0,0 +1,145 @@
+package com.neokey.zoneautomessage.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rueda de temporización: vencimiento en el tick exacto (también con varias
+ * vueltas), cancelación y reprogramación desde el consumidor.
+ */
+class TimingWheelTest {
+
+	@Test
+	void expiresOnExactTick() {
+		TimingWheel<String> wheel = new TimingWheel<>();
+		TimingWheel.Timer<String> timer = wheel.newTimer("a");
+		wheel.schedule(timer, 3);
+
+		List<String> fired = new ArrayList<>();
+		wheel.advance(t -> fired.add(t.getPayload()));
+		wheel.advance(t -> fired.add(t.getPayload()));
+		assertTrue(fired.isEmpty());
+		assertTrue(timer.isScheduled());
+
+		wheel.advance(t -> fired.add(t.getPayload()));
+		assertEquals(List.of("a"), fired);
+		assertFalse(timer.isScheduled());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void delayBelowOneFiresOnNextTick() {
+		TimingWheel<Integer> wheel = new TimingWheel<>();
+		wheel.schedule(wheel.newTimer(1), 0);
+
+		int[] fired = {0};
+		wheel.advance(t -> fired[0]++);
+		assertEquals(1, fired[0]);
+	}
+
+	@Test
+	void randomDelaysAcrossManyRoundsFireOnTime() {
+		// Retrasos mayores que SLOTS (512) necesitan varias vueltas
+		TimingWheel<Long> wheel = new TimingWheel<>();
+		Random random = new Random(49);
+		long tick = 0;
+
+		// Programar algunos tras avanzar para que la rueda no empiece en 0
+		for (int i = 0; i < 37; i++) {
+			wheel.advance(t -> fail("nada programado"));
+			tick++;
+		}
+
+		for (int i = 0; i < 2000; i++) {
+			long delay = 1 + random.nextInt(3000);
+			wheel.schedule(wheel.newTimer(tick + delay), delay);
+		}
+		assertEquals(2000, wheel.size());
+
+		int[] fired = {0};
+		for (int i = 0; i < 3000; i++) {
+			tick++;
+			long now = tick;
+			wheel.advance(t -> {
+				assertEquals(now, t.getPayload().longValue());
+				fired[0]++;
+			});
+		}
+		assertEquals(2000, fired[0]);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledTimersNeverFire() {
+		TimingWheel<String> wheel = new TimingWheel<>();
+		TimingWheel.Timer<String> kept = wheel.newTimer("kept");
+		TimingWheel.Timer<String> cancelled = wheel.newTimer("cancelled");
+		wheel.schedule(kept, 5);
+		wheel.schedule(cancelled, 5);
+		wheel.cancel(cancelled);
+		wheel.cancel(cancelled);
+		assertEquals(1, wheel.size());
+
+		List<String> fired = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			wheel.advance(t -> fired.add(t.getPayload()));
+		}
+		assertEquals(List.of("kept"), fired);
+	}
+
+	@Test
+	void rescheduleMovesTimer() {
+		TimingWheel<String> wheel = new TimingWheel<>();
+		TimingWheel.Timer<String> timer = wheel.newTimer("a");
+		wheel.schedule(timer, 2);
+		wheel.schedule(timer, 4);
+		assertEquals(1, wheel.size());
+
+		int[] firedAt = {-1};
+		for (int i = 1; i <= 6; i++) {
+			int tick = i;
+			wheel.advance(t -> firedAt[0] = tick);
+		}
+		assertEquals(4, firedAt[0]);
+	}
+
+	@Test
+	void consumerCanRescheduleExpiredTimer() {
+		TimingWheel<String> wheel = new TimingWheel<>();
+		TimingWheel.Timer<String> timer = wheel.newTimer("periodic");
+		wheel.schedule(timer, 10);
+
+		List<Integer> firedAt = new ArrayList<>();
+		for (int i = 1; i <= 35; i++) {
+			int tick = i;
+			wheel.advance(t -> {
+				firedAt.add(tick);
+				wheel.schedule(t, 10);
+			});
+		}
+		assertEquals(List.of(10, 20, 30), firedAt);
+		assertTrue(timer.isScheduled());
+	}
+
+	@Test
+	void clearCancelsEverything() {
+		TimingWheel<Integer> wheel = new TimingWheel<>();
+		List<TimingWheel.Timer<Integer>> timers = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			TimingWheel.Timer<Integer> timer = wheel.newTimer(i);
+			wheel.schedule(timer, 1 + i * 13);
+			timers.add(timer);
+		}
+		wheel.clear();
+
+		assertEquals(0, wheel.size());
+		for (TimingWheel.Timer<Integer> timer : timers) {
+			assertFalse(timer.isScheduled());
+		}
+	}
+}
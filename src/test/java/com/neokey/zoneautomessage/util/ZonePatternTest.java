@@ -0,0 +1,74 @@
+package com.neokey.zoneautomessage.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Globs y regex de /zam bulk: coincidencia, renombrado con grupos y
+ * prefijo literal.
+ */
+class ZonePatternTest {
+
+	@Test
+	void globMatchesWholeName() {
+		ZonePattern pattern = ZonePattern.compile("tienda_*");
+		assertTrue(pattern.matches("tienda_1"));
+		assertTrue(pattern.matches("tienda_"));
+		assertFalse(pattern.matches("mi_tienda_1"));
+		assertFalse(pattern.isRegex());
+	}
+
+	@Test
+	void questionMarkIsExactlyOneCharacter() {
+		ZonePattern pattern = ZonePattern.compile("casa?");
+		assertTrue(pattern.matches("casa1"));
+		assertFalse(pattern.matches("casa"));
+		assertFalse(pattern.matches("casa12"));
+	}
+
+	@Test
+	void globMetacharactersAreLiteral() {
+		ZonePattern pattern = ZonePattern.compile("a.b[1]*");
+		assertTrue(pattern.matches("a.b[1]x"));
+		assertFalse(pattern.matches("axb1x"));
+	}
+
+	@Test
+	void literalPrefixStopsAtFirstWildcard() {
+		assertEquals("tienda_", ZonePattern.compile("tienda_*_norte").getLiteralPrefix());
+		assertEquals("", ZonePattern.compile("*_norte").getLiteralPrefix());
+		assertEquals("exacta", ZonePattern.compile("exacta").getLiteralPrefix());
+		assertEquals("", ZonePattern.compile("re:^tienda").getLiteralPrefix());
+	}
+
+	@Test
+	void renameUsesWildcardGroups() {
+		ZonePattern pattern = ZonePattern.compile("tienda_*_?");
+		assertEquals("shop_norte_1", pattern.rename("tienda_norte_1", "shop_$1_$2"));
+	}
+
+	@Test
+	void renameStarReplacesWholeNameOnce() {
+		// replaceAll añadiría otra sustitución por la cadena vacía del final
+		ZonePattern pattern = ZonePattern.compile("*");
+		assertEquals("old_abc", pattern.rename("abc", "old_$1"));
+		assertEquals("old_", pattern.rename("", "old_$1"));
+		assertEquals("x_abc", ZonePattern.compile("a*").rename("aabc", "x_$1"));
+	}
+
+	@Test
+	void regexFindsAnywhere() {
+		ZonePattern pattern = ZonePattern.compile("re:[0-9]+$");
+		assertTrue(pattern.isRegex());
+		assertTrue(pattern.matches("zona42"));
+		assertFalse(pattern.matches("zona"));
+		assertEquals("zona#", pattern.rename("zona42", "#"));
+	}
+
+	@Test
+	void invalidRegexThrows() {
+		assertThrows(PatternSyntaxException.class, () -> ZonePattern.compile("re:(abc"));
+	}
+}
@@ -0,0 +1,135 @@
+package com.neokey.zoneautomessage.zone;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Zonas compuestas: cajas excluidas, límites y el BVH (BoxTree) contra un
+ * recorrido directo de todas las cajas.
+ */
+class CompoundShapeTest {
+
+	@Test
+	void lShapeWithHole() {
+		// L de dos cajas y un hueco en la primera
+		CompoundShape shape = new CompoundShape(
+			new double[] {0, 0, 0, 20, 10, 10, 0, 0, 10, 10, 10, 30},
+			new double[] {2, 0, 2, 6, 10, 6});
+
+		assertTrue(shape.contains(15, 5, 5));
+		assertTrue(shape.contains(5, 5, 25));
+		assertTrue(shape.contains(10, 5, 10));
+		assertFalse(shape.contains(15, 5, 25));
+		assertFalse(shape.contains(4, 5, 4));
+
+		assertEquals(0, shape.getMinX(), 1e-9);
+		assertEquals(20, shape.getMaxX(), 1e-9);
+		assertEquals(30, shape.getMaxZ(), 1e-9);
+		assertEquals(2, shape.getIncludeCount());
+		assertEquals(1, shape.getExcludeCount());
+	}
+
+	@Test
+	void distanceOutsideAndInsideHole() {
+		CompoundShape shape = CompoundShape.ofBox(0, 0, 0, 20, 10, 20)
+			.withExclude(new double[] {5, 0, 5, 15, 10, 15});
+
+		assertEquals(0, shape.distanceTo(2, 5, 2), 1e-9);
+		assertEquals(5, shape.distanceTo(25, 5, 10), 1e-9);
+		// Centro del hueco: 5 bloques hasta su borde
+		assertEquals(5, shape.distanceTo(10, 5, 10), 1e-9);
+		assertEquals(2, shape.distanceTo(7, 5, 10), 1e-9);
+	}
+
+	@Test
+	void boxesAreNormalized() {
+		CompoundShape shape = CompoundShape.ofBox(10, 10, 10, 0, 0, 0);
+
+		assertTrue(shape.contains(5, 5, 5));
+		assertEquals(0, shape.getMinY(), 1e-9);
+		assertEquals(10, shape.getMaxY(), 1e-9);
+		assertEquals(1000, shape.getVolume(), 1e-9);
+	}
+
+	@Test
+	void rejectsInvalidBoxLists() {
+		assertThrows(IllegalArgumentException.class, () -> new CompoundShape(new double[0], new double[0]));
+		assertThrows(IllegalArgumentException.class, () -> new CompoundShape(new double[5], new double[0]));
+		assertThrows(IllegalArgumentException.class,
+			() -> new CompoundShape(new double[(CompoundShape.MAX_PARTS + 1) * 6], new double[0]));
+	}
+
+	@Test
+	void boxTreeMatchesBruteForce() {
+		// Cientos de cajas dispersas: el BVH se parte en muchos niveles
+		Random random = new Random(45);
+		double[] includes = randomBoxes(random, 200, 200);
+		double[] excludes = randomBoxes(random, 60, 200);
+		CompoundShape shape = new CompoundShape(includes, excludes);
+
+		for (int i = 0; i < 20_000; i++) {
+			double x = random.nextDouble() * 240 - 20;
+			double y = random.nextDouble() * 240 - 20;
+			double z = random.nextDouble() * 240 - 20;
+
+			boolean expected = insideAny(includes, x, y, z) && !insideAny(excludes, x, y, z);
+			assertEquals(expected, shape.contains(x, y, z), "punto " + x + ", " + y + ", " + z);
+
+			double nearestSq = nearestSq(includes, x, y, z);
+			if (nearestSq > 0) {
+				assertEquals(Math.sqrt(nearestSq), shape.distanceTo(x, y, z), 1e-9);
+			}
+		}
+	}
+
+	@Test
+	void roundTripsThroughJson() {
+		CompoundShape shape = CompoundShape.ofBox(0, 0, 0, 16, 8, 16)
+			.withInclude(new double[] {16, 0, 0, 32, 8, 4})
+			.withExclude(new double[] {4, 0, 4, 8, 8, 8});
+
+		ZoneShape copy = ZoneShape.fromJson(shape.toJson());
+		assertEquals(shape, copy);
+		assertEquals(shape.hashCode(), copy.hashCode());
+	}
+
+	// ═══════════════════════════════════════════════════════════════════════════
+	// UTILIDADES
+	// ═══════════════════════════════════════════════════════════════════════════
+
+	private static double[] randomBoxes(Random random, int count, double extent) {
+		double[] boxes = new double[count * 6];
+		for (int b = 0; b < boxes.length; b += 6) {
+			for (int i = 0; i < 3; i++) {
+				double min = random.nextDouble() * extent;
+				boxes[b + i] = min;
+				boxes[b + 3 + i] = min + 1 + random.nextDouble() * 15;
+			}
+		}
+		return boxes;
+	}
+
+	private static boolean insideAny(double[] boxes, double x, double y, double z) {
+		for (int b = 0; b < boxes.length; b += 6) {
+			if (x >= boxes[b] && x <= boxes[b + 3] && y >= boxes[b + 1] && y <= boxes[b + 4]
+					&& z >= boxes[b + 2] && z <= boxes[b + 5]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static double nearestSq(double[] boxes, double x, double y, double z) {
+		double best = Double.MAX_VALUE;
+		for (int b = 0; b < boxes.length; b += 6) {
+			double dx = Math.max(boxes[b] - x, Math.max(x - boxes[b + 3], 0));
+			double dy = Math.max(boxes[b + 1] - y, Math.max(y - boxes[b + 4], 0));
+			double dz = Math.max(boxes[b + 2] - z, Math.max(z - boxes[b + 5], 0));
+			best = Math.min(best, dx * dx + dy * dy + dz * dz);
+		}
+		return best;
+	}
+}
@@ -0,0 +1,131 @@
+package com.neokey.zoneautomessage.zone;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Buffer de salida: horizontal (X/Z) y vertical (Y) por separado, también
+ * en las zonas con forma.
+ */
+class ZoneBufferTest {
+
+	// 10 bloques en horizontal, 2 en vertical
+	private static final ZoneBuffer BUFFER = ZoneBuffer.DEFAULT.withFixed(10, 2);
+
+	private static Zone withShape(ZoneShape shape) {
+		Zone zone = new Zone("z", "z", shape);
+		zone.setBuffer(BUFFER);
+		return zone;
+	}
+
+	@Test
+	void formulaIsClamped() {
+		ZoneBuffer buffer = ZoneBuffer.DEFAULT;
+
+		assertEquals(ZoneBuffer.DEFAULT_MIN, buffer.formula(10), 1e-9);
+		assertEquals(12, buffer.formula(120), 1e-9);
+		assertEquals(ZoneBuffer.DEFAULT_MAX, buffer.formula(10_000), 1e-9);
+		assertEquals(12, buffer.vertical(120), 1e-9);
+	}
+
+	@Test
+	void negativeFixedValueMeansFormula() {
+		ZoneBuffer buffer = ZoneBuffer.DEFAULT.withFixed(8, -1);
+
+		assertEquals(8, buffer.horizontal(120), 1e-9);
+		assertEquals(12, buffer.vertical(120), 1e-9);
+		assertTrue(ZoneBuffer.DEFAULT.withFixed(-1, -1).isDefault());
+		assertThrows(IllegalArgumentException.class, () -> ZoneBuffer.DEFAULT.withFixed(ZoneBuffer.MAX_BUFFER + 1, 0));
+		assertThrows(IllegalArgumentException.class, () -> ZoneBuffer.DEFAULT.withFormula(0.1, 10, 5));
+	}
+
+	@Test
+	void jsonOnlyStoresOverrides() {
+		assertEquals(0, ZoneBuffer.DEFAULT.toJson().size());
+
+		ZoneBuffer buffer = ZoneBuffer.DEFAULT.withFormula(0.2, 5, 50).withFixed(-1, 3);
+		assertEquals(3, buffer.toJson().size());
+		assertEquals(buffer, ZoneBuffer.fromJson(buffer.toJson()));
+	}
+
+	@Test
+	void fixedBuffersArePerAxis() {
+		Zone zone = new Zone("box", "box", 0, 0, 0, 10, 10, 10);
+		zone.setBuffer(BUFFER);
+
+		assertEquals(10, zone.getBufferDistance(), 1e-9);
+		assertTrue(zone.isWithinBuffer(19, 5, 5));
+		assertFalse(zone.isWithinBuffer(21, 5, 5));
+		assertTrue(zone.isWithinBuffer(5, 11.5, 5));
+		assertFalse(zone.isWithinBuffer(5, 13, 5));
+	}
+
+	@Test
+	void cylinderSeparatesHorizontalAndVertical() {
+		Zone zone = withShape(new CylinderShape(0, 0, 20, 0, 10));
+
+		// 9 bloques fuera del radio a media altura: dentro del buffer horizontal
+		assertTrue(zone.isWithinBuffer(29, 5, 0));
+		assertFalse(zone.isWithinBuffer(31, 5, 0));
+
+		// Encima, dentro del círculo: solo cuenta el buffer vertical (2), no el de 10
+		assertTrue(zone.isWithinBuffer(0, 11.5, 0));
+		assertFalse(zone.isWithinBuffer(0, 13, 0));
+
+		// Diagonal: 8 fuera en horizontal y 1.5 por encima, ambos dentro de su buffer
+		// (la distancia 3D, ~8.1, no se compara con nada)
+		assertTrue(zone.isWithinBuffer(28, 11.5, 0));
+	}
+
+	@Test
+	void polygonUsesFootprintDistance() {
+		Zone zone = withShape(new PolygonPrismShape(
+			new double[] {0, 40, 40, 20, 0},
+			new double[] {0, 0, 40, 20, 40},
+			0, 10
+		));
+
+		// En la muesca del polígono (fuera en XZ pero dentro de la caja
+		// envolvente): a 9.2 y a 13.4 bloques de las aristas
+		assertTrue(zone.isWithinBuffer(20, 5, 33));
+		assertFalse(zone.isWithinBuffer(20, 5, 39));
+		assertFalse(zone.isWithinBuffer(20, 13, 20.5));
+
+		assertTrue(zone.isWithinBuffer(45, 11, 20));
+		assertFalse(zone.isWithinBuffer(45, 13, 20));
+	}
+
+	@Test
+	void sphereMeasuresHorizontallyAtThePointsHeight() {
+		Zone zone = withShape(new SphereShape(0, 50, 0, 20));
+
+		// Ecuador: radio 20 + 10 de buffer
+		assertTrue(zone.isWithinBuffer(29.5, 50, 0));
+		assertFalse(zone.isWithinBuffer(30.5, 50, 0));
+
+		// A 16 bloques del centro en Y el corte tiene radio 12: alcance 22
+		assertTrue(zone.isWithinBuffer(21.5, 66, 0));
+		assertFalse(zone.isWithinBuffer(22.5, 66, 0));
+
+		// Encima del polo: solo el buffer vertical
+		assertTrue(zone.isWithinBuffer(0, 71.5, 0));
+		assertFalse(zone.isWithinBuffer(0, 73, 0));
+	}
+
+	@Test
+	void compoundHolesUseNearestEdge() {
+		CompoundShape shape = CompoundShape.ofBox(0, 0, 0, 100, 20, 100)
+			.withExclude(new double[] {30, 0, 30, 70, 20, 70});
+		Zone zone = withShape(shape);
+
+		// Dentro del hueco, cerca de su pared: aún en el buffer
+		assertTrue(zone.isWithinBuffer(35, 10, 50));
+		// Centro del hueco: a 20 bloques de la pared
+		assertFalse(zone.isWithinBuffer(50, 10, 50));
+
+		// Fuera de la caja incluida
+		assertTrue(zone.isWithinBuffer(105, 10, 50));
+		assertFalse(zone.isWithinBuffer(105, 23, 50));
+	}
+}
@@ -0,0 +1,150 @@
+package com.neokey.zoneautomessage.zone;
+
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Árbol de anidamiento: padres, profundidad, búsqueda por descenso y
+ * equivalencia entre las actualizaciones incrementales y rebuild().
+ */
+class ZoneHierarchyTest {
+
+	private static Zone box(String id, double minX, double minY, double minZ,
+							double maxX, double maxY, double maxZ) {
+		return new Zone(id, id, minX, minY, minZ, maxX, maxY, maxZ);
+	}
+
+	private static ZoneHierarchy build(ZoneIndex index, Zone... zones) {
+		index.insertAll(Arrays.asList(zones));
+		ZoneHierarchy hierarchy = new ZoneHierarchy();
+		hierarchy.rebuild(Arrays.asList(zones), index);
+		return hierarchy;
+	}
+
+	@Test
+	void parentIsSmallestContainingZone() {
+		Zone region = box("region", 0, 0, 0, 1000, 256, 1000);
+		Zone town = box("town", 100, 0, 100, 300, 256, 300);
+		Zone shop = box("shop", 150, 60, 150, 160, 70, 160);
+		Zone far = box("far", 2000, 0, 2000, 2010, 10, 2010);
+		ZoneHierarchy hierarchy = build(new ZoneIndex(), region, town, shop, far);
+
+		assertNull(hierarchy.getParent(region));
+		assertSame(region, hierarchy.getParent(town));
+		assertSame(town, hierarchy.getParent(shop));
+		assertEquals(2, hierarchy.getDepth(shop));
+		assertEquals(2, hierarchy.getRootCount());
+		assertEquals(2, hierarchy.getMaxDepth());
+	}
+
+	@Test
+	void identicalBoxesAreOrderedById() {
+		Zone a = box("a", 0, 0, 0, 10, 10, 10);
+		Zone b = box("b", 0, 0, 0, 10, 10, 10);
+		ZoneHierarchy hierarchy = build(new ZoneIndex(), b, a);
+
+		assertNull(hierarchy.getParent(a));
+		assertSame(a, hierarchy.getParent(b));
+	}
+
+	@Test
+	void collectContainingDescendsOnlyMatchingBranches() {
+		Zone region = box("region", 0, 0, 0, 1000, 256, 1000);
+		Zone town = box("town", 100, 0, 100, 300, 256, 300);
+		Zone shop = box("shop", 150, 60, 150, 160, 70, 160);
+		ZoneHierarchy hierarchy = build(new ZoneIndex(), region, town, shop);
+
+		List<Zone> out = new ArrayList<>();
+		hierarchy.collectContaining(155, 65, 155, out);
+		assertEquals(Set.of(region, town, shop), new HashSet<>(out));
+		assertSame(shop, hierarchy.innermost(out));
+
+		out.clear();
+		hierarchy.collectContaining(500, 65, 500, out);
+		assertEquals(List.of(region), out);
+	}
+
+	@Test
+	void insertAdoptsContainedZones() {
+		ZoneIndex index = new ZoneIndex();
+		Zone region = box("region", 0, 0, 0, 1000, 256, 1000);
+		Zone shop = box("shop", 150, 60, 150, 160, 70, 160);
+		ZoneHierarchy hierarchy = build(index, region, shop);
+		assertSame(region, hierarchy.getParent(shop));
+
+		Zone town = box("town", 100, 0, 100, 300, 256, 300);
+		index.insert(town);
+		hierarchy.insert(town, index);
+
+		assertSame(region, hierarchy.getParent(town));
+		assertSame(town, hierarchy.getParent(shop));
+		assertEquals(2, hierarchy.getDepth(shop));
+	}
+
+	@Test
+	void removeReattachesChildrenToNextContainer() {
+		ZoneIndex index = new ZoneIndex();
+		Zone region = box("region", 0, 0, 0, 1000, 256, 1000);
+		Zone town = box("town", 100, 0, 100, 300, 256, 300);
+		Zone shop = box("shop", 150, 60, 150, 160, 70, 160);
+		ZoneHierarchy hierarchy = build(index, region, town, shop);
+
+		index.remove(town.getZoneId());
+		hierarchy.remove(town, index);
+
+		assertSame(region, hierarchy.getParent(shop));
+		assertEquals(1, hierarchy.getDepth(shop));
+		assertEquals(1, hierarchy.getMaxDepth());
+		assertEquals(2, hierarchy.size());
+	}
+
+	@Test
+	void incrementalUpdatesMatchRebuild() {
+		Random random = new Random(46);
+		ZoneIndex index = new ZoneIndex();
+		ZoneHierarchy incremental = new ZoneHierarchy();
+		incremental.rebuild(Collections.emptyList(), index);
+		List<Zone> live = new ArrayList<>();
+
+		for (int step = 0; step < 2000; step++) {
+			if (live.isEmpty() || random.nextInt(3) > 0) {
+				// Cajas alineadas a una rejilla pequeña: muchas anidadas e iguales
+				double x = random.nextInt(8) * 16, z = random.nextInt(8) * 16;
+				double size = 16 * (1 + random.nextInt(4));
+				Zone zone = box("z" + step, x, 0, z, x + size, 16 * (1 + random.nextInt(2)), z + size);
+				live.add(zone);
+				index.insert(zone);
+				incremental.insert(zone, index);
+			} else {
+				Zone zone = live.remove(random.nextInt(live.size()));
+				index.remove(zone.getZoneId());
+				incremental.remove(zone, index);
+			}
+
+			if (step % 100 == 99) {
+				ZoneHierarchy rebuilt = new ZoneHierarchy();
+				rebuilt.rebuild(live, index);
+				for (Zone zone : live) {
+					assertSame(rebuilt.getParent(zone), incremental.getParent(zone), "padre de " + zone.getZoneId());
+					assertEquals(rebuilt.getDepth(zone), incremental.getDepth(zone), "profundidad de " + zone.getZoneId());
+				}
+				assertEquals(rebuilt.getRootCount(), incremental.getRootCount());
+				assertEquals(rebuilt.getMaxDepth(), incremental.getMaxDepth());
+
+				// La búsqueda por descenso encuentra lo mismo que un recorrido completo
+				double px = random.nextDouble() * 192, py = random.nextDouble() * 32, pz = random.nextDouble() * 192;
+				Set<Zone> expected = new HashSet<>();
+				for (Zone zone : live) {
+					if (zone.isPlayerInside(px, py, pz)) {
+						expected.add(zone);
+					}
+				}
+				List<Zone> found = new ArrayList<>();
+				incremental.collectContaining(px, py, pz, found);
+				assertEquals(expected, new HashSet<>(found));
+			}
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.neokey.zoneautomessage.zone;
+
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Índice espacial: consultas por punto, caja y vecinos más cercanos
+ * comparadas con un recorrido completo, con inserciones, bajas y cargas
+ * por lotes.
+ */
+class ZoneIndexTest {
+
+	private static Zone randomZone(Random random, int id) {
+		double x = random.nextDouble() * 1000, y = random.nextDouble() * 100, z = random.nextDouble() * 1000;
+		return new Zone("z" + id, "z" + id, x, y, z,
+			x + 1 + random.nextDouble() * 60, y + 1 + random.nextDouble() * 30, z + 1 + random.nextDouble() * 60);
+	}
+
+	private static Set<Zone> bruteForcePoint(Collection<Zone> zones, double x, double y, double z) {
+		Set<Zone> result = new HashSet<>();
+		for (Zone zone : zones) {
+			if (zone.isPlayerInside(x, y, z)) {
+				result.add(zone);
+			}
+		}
+		return result;
+	}
+
+	@Test
+	void pointQueryMatchesBruteForce() {
+		Random random = new Random(26);
+		ZoneIndex index = new ZoneIndex();
+		Map<String, Zone> live = new LinkedHashMap<>();
+
+		for (int i = 0; i < 3000; i++) {
+			if (live.isEmpty() || random.nextInt(4) > 0) {
+				Zone zone = randomZone(random, i);
+				live.put(zone.getZoneId(), zone);
+				index.insert(zone);
+			} else {
+				String id = new ArrayList<>(live.keySet()).get(random.nextInt(live.size()));
+				live.remove(id);
+				assertTrue(index.remove(id));
+			}
+		}
+		assertEquals(live.size(), index.size());
+
+		for (int i = 0; i < 500; i++) {
+			double x = random.nextDouble() * 1100, y = random.nextDouble() * 140, z = random.nextDouble() * 1100;
+			List<Zone> found = new ArrayList<>();
+			index.queryPoint(x, y, z, found);
+			assertEquals(bruteForcePoint(live.values(), x, y, z), new HashSet<>(found));
+		}
+	}
+
+	@Test
+	void bulkInsertMatchesIncrementalIndex() {
+		Random random = new Random(260);
+		List<Zone> zones = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			zones.add(randomZone(random, i));
+		}
+
+		ZoneIndex bulk = new ZoneIndex();
+		bulk.insertAll(zones);
+		assertEquals(zones.size(), bulk.size());
+
+		for (int i = 0; i < 300; i++) {
+			double minX = random.nextDouble() * 1000, minZ = random.nextDouble() * 1000;
+			List<Zone> found = new ArrayList<>();
+			bulk.queryBox(minX, 0, minZ, minX + 50, 200, minZ + 50, found);
+
+			Set<Zone> expected = new HashSet<>();
+			for (Zone zone : zones) {
+				if (zone.getMaxX() >= minX && zone.getMinX() <= minX + 50 &&
+					zone.getMaxZ() >= minZ && zone.getMinZ() <= minZ + 50) {
+					expected.add(zone);
+				}
+			}
+			assertEquals(expected, new HashSet<>(found));
+		}
+	}
+
+	@Test
+	void reinsertingMovesTheZone() {
+		ZoneIndex index = new ZoneIndex();
+		Zone zone = new Zone("a", "a", 0, 0, 0, 10, 10, 10);
+		index.insert(zone);
+
+		zone.setCoordinates(100, 0, 100, 110, 10, 110);
+		index.update(zone);
+
+		List<Zone> found = new ArrayList<>();
+		index.queryPoint(5, 5, 5, found);
+		assertTrue(found.isEmpty());
+		index.queryPoint(105, 5, 105, found);
+		assertEquals(List.of(zone), found);
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void nearestReturnsClosestZonesInOrder() {
+		Random random = new Random(2600);
+		ZoneIndex index = new ZoneIndex();
+		List<Zone> zones = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			Zone zone = randomZone(random, i);
+			zones.add(zone);
+			index.insert(zone);
+		}
+
+		double x = 500, y = 50, z = 500;
+		List<Zone> nearest = index.nearest(x, y, z, 10, Double.POSITIVE_INFINITY);
+
+		List<Zone> sorted = new ArrayList<>(zones);
+		sorted.sort(Comparator.comparingDouble(zone -> zone.getDistanceToZone(x, y, z)));
+		assertEquals(10, nearest.size());
+		for (int i = 0; i < nearest.size(); i++) {
+			assertEquals(sorted.get(i).getDistanceToZone(x, y, z), nearest.get(i).getDistanceToZone(x, y, z), 1e-9);
+		}
+	}
+
+	@Test
+	void nearestRespectsMaxDistance() {
+		ZoneIndex index = new ZoneIndex();
+		index.insert(new Zone("near", "near", 10, 0, 0, 20, 10, 10));
+		index.insert(new Zone("far", "far", 500, 0, 0, 510, 10, 10));
+
+		List<Zone> nearest = index.nearest(0, 5, 5, 5, 100);
+		assertEquals(1, nearest.size());
+		assertEquals("near", nearest.get(0).getZoneId());
+	}
+
+	@Test
+	void removeUnknownZoneReturnsFalse() {
+		ZoneIndex index = new ZoneIndex();
+		assertFalse(index.remove("missing"));
+		index.clear();
+		assertEquals(0, index.size());
+	}
+}
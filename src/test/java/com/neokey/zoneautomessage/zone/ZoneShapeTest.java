@@ -0,0 +1,158 @@
+package com.neokey.zoneautomessage.zone;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pertenencia y distancias de esfera, cilindro y prisma poligonal, incluida
+ * la tabla de aristas por franjas contra una comprobación par-impar directa.
+ */
+class ZoneShapeTest {
+
+	// Polígono en U: cuadrado de 40x40 con una muesca de 20x30 abierta hacia +Z
+	private static final double[] NOTCH_XS = {0, 40, 40, 30, 30, 10, 10, 0};
+	private static final double[] NOTCH_ZS = {0, 0, 40, 40, 10, 10, 40, 40};
+
+	@Test
+	void sphereContainsAndDistance() {
+		SphereShape sphere = new SphereShape(0, 64, 0, 10);
+
+		assertTrue(sphere.contains(0, 64, 0));
+		assertTrue(sphere.contains(6, 64, 8));
+		assertFalse(sphere.contains(8, 64, 8));
+		assertFalse(sphere.contains(0, 75, 0));
+
+		assertEquals(0, sphere.distanceTo(3, 66, 1), 1e-9);
+		assertEquals(5, sphere.distanceTo(15, 64, 0), 1e-9);
+		assertEquals(10, sphere.distanceTo(0, 84, 0), 1e-9);
+		assertEquals(-10, sphere.getMinX(), 1e-9);
+		assertEquals(74, sphere.getMaxY(), 1e-9);
+	}
+
+	@Test
+	void sphereRejectsNonPositiveRadius() {
+		assertThrows(IllegalArgumentException.class, () -> new SphereShape(0, 0, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SphereShape(0, 0, 0, Double.NaN));
+	}
+
+	@Test
+	void cylinderContainsAndDistance() {
+		CylinderShape cylinder = new CylinderShape(0, 0, 10, 0, 20);
+
+		assertTrue(cylinder.contains(6, 0, 8));
+		assertTrue(cylinder.contains(0, 20, -10));
+		assertFalse(cylinder.contains(8, 10, 8));
+		assertFalse(cylinder.contains(0, 21, 0));
+
+		assertEquals(0, cylinder.distanceTo(1, 5, 1), 1e-9);
+		assertEquals(5, cylinder.distanceTo(15, 10, 0), 1e-9);
+		assertEquals(3, cylinder.distanceTo(0, 23, 0), 1e-9);
+		// Fuera en las dos direcciones: 3 en horizontal y 4 en vertical
+		assertEquals(5, cylinder.distanceTo(0, -4, 13), 1e-9);
+	}
+
+	@Test
+	void convexPolygonContainment() {
+		// Triángulo rectángulo con catetos de 20
+		PolygonPrismShape triangle = new PolygonPrismShape(
+			new double[] {0, 20, 0}, new double[] {0, 0, 20}, 0, 10);
+
+		assertTrue(triangle.contains(5, 5, 5));
+		assertTrue(triangle.contains(9, 0, 10));
+		assertFalse(triangle.contains(11, 5, 11));
+		assertFalse(triangle.contains(5, 11, 5));
+		assertFalse(triangle.contains(-1, 5, 5));
+		assertEquals(2000, triangle.getVolume(), 1e-9);
+	}
+
+	@Test
+	void concavePolygonExcludesNotch() {
+		PolygonPrismShape notch = new PolygonPrismShape(NOTCH_XS, NOTCH_ZS, 0, 10);
+
+		// Brazos y base de la U
+		assertTrue(notch.contains(5, 5, 35));
+		assertTrue(notch.contains(35, 5, 35));
+		assertTrue(notch.contains(20, 5, 5));
+		// Dentro de la muesca: en la caja envolvente pero fuera del polígono
+		assertFalse(notch.contains(20, 5, 20));
+		assertFalse(notch.contains(20, 5, 39));
+
+		assertEquals((40 * 40 - 20 * 30) * 10, notch.getVolume(), 1e-9);
+	}
+
+	@Test
+	void polygonDistanceUsesNearestEdge() {
+		PolygonPrismShape notch = new PolygonPrismShape(NOTCH_XS, NOTCH_ZS, 0, 10);
+
+		assertEquals(0, notch.distanceTo(5, 5, 35), 1e-9);
+		// Centro de la muesca: 10 bloques a cada brazo
+		assertEquals(10, notch.distanceTo(20, 5, 25), 1e-9);
+		// Fuera por la base y por encima: 3 en Z y 4 en Y
+		assertEquals(5, notch.distanceTo(20, 14, -3), 1e-9);
+		// Solo por encima del polígono
+		assertEquals(2, notch.distanceTo(5, 12, 5), 1e-9);
+	}
+
+	@Test
+	void polygonRejectsDegenerateInput() {
+		assertThrows(IllegalArgumentException.class, () -> new PolygonPrismShape(
+			new double[] {0, 1}, new double[] {0, 1}, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new PolygonPrismShape(
+			new double[] {0, 5, 10}, new double[] {0, 5, 10}, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new PolygonPrismShape(
+			new double[] {0, 1, 2}, new double[] {0, 1}, 0, 1));
+	}
+
+	@Test
+	void slabTableMatchesBruteForce() {
+		// Estrella de 200 vértices: muchas franjas y aristas en varias a la vez
+		int n = 200;
+		double[] xs = new double[n];
+		double[] zs = new double[n];
+		for (int i = 0; i < n; i++) {
+			double angle = 2 * Math.PI * i / n;
+			double radius = i % 2 == 0 ? 100 : 60;
+			xs[i] = Math.cos(angle) * radius;
+			zs[i] = Math.sin(angle) * radius;
+		}
+		PolygonPrismShape star = new PolygonPrismShape(xs, zs, 0, 10);
+
+		Random random = new Random(44);
+		for (int i = 0; i < 20_000; i++) {
+			double x = random.nextDouble() * 220 - 110;
+			double z = random.nextDouble() * 220 - 110;
+			assertEquals(bruteForce(xs, zs, x, z), star.contains(x, 5, z), "punto " + x + ", " + z);
+		}
+	}
+
+	@Test
+	void shapesRoundTripThroughJson() {
+		ZoneShape[] shapes = {
+			new SphereShape(1, 2, 3, 4),
+			new CylinderShape(5, 6, 7, -8, 9),
+			new PolygonPrismShape(NOTCH_XS, NOTCH_ZS, 0, 10)
+		};
+		for (ZoneShape shape : shapes) {
+			ZoneShape copy = ZoneShape.fromJson(shape.toJson());
+			assertEquals(shape, copy);
+			assertEquals(shape.getType(), copy.getType());
+		}
+	}
+
+	/**
+	 * Regla par-impar recorriendo todas las aristas.
+	 */
+	private static boolean bruteForce(double[] xs, double[] zs, double x, double z) {
+		boolean inside = false;
+		for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+			if ((zs[i] > z) != (zs[j] > z)
+					&& x < xs[i] + (z - zs[i]) * (xs[j] - xs[i]) / (zs[j] - zs[i])) {
+				inside = !inside;
+			}
+		}
+		return inside;
+	}
+}